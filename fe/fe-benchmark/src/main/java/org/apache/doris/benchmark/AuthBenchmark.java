@@ -0,0 +1,116 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.analysis.PasswordOptions;
+import org.apache.doris.analysis.TablePattern;
+import org.apache.doris.analysis.UserIdentity;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
+import org.apache.doris.datasource.InternalCatalog;
+import org.apache.doris.mysql.privilege.Auth;
+import org.apache.doris.mysql.privilege.PrivBitSet;
+import org.apache.doris.mysql.privilege.PrivPredicate;
+import org.apache.doris.mysql.privilege.Privilege;
+import org.apache.doris.persist.PrivInfo;
+import org.apache.doris.system.SystemInfoService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Privilege checks per second of a user holding grantNum table grants, as the planner does for every
+ * table of a query. Both granted and not granted tables are checked, and the latter have to search all
+ * the grants if the result is not cached. Compare enableCache=true with enableCache=false to see the
+ * effect of the privilege check cache.
+ *
+ * The mocked FE is started in setup, DORIS_HOME should point to a writable directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Threads(8)
+public class AuthBenchmark {
+    private static final String DB_NAME = "bench";
+
+    @Param({"1000", "10000"})
+    private int grantNum;
+
+    @Param({"true", "false"})
+    private boolean enableCache;
+
+    private Auth auth;
+    private UserIdentity user;
+    private String qualifiedDb;
+
+    @Setup
+    public void setup() throws Exception {
+        new SyntheticCatalog(1, 1, 1, 1).createMockedCluster(DB_NAME);
+        Config.enable_auth_check_cache = enableCache;
+        auth = Env.getCurrentEnv().getAuth();
+        user = UserIdentity.createAnalyzedUserIdentWithIp(
+                SystemInfoService.DEFAULT_CLUSTER + ":bench_user", "%");
+        auth.replayCreateUser(new PrivInfo(user, PrivBitSet.of(), new byte[0], null,
+                PasswordOptions.UNSET_OPTION));
+        qualifiedDb = SystemInfoService.DEFAULT_CLUSTER + ":" + DB_NAME;
+        for (int i = 0; i < grantNum; i++) {
+            TablePattern tablePattern = new TablePattern(InternalCatalog.INTERNAL_CATALOG_NAME, DB_NAME, tableName(i));
+            tablePattern.analyze(SystemInfoService.DEFAULT_CLUSTER);
+            auth.replayGrant(new PrivInfo(user, tablePattern, PrivBitSet.of(Privilege.SELECT_PRIV), null, null));
+        }
+    }
+
+    private static String tableName(int idx) {
+        return "grant_tbl_" + idx;
+    }
+
+    @Benchmark
+    public boolean checkGrantedTblPriv() {
+        String tbl = tableName(ThreadLocalRandom.current().nextInt(grantNum));
+        return auth.checkTblPriv(user, InternalCatalog.INTERNAL_CATALOG_NAME, qualifiedDb, tbl,
+                PrivPredicate.SELECT);
+    }
+
+    @Benchmark
+    public boolean checkNotGrantedTblPriv() {
+        String tbl = "not_granted_tbl_" + ThreadLocalRandom.current().nextInt(grantNum);
+        return auth.checkTblPriv(user, InternalCatalog.INTERNAL_CATALOG_NAME, qualifiedDb, tbl,
+                PrivPredicate.SELECT);
+    }
+
+    @Benchmark
+    public boolean checkDbPriv() {
+        return auth.checkDbPriv(user, InternalCatalog.INTERNAL_CATALOG_NAME, qualifiedDb, PrivPredicate.SELECT);
+    }
+}
@@ -0,0 +1,143 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.common.io.BitmapValue;
+import org.apache.doris.common.io.Roaring64Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Roaring64Map / BitmapValue build, set operations and (de)serialization.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BitmapBenchmark {
+    @Param({"1000", "1000000"})
+    private int cardinality;
+
+    // values above 2^32 force the 64 bit representation
+    @Param({"false", "true"})
+    private boolean use64Bit;
+
+    private long[] values;
+    private BitmapValue bitmap1;
+    private BitmapValue bitmap2;
+    private Roaring64Map roaring1;
+    private Roaring64Map roaring2;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(2023);
+        long base = use64Bit ? (1L << 40) : 0L;
+        values = new long[cardinality];
+        for (int i = 0; i < cardinality; i++) {
+            values[i] = base + (random.nextInt() & Integer.MAX_VALUE);
+        }
+        bitmap1 = buildBitmap();
+        bitmap2 = new BitmapValue();
+        roaring1 = Roaring64Map.bitmapOf(values);
+        roaring2 = new Roaring64Map();
+        for (int i = 0; i < cardinality; i++) {
+            long value = base + (random.nextInt() & Integer.MAX_VALUE);
+            bitmap2.add(value);
+            roaring2.addLong(value);
+        }
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        bitmap1.serialize(new DataOutputStream(bos));
+        serialized = bos.toByteArray();
+    }
+
+    private BitmapValue buildBitmap() {
+        BitmapValue bitmap = new BitmapValue();
+        for (long value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    @Benchmark
+    public BitmapValue bitmapAdd() {
+        return buildBitmap();
+    }
+
+    @Benchmark
+    public long bitmapOr() {
+        BitmapValue result = buildCopy(bitmap1);
+        result.or(bitmap2);
+        return result.cardinality();
+    }
+
+    @Benchmark
+    public long bitmapAnd() {
+        BitmapValue result = buildCopy(bitmap1);
+        result.and(bitmap2);
+        return result.cardinality();
+    }
+
+    @Benchmark
+    public long roaringOr() {
+        Roaring64Map result = Roaring64Map.bitmapOf();
+        result.or(roaring1);
+        result.or(roaring2);
+        return result.getLongCardinality();
+    }
+
+    @Benchmark
+    public byte[] bitmapSerialize() throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(serialized.length);
+        bitmap1.serialize(new DataOutputStream(bos));
+        return bos.toByteArray();
+    }
+
+    @Benchmark
+    public BitmapValue bitmapDeserialize() throws IOException {
+        BitmapValue bitmap = new BitmapValue();
+        bitmap.deserialize(new DataInputStream(new ByteArrayInputStream(serialized)));
+        return bitmap;
+    }
+
+    private static BitmapValue buildCopy(BitmapValue source) {
+        BitmapValue copy = new BitmapValue();
+        copy.or(source);
+        return copy;
+    }
+}
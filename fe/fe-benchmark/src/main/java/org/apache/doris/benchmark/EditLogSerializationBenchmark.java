@@ -0,0 +1,118 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.common.io.DataInputBuffer;
+import org.apache.doris.common.io.DataOutputBuffer;
+import org.apache.doris.journal.JournalEntity;
+import org.apache.doris.persist.OperationType;
+import org.apache.doris.persist.ReplicaPersistInfo;
+import org.apache.doris.thrift.TUniqueId;
+import org.apache.doris.transaction.PartitionCommitInfo;
+import org.apache.doris.transaction.TableCommitInfo;
+import org.apache.doris.transaction.TransactionState;
+import org.apache.doris.transaction.TransactionState.LoadJobSourceType;
+import org.apache.doris.transaction.TransactionState.TxnCoordinator;
+import org.apache.doris.transaction.TransactionState.TxnSourceType;
+import org.apache.doris.transaction.TransactionStatus;
+
+import com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of journal entities as done by BDBJEJournal.write, and the
+ * deserialization done by replayers, for the most frequent edit log operations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EditLogSerializationBenchmark {
+    // number of partitions committed by the transaction
+    @Param({"1", "100"})
+    private int partitionNum;
+
+    private JournalEntity txnEntity;
+    private JournalEntity replicaEntity;
+    private byte[] serializedTxn;
+
+    @Setup
+    public void setup() throws IOException {
+        long tableId = 20000L;
+        TransactionState txnState = new TransactionState(SyntheticCatalog.DB_ID, Lists.newArrayList(tableId),
+                1000L, "stream_load_label_0123456789", new TUniqueId(1L, 2L), LoadJobSourceType.BACKEND_STREAMING,
+                new TxnCoordinator(TxnSourceType.BE, "192.168.0.1"), -1L, 60000L);
+        TableCommitInfo tableCommitInfo = new TableCommitInfo(tableId);
+        for (int i = 0; i < partitionNum; i++) {
+            tableCommitInfo.addPartitionCommitInfo(
+                    new PartitionCommitInfo(30000L + i, 10L, System.currentTimeMillis()));
+        }
+        txnState.putIdToTableCommitInfo(tableId, tableCommitInfo);
+        txnState.setTransactionStatus(TransactionStatus.VISIBLE);
+        txnEntity = new JournalEntity();
+        txnEntity.setOpCode(OperationType.OP_UPSERT_TRANSACTION_STATE);
+        txnEntity.setData(txnState);
+
+        replicaEntity = new JournalEntity();
+        replicaEntity.setOpCode(OperationType.OP_ADD_REPLICA);
+        replicaEntity.setData(ReplicaPersistInfo.createForReport(SyntheticCatalog.DB_ID, tableId, 30000L,
+                40000L, 50000L, 1L, 60000L));
+
+        serializedTxn = serialize(txnEntity);
+    }
+
+    private static byte[] serialize(JournalEntity entity) throws IOException {
+        DataOutputBuffer buffer = new DataOutputBuffer(128);
+        entity.write(buffer);
+        return buffer.getData();
+    }
+
+    @Benchmark
+    public byte[] serializeTransactionState() throws IOException {
+        return serialize(txnEntity);
+    }
+
+    @Benchmark
+    public byte[] serializeReplicaPersistInfo() throws IOException {
+        return serialize(replicaEntity);
+    }
+
+    @Benchmark
+    public JournalEntity deserializeTransactionState() throws IOException {
+        DataInputBuffer in = new DataInputBuffer();
+        in.reset(serializedTxn, serializedTxn.length);
+        JournalEntity entity = new JournalEntity();
+        entity.readFields(in);
+        return entity;
+    }
+}
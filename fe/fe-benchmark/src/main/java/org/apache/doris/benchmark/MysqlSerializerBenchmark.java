@@ -0,0 +1,104 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.catalog.ScalarType;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.mysql.MysqlSerializer;
+
+import com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text protocol row encoding as done by StmtExecutor.sendShowResult / sendMetaData.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MysqlSerializerBenchmark {
+    @Param({"10", "100"})
+    private int columnNum;
+
+    private MysqlSerializer serializer;
+    private List<String> row;
+    private List<Type> types;
+
+    @Setup
+    public void setup() {
+        serializer = MysqlSerializer.newInstance();
+        row = Lists.newArrayListWithCapacity(columnNum);
+        types = Lists.newArrayListWithCapacity(columnNum);
+        for (int i = 0; i < columnNum; i++) {
+            switch (i % 3) {
+                case 0:
+                    row.add(String.valueOf(1234567890L + i));
+                    types.add(Type.BIGINT);
+                    break;
+                case 1:
+                    row.add(i % 7 == 0 ? null : "value_of_column_" + i);
+                    types.add(ScalarType.createVarchar(64));
+                    break;
+                default:
+                    row.add("2023-01-01 12:00:00");
+                    types.add(Type.DATETIME);
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer encodeRow() {
+        serializer.reset();
+        for (String item : row) {
+            if (item == null) {
+                serializer.writeNull();
+            } else {
+                serializer.writeLenEncodedString(item);
+            }
+        }
+        return serializer.toByteBuffer();
+    }
+
+    @Benchmark
+    public int encodeFields() {
+        int bytes = 0;
+        for (int i = 0; i < columnNum; i++) {
+            serializer.reset();
+            serializer.writeField("col_" + i, types.get(i));
+            bytes += serializer.toArray().length;
+        }
+        return bytes;
+    }
+}
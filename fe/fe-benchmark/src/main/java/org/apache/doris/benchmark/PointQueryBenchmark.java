@@ -0,0 +1,138 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.analysis.PrepareStmt;
+import org.apache.doris.analysis.SelectStmt;
+import org.apache.doris.analysis.SqlParser;
+import org.apache.doris.analysis.SqlScanner;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.util.SqlParserUtils;
+import org.apache.doris.planner.OriginalPlanner;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.OriginStatement;
+import org.apache.doris.qe.PointQueryPlanCache;
+import org.apache.doris.qe.PrepareStmtContext;
+import org.apache.doris.qe.StmtExecutor;
+import org.apache.doris.utframe.UtFrameUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringReader;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FE side cost of a single-row primary key lookup on a merge-on-write unique key table,
+ * with full analysis and planning vs. reusing the prepared plan of PointQueryPlanCache.
+ * Both include parsing the statement, the RPC to backend is not included.
+ *
+ * The mocked FE is started in setup, DORIS_HOME should point to a writable directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class PointQueryBenchmark {
+    private static final String DB_NAME = "bench";
+    private static final String SQL_PREFIX = "SELECT * FROM point_tbl WHERE k1 = ";
+
+    private ConnectContext ctx;
+
+    @Setup
+    public void setup() throws Exception {
+        Config.max_point_query_plan_cache_num = 1024;
+        UtFrameUtils.createDorisCluster(UtFrameUtils.generateRandomFeRunningDir(PointQueryBenchmark.class));
+        ctx = UtFrameUtils.createDefaultCtx();
+        UtFrameUtils.createDatabase(ctx, DB_NAME);
+        UtFrameUtils.createTable(ctx, "CREATE TABLE " + DB_NAME + ".point_tbl (\n"
+                + "  k1 BIGINT NOT NULL,\n"
+                + "  k2 INT NOT NULL,\n"
+                + "  v1 VARCHAR(64),\n"
+                + "  v2 DECIMAL(27, 9)\n"
+                + ") UNIQUE KEY(k1, k2)\n"
+                + "DISTRIBUTED BY HASH(k1) BUCKETS 16\n"
+                + "PROPERTIES (\"replication_num\" = \"1\", \"light_schema_change\" = \"true\",\n"
+                + "  \"enable_unique_key_merge_on_write\" = \"true\", \"store_row_column\" = \"true\")");
+        ctx.setDatabase("default_cluster:" + DB_NAME);
+
+        // prepare the plan in the same way as StmtExecutor does after the first execution
+        String sql = randomLookup();
+        SelectStmt template = parse(sql);
+        String planKey = PointQueryPlanCache.getKey(ctx, template.getPointQueryDigest());
+        template.replacePointQueryLiteralsWithPlaceHolders();
+        PrepareStmt prepareStmt = new PrepareStmt(template, "point_query_plan", false);
+        prepareStmt.setOrigStmt(template.getOrigStmt());
+        prepareStmt.setUserInfo(ctx.getCurrentUserIdentity());
+        StmtExecutor executor = new StmtExecutor(ctx, prepareStmt);
+        executor.analyze(ctx.getSessionVariable().toThrift());
+        PointQueryPlanCache.getInstance().release(planKey,
+                new PointQueryPlanCache.CachedPlan(prepareStmt, executor.planner(), sql));
+    }
+
+    private static String randomLookup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return SQL_PREFIX + random.nextLong(1_000_000_000L) + " AND k2 = " + random.nextInt(1000);
+    }
+
+    private SelectStmt parse(String sql) throws Exception {
+        SqlParser parser = new SqlParser(new SqlScanner(new StringReader(sql),
+                ctx.getSessionVariable().getSqlMode()));
+        SelectStmt stmt = (SelectStmt) SqlParserUtils.getFirstStmt(parser);
+        stmt.setOrigStmt(new OriginStatement(sql, 0));
+        stmt.setUserInfo(ctx.getCurrentUserIdentity());
+        return stmt;
+    }
+
+    // The command of ctx is not COM_QUERY, so StmtExecutor does not use the cache here
+    @Benchmark
+    public Object analyzeAndPlan() throws Exception {
+        ctx.setThreadLocalInfo();
+        StmtExecutor executor = new StmtExecutor(ctx, parse(randomLookup()));
+        executor.analyze(ctx.getSessionVariable().toThrift());
+        return executor.planner();
+    }
+
+    // Same as the cache hit path of StmtExecutor
+    @Benchmark
+    public Object cachedPlan() throws Exception {
+        ctx.setThreadLocalInfo();
+        SelectStmt stmt = parse(randomLookup());
+        String key = PointQueryPlanCache.getKey(ctx, stmt.getPointQueryDigest());
+        PointQueryPlanCache.CachedPlan plan = PointQueryPlanCache.getInstance().acquire(key);
+        try {
+            PrepareStmtContext planCtx = plan.newContext(ctx);
+            planCtx.stmt.asignValues(stmt.getPointQueryLiterals());
+            ((OriginalPlanner) planCtx.planner).checkColumnPrivileges();
+            return planCtx.planner;
+        } finally {
+            PointQueryPlanCache.getInstance().release(key, plan);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.catalog.Replica;
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.catalog.TabletMeta;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.thrift.TStorageMedium;
+import org.apache.doris.thrift.TTablet;
+import org.apache.doris.thrift.TTabletInfo;
+import org.apache.doris.utframe.UtFrameUtils;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds synthetic metadata shaped like a large production cluster,
+ * so that the benchmarks measure the hot paths at a realistic scale.
+ *
+ * Ids are assigned densely: table t owns tablets [t * tabletsPerTable, (t + 1) * tabletsPerTable),
+ * and every tablet has {@code replicaNum} replicas spread round-robin over {@code backendNum} backends.
+ */
+public class SyntheticCatalog {
+    public static final long DB_ID = 10000L;
+    public static final int SCHEMA_HASH = 123456;
+    public static final long VERSION = 2L;
+
+    private static final long TABLE_ID_BASE = 100_000L;
+    private static final long PARTITION_ID_BASE = 1_000_000L;
+    private static final long INDEX_ID_BASE = 2_000_000L;
+    private static final long TABLET_ID_BASE = 10_000_000L;
+    private static final long REPLICA_ID_BASE = 100_000_000L;
+
+    private final int tableNum;
+    private final int tabletsPerTable;
+    private final int backendNum;
+    private final int replicaNum;
+
+    public SyntheticCatalog(int tableNum, int tabletsPerTable, int backendNum, int replicaNum) {
+        this.tableNum = tableNum;
+        this.tabletsPerTable = tabletsPerTable;
+        this.backendNum = backendNum;
+        this.replicaNum = replicaNum;
+    }
+
+    public long getTabletNum() {
+        return (long) tableNum * tabletsPerTable;
+    }
+
+    public long tabletId(int tableIdx, int tabletIdx) {
+        return TABLET_ID_BASE + (long) tableIdx * tabletsPerTable + tabletIdx;
+    }
+
+    public long backendId(long tabletId, int replicaIdx) {
+        return (tabletId + replicaIdx) % backendNum;
+    }
+
+    // Fill the inverted index with all tablets and replicas of the synthetic catalog.
+    public TabletInvertedIndex buildInvertedIndex() {
+        TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+        for (int t = 0; t < tableNum; t++) {
+            TabletMeta tabletMeta = new TabletMeta(DB_ID, TABLE_ID_BASE + t, PARTITION_ID_BASE + t,
+                    INDEX_ID_BASE + t, SCHEMA_HASH, TStorageMedium.HDD);
+            for (int i = 0; i < tabletsPerTable; i++) {
+                long tabletId = tabletId(t, i);
+                invertedIndex.addTablet(tabletId, tabletMeta);
+                for (int r = 0; r < replicaNum; r++) {
+                    long replicaId = REPLICA_ID_BASE + tabletId * replicaNum + r;
+                    invertedIndex.addReplica(tabletId,
+                            new Replica(replicaId, backendId(tabletId, r), ReplicaState.NORMAL, VERSION, SCHEMA_HASH));
+                }
+            }
+        }
+        return invertedIndex;
+    }
+
+    // Build the tablet report which the given backend would send if it is consistent with FE meta.
+    public Map<Long, TTablet> buildTabletReport(long backendId) {
+        Map<Long, TTablet> tablets = Maps.newHashMap();
+        for (int t = 0; t < tableNum; t++) {
+            for (int i = 0; i < tabletsPerTable; i++) {
+                long tabletId = tabletId(t, i);
+                for (int r = 0; r < replicaNum; r++) {
+                    if (backendId(tabletId, r) != backendId) {
+                        continue;
+                    }
+                    TTabletInfo info = new TTabletInfo(tabletId, SCHEMA_HASH, VERSION, 0L, 100L, 1024L);
+                    info.setPartitionId(PARTITION_ID_BASE + t);
+                    info.setStorageMedium(TStorageMedium.HDD);
+                    info.setPathHash(backendId);
+                    info.setVersionCount(1L);
+                    info.setUsed(true);
+                    TTablet tablet = new TTablet();
+                    tablet.addToTabletInfos(info);
+                    tablets.put(tabletId, tablet);
+                }
+            }
+        }
+        return tablets;
+    }
+
+    // Star schema DDL: one fact table and (tableNum - 1) dimension tables.
+    public List<String> buildCreateTableStmts(String dbName) {
+        List<String> stmts = Lists.newArrayListWithCapacity(tableNum);
+        for (int t = 0; t < tableNum; t++) {
+            stmts.add("CREATE TABLE " + dbName + "." + tableName(t) + " (\n"
+                    + "  k1 BIGINT NOT NULL,\n"
+                    + "  k2 INT NOT NULL,\n"
+                    + "  v1 VARCHAR(64),\n"
+                    + "  v2 DECIMAL(27, 9)\n"
+                    + ") DUPLICATE KEY(k1, k2)\n"
+                    + "DISTRIBUTED BY HASH(k1) BUCKETS 1\n"
+                    + "PROPERTIES (\"replication_num\" = \"1\")");
+        }
+        return stmts;
+    }
+
+    public static String tableName(int tableIdx) {
+        return tableIdx == 0 ? "fact" : "dim" + tableIdx;
+    }
+
+    // Query joining the fact table with the first joinNum dimension tables.
+    public static String starJoinQuery(int joinNum) {
+        StringBuilder select = new StringBuilder("SELECT f.k1, SUM(f.v2)");
+        StringBuilder from = new StringBuilder(" FROM fact f");
+        StringBuilder where = new StringBuilder(" WHERE f.k2 > 10");
+        for (int i = 1; i <= joinNum; i++) {
+            String alias = "d" + i;
+            select.append(", MAX(").append(alias).append(".v1)");
+            from.append(" JOIN ").append(tableName(i)).append(' ').append(alias)
+                    .append(" ON f.k1 = ").append(alias).append(".k1");
+            where.append(" AND ").append(alias).append(".k2 < 1000");
+        }
+        return select.append(from).append(where).append(" GROUP BY f.k1").toString();
+    }
+
+    // Start a mocked FE with one mocked BE and create the synthetic tables in it.
+    public ConnectContext createMockedCluster(String dbName) throws Exception {
+        UtFrameUtils.createDorisCluster(UtFrameUtils.generateRandomFeRunningDir(SyntheticCatalog.class));
+        ConnectContext ctx = UtFrameUtils.createDefaultCtx();
+        UtFrameUtils.createDatabase(ctx, dbName);
+        for (String stmt : buildCreateTableStmts(dbName)) {
+            UtFrameUtils.createTable(ctx, stmt);
+        }
+        ctx.setDatabase("default_cluster:" + dbName);
+        return ctx;
+    }
+}
@@ -0,0 +1,118 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.catalog.TabletMeta;
+import org.apache.doris.cooldown.CooldownConf;
+import org.apache.doris.thrift.TPartitionVersionInfo;
+import org.apache.doris.thrift.TStorageMedium;
+import org.apache.doris.thrift.TTablet;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.commons.lang3.tuple.Triple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TabletInvertedIndex.tabletReport diff of one backend against 1M+ tablets in meta,
+ * and getTabletMeta lookups running concurrently with reports.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class TabletReportBenchmark {
+    @Param({"10000"})
+    private int tableNum;
+
+    // 10000 tables * 100 tablets = 1M tablets
+    @Param({"100"})
+    private int tabletsPerTable;
+
+    @Param({"100"})
+    private int backendNum;
+
+    @Param({"3"})
+    private int replicaNum;
+
+    private SyntheticCatalog catalog;
+    private TabletInvertedIndex invertedIndex;
+    private Map<Long, TTablet> backendTablets;
+    private HashMap<Long, TStorageMedium> storageMediumMap;
+
+    @Setup
+    public void setup() {
+        catalog = new SyntheticCatalog(tableNum, tabletsPerTable, backendNum, replicaNum);
+        invertedIndex = catalog.buildInvertedIndex();
+        backendTablets = catalog.buildTabletReport(0L);
+        storageMediumMap = Maps.newHashMap();
+    }
+
+    @Benchmark
+    public int tabletReport() {
+        ListMultimap<Long, Long> tabletSyncMap = ArrayListMultimap.create();
+        ListMultimap<Long, Long> tabletDeleteFromMeta = ArrayListMultimap.create();
+        Set<Long> tabletFoundInMeta = Sets.newConcurrentHashSet();
+        ListMultimap<TStorageMedium, Long> tabletMigrationMap = ArrayListMultimap.create();
+        Map<Long, ListMultimap<Long, TPartitionVersionInfo>> transactionsToPublish = Maps.newHashMap();
+        ListMultimap<Long, Long> transactionsToClear = ArrayListMultimap.create();
+        ListMultimap<Long, Long> tabletRecoveryMap = ArrayListMultimap.create();
+        List<Triple<Long, Integer, Boolean>> tabletToInMemory = Lists.newArrayList();
+        List<CooldownConf> cooldownConfToPush = Lists.newArrayList();
+        List<CooldownConf> cooldownConfToUpdate = Lists.newArrayList();
+        invertedIndex.tabletReport(0L, backendTablets, storageMediumMap, tabletSyncMap, tabletDeleteFromMeta,
+                tabletFoundInMeta, tabletMigrationMap, transactionsToPublish, transactionsToClear,
+                tabletRecoveryMap, tabletToInMemory, cooldownConfToPush, cooldownConfToUpdate);
+        return tabletFoundInMeta.size();
+    }
+
+    @Benchmark
+    @Threads(8)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void getTabletMeta(Blackhole bh) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TabletMeta tabletMeta = invertedIndex.getTabletMeta(
+                catalog.tabletId(random.nextInt(tableNum), random.nextInt(tabletsPerTable)));
+        bh.consume(tabletMeta);
+    }
+}
@@ -0,0 +1,129 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.benchmark;
+
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.Replica;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.catalog.Tablet;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.transaction.GlobalTransactionMgr;
+import org.apache.doris.transaction.TabletCommitInfo;
+import org.apache.doris.transaction.TransactionState.LoadJobSourceType;
+import org.apache.doris.transaction.TransactionState.TxnCoordinator;
+import org.apache.doris.transaction.TransactionState.TxnSourceType;
+
+import com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Begin and commit throughput of stream load transactions into many tables of a single database.
+ * Each thread loads into its own table, so the table locks do not serialize the commits and the
+ * scaling only depends on DatabaseTransactionMgr. Run with "-t 1", "-t 2", ... "-t <cores>" to see
+ * how the throughput scales with the number of concurrent loads.
+ *
+ * The mocked FE is started in setup, DORIS_HOME should point to a writable directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+@Threads(8)
+public class TransactionBenchmark {
+    private static final String DB_NAME = "bench";
+    private static final TxnCoordinator COORDINATOR = new TxnCoordinator(TxnSourceType.BE, "127.0.0.1");
+
+    @Param({"64"})
+    private int tableNum;
+
+    private Database db;
+    private GlobalTransactionMgr transactionMgr;
+    private final AtomicInteger nextThreadIdx = new AtomicInteger(0);
+
+    @State(Scope.Thread)
+    public static class LoadState {
+        private Table table;
+        private List<TabletCommitInfo> commitInfos;
+        private String labelPrefix;
+        private long labelSeq = 0;
+
+        @Setup
+        public void setup(TransactionBenchmark benchmark) {
+            int threadIdx = benchmark.nextThreadIdx.getAndIncrement();
+            table = benchmark.db.getTableNullable(SyntheticCatalog.tableName(threadIdx % benchmark.tableNum));
+            commitInfos = Lists.newArrayList();
+            for (Partition partition : ((OlapTable) table).getPartitions()) {
+                for (Tablet tablet : partition.getBaseIndex().getTablets()) {
+                    for (Replica replica : tablet.getReplicas()) {
+                        commitInfos.add(new TabletCommitInfo(tablet.getId(), replica.getBackendId()));
+                    }
+                }
+            }
+            labelPrefix = "bench_" + UUID.randomUUID() + "_";
+        }
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        ConnectContext ctx = new SyntheticCatalog(tableNum, 1, 1, 1).createMockedCluster(DB_NAME);
+        db = Env.getCurrentInternalCatalog().getDbOrMetaException(ctx.getDatabase());
+        // committed transactions are never published by the mocked backend
+        db.setTransactionQuotaSize(Long.MAX_VALUE);
+        transactionMgr = Env.getCurrentGlobalTransactionMgr();
+    }
+
+    @Benchmark
+    public long beginTransaction(LoadState state) throws Exception {
+        return transactionMgr.beginTransaction(db.getId(), Lists.newArrayList(state.table.getId()),
+                state.labelPrefix + state.labelSeq++, COORDINATOR, LoadJobSourceType.BACKEND_STREAMING, 600);
+    }
+
+    @Benchmark
+    public long beginAndCommitTransaction(LoadState state) throws Exception {
+        long txnId = beginTransaction(state);
+        // same as stream load, the caller of commit holds the table lock
+        state.table.writeLock();
+        try {
+            transactionMgr.commitTransaction(db.getId(), Lists.newArrayList(state.table), txnId, state.commitInfos);
+        } finally {
+            state.table.writeUnlock();
+        }
+        return txnId;
+    }
+}
@@ -213,6 +213,28 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int edit_log_roll_num = 50000;
 
+    /**
+     * If true, concurrent edit log writes are put into a queue and written to the journal
+     * by a single thread in batches, each batch in one bdbje transaction.
+     * This reduces the number of disk syncs and replica acks when there are lots of concurrent
+     * meta operations, e.g. high frequency stream load.
+     */
+    @ConfField(masterOnly = true)
+    public static boolean enable_edit_log_group_commit = false;
+
+    /**
+     * Max number of edit logs in one group commit batch.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int edit_log_group_commit_max_batch_size = 1024;
+
+    /**
+     * Max time in milliseconds to wait for more edit logs before writing a group commit batch.
+     * 0 means writing the edit logs already in the queue without waiting.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long edit_log_group_commit_max_wait_ms = 0;
+
     /**
      * Non-master FE will stop offering service
      * if meta data delay gap exceeds *meta_delay_toleration_second*
@@ -283,6 +305,14 @@ public class Config extends ConfigBase {
     @ConfField(masterOnly = true)
     public static int heartbeat_mgr_blocking_queue_size = 1024;
 
+    /**
+     * The max time in ms to wait for the heartbeat responses of all nodes in one heartbeat round.
+     * The nodes which do not respond in time are treated as heartbeat failed in this round,
+     * so that a few hung nodes will not delay the heartbeat of the whole cluster.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long heartbeat_node_timeout_ms = 5000;
+
     /**
      * max num of thread to handle agent task in agent task thread-pool.
      */
@@ -619,6 +649,31 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int stream_load_default_precommit_timeout_second = 3600; // 3600s
 
+    /**
+     * Whether to cache the plan of stream load per table and request parameters.
+     * For a cached plan, only the load id, txn id, file info and the partition and tablet locations
+     * are refreshed for a new stream load, which saves the planning cost of small and frequent loads.
+     * The cached plan is invalid once the schema or the partitions of the table are changed.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_stream_load_plan_cache = true;
+
+    /**
+     * Max number of cached stream load plans.
+     */
+    @ConfField(masterOnly = true)
+    public static int stream_load_plan_cache_max_entries = 1000;
+
+    /**
+     * The policy to choose the backend which a stream load is redirected to, ignore case:
+     * random: choose a random load available backend.
+     * load_aware: prefer the backend with less recent stream loads redirected by this FE, lower max compaction
+     *     score and disk usage, and holding more replicas of the target table.
+     * If the type is unknown, load_aware is used.
+     */
+    @ConfField(mutable = true)
+    public static String stream_load_redirect_policy = "load_aware";
+
     /**
      * Max load timeout applicable to all type of load except for stream load
      */
@@ -782,6 +837,13 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int max_running_txn_num_per_db = 100;
 
+    /**
+     * The number of striped label locks of the transaction manager of each database.
+     * Transactions with labels in different stripes can begin and commit concurrently.
+     */
+    @ConfField(mutable = false, masterOnly = true)
+    public static int transaction_label_lock_stripe_num = 64;
+
     /**
      * This configuration is just for compatible with old version,
      * this config has been replaced by async_loading_load_task_pool_size,
@@ -1098,6 +1160,14 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int max_query_retry_time = 1;
 
+    /**
+     * The number of fetch data rpcs kept in flight by the result receiver of a query while the current
+     * result batch is being sent to client, so that fetching and sending results are overlapped.
+     * Set to 0 to fetch the next batch only after the current batch is sent.
+     */
+    @ConfField(mutable = true)
+    public static int result_receiver_prefetch_num = 1;
+
     /**
      * The number of point query retries in executor.
      * A query may retry if we encounter RPC exception and no result has been sent to user.
@@ -1106,6 +1176,28 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int max_point_query_retry_time = 2;
 
+    /**
+     * The max number of statement shapes whose point query plans are cached in FE.
+     * A text point query like `SELECT ... FROM tbl WHERE pk1 = 1 AND pk2 = 'a'` whose shape is cached
+     * reuses the cached plan and skips analysis and planning. 0 means disable the cache.
+     */
+    @ConfField(mutable = true)
+    public static int max_point_query_plan_cache_num = 0;
+
+    /**
+     * The max number of cached plans of one statement shape, a cached plan can only be used by one query
+     * at a time, so this limits the concurrency of queries with the same shape which can use the cache.
+     */
+    @ConfField(mutable = true)
+    public static int max_point_query_plans_per_stmt = 16;
+
+    /**
+     * The max number of keys a point query can look up, a point query with IN predicates on primary keys
+     * looks up all the combinations of the values.
+     */
+    @ConfField(mutable = true)
+    public static int max_point_query_keys = 1024;
+
     /**
      * The tryLock timeout configuration of catalog lock.
      * Normally it does not need to change, unless you need to test something.
@@ -1194,6 +1286,29 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int max_scheduling_tablets = 2000;
 
+    /**
+     * The number of threads used by TabletScheduler to schedule the repair tablets of each round.
+     * If it is larger than 1, the tablets are divided into shards by backend and scheduled in parallel,
+     * and each round takes at most 50 tablets per thread. It helps to repair a large number of tablets
+     * after a backend failure in large clusters.
+     */
+    @ConfField(mutable = false, masterOnly = true)
+    public static int tablet_schedule_thread_num = 1;
+
+    /**
+     * If set to true, TabletChecker only checks the tablets changed by tablet reports, backend state changes
+     * and DDL in each round, instead of all tablets, which is expensive when there are millions of tablets.
+     * All tablets are still checked every 'tablet_checker_full_sweep_interval_sec' seconds.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_incremental_tablet_checker = false;
+
+    /**
+     * The interval of checking all tablets by TabletChecker if 'enable_incremental_tablet_checker' is true.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long tablet_checker_full_sweep_interval_sec = 600;
+
     // if the number of balancing tablets in TabletScheduler exceed max_balancing_tablets,
     // no more balance check
     @ConfField(mutable = true, masterOnly = true)
@@ -1225,6 +1340,14 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int report_queue_size = 100;
 
+    /**
+     * The number of threads to handle the reports from backends.
+     * Reports of the same backend are always handled by the same thread in order,
+     * so increasing it lets the reports of different backends be handled in parallel.
+     */
+    @ConfField(mutable = false, masterOnly = true)
+    public static int report_handler_thread_num = 1;
+
     /**
      * If set to true, metric collector will be run as a daemon timer to collect metrics at fix interval
      */
@@ -1251,6 +1374,27 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int max_routine_load_task_num_per_be = 5;
 
+    /**
+     * The num of threads to schedule routine load tasks, i.e. to begin txn, create and submit tasks to BE.
+     */
+    @ConfField(masterOnly = true)
+    public static int routine_load_task_schedule_thread_num = 4;
+
+    /**
+     * For routine load job with 'adaptive_batch' enabled, the max_batch_rows and max_batch_size of a task
+     * can be enlarged up to this times to drain the backlog of kafka or to relieve the compaction pressure of BE.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int routine_load_adaptive_batch_max_scale = 4;
+
+    /**
+     * For routine load job with 'adaptive_batch' enabled, if the max tablet compaction score of the BE
+     * which executes the task exceeds this value, the task will use the max batch interval and larger batches,
+     * so that fewer versions are generated.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long routine_load_adaptive_batch_compaction_score_threshold = 200;
+
     /**
      * The max number of files store in SmallFileMgr
      */
@@ -1301,6 +1445,21 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static boolean force_do_metadata_checkpoint = false;
 
+    /**
+     * The number of threads used to save and load the meta modules of image.
+     * If larger than 1, each meta module is written to an independent section of image in parallel,
+     * and the meta modules which do not depend on each other are loaded in parallel.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static int image_persist_parallelism = 1;
+
+    /**
+     * If set to true, each meta module section of image is compressed with gzip when saving image.
+     * Image saved with compression can not be loaded by FE of older version.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static boolean enable_image_section_compression = false;
+
     /**
      * The multi cluster feature will be deprecated in version 0.12
      * set this config to true will disable all operations related to cluster feature, include:
@@ -1420,6 +1579,20 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = false)
     public static int cache_result_max_row_count = 3000;
 
+    /**
+     * If set to true, the results of sql mode cache are also cached in the memory of fe,
+     * so a cache hit can be served without fetching data from be.
+     * Be cache is still used when the result is not cached in fe.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static boolean cache_enable_fe_sql_cache = false;
+
+    /**
+     * The max memory in MB used by the sql mode cache in fe, results are evicted in LRU order.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static long cache_fe_sql_cache_max_size_mb = 256;
+
     /**
      * Used to limit element num of InPredicate in delete statement.
      */
@@ -1800,6 +1973,13 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long remote_fragment_exec_timeout_ms = 5000; // 5 sec
 
+    /**
+     * The number of threads used by Coordinator to serialize and send plan fragments to backends in parallel.
+     * Fragments are sent by the query thread one backend after another if it is not larger than 1.
+     */
+    @ConfField(mutable = false)
+    public static int send_fragment_parallelism = 16;
+
     /**
      * Max data version of backends serialize block.
      */
@@ -1865,12 +2045,52 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = false)
     public static int min_backend_num_for_external_table = 3;
 
+    /**
+     * If set to true, the splits of external file scan will be assigned to backends by consistent hashing
+     * of the file path and offset, so that the same split is read by the same backend among different queries
+     * and the file cache of backend can be reused.
+     * If set to false, the splits will be assigned to backends in round-robin.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static boolean enable_split_cache_affinity = true;
+
+    /**
+     * Only take effect when enable_split_cache_affinity is true.
+     * The max bytes of splits assigned to one backend is limited to this factor times of the average.
+     * If the preferred backend of a split exceeds the limit, the split will be assigned to the next backend
+     * on the hash ring, which may miss the file cache.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static double split_assigner_max_load_factor = 1.2;
+
     /**
      * Max query profile num.
      */
     @ConfField(mutable = true, masterOnly = false)
     public static int max_query_profile_num = 100;
 
+    /**
+     * Query profiles older than the latest max_query_profile_num ones are archived instead of being dropped,
+     * if this value is larger than 0. An archived profile only keeps its compressed profile content,
+     * so it can not be viewed as fragment or instance tree any more.
+     * This is the max total bytes of the archived profiles kept in memory.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static long max_archived_query_profile_bytes = 0;
+
+    /**
+     * Local directory to spill the archived query profiles to, when max_archived_query_profile_bytes is exceeded.
+     * If it is empty, the archived profiles are dropped instead.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static String query_profile_spill_dir = "";
+
+    /**
+     * Max number of query profiles spilled to query_profile_spill_dir.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static int max_spilled_query_profile_num = 10000;
+
     /**
      * Set to true to disable backend black list, so that even if we failed to send task to a backend,
      * that backend won't be added to black list.
@@ -1937,6 +2157,26 @@ public class Config extends ConfigBase {
     @ConfField(mutable = false, masterOnly = false)
     public static int max_external_cache_loader_thread_pool_size = 10;
 
+    /**
+     * The default max number of partitions whose files are listed concurrently for one hive catalog.
+     * It can be overridden by the catalog property "file.listing.parallelism".
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static int hive_file_listing_parallelism = 16;
+
+    /**
+     * If set to true, the results of privilege checks are cached per user,
+     * and the cache is invalidated on any change of users, roles and privileges.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static boolean enable_auth_check_cache = true;
+
+    /**
+     * The max number of cached privilege check results of one user.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static int auth_check_cache_max_entries_per_user = 100000;
+
     /**
      * Max cache num of external catalog's file
      * Decrease this value if FE's memory is small
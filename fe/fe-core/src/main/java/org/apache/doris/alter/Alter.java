@@ -831,6 +831,9 @@ public class Alter {
         // log here
         BatchModifyPartitionsInfo info = new BatchModifyPartitionsInfo(modifyPartitionInfos);
         Env.getCurrentEnv().getEditLog().logBatchModifyPartition(info);
+        if (!replicaAlloc.isNotSet()) {
+            Env.getCurrentEnv().getTabletChecker().markTableDirty(db.getId(), olapTable.getId());
+        }
     }
 
     public void replayModifyPartition(ModifyPartitionInfo info) throws MetaNotFoundException {
@@ -163,7 +163,9 @@ public abstract class AlterJobV2 implements Writable {
      */
     public synchronized void run() {
         if (isTimeout()) {
-            cancelImpl("Timeout");
+            if (cancelImpl("Timeout")) {
+                Env.getCurrentEnv().getTabletChecker().markTableDirty(dbId, tableId);
+            }
             return;
         }
 
@@ -184,10 +186,18 @@ public abstract class AlterJobV2 implements Writable {
         } catch (AlterCancelException e) {
             cancelImpl(e.getMessage());
         }
+        if (jobState.isFinalState()) {
+            // tablets are not repaired while the table is under alter, check them now
+            Env.getCurrentEnv().getTabletChecker().markTableDirty(dbId, tableId);
+        }
     }
 
     public final synchronized boolean cancel(String errMsg) {
-        return cancelImpl(errMsg);
+        boolean cancelled = cancelImpl(errMsg);
+        if (cancelled) {
+            Env.getCurrentEnv().getTabletChecker().markTableDirty(dbId, tableId);
+        }
+        return cancelled;
     }
 
     /**
@@ -150,6 +150,7 @@ public class SystemHandler extends AlterHandler {
             for (Backend backend : decommissionBackends) {
                 backend.setDecommissioned(true);
                 Env.getCurrentEnv().getEditLog().logBackendStateChange(backend);
+                Env.getCurrentEnv().getTabletChecker().markBackendDirty(backend.getId());
                 LOG.info("set backend {} to decommission", backend.getId());
             }
 
@@ -58,6 +58,8 @@ public class AlterRoutineLoadStmt extends DdlStmt {
             .add(CreateRoutineLoadStmt.FUZZY_PARSE)
             .add(LoadStmt.STRICT_MODE)
             .add(LoadStmt.TIMEZONE)
+            .add(CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY)
+            .add(CreateRoutineLoadStmt.FRESHNESS_TARGET_SEC_PROPERTY)
             .build();
 
     private final LabelName labelName;
@@ -197,6 +199,23 @@ public class AlterRoutineLoadStmt extends DdlStmt {
             boolean fuzzyParse = Boolean.parseBoolean(jobProperties.get(CreateRoutineLoadStmt.FUZZY_PARSE));
             analyzedJobProperties.put(CreateRoutineLoadStmt.FUZZY_PARSE, String.valueOf(fuzzyParse));
         }
+
+        if (jobProperties.containsKey(CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY)) {
+            boolean adaptiveBatch = Util.getBooleanPropertyOrDefault(
+                    jobProperties.get(CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY),
+                    RoutineLoadJob.DEFAULT_ADAPTIVE_BATCH,
+                    CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY + " should be a boolean");
+            analyzedJobProperties.put(CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY, String.valueOf(adaptiveBatch));
+        }
+
+        if (jobProperties.containsKey(CreateRoutineLoadStmt.FRESHNESS_TARGET_SEC_PROPERTY)) {
+            long freshnessTargetS = Util.getLongPropertyOrDefault(
+                    jobProperties.get(CreateRoutineLoadStmt.FRESHNESS_TARGET_SEC_PROPERTY),
+                    -1, CreateRoutineLoadStmt.FRESHNESS_TARGET_PRED,
+                    CreateRoutineLoadStmt.FRESHNESS_TARGET_SEC_PROPERTY + " should between 1 and 60");
+            analyzedJobProperties.put(CreateRoutineLoadStmt.FRESHNESS_TARGET_SEC_PROPERTY,
+                    String.valueOf(freshnessTargetS));
+        }
     }
 
     private void checkDataSourceProperties() throws UserException {
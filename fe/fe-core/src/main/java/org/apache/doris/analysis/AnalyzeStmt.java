@@ -61,13 +61,18 @@ import java.util.stream.Collectors;
 public class AnalyzeStmt extends DdlStmt {
     // time to wait for collect  statistics
     public static final String CBO_STATISTICS_TASK_TIMEOUT_SEC = "cbo_statistics_task_timeout_sec";
+    // percent of tablets to scan in each partition, 100 means full scan
+    public static final String SAMPLE_PERCENT = "sample_percent";
 
     private static final ImmutableSet<String> PROPERTIES_SET = new ImmutableSet.Builder<String>()
             .add(CBO_STATISTICS_TASK_TIMEOUT_SEC)
+            .add(SAMPLE_PERCENT)
             .build();
 
     private static final Predicate<Long> DESIRED_TASK_TIMEOUT_SEC = (v) -> v > 0L;
 
+    private static final Predicate<Long> DESIRED_SAMPLE_PERCENT = (v) -> v > 0L && v <= 100L;
+
     public boolean isWholeTbl;
     public boolean isHistogram;
     public boolean isIncrement;
@@ -195,6 +200,14 @@ public class AnalyzeStmt extends DdlStmt {
                     Config.max_cbo_statistics_task_timeout_sec, DESIRED_TASK_TIMEOUT_SEC,
                     CBO_STATISTICS_TASK_TIMEOUT_SEC + " should > 0")).intValue();
             properties.put(CBO_STATISTICS_TASK_TIMEOUT_SEC, String.valueOf(taskTimeout));
+
+            if (properties.containsKey(SAMPLE_PERCENT)) {
+                Util.getLongPropertyOrDefault(properties.get(SAMPLE_PERCENT), 100L, DESIRED_SAMPLE_PERCENT,
+                        SAMPLE_PERCENT + " should be in (0, 100]");
+                if (!(table instanceof OlapTable)) {
+                    throw new AnalysisException(SAMPLE_PERCENT + " is only supported by olap table");
+                }
+            }
         }
     }
 
@@ -280,6 +293,13 @@ public class AnalyzeStmt extends DdlStmt {
         return sb.toString();
     }
 
+    public int getSamplePercent() {
+        if (properties == null || !properties.containsKey(SAMPLE_PERCENT)) {
+            return 100;
+        }
+        return Integer.parseInt(properties.get(SAMPLE_PERCENT));
+    }
+
     public boolean isSync() {
         return sync;
     }
@@ -117,6 +117,8 @@ public class CreateRoutineLoadStmt extends DdlStmt {
     public static final String ENDPOINT_REGEX = "[-A-Za-z0-9+&@#/%?=~_|!:,.;]+[-A-Za-z0-9+&@#/%=~_|]";
     public static final String SEND_BATCH_PARALLELISM = "send_batch_parallelism";
     public static final String LOAD_TO_SINGLE_TABLET = "load_to_single_tablet";
+    public static final String ADAPTIVE_BATCH_PROPERTY = "adaptive_batch";
+    public static final String FRESHNESS_TARGET_SEC_PROPERTY = "freshness_target";
 
     private static final ImmutableSet<String> PROPERTIES_SET = new ImmutableSet.Builder<String>()
             .add(DESIRED_CONCURRENT_NUMBER_PROPERTY)
@@ -135,6 +137,8 @@ public class CreateRoutineLoadStmt extends DdlStmt {
             .add(EXEC_MEM_LIMIT_PROPERTY)
             .add(SEND_BATCH_PARALLELISM)
             .add(LOAD_TO_SINGLE_TABLET)
+            .add(ADAPTIVE_BATCH_PROPERTY)
+            .add(FRESHNESS_TARGET_SEC_PROPERTY)
             .build();
 
     private final LabelName labelName;
@@ -159,6 +163,8 @@ public class CreateRoutineLoadStmt extends DdlStmt {
     private String timezone = TimeUtils.DEFAULT_TIME_ZONE;
     private int sendBatchParallelism = 1;
     private boolean loadToSingleTablet = false;
+    private boolean adaptiveBatch = false;
+    private long freshnessTargetS = -1;
     /**
      * RoutineLoad support json data.
      * Require Params:
@@ -183,6 +189,7 @@ public class CreateRoutineLoadStmt extends DdlStmt {
     public static final Predicate<Long> MAX_BATCH_SIZE_PRED = (v) -> v >= 100 * 1024 * 1024 && v <= 1024 * 1024 * 1024;
     public static final Predicate<Long> EXEC_MEM_LIMIT_PRED = (v) -> v >= 0L;
     public static final Predicate<Long> SEND_BATCH_PARALLELISM_PRED = (v) -> v > 0L;
+    public static final Predicate<Long> FRESHNESS_TARGET_PRED = (v) -> v >= 1 && v <= 60;
 
     public CreateRoutineLoadStmt(LabelName labelName, String tableName, List<ParseNode> loadPropertyList,
                                  Map<String, String> jobProperties, String typeName,
@@ -252,6 +259,14 @@ public class CreateRoutineLoadStmt extends DdlStmt {
         return loadToSingleTablet;
     }
 
+    public boolean isAdaptiveBatch() {
+        return adaptiveBatch;
+    }
+
+    public long getFreshnessTargetS() {
+        return freshnessTargetS;
+    }
+
     public boolean isStrictMode() {
         return strictMode;
     }
@@ -460,6 +475,12 @@ public class CreateRoutineLoadStmt extends DdlStmt {
         loadToSingleTablet = Util.getBooleanPropertyOrDefault(jobProperties.get(LoadStmt.LOAD_TO_SINGLE_TABLET),
                 RoutineLoadJob.DEFAULT_LOAD_TO_SINGLE_TABLET,
                 LoadStmt.LOAD_TO_SINGLE_TABLET + " should be a boolean");
+        adaptiveBatch = Util.getBooleanPropertyOrDefault(jobProperties.get(ADAPTIVE_BATCH_PROPERTY),
+                RoutineLoadJob.DEFAULT_ADAPTIVE_BATCH,
+                ADAPTIVE_BATCH_PROPERTY + " should be a boolean");
+        freshnessTargetS = Util.getLongPropertyOrDefault(jobProperties.get(FRESHNESS_TARGET_SEC_PROPERTY),
+                -1, FRESHNESS_TARGET_PRED,
+                FRESHNESS_TARGET_SEC_PROPERTY + " should between 1 and 60");
 
         if (ConnectContext.get() != null) {
             timezone = ConnectContext.get().getSessionVariable().getTimeZone();
@@ -18,7 +18,12 @@
 package org.apache.doris.analysis;
 
 import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.UserException;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.thrift.TDescriptorTable;
@@ -57,6 +62,11 @@ public class PrepareStmt extends StatementBase {
     private boolean binaryRowFormat;
     int schemaVersion = -1;
     OlapTable tbl;
+    // names of the table when the statement is analyzed, the table may be renamed or replaced later
+    private String dbName;
+    private String tblName;
+    // types of the key columns compared with the placeholders, in the order of placeholders
+    private List<Type> placeholderSlotTypes = new ArrayList<>();
     ConnectContext context;
     // Serialized mysql Field, this could avoid serialize mysql field each time sendFields.
     // Since, serialize fields is too heavy when table is wide
@@ -74,13 +84,24 @@ public class PrepareStmt extends StatementBase {
     }
 
     public boolean needReAnalyze() {
-        if (schemaVersion == tbl.getBaseSchemaVersion()) {
+        if (schemaVersion == tbl.getBaseSchemaVersion() && isSameTable()) {
             return false;
         }
         reset();
         return true;
     }
 
+    // The name may refer to another table with the same schema version now,
+    // e.g. after the table is dropped and created again.
+    private boolean isSameTable() {
+        Database db = Env.getCurrentInternalCatalog().getDbNullable(dbName);
+        if (db == null) {
+            return false;
+        }
+        Table table = db.getTableNullable(tblName);
+        return table != null && table.getId() == tbl.getId();
+    }
+
     public TDescriptorTable getDescTable() {
         return descTable;
     }
@@ -198,6 +219,12 @@ public class PrepareStmt extends StatementBase {
         }
         tbl = (OlapTable) selectStmt.getTableRefs().get(0).getTable();
         schemaVersion = tbl.getBaseSchemaVersion();
+        dbName = tbl.getQualifiedDbName();
+        tblName = tbl.getName();
+        placeholderSlotTypes = new ArrayList<>();
+        for (Expr slot : getSlotRefOfPlaceHolders()) {
+            placeholderSlotTypes.add(slot.getType());
+        }
         // reset will be reAnalyzed
         selectStmt.reset();
         analyzer.setPrepareStmt(this);
@@ -231,6 +258,34 @@ public class PrepareStmt extends StatementBase {
         }
     }
 
+    /**
+     * Cast the values to the types of the key columns compared with the placeholders, same as the
+     * literals of an analyzed statement, so that the keys are routed and looked up by their column types.
+     * Throws if a value can not be cast, e.g. 'abc' for an INT column.
+     */
+    public List<LiteralExpr> castValuesToSlotTypes(List<LiteralExpr> values) throws AnalysisException {
+        if (values.size() != placeholderSlotTypes.size()) {
+            throw new AnalysisException("Invalid arguments size "
+                    + values.size() + ", expected " + placeholderSlotTypes.size());
+        }
+        List<LiteralExpr> castValues = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); ++i) {
+            Type type = placeholderSlotTypes.get(i);
+            Expr castValue;
+            try {
+                castValue = values.get(i).checkTypeCompatibility(type);
+            } catch (NumberFormatException e) {
+                throw new AnalysisException("Invalid value " + values.get(i).toSql() + " for type " + type.toSql());
+            }
+            // e.g. a string which is not in the format of date is cast by BE
+            if (!(castValue instanceof LiteralExpr)) {
+                throw new AnalysisException("Can not cast " + values.get(i).toSql() + " to type " + type.toSql());
+            }
+            castValues.add((LiteralExpr) castValue);
+        }
+        return castValues;
+    }
+
     @Override
     public void reset() {
         serializedDescTable = null;
@@ -238,6 +293,7 @@ public class PrepareStmt extends StatementBase {
         descTable = null;
         this.id = UUID.randomUUID();
         placeholders.clear();
+        placeholderSlotTypes.clear();
         inner.reset();
         serializedFields.clear();
     }
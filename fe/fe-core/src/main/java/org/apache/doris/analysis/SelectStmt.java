@@ -34,6 +34,7 @@ import org.apache.doris.catalog.View;
 import org.apache.doris.cluster.ClusterNamespace;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.ColumnAliasGenerator;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.ErrorCode;
 import org.apache.doris.common.ErrorReport;
 import org.apache.doris.common.Pair;
@@ -2569,6 +2570,17 @@ public class SelectStmt extends QueryStmt {
             return false;
         }
 
+        // pk IN (...) predicates are expanded to the cartesian product of key tuples
+        long keyNum = 1;
+        for (Expr expr : eqPredicates.values()) {
+            if (expr instanceof InPredicate) {
+                keyNum *= ((InPredicate) expr).getInElementNum();
+                if (keyNum > Config.max_point_query_keys) {
+                    return false;
+                }
+            }
+        }
+
         for (Column col : pkColumns) {
             SlotRef slot = findSlot(eqPredicates.keySet(), col.getName());
             if (slot == null) {
@@ -2621,8 +2633,86 @@ public class SelectStmt extends QueryStmt {
             }
             result.put(p.first, p.second);
             return result;
+        } else if (expr instanceof InPredicate && expected == TExprOpcode.EQ) {
+            // `k IN (v1, v2, ...)` looks up multiple keys in one point query
+            InPredicate inPredicate = (InPredicate) expr;
+            if (inPredicate.isNotIn() || !(inPredicate.getChild(0) instanceof SlotRef)
+                    || result.containsKey(inPredicate.getChild(0))) {
+                return null;
+            }
+            for (int i = 1; i < inPredicate.getChildren().size(); i++) {
+                if (!(inPredicate.getChild(i) instanceof LiteralExpr)) {
+                    return null;
+                }
+            }
+            result.put((SlotRef) inPredicate.getChild(0), inPredicate);
+            return result;
         } else {
             return null;
         }
     }
+
+    /**
+     * Returns the shape of the statement if it may be a point query, which is used as the key of
+     * PointQueryPlanCache. Only the literals of `k = literal` predicates are not part of the shape,
+     * so statements looking up different keys share the same prepared plan.
+     * Must be called before analysis. Returns null if the statement is not a candidate.
+     */
+    public String getPointQueryDigest() {
+        if (withClause != null || groupByClause != null || havingClause != null || orderByElements != null
+                || hasLimit() || hasOffset() || selectList.isDistinct() || selectList.getOptHints() != null
+                || fromClause.size() != 1 || getPointQueryLiterals() == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder("SELECT ");
+        for (int i = 0; i < selectList.getItems().size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            // literals in select list are kept in the plan, so they are part of the shape
+            sb.append(selectList.getItems().get(i).toSql());
+        }
+        sb.append(fromClause.toSql());
+        sb.append(" WHERE ").append(whereClause.toDigest());
+        return sb.toString();
+    }
+
+    /**
+     * Returns the literals of `k = literal` predicates in where clause in pre-order, which is
+     * the same order as the placeholders collected by PrepareStmt, or null if the where clause
+     * is not a conjunction of such predicates.
+     */
+    public List<LiteralExpr> getPointQueryLiterals() {
+        List<LiteralExpr> literals = Lists.newArrayList();
+        return collectPointQueryLiterals(whereClause, literals) ? literals : null;
+    }
+
+    private static boolean collectPointQueryLiterals(Expr expr, List<LiteralExpr> literals) {
+        if (expr instanceof CompoundPredicate) {
+            return ((CompoundPredicate) expr).getOp() == CompoundPredicate.Operator.AND
+                    && collectPointQueryLiterals(expr.getChild(0), literals)
+                    && collectPointQueryLiterals(expr.getChild(1), literals);
+        }
+        if (!(expr instanceof BinaryPredicate) || ((BinaryPredicate) expr).getOp() != BinaryPredicate.Operator.EQ
+                || !(expr.getChild(0) instanceof SlotRef) || !(expr.getChild(1) instanceof LiteralExpr)
+                || expr.getChild(1) instanceof NullLiteral || expr.getChild(1) instanceof PlaceHolderExpr) {
+            return false;
+        }
+        literals.add((LiteralExpr) expr.getChild(1));
+        return true;
+    }
+
+    // Replace the literals returned by getPointQueryLiterals() with placeholders, to prepare the statement.
+    public void replacePointQueryLiteralsWithPlaceHolders() {
+        replacePointQueryLiterals(whereClause);
+    }
+
+    private static void replacePointQueryLiterals(Expr expr) {
+        if (expr instanceof CompoundPredicate) {
+            replacePointQueryLiterals(expr.getChild(0));
+            replacePointQueryLiterals(expr.getChild(1));
+        } else {
+            expr.setChild(1, new PlaceHolderExpr());
+        }
+    }
 }
@@ -0,0 +1,164 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.blockrule;
+
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.util.SqlBlockUtil;
+import org.apache.doris.metric.MetricRepo;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Matcher compiled from a set of SqlBlockRules.
+ * Hash rules are looked up in a map, and regex rules are combined into one alternation pattern
+ * with a capturing group per rule, so a sql is scanned once no matter how many rules there are.
+ * Patterns with back references can not be combined since the group numbers are shifted,
+ * and patterns with quotations or inline flags can not be combined since they may change the meaning
+ * of the following alternatives, e.g. an unterminated \Q or a comment enabled by (?x).
+ * These patterns are matched one by one.
+ **/
+public class SqlBlockRuleMatcher {
+    private static final Logger LOG = LogManager.getLogger(SqlBlockRuleMatcher.class);
+
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\([1-9]|k<)");
+    private static final Pattern QUOTE_OR_FLAG = Pattern.compile("\\\\Q|\\(\\?-?[idmsuxU]");
+
+    // the version of SqlBlockRuleMgr and the user bound rules this matcher is built from
+    private final long version;
+    private final String[] bindRules;
+
+    private final Map<String, SqlBlockRule> hashToRule = Maps.newHashMap();
+    private Pattern combinedPattern;
+    // the group index of each rule in combinedPattern
+    private final int[] groupIndexes;
+    private final List<SqlBlockRule> combinedRules = Lists.newArrayList();
+    private final List<SqlBlockRule> separateRules = Lists.newArrayList();
+
+    public SqlBlockRuleMatcher(List<SqlBlockRule> rules, long version, String[] bindRules) {
+        this.version = version;
+        this.bindRules = bindRules;
+        List<SqlBlockRule> regexRules = Lists.newArrayList();
+        for (SqlBlockRule rule : rules) {
+            if (!rule.getEnable()) {
+                continue;
+            }
+            if (isSet(rule.getSqlHash())) {
+                // keep the first rule for the same hash, the same as matching rules in order
+                hashToRule.putIfAbsent(rule.getSqlHash(), rule);
+            }
+            if (isSet(rule.getSql()) && rule.getSqlPattern() != null) {
+                if (BACK_REFERENCE.matcher(rule.getSql()).find() || QUOTE_OR_FLAG.matcher(rule.getSql()).find()) {
+                    separateRules.add(rule);
+                } else {
+                    regexRules.add(rule);
+                }
+            }
+        }
+
+        groupIndexes = new int[regexRules.size()];
+        if (regexRules.size() == 1) {
+            separateRules.addAll(regexRules);
+        } else if (!regexRules.isEmpty()) {
+            StringBuilder sb = new StringBuilder();
+            int groupIndex = 1;
+            for (int i = 0; i < regexRules.size(); i++) {
+                Pattern pattern = regexRules.get(i).getSqlPattern();
+                if (i > 0) {
+                    sb.append('|');
+                }
+                sb.append('(').append(pattern.pattern()).append(')');
+                groupIndexes[i] = groupIndex;
+                groupIndex += pattern.matcher("").groupCount() + 1;
+            }
+            try {
+                Pattern pattern = Pattern.compile(sb.toString());
+                // the groups of the following rules are swallowed if a rule changes the meaning of the rest
+                if (pattern.matcher("").groupCount() == groupIndex - 1) {
+                    combinedPattern = pattern;
+                    combinedRules.addAll(regexRules);
+                } else {
+                    LOG.info("the combined pattern of {} sql block rules has {} groups, expected {}, "
+                            + "match them one by one", regexRules.size(), pattern.matcher("").groupCount(),
+                            groupIndex - 1);
+                    separateRules.addAll(regexRules);
+                }
+            } catch (PatternSyntaxException e) {
+                // e.g. the same group name is used by more than one rule
+                LOG.info("failed to combine {} sql block rules, match them one by one", regexRules.size(), e);
+                separateRules.addAll(regexRules);
+            }
+        }
+    }
+
+    private static boolean isSet(String value) {
+        return StringUtils.isNotEmpty(value) && !SqlBlockUtil.STRING_DEFAULT.equals(value);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String[] getBindRules() {
+        return bindRules;
+    }
+
+    /**
+     * Throw AnalysisException if the sql matches any rule.
+     **/
+    public void match(String originSql, String sqlHash) throws AnalysisException {
+        SqlBlockRule rule = sqlHash == null ? null : hashToRule.get(sqlHash);
+        if (rule != null) {
+            MetricRepo.COUNTER_HIT_SQL_BLOCK_RULE.increase(1L);
+            throw new AnalysisException("sql match hash sql block rule: " + rule.getName());
+        }
+        rule = matchRegex(originSql);
+        if (rule != null) {
+            MetricRepo.COUNTER_HIT_SQL_BLOCK_RULE.increase(1L);
+            throw new AnalysisException("sql match regex sql block rule: " + rule.getName());
+        }
+    }
+
+    private SqlBlockRule matchRegex(String originSql) {
+        if (combinedPattern != null) {
+            Matcher matcher = combinedPattern.matcher(originSql);
+            if (matcher.find()) {
+                for (int i = 0; i < combinedRules.size(); i++) {
+                    if (matcher.start(groupIndexes[i]) >= 0) {
+                        return combinedRules.get(i);
+                    }
+                }
+            }
+        }
+        for (SqlBlockRule rule : separateRules) {
+            if (rule.getSqlPattern().matcher(originSql).find()) {
+                return rule;
+            }
+        }
+        return null;
+    }
+}
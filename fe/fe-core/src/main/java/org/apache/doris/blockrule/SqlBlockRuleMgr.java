@@ -41,6 +41,7 @@ import org.apache.logging.log4j.Logger;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -57,6 +58,11 @@ public class SqlBlockRuleMgr implements Writable {
     @SerializedName(value = "nameToSqlBlockRuleMap")
     private Map<String, SqlBlockRule> nameToSqlBlockRuleMap = Maps.newConcurrentMap();
 
+    // increased on every rule change, matchers built from an older version are rebuilt lazily
+    private volatile long ruleVersion = 0;
+    private volatile SqlBlockRuleMatcher globalMatcher = null;
+    private Map<String, SqlBlockRuleMatcher> userMatchers = Maps.newConcurrentMap();
+
     private void writeLock() {
         lock.writeLock().lock();
     }
@@ -183,10 +189,18 @@ public class SqlBlockRuleMgr implements Writable {
 
     private void unprotectedUpdate(SqlBlockRule sqlBlockRule) {
         nameToSqlBlockRuleMap.put(sqlBlockRule.getName(), sqlBlockRule);
+        invalidateMatchers();
     }
 
     private void unprotectedAdd(SqlBlockRule sqlBlockRule) {
         nameToSqlBlockRuleMap.put(sqlBlockRule.getName(), sqlBlockRule);
+        invalidateMatchers();
+    }
+
+    private void invalidateMatchers() {
+        ruleVersion++;
+        globalMatcher = null;
+        userMatchers.clear();
     }
 
     /**
@@ -218,6 +232,7 @@ public class SqlBlockRuleMgr implements Writable {
 
     public void unprotectedDrop(List<String> ruleNames) {
         ruleNames.forEach(name -> nameToSqlBlockRuleMap.remove(name));
+        invalidateMatchers();
     }
 
     /**
@@ -225,34 +240,43 @@ public class SqlBlockRuleMgr implements Writable {
      **/
     public void matchSql(String originSql, String sqlHash, String user) throws AnalysisException {
         // match global rule
-        List<SqlBlockRule> globalRules =
-                nameToSqlBlockRuleMap.values().stream().filter(SqlBlockRule::getGlobal).collect(Collectors.toList());
-        for (SqlBlockRule rule : globalRules) {
-            matchSql(rule, originSql, sqlHash);
-        }
+        getGlobalMatcher().match(originSql, sqlHash);
         // match user rule
         String[] bindSqlBlockRules = Env.getCurrentEnv().getAuth().getSqlBlockRules(user);
-        for (String ruleName : bindSqlBlockRules) {
-            SqlBlockRule rule = nameToSqlBlockRuleMap.get(ruleName);
-            if (rule == null) {
-                continue;
-            }
-            matchSql(rule, originSql, sqlHash);
+        if (bindSqlBlockRules.length > 0) {
+            getUserMatcher(user, bindSqlBlockRules).match(originSql, sqlHash);
         }
     }
 
-    private void matchSql(SqlBlockRule rule, String originSql, String sqlHash) throws AnalysisException {
-        if (rule.getEnable()) {
-            if (StringUtils.isNotEmpty(rule.getSqlHash()) && !SqlBlockUtil.STRING_DEFAULT.equals(rule.getSqlHash())
-                    && rule.getSqlHash().equals(sqlHash)) {
-                MetricRepo.COUNTER_HIT_SQL_BLOCK_RULE.increase(1L);
-                throw new AnalysisException("sql match hash sql block rule: " + rule.getName());
-            } else if (StringUtils.isNotEmpty(rule.getSql()) && !SqlBlockUtil.STRING_DEFAULT.equals(rule.getSql())
-                    && rule.getSqlPattern() != null && rule.getSqlPattern().matcher(originSql).find()) {
-                MetricRepo.COUNTER_HIT_SQL_BLOCK_RULE.increase(1L);
-                throw new AnalysisException("sql match regex sql block rule: " + rule.getName());
+    private SqlBlockRuleMatcher getGlobalMatcher() {
+        SqlBlockRuleMatcher matcher = globalMatcher;
+        long version = ruleVersion;
+        if (matcher == null || matcher.getVersion() != version) {
+            List<SqlBlockRule> globalRules = nameToSqlBlockRuleMap.values().stream().filter(SqlBlockRule::getGlobal)
+                    .collect(Collectors.toList());
+            matcher = new SqlBlockRuleMatcher(globalRules, version, null);
+            globalMatcher = matcher;
+        }
+        return matcher;
+    }
+
+    private SqlBlockRuleMatcher getUserMatcher(String user, String[] bindSqlBlockRules) {
+        SqlBlockRuleMatcher matcher = userMatchers.get(user);
+        long version = ruleVersion;
+        // the bound rules of user may be changed by set property, which does not change the rule version
+        if (matcher == null || matcher.getVersion() != version
+                || !Arrays.equals(matcher.getBindRules(), bindSqlBlockRules)) {
+            List<SqlBlockRule> userRules = Lists.newArrayList();
+            for (String ruleName : bindSqlBlockRules) {
+                SqlBlockRule rule = nameToSqlBlockRuleMap.get(ruleName);
+                if (rule != null) {
+                    userRules.add(rule);
+                }
             }
+            matcher = new SqlBlockRuleMatcher(userRules, version, bindSqlBlockRules);
+            userMatchers.put(user, matcher);
         }
+        return matcher;
     }
 
     /**
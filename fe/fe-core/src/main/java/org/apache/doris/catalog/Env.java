@@ -365,6 +365,8 @@ public class Env {
 
     private static Env CHECKPOINT = null;
     private static long checkpointThreadId = -1;
+    // threads which save or load image in parallel on behalf of the checkpoint thread
+    private static final Set<Long> checkpointWorkerThreadIds = ConcurrentHashMap.newKeySet();
     private Checkpoint checkpointer;
     private List<HostInfo> helperNodes = Lists.newArrayList();
     private HostInfo selfNode = null;
@@ -753,7 +755,17 @@ public class Env {
     }
 
     public static final boolean isCheckpointThread() {
-        return Thread.currentThread().getId() == checkpointThreadId;
+        long threadId = Thread.currentThread().getId();
+        return threadId == checkpointThreadId
+                || (!checkpointWorkerThreadIds.isEmpty() && checkpointWorkerThreadIds.contains(threadId));
+    }
+
+    public static void addCheckpointWorkerThread(long threadId) {
+        checkpointWorkerThreadIds.add(threadId);
+    }
+
+    public static void removeCheckpointWorkerThread(long threadId) {
+        checkpointWorkerThreadIds.remove(threadId);
     }
 
     public static PluginMgr getCurrentPluginMgr() {
@@ -2414,6 +2426,7 @@ public class Env {
                             // exit if master changed to any other type
                             String msg = "transfer FE type from MASTER to " + newType.name() + ". exit";
                             LOG.error(msg);
+                            editLog.stopGroupCommit();
                             Util.stdoutWithTime(msg);
                             System.exit(-1);
                             break;
@@ -4356,6 +4369,7 @@ public class Env {
                 newDataProperty, replicaAlloc, isInMemory, partitionInfo.getStoragePolicy(partition.getId()),
                 tblProperties);
         editLog.logModifyPartition(info);
+        tabletChecker.markTableDirty(db.getId(), table.getId());
         LOG.debug("modify partition[{}-{}-{}] replica allocation to {}", db.getId(), table.getId(), partition.getName(),
                 replicaAlloc.toCreateStmt());
     }
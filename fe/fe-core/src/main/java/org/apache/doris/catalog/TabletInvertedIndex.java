@@ -20,6 +20,8 @@ package org.apache.doris.catalog;
 import org.apache.doris.catalog.Replica.ReplicaState;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.util.LongLongHashMap;
+import org.apache.doris.common.util.LongObjectHashMap;
 import org.apache.doris.cooldown.CooldownConf;
 import org.apache.doris.task.PublishVersionTask;
 import org.apache.doris.thrift.TPartitionVersionInfo;
@@ -48,6 +50,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -70,13 +73,31 @@ public class TabletInvertedIndex {
     public static final TabletMeta NOT_EXIST_TABLET_META = new TabletMeta(NOT_EXIST_VALUE, NOT_EXIST_VALUE,
             NOT_EXIST_VALUE, NOT_EXIST_VALUE, NOT_EXIST_VALUE, TStorageMedium.HDD);
 
-    private StampedLock lock = new StampedLock();
+    // the index is striped into shards by tablet id, each shard is guarded by its own lock,
+    // so that tablet reports of different backends and meta changes of different tablets do not block each other.
+    // must be power of 2
+    private static final int SHARD_NUM = 64;
 
-    // tablet id -> tablet meta
-    private Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
+    private static class Shard {
+        private final StampedLock lock = new StampedLock();
 
-    // replica id -> tablet id
-    private Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+        // tablet id -> tablet meta
+        private final LongObjectHashMap<TabletMeta> tabletMetaMap = new LongObjectHashMap<>();
+
+        // replica id -> tablet id, only replicas of tablets in this shard
+        private final LongLongHashMap replicaToTabletMap = new LongLongHashMap();
+
+        // tablet id -> replicas. A tablet only has a few replicas, so an array is more compact than a map.
+        // The array is copied on write, and at most one replica of a tablet on each backend.
+        private final LongObjectHashMap<Replica[]> replicaMetaMap = new LongObjectHashMap<>();
+
+        // backing replica map, for visiting backend replicas faster.
+        // backend id -> (tablet id -> replica)
+        private final LongObjectHashMap<LongObjectHashMap<Replica>> backingReplicaMetaMap
+                = new LongObjectHashMap<>();
+    }
+
+    private final Shard[] shards = new Shard[SHARD_NUM];
 
     /*
      *  we use this to save memory.
@@ -86,36 +107,22 @@ public class TabletInvertedIndex {
      *  we use 'tabletMetaTable' to do the update things
      *      (eg. update schema hash in TabletMeta)
      *  partition id -> (index id -> tablet meta)
+     *  It is shared by all shards, guarded by itself.
      */
-    private Table<Long, Long, TabletMeta> tabletMetaTable = HashBasedTable.create();
-
-    // tablet id -> (backend id -> replica)
-    private Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
-    // backing replica table, for visiting backend replicas faster.
-    // backend id -> (tablet id -> replica)
-    private Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+    private final Table<Long, Long, TabletMeta> tabletMetaTable = HashBasedTable.create();
 
     private volatile ImmutableSet<Long> partitionIdInMemorySet = ImmutableSet.of();
 
     private ForkJoinPool taskPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
 
     public TabletInvertedIndex() {
+        for (int i = 0; i < SHARD_NUM; i++) {
+            shards[i] = new Shard();
+        }
     }
 
-    private long readLock() {
-        return this.lock.readLock();
-    }
-
-    private void readUnlock(long stamp) {
-        this.lock.unlockRead(stamp);
-    }
-
-    private long writeLock() {
-        return this.lock.writeLock();
-    }
-
-    private void writeUnlock(long stamp) {
-        this.lock.unlockWrite(stamp);
+    private Shard getShard(long tabletId) {
+        return shards[Long.hashCode(tabletId) & (SHARD_NUM - 1)];
     }
 
     public void tabletReport(long backendId, Map<Long, TTablet> backendTablets,
@@ -130,190 +137,190 @@ public class TabletInvertedIndex {
                              List<Triple<Long, Integer, Boolean>> tabletToInMemory,
                              List<CooldownConf> cooldownConfToPush,
                              List<CooldownConf> cooldownConfToUpdate) {
-        long stamp = readLock();
         long start = System.currentTimeMillis();
-        try {
-            LOG.debug("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                taskPool.submit(() -> {
-                    // traverse replicas in meta with this backend
-                    replicaMetaWithBackend.entrySet().parallelStream().forEach(entry -> {
-                        long tabletId = entry.getKey();
-                        Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-                        TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
-
-                        if (backendTablets.containsKey(tabletId)) {
-                            TTablet backendTablet = backendTablets.get(tabletId);
-                            Replica replica = entry.getValue();
-                            tabletFoundInMeta.add(tabletId);
-                            TTabletInfo backendTabletInfo = backendTablet.getTabletInfos().get(0);
-                            if (partitionIdInMemorySet.contains(
-                                    backendTabletInfo.getPartitionId()) != backendTabletInfo.isIsInMemory()) {
-                                synchronized (tabletToInMemory) {
-                                    tabletToInMemory.add(new ImmutableTriple<>(tabletId,
-                                            backendTabletInfo.getSchemaHash(), !backendTabletInfo.isIsInMemory()));
-                                }
+        LOG.debug("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
+        // shards are diffed in parallel, each one under its own read lock
+        taskPool.submit(() -> Arrays.stream(shards).parallel().forEach(shard -> {
+            long stamp = shard.lock.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = shard.backingReplicaMetaMap.get(backendId);
+                if (replicaMetaWithBackend == null) {
+                    return;
+                }
+                // traverse replicas in meta with this backend
+                replicaMetaWithBackend.forEach((tabletId, replica) -> {
+                    TabletMeta tabletMeta = shard.tabletMetaMap.get(tabletId);
+                    Preconditions.checkState(tabletMeta != null);
+
+                    if (backendTablets.containsKey(tabletId)) {
+                        TTablet backendTablet = backendTablets.get(tabletId);
+                        tabletFoundInMeta.add(tabletId);
+                        TTabletInfo backendTabletInfo = backendTablet.getTabletInfos().get(0);
+                        if (partitionIdInMemorySet.contains(
+                                backendTabletInfo.getPartitionId()) != backendTabletInfo.isIsInMemory()) {
+                            synchronized (tabletToInMemory) {
+                                tabletToInMemory.add(new ImmutableTriple<>(tabletId,
+                                        backendTabletInfo.getSchemaHash(), !backendTabletInfo.isIsInMemory()));
                             }
-                            // 1. (intersection)
-                            if (needSync(replica, backendTabletInfo)) {
-                                // need sync
-                                synchronized (tabletSyncMap) {
-                                    tabletSyncMap.put(tabletMeta.getDbId(), tabletId);
-                                }
+                        }
+                        // 1. (intersection)
+                        if (needSync(replica, backendTabletInfo)) {
+                            // need sync
+                            synchronized (tabletSyncMap) {
+                                tabletSyncMap.put(tabletMeta.getDbId(), tabletId);
                             }
+                        }
 
-                            // check and set path
-                            // path info of replica is only saved in Master FE
-                            if (backendTabletInfo.isSetPathHash()
-                                    && replica.getPathHash() != backendTabletInfo.getPathHash()) {
-                                replica.setPathHash(backendTabletInfo.getPathHash());
-                            }
+                        // check and set path
+                        // path info of replica is only saved in Master FE
+                        if (backendTabletInfo.isSetPathHash()
+                                && replica.getPathHash() != backendTabletInfo.getPathHash()) {
+                            replica.setPathHash(backendTabletInfo.getPathHash());
+                        }
 
-                            if (backendTabletInfo.isSetSchemaHash() && replica.getState() == ReplicaState.NORMAL
-                                    && replica.getSchemaHash() != backendTabletInfo.getSchemaHash()) {
-                                // update the schema hash only when replica is normal
-                                replica.setSchemaHash(backendTabletInfo.getSchemaHash());
-                            }
+                        if (backendTabletInfo.isSetSchemaHash() && replica.getState() == ReplicaState.NORMAL
+                                && replica.getSchemaHash() != backendTabletInfo.getSchemaHash()) {
+                            // update the schema hash only when replica is normal
+                            replica.setSchemaHash(backendTabletInfo.getSchemaHash());
+                        }
 
-                            if (needRecover(replica, tabletMeta.getOldSchemaHash(), backendTabletInfo)) {
-                                LOG.warn("replica {} of tablet {} on backend {} need recovery. "
-                                                + "replica in FE: {}, report version {}, report schema hash: {},"
-                                                + " is bad: {}, is version missing: {}",
-                                        replica.getId(), tabletId, backendId, replica,
-                                        backendTabletInfo.getVersion(),
-                                        backendTabletInfo.getSchemaHash(),
-                                        backendTabletInfo.isSetUsed() ? !backendTabletInfo.isUsed() : "false",
-                                        backendTabletInfo.isSetVersionMiss() ? backendTabletInfo.isVersionMiss() :
-                                                "unset");
-                                synchronized (tabletRecoveryMap) {
-                                    tabletRecoveryMap.put(tabletMeta.getDbId(), tabletId);
-                                }
+                        if (needRecover(replica, tabletMeta.getOldSchemaHash(), backendTabletInfo)) {
+                            LOG.warn("replica {} of tablet {} on backend {} need recovery. "
+                                            + "replica in FE: {}, report version {}, report schema hash: {},"
+                                            + " is bad: {}, is version missing: {}",
+                                    replica.getId(), tabletId, backendId, replica,
+                                    backendTabletInfo.getVersion(),
+                                    backendTabletInfo.getSchemaHash(),
+                                    backendTabletInfo.isSetUsed() ? !backendTabletInfo.isUsed() : "false",
+                                    backendTabletInfo.isSetVersionMiss() ? backendTabletInfo.isVersionMiss() :
+                                            "unset");
+                            synchronized (tabletRecoveryMap) {
+                                tabletRecoveryMap.put(tabletMeta.getDbId(), tabletId);
                             }
+                        }
 
-                            if (Config.enable_storage_policy && backendTabletInfo.isSetCooldownTerm()) {
-                                handleCooldownConf(tabletMeta, backendTabletInfo, cooldownConfToPush,
-                                        cooldownConfToUpdate);
-                                replica.setCooldownMetaId(backendTabletInfo.getCooldownMetaId());
-                                replica.setCooldownTerm(backendTabletInfo.getCooldownTerm());
-                            }
+                        if (Config.enable_storage_policy && backendTabletInfo.isSetCooldownTerm()) {
+                            handleCooldownConf(tabletMeta, backendTabletInfo, shard.replicaMetaMap.get(tabletId),
+                                    cooldownConfToPush, cooldownConfToUpdate);
+                            replica.setCooldownMetaId(backendTabletInfo.getCooldownMetaId());
+                            replica.setCooldownTerm(backendTabletInfo.getCooldownTerm());
+                        }
 
-                            long partitionId = tabletMeta.getPartitionId();
-                            if (!Config.disable_storage_medium_check) {
-                                // check if need migration
-                                TStorageMedium storageMedium = storageMediumMap.get(partitionId);
-                                if (storageMedium != null && backendTabletInfo.isSetStorageMedium()
-                                        && isLocal(storageMedium) && isLocal(backendTabletInfo.getStorageMedium())
-                                        && isLocal(tabletMeta.getStorageMedium())) {
-                                    if (storageMedium != backendTabletInfo.getStorageMedium()) {
-                                        synchronized (tabletMigrationMap) {
-                                            tabletMigrationMap.put(storageMedium, tabletId);
-                                        }
-                                    }
-                                    if (storageMedium != tabletMeta.getStorageMedium()) {
-                                        tabletMeta.setStorageMedium(storageMedium);
+                        long partitionId = tabletMeta.getPartitionId();
+                        if (!Config.disable_storage_medium_check) {
+                            // check if need migration
+                            TStorageMedium storageMedium = storageMediumMap.get(partitionId);
+                            if (storageMedium != null && backendTabletInfo.isSetStorageMedium()
+                                    && isLocal(storageMedium) && isLocal(backendTabletInfo.getStorageMedium())
+                                    && isLocal(tabletMeta.getStorageMedium())) {
+                                if (storageMedium != backendTabletInfo.getStorageMedium()) {
+                                    synchronized (tabletMigrationMap) {
+                                        tabletMigrationMap.put(storageMedium, tabletId);
                                     }
                                 }
+                                if (storageMedium != tabletMeta.getStorageMedium()) {
+                                    tabletMeta.setStorageMedium(storageMedium);
+                                }
                             }
+                        }
 
-                            // check if should clear transactions
-                            if (backendTabletInfo.isSetTransactionIds()) {
-                                List<Long> transactionIds = backendTabletInfo.getTransactionIds();
-                                GlobalTransactionMgr transactionMgr = Env.getCurrentGlobalTransactionMgr();
-                                for (Long transactionId : transactionIds) {
-                                    TransactionState transactionState
-                                            = transactionMgr.getTransactionState(tabletMeta.getDbId(), transactionId);
-                                    if (transactionState == null
-                                            || transactionState.getTransactionStatus() == TransactionStatus.ABORTED) {
-                                        synchronized (transactionsToClear) {
-                                            transactionsToClear.put(transactionId, tabletMeta.getPartitionId());
-                                        }
-                                        LOG.debug("transaction id [{}] is not valid any more, "
-                                                + "clear it from backend [{}]", transactionId, backendId);
-                                    } else if (transactionState.getTransactionStatus() == TransactionStatus.VISIBLE) {
-                                        TableCommitInfo tableCommitInfo
-                                                = transactionState.getTableCommitInfo(tabletMeta.getTableId());
-                                        PartitionCommitInfo partitionCommitInfo = tableCommitInfo == null
-                                                ? null : tableCommitInfo.getPartitionCommitInfo(partitionId);
-                                        if (partitionCommitInfo != null) {
-                                            TPartitionVersionInfo versionInfo
-                                                    = new TPartitionVersionInfo(tabletMeta.getPartitionId(),
-                                                    partitionCommitInfo.getVersion(), 0);
-                                            synchronized (transactionsToPublish) {
-                                                ListMultimap<Long, TPartitionVersionInfo> map
-                                                        = transactionsToPublish.get(transactionState.getDbId());
-                                                if (map == null) {
-                                                    map = ArrayListMultimap.create();
-                                                    transactionsToPublish.put(transactionState.getDbId(), map);
-                                                }
-                                                map.put(transactionId, versionInfo);
+                        // check if should clear transactions
+                        if (backendTabletInfo.isSetTransactionIds()) {
+                            List<Long> transactionIds = backendTabletInfo.getTransactionIds();
+                            GlobalTransactionMgr transactionMgr = Env.getCurrentGlobalTransactionMgr();
+                            for (Long transactionId : transactionIds) {
+                                TransactionState transactionState
+                                        = transactionMgr.getTransactionState(tabletMeta.getDbId(), transactionId);
+                                if (transactionState == null
+                                        || transactionState.getTransactionStatus() == TransactionStatus.ABORTED) {
+                                    synchronized (transactionsToClear) {
+                                        transactionsToClear.put(transactionId, tabletMeta.getPartitionId());
+                                    }
+                                    LOG.debug("transaction id [{}] is not valid any more, "
+                                            + "clear it from backend [{}]", transactionId, backendId);
+                                } else if (transactionState.getTransactionStatus() == TransactionStatus.VISIBLE) {
+                                    TableCommitInfo tableCommitInfo
+                                            = transactionState.getTableCommitInfo(tabletMeta.getTableId());
+                                    PartitionCommitInfo partitionCommitInfo = tableCommitInfo == null
+                                            ? null : tableCommitInfo.getPartitionCommitInfo(partitionId);
+                                    if (partitionCommitInfo != null) {
+                                        TPartitionVersionInfo versionInfo
+                                                = new TPartitionVersionInfo(tabletMeta.getPartitionId(),
+                                                partitionCommitInfo.getVersion(), 0);
+                                        synchronized (transactionsToPublish) {
+                                            ListMultimap<Long, TPartitionVersionInfo> map
+                                                    = transactionsToPublish.get(transactionState.getDbId());
+                                            if (map == null) {
+                                                map = ArrayListMultimap.create();
+                                                transactionsToPublish.put(transactionState.getDbId(), map);
                                             }
+                                            map.put(transactionId, versionInfo);
                                         }
-                                    } else if (transactionState.getTransactionStatus() == TransactionStatus.COMMITTED) {
-                                        // for some reasons, transaction pushlish succeed replica num less than quorum,
-                                        // this transaction's status can not to be VISIBLE, and this publish task of
-                                        // this replica of this tablet on this backend need retry publish success to
-                                        // make transaction VISIBLE when last publish failed.
-                                        Map<Long, PublishVersionTask> publishVersionTask =
-                                                        transactionState.getPublishVersionTasks();
-                                        PublishVersionTask task = publishVersionTask.get(backendId);
-                                        if (task != null && task.isFinished()) {
-                                            List<Long> errorTablets = task.getErrorTablets();
-                                            if (errorTablets != null) {
-                                                for (int i = 0; i < errorTablets.size(); i++) {
-                                                    if (tabletId == errorTablets.get(i)) {
-                                                        TableCommitInfo tableCommitInfo
-                                                                = transactionState.getTableCommitInfo(
-                                                                        tabletMeta.getTableId());
-                                                        PartitionCommitInfo partitionCommitInfo =
-                                                                tableCommitInfo == null ? null :
-                                                                tableCommitInfo.getPartitionCommitInfo(partitionId);
-                                                        if (partitionCommitInfo != null) {
-                                                            TPartitionVersionInfo versionInfo
-                                                                    = new TPartitionVersionInfo(
-                                                                        tabletMeta.getPartitionId(),
-                                                                        partitionCommitInfo.getVersion(), 0);
-                                                            synchronized (transactionsToPublish) {
-                                                                ListMultimap<Long, TPartitionVersionInfo> map
-                                                                        = transactionsToPublish.get(
-                                                                        transactionState.getDbId());
-                                                                if (map == null) {
-                                                                    map = ArrayListMultimap.create();
-                                                                    transactionsToPublish.put(
-                                                                            transactionState.getDbId(), map);
-                                                                }
-                                                                map.put(transactionId, versionInfo);
+                                    }
+                                } else if (transactionState.getTransactionStatus() == TransactionStatus.COMMITTED) {
+                                    // for some reasons, transaction pushlish succeed replica num less than quorum,
+                                    // this transaction's status can not to be VISIBLE, and this publish task of
+                                    // this replica of this tablet on this backend need retry publish success to
+                                    // make transaction VISIBLE when last publish failed.
+                                    Map<Long, PublishVersionTask> publishVersionTask =
+                                                    transactionState.getPublishVersionTasks();
+                                    PublishVersionTask task = publishVersionTask.get(backendId);
+                                    if (task != null && task.isFinished()) {
+                                        List<Long> errorTablets = task.getErrorTablets();
+                                        if (errorTablets != null) {
+                                            for (int i = 0; i < errorTablets.size(); i++) {
+                                                if (tabletId == errorTablets.get(i)) {
+                                                    TableCommitInfo tableCommitInfo
+                                                            = transactionState.getTableCommitInfo(
+                                                                    tabletMeta.getTableId());
+                                                    PartitionCommitInfo partitionCommitInfo =
+                                                            tableCommitInfo == null ? null :
+                                                            tableCommitInfo.getPartitionCommitInfo(partitionId);
+                                                    if (partitionCommitInfo != null) {
+                                                        TPartitionVersionInfo versionInfo
+                                                                = new TPartitionVersionInfo(
+                                                                    tabletMeta.getPartitionId(),
+                                                                    partitionCommitInfo.getVersion(), 0);
+                                                        synchronized (transactionsToPublish) {
+                                                            ListMultimap<Long, TPartitionVersionInfo> map
+                                                                    = transactionsToPublish.get(
+                                                                    transactionState.getDbId());
+                                                            if (map == null) {
+                                                                map = ArrayListMultimap.create();
+                                                                transactionsToPublish.put(
+                                                                        transactionState.getDbId(), map);
                                                             }
+                                                            map.put(transactionId, versionInfo);
                                                         }
-                                                        break;
                                                     }
+                                                    break;
                                                 }
                                             }
                                         }
-
                                     }
-                                }
-                            } // end for txn id
 
-                            // update replicase's version count
-                            // no need to write log, and no need to get db lock.
-                            if (backendTabletInfo.isSetVersionCount()) {
-                                replica.setVersionCount(backendTabletInfo.getVersionCount());
-                            }
-                        } else {
-                            // 2. (meta - be)
-                            // may need delete from meta
-                            LOG.debug("backend[{}] does not report tablet[{}-{}]", backendId, tabletId, tabletMeta);
-                            synchronized (tabletDeleteFromMeta) {
-                                tabletDeleteFromMeta.put(tabletMeta.getDbId(), tabletId);
+                                }
                             }
+                        } // end for txn id
+
+                        // update replicase's version count
+                        // no need to write log, and no need to get db lock.
+                        if (backendTabletInfo.isSetVersionCount()) {
+                            replica.setVersionCount(backendTabletInfo.getVersionCount());
                         }
-                    });
-                }).join();
+                    } else {
+                        // 2. (meta - be)
+                        // may need delete from meta
+                        LOG.debug("backend[{}] does not report tablet[{}-{}]", backendId, tabletId, tabletMeta);
+                        synchronized (tabletDeleteFromMeta) {
+                            tabletDeleteFromMeta.put(tabletMeta.getDbId(), tabletId);
+                        }
+                    }
+                });
+            } finally {
+                shard.lock.unlockRead(stamp);
             }
-        } finally {
-            readUnlock(stamp);
-        }
+        })).join();
 
         long end = System.currentTimeMillis();
         LOG.info("finished to do tablet diff with backend[{}]. sync: {}."
@@ -326,34 +333,43 @@ public class TabletInvertedIndex {
     }
 
     public Long getTabletIdByReplica(long replicaId) {
-        long stamp = readLock();
-        try {
-            return replicaToTabletMap.get(replicaId);
-        } finally {
-            readUnlock(stamp);
+        // replicas are sharded by tablet id, so we have to look up each shard
+        for (Shard shard : shards) {
+            long stamp = shard.lock.readLock();
+            try {
+                long tabletId = shard.replicaToTabletMap.getOrDefault(replicaId, NOT_EXIST_VALUE);
+                if (tabletId != NOT_EXIST_VALUE) {
+                    return tabletId;
+                }
+            } finally {
+                shard.lock.unlockRead(stamp);
+            }
         }
+        return null;
     }
 
     public TabletMeta getTabletMeta(long tabletId) {
-        long stamp = readLock();
+        Shard shard = getShard(tabletId);
+        long stamp = shard.lock.readLock();
         try {
-            return tabletMetaMap.get(tabletId);
+            return shard.tabletMetaMap.get(tabletId);
         } finally {
-            readUnlock(stamp);
+            shard.lock.unlockRead(stamp);
         }
     }
 
     public List<TabletMeta> getTabletMetaList(List<Long> tabletIdList) {
         List<TabletMeta> tabletMetaList = new ArrayList<>(tabletIdList.size());
-        long stamp = readLock();
-        try {
-            for (Long tabletId : tabletIdList) {
-                tabletMetaList.add(tabletMetaMap.getOrDefault(tabletId, NOT_EXIST_TABLET_META));
+        for (Long tabletId : tabletIdList) {
+            Shard shard = getShard(tabletId);
+            long stamp = shard.lock.readLock();
+            try {
+                tabletMetaList.add(shard.tabletMetaMap.getOrDefault(tabletId, NOT_EXIST_TABLET_META));
+            } finally {
+                shard.lock.unlockRead(stamp);
             }
-            return tabletMetaList;
-        } finally {
-            readUnlock(stamp);
         }
+        return tabletMetaList;
     }
 
     private boolean needSync(Replica replicaInFe, TTabletInfo backendTabletInfo) {
@@ -382,7 +398,7 @@ public class TabletInvertedIndex {
         return false;
     }
 
-    private void handleCooldownConf(TabletMeta tabletMeta, TTabletInfo beTabletInfo,
+    private void handleCooldownConf(TabletMeta tabletMeta, TTabletInfo beTabletInfo, Replica[] replicas,
             List<CooldownConf> cooldownConfToPush, List<CooldownConf> cooldownConfToUpdate) {
         Tablet tablet;
         try {
@@ -417,12 +433,11 @@ public class TabletInvertedIndex {
         }
 
         // check cooldown replica is alive
-        Map<Long, Replica> replicaMap = replicaMetaTable.row(beTabletInfo.getTabletId());
-        if (replicaMap.isEmpty()) {
+        if (replicas == null || replicas.length == 0) {
             return;
         }
         boolean replicaAlive = false;
-        for (Replica replica : replicaMap.values()) {
+        for (Replica replica : replicas) {
             if (replica.getId() == cooldownConf.first) {
                 if (replica.isAlive()) {
                     replicaAlive = true;
@@ -449,13 +464,7 @@ public class TabletInvertedIndex {
     }
 
     public List<Replica> getReplicas(Long tabletId) {
-        long stamp = readLock();
-        try {
-            Map<Long, Replica> replicaMap = replicaMetaTable.row(tabletId);
-            return replicaMap.values().stream().collect(Collectors.toList());
-        } finally {
-            readUnlock(stamp);
-        }
+        return getReplicasByTabletId(tabletId);
     }
 
     /**
@@ -498,20 +507,23 @@ public class TabletInvertedIndex {
         if (Env.isCheckpointThread()) {
             return;
         }
-        long stamp = writeLock();
+        Shard shard = getShard(tabletId);
+        long stamp = shard.lock.writeLock();
         try {
-            if (tabletMetaMap.containsKey(tabletId)) {
+            if (shard.tabletMetaMap.containsKey(tabletId)) {
                 return;
             }
-            tabletMetaMap.put(tabletId, tabletMeta);
-            if (!tabletMetaTable.contains(tabletMeta.getPartitionId(), tabletMeta.getIndexId())) {
-                tabletMetaTable.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), tabletMeta);
-                LOG.debug("add tablet meta: {}", tabletId);
+            shard.tabletMetaMap.put(tabletId, tabletMeta);
+            synchronized (tabletMetaTable) {
+                if (!tabletMetaTable.contains(tabletMeta.getPartitionId(), tabletMeta.getIndexId())) {
+                    tabletMetaTable.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), tabletMeta);
+                    LOG.debug("add tablet meta: {}", tabletId);
+                }
             }
 
             LOG.debug("add tablet: {}", tabletId);
         } finally {
-            writeUnlock(stamp);
+            shard.lock.unlockWrite(stamp);
         }
     }
 
@@ -519,27 +531,27 @@ public class TabletInvertedIndex {
         if (Env.isCheckpointThread()) {
             return;
         }
-        long stamp = writeLock();
+        Shard shard = getShard(tabletId);
+        long stamp = shard.lock.writeLock();
         try {
-            Map<Long, Replica> replicas = replicaMetaTable.rowMap().remove(tabletId);
+            Replica[] replicas = shard.replicaMetaMap.remove(tabletId);
             if (replicas != null) {
-                for (Replica replica : replicas.values()) {
-                    replicaToTabletMap.remove(replica.getId());
-                }
-
-                for (long backendId : replicas.keySet()) {
-                    backingReplicaMetaTable.remove(backendId, tabletId);
+                for (Replica replica : replicas) {
+                    shard.replicaToTabletMap.remove(replica.getId());
+                    removeBackingReplica(shard, replica.getBackendId(), tabletId);
                 }
             }
-            TabletMeta tabletMeta = tabletMetaMap.remove(tabletId);
+            TabletMeta tabletMeta = shard.tabletMetaMap.remove(tabletId);
             if (tabletMeta != null) {
-                tabletMetaTable.remove(tabletMeta.getPartitionId(), tabletMeta.getIndexId());
+                synchronized (tabletMetaTable) {
+                    tabletMetaTable.remove(tabletMeta.getPartitionId(), tabletMeta.getIndexId());
+                }
                 LOG.debug("delete tablet meta: {}", tabletId);
             }
 
             LOG.debug("delete tablet: {}", tabletId);
         } finally {
-            writeUnlock(stamp);
+            shard.lock.unlockWrite(stamp);
         }
     }
 
@@ -547,16 +559,37 @@ public class TabletInvertedIndex {
         if (Env.isCheckpointThread()) {
             return;
         }
-        long stamp = writeLock();
+        Shard shard = getShard(tabletId);
+        long stamp = shard.lock.writeLock();
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            replicaMetaTable.put(tabletId, replica.getBackendId(), replica);
-            replicaToTabletMap.put(replica.getId(), tabletId);
-            backingReplicaMetaTable.put(replica.getBackendId(), tabletId, replica);
+            Preconditions.checkState(shard.tabletMetaMap.containsKey(tabletId));
+            long backendId = replica.getBackendId();
+            Replica[] replicas = shard.replicaMetaMap.get(tabletId);
+            int idx = indexOfBackend(replicas, backendId);
+            Replica[] newReplicas;
+            if (idx >= 0) {
+                // replace the replica on the same backend
+                shard.replicaToTabletMap.remove(replicas[idx].getId());
+                newReplicas = Arrays.copyOf(replicas, replicas.length);
+                newReplicas[idx] = replica;
+            } else if (replicas == null) {
+                newReplicas = new Replica[] {replica};
+            } else {
+                newReplicas = Arrays.copyOf(replicas, replicas.length + 1);
+                newReplicas[replicas.length] = replica;
+            }
+            shard.replicaMetaMap.put(tabletId, newReplicas);
+            shard.replicaToTabletMap.put(replica.getId(), tabletId);
+            LongObjectHashMap<Replica> backendReplicas = shard.backingReplicaMetaMap.get(backendId);
+            if (backendReplicas == null) {
+                backendReplicas = new LongObjectHashMap<>();
+                shard.backingReplicaMetaMap.put(backendId, backendReplicas);
+            }
+            backendReplicas.put(tabletId, replica);
             LOG.debug("add replica {} of tablet {} in backend {}",
                     replica.getId(), tabletId, replica.getBackendId());
         } finally {
-            writeUnlock(stamp);
+            shard.lock.unlockWrite(stamp);
         }
     }
 
@@ -564,14 +597,28 @@ public class TabletInvertedIndex {
         if (Env.isCheckpointThread()) {
             return;
         }
-        long stamp = writeLock();
+        Shard shard = getShard(tabletId);
+        long stamp = shard.lock.writeLock();
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            if (replicaMetaTable.containsRow(tabletId)) {
-                Replica replica = replicaMetaTable.remove(tabletId, backendId);
-                replicaToTabletMap.remove(replica.getId());
-                replicaMetaTable.remove(tabletId, backendId);
-                backingReplicaMetaTable.remove(backendId, tabletId);
+            Preconditions.checkState(shard.tabletMetaMap.containsKey(tabletId));
+            Replica[] replicas = shard.replicaMetaMap.get(tabletId);
+            if (replicas != null) {
+                int idx = indexOfBackend(replicas, backendId);
+                if (idx < 0) {
+                    LOG.debug("tablet[{}] has no replica in backend {} in inverted index", tabletId, backendId);
+                    return;
+                }
+                Replica replica = replicas[idx];
+                if (replicas.length == 1) {
+                    shard.replicaMetaMap.remove(tabletId);
+                } else {
+                    Replica[] newReplicas = new Replica[replicas.length - 1];
+                    System.arraycopy(replicas, 0, newReplicas, 0, idx);
+                    System.arraycopy(replicas, idx + 1, newReplicas, idx, replicas.length - idx - 1);
+                    shard.replicaMetaMap.put(tabletId, newReplicas);
+                }
+                shard.replicaToTabletMap.remove(replica.getId());
+                removeBackingReplica(shard, backendId, tabletId);
                 LOG.debug("delete replica {} of tablet {} in backend {}",
                         replica.getId(), tabletId, backendId);
             } else {
@@ -580,109 +627,201 @@ public class TabletInvertedIndex {
                 LOG.error("tablet[{}] contains no replica in inverted index", tabletId);
             }
         } finally {
-            writeUnlock(stamp);
+            shard.lock.unlockWrite(stamp);
+        }
+    }
+
+    private static int indexOfBackend(Replica[] replicas, long backendId) {
+        if (replicas != null) {
+            for (int i = 0; i < replicas.length; i++) {
+                if (replicas[i].getBackendId() == backendId) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static void removeBackingReplica(Shard shard, long backendId, long tabletId) {
+        LongObjectHashMap<Replica> backendReplicas = shard.backingReplicaMetaMap.get(backendId);
+        if (backendReplicas != null) {
+            backendReplicas.remove(tabletId);
+            if (backendReplicas.isEmpty()) {
+                shard.backingReplicaMetaMap.remove(backendId);
+            }
         }
     }
 
     public Replica getReplica(long tabletId, long backendId) {
-        long stamp = readLock();
+        Shard shard = getShard(tabletId);
+        long stamp = shard.lock.readLock();
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId), tabletId);
-            return replicaMetaTable.get(tabletId, backendId);
+            Preconditions.checkState(shard.tabletMetaMap.containsKey(tabletId), tabletId);
+            Replica[] replicas = shard.replicaMetaMap.get(tabletId);
+            int idx = indexOfBackend(replicas, backendId);
+            return idx >= 0 ? replicas[idx] : null;
         } finally {
-            readUnlock(stamp);
+            shard.lock.unlockRead(stamp);
         }
     }
 
     public List<Replica> getReplicasByTabletId(long tabletId) {
-        long stamp = readLock();
+        Shard shard = getShard(tabletId);
+        long stamp = shard.lock.readLock();
         try {
-            if (replicaMetaTable.containsRow(tabletId)) {
-                return Lists.newArrayList(replicaMetaTable.row(tabletId).values());
+            Replica[] replicas = shard.replicaMetaMap.get(tabletId);
+            if (replicas != null) {
+                return Lists.newArrayList(replicas);
             }
             return Lists.newArrayList();
         } finally {
-            readUnlock(stamp);
+            shard.lock.unlockRead(stamp);
         }
     }
 
     public List<Long> getTabletIdsByBackendId(long backendId) {
         List<Long> tabletIds = Lists.newArrayList();
-        long stamp = readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                tabletIds.addAll(replicaMetaWithBackend.keySet());
+        for (Shard shard : shards) {
+            long stamp = shard.lock.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = shard.backingReplicaMetaMap.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    replicaMetaWithBackend.forEach((tabletId, replica) -> tabletIds.add(tabletId));
+                }
+            } finally {
+                shard.lock.unlockRead(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
         return tabletIds;
     }
 
     public List<Long> getTabletIdsByBackendIdAndStorageMedium(long backendId, TStorageMedium storageMedium) {
         List<Long> tabletIds = Lists.newArrayList();
-        long stamp = readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                tabletIds = replicaMetaWithBackend.keySet().stream().filter(
-                        id -> tabletMetaMap.get(id).getStorageMedium() == storageMedium).collect(Collectors.toList());
+        for (Shard shard : shards) {
+            long stamp = shard.lock.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = shard.backingReplicaMetaMap.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    replicaMetaWithBackend.forEach((tabletId, replica) -> {
+                        if (shard.tabletMetaMap.get(tabletId).getStorageMedium() == storageMedium) {
+                            tabletIds.add(tabletId);
+                        }
+                    });
+                }
+            } finally {
+                shard.lock.unlockRead(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
         return tabletIds;
     }
 
     public int getTabletNumByBackendId(long backendId) {
-        long stamp = readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                return replicaMetaWithBackend.size();
+        int tabletNum = 0;
+        for (Shard shard : shards) {
+            long stamp = shard.lock.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = shard.backingReplicaMetaMap.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    tabletNum += replicaMetaWithBackend.size();
+                }
+            } finally {
+                shard.lock.unlockRead(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
-        return 0;
+        return tabletNum;
     }
 
     public Map<TStorageMedium, Long> getReplicaNumByBeIdAndStorageMedium(long backendId) {
         Map<TStorageMedium, Long> replicaNumMap = Maps.newHashMap();
         long hddNum = 0;
         long ssdNum = 0;
-        long stamp = readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                for (long tabletId : replicaMetaWithBackend.keySet()) {
-                    if (tabletMetaMap.get(tabletId).getStorageMedium() == TStorageMedium.HDD) {
-                        hddNum++;
-                    } else {
-                        ssdNum++;
+        for (Shard shard : shards) {
+            long stamp = shard.lock.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = shard.backingReplicaMetaMap.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    for (long tabletId : replicaMetaWithBackend.keyList()) {
+                        if (shard.tabletMetaMap.get(tabletId).getStorageMedium() == TStorageMedium.HDD) {
+                            hddNum++;
+                        } else {
+                            ssdNum++;
+                        }
                     }
                 }
+            } finally {
+                shard.lock.unlockRead(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
         replicaNumMap.put(TStorageMedium.HDD, hddNum);
         replicaNumMap.put(TStorageMedium.SSD, ssdNum);
         return replicaNumMap;
     }
 
+    public long getTabletNum() {
+        long tabletNum = 0;
+        for (Shard shard : shards) {
+            long stamp = shard.lock.readLock();
+            try {
+                tabletNum += shard.tabletMetaMap.size();
+            } finally {
+                shard.lock.unlockRead(stamp);
+            }
+        }
+        return tabletNum;
+    }
+
+    public long getReplicaNum() {
+        long replicaNum = 0;
+        for (Shard shard : shards) {
+            long stamp = shard.lock.readLock();
+            try {
+                replicaNum += shard.replicaToTabletMap.size();
+            } finally {
+                shard.lock.unlockRead(stamp);
+            }
+        }
+        return replicaNum;
+    }
+
+    /**
+     * Estimated heap size of the index structures, exclude the TabletMeta and Replica objects themselves.
+     */
+    public long getEstimatedMemoryBytes() {
+        long bytes = 0;
+        for (Shard shard : shards) {
+            long stamp = shard.lock.readLock();
+            try {
+                bytes += shard.tabletMetaMap.estimatedMemoryBytes();
+                bytes += shard.replicaToTabletMap.estimatedMemoryBytes();
+                bytes += shard.replicaMetaMap.estimatedMemoryBytes();
+                // array header and 4 bytes per replica reference
+                bytes += 16L * shard.replicaMetaMap.size() + 4L * shard.replicaToTabletMap.size();
+                bytes += shard.backingReplicaMetaMap.estimatedMemoryBytes();
+                for (LongObjectHashMap<Replica> backendReplicas : shard.backingReplicaMetaMap.valueList()) {
+                    bytes += backendReplicas.estimatedMemoryBytes();
+                }
+            } finally {
+                shard.lock.unlockRead(stamp);
+            }
+        }
+        return bytes;
+    }
+
     // just for test
     public void clear() {
-        long stamp = writeLock();
-        try {
-            tabletMetaMap.clear();
-            replicaToTabletMap.clear();
+        for (Shard shard : shards) {
+            long stamp = shard.lock.writeLock();
+            try {
+                shard.tabletMetaMap.clear();
+                shard.replicaToTabletMap.clear();
+                shard.replicaMetaMap.clear();
+                shard.backingReplicaMetaMap.clear();
+            } finally {
+                shard.lock.unlockWrite(stamp);
+            }
+        }
+        synchronized (tabletMetaTable) {
             tabletMetaTable.clear();
-            replicaMetaTable.clear();
-            backingReplicaMetaTable.clear();
-        } finally {
-            writeUnlock(stamp);
         }
     }
 
@@ -690,15 +829,9 @@ public class TabletInvertedIndex {
         this.partitionIdInMemorySet = partitionIdInMemorySet;
     }
 
-    public Map<Long, Long> getReplicaToTabletMap() {
-        return replicaToTabletMap;
-    }
-
     // Only build from available bes, exclude colocate tables
     public Map<TStorageMedium, TreeMultimap<Long, PartitionBalanceInfo>> buildPartitionInfoBySkew(
             List<Long> availableBeIds) {
-        long stamp = readLock();
-
         // 1. gen <partitionId-indexId, <beId, replicaCount>>
         // for each replica(all tablets):
         //      find beId, then replicaCount++
@@ -706,41 +839,44 @@ public class TabletInvertedIndex {
         for (TStorageMedium medium : TStorageMedium.values()) {
             partitionReplicasInfoMaps.put(medium, HashBasedTable.create());
         }
-        try {
-            // Changes to the returned set will update the underlying table
-            // tablet id -> (backend id -> replica)
-            Set<Table.Cell<Long, Long, Replica>> cells = replicaMetaTable.cellSet();
-            for (Table.Cell<Long, Long, Replica> cell : cells) {
-                Long tabletId = cell.getRowKey();
-                Long beId = cell.getColumnKey();
-                try {
-                    Preconditions.checkState(availableBeIds.contains(beId), "dead be " + beId);
-                    TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
-                    Preconditions.checkNotNull(tabletMeta, "invalid tablet " + tabletId);
-                    Preconditions.checkState(
-                            !Env.getCurrentColocateIndex().isColocateTable(tabletMeta.getTableId()),
-                            "should not be the colocate table");
-
-                    TStorageMedium medium = tabletMeta.getStorageMedium();
-                    Table<Long, Long, Map<Long, Long>> partitionReplicasInfo = partitionReplicasInfoMaps.get(medium);
-                    Map<Long, Long> countMap = partitionReplicasInfo.get(
-                            tabletMeta.getPartitionId(), tabletMeta.getIndexId());
-                    if (countMap == null) {
-                        // If one be doesn't have any replica of one partition, it should be counted too.
-                        countMap = availableBeIds.stream().collect(Collectors.toMap(i -> i, i -> 0L));
-                    }
+        for (Shard shard : shards) {
+            long stamp = shard.lock.readLock();
+            try {
+                // tablet id -> replicas
+                shard.replicaMetaMap.forEach((tabletId, replicas) -> {
+                    for (Replica replica : replicas) {
+                        long beId = replica.getBackendId();
+                        try {
+                            Preconditions.checkState(availableBeIds.contains(beId), "dead be " + beId);
+                            TabletMeta tabletMeta = shard.tabletMetaMap.get(tabletId);
+                            Preconditions.checkNotNull(tabletMeta, "invalid tablet " + tabletId);
+                            Preconditions.checkState(
+                                    !Env.getCurrentColocateIndex().isColocateTable(tabletMeta.getTableId()),
+                                    "should not be the colocate table");
+
+                            TStorageMedium medium = tabletMeta.getStorageMedium();
+                            Table<Long, Long, Map<Long, Long>> partitionReplicasInfo
+                                    = partitionReplicasInfoMaps.get(medium);
+                            Map<Long, Long> countMap = partitionReplicasInfo.get(
+                                    tabletMeta.getPartitionId(), tabletMeta.getIndexId());
+                            if (countMap == null) {
+                                // If one be doesn't have any replica of one partition, it should be counted too.
+                                countMap = availableBeIds.stream().collect(Collectors.toMap(i -> i, i -> 0L));
+                            }
 
-                    Long count = countMap.get(beId);
-                    countMap.put(beId, count + 1L);
-                    partitionReplicasInfo.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), countMap);
-                    partitionReplicasInfoMaps.put(medium, partitionReplicasInfo);
-                } catch (IllegalStateException | NullPointerException e) {
-                    // If the tablet or be has some problem, don't count in
-                    LOG.debug(e.getMessage());
-                }
+                            Long count = countMap.get(beId);
+                            countMap.put(beId, count + 1L);
+                            partitionReplicasInfo.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), countMap);
+                            partitionReplicasInfoMaps.put(medium, partitionReplicasInfo);
+                        } catch (IllegalStateException | NullPointerException e) {
+                            // If the tablet or be has some problem, don't count in
+                            LOG.debug(e.getMessage());
+                        }
+                    }
+                });
+            } finally {
+                shard.lock.unlockRead(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
 
         // 2. Populate ClusterBalanceInfo::table_info_by_skew
@@ -790,23 +926,57 @@ public class TabletInvertedIndex {
         }
     }
 
-    // just for ut
+    // just for ut, returns a snapshot
     public Table<Long, Long, Replica> getReplicaMetaTable() {
+        Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
+        for (Shard shard : shards) {
+            long stamp = shard.lock.readLock();
+            try {
+                shard.replicaMetaMap.forEach((tabletId, replicas) -> {
+                    for (Replica replica : replicas) {
+                        replicaMetaTable.put(tabletId, replica.getBackendId(), replica);
+                    }
+                });
+            } finally {
+                shard.lock.unlockRead(stamp);
+            }
+        }
         return replicaMetaTable;
     }
 
-    // just for ut
+    // just for ut, returns a snapshot
     public Table<Long, Long, Replica> getBackingReplicaMetaTable() {
+        Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+        for (Shard shard : shards) {
+            long stamp = shard.lock.readLock();
+            try {
+                shard.backingReplicaMetaMap.forEach((backendId, replicas) -> replicas.forEach(
+                        (tabletId, replica) -> backingReplicaMetaTable.put(backendId, tabletId, replica)));
+            } finally {
+                shard.lock.unlockRead(stamp);
+            }
+        }
         return backingReplicaMetaTable;
     }
 
-    // just for ut
+    // just for ut, returns a snapshot
     public Table<Long, Long, TabletMeta> getTabletMetaTable() {
-        return tabletMetaTable;
+        synchronized (tabletMetaTable) {
+            return HashBasedTable.create(tabletMetaTable);
+        }
     }
 
-    // just for ut
+    // just for ut, returns a snapshot
     public Map<Long, TabletMeta> getTabletMetaMap() {
+        Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
+        for (Shard shard : shards) {
+            long stamp = shard.lock.readLock();
+            try {
+                shard.tabletMetaMap.forEach(tabletMetaMap::put);
+            } finally {
+                shard.lock.unlockRead(stamp);
+            }
+        }
         return tabletMetaMap;
     }
 
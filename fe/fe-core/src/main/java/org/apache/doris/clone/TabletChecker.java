@@ -23,12 +23,15 @@ import org.apache.doris.catalog.Database;
 import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.MaterializedIndex;
 import org.apache.doris.catalog.MaterializedIndex.IndexExtState;
+import org.apache.doris.catalog.MaterializedIndex.IndexState;
 import org.apache.doris.catalog.OlapTable;
 import org.apache.doris.catalog.Partition;
 import org.apache.doris.catalog.Partition.PartitionState;
 import org.apache.doris.catalog.Table;
 import org.apache.doris.catalog.Tablet;
 import org.apache.doris.catalog.Tablet.TabletStatus;
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.catalog.TabletMeta;
 import org.apache.doris.clone.TabletScheduler.AddResult;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
@@ -41,14 +44,18 @@ import org.apache.doris.metric.MetricLabel;
 import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.system.SystemInfoService;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Table.Cell;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -64,6 +71,11 @@ import java.util.stream.Collectors;
 public class TabletChecker extends MasterDaemon {
     private static final Logger LOG = LogManager.getLogger(TabletChecker.class);
 
+    static final String FULL_CHECK = "full";
+    static final String INCREMENTAL_CHECK = "incremental";
+    // fall back to full check if too many tablets are dirty
+    private static final int MAX_DIRTY_TABLET_NUM = 1000000;
+
     private Env env;
     private SystemInfoService infoService;
     private TabletScheduler tabletScheduler;
@@ -83,6 +95,21 @@ public class TabletChecker extends MasterDaemon {
     // priority of replicas of partitions in this table will be set to VERY_HIGH if not healthy
     private com.google.common.collect.Table<Long, Long, Set<PrioPart>> prios = HashBasedTable.create();
 
+    // If Config.enable_incremental_tablet_checker is true, only the tablets and tables marked dirty by
+    // tablet reports, backend state changes and DDL are checked in each round, and all tablets are
+    // checked every Config.tablet_checker_full_sweep_interval_sec as a safety net.
+    private final Set<Long> dirtyTablets = Sets.newConcurrentHashSet();
+    // tbl id -> db id, all tablets of these tables are checked
+    private final Map<Long, Long> dirtyTables = Maps.newConcurrentMap();
+    private volatile boolean needFullCheck = true;
+    private long lastFullCheckTime = 0;
+
+    // cost and number of checked tablets of the last round of each check path, "full" or "incremental"
+    private final Map<String, AtomicLong> roundCostMsByPath = ImmutableMap.of(
+            FULL_CHECK, new AtomicLong(0L), INCREMENTAL_CHECK, new AtomicLong(0L));
+    private final Map<String, AtomicLong> roundCheckedNumByPath = ImmutableMap.of(
+            FULL_CHECK, new AtomicLong(0L), INCREMENTAL_CHECK, new AtomicLong(0L));
+
     // represent a partition which need to be repaired preferentially
     public static class PrioPart {
         public long partId;
@@ -148,6 +175,77 @@ public class TabletChecker extends MasterDaemon {
             gauge.addLabel(new MetricLabel("type", status));
             MetricRepo.DORIS_METRIC_REGISTER.addMetrics(gauge);
         }
+        for (String path : roundCostMsByPath.keySet()) {
+            GaugeMetric<Long> costGauge = new GaugeMetric<Long>("tablet_checker_round_cost_ms",
+                    Metric.MetricUnit.MILLISECONDS, "cost of the last round of tablet checker") {
+                @Override
+                public Long getValue() {
+                    return roundCostMsByPath.get(path).get();
+                }
+            };
+            costGauge.addLabel(new MetricLabel("path", path));
+            MetricRepo.DORIS_METRIC_REGISTER.addMetrics(costGauge);
+            GaugeMetric<Long> checkedGauge = new GaugeMetric<Long>("tablet_checker_round_checked_num",
+                    Metric.MetricUnit.NOUNIT, "number of tablets checked in the last round of tablet checker") {
+                @Override
+                public Long getValue() {
+                    return roundCheckedNumByPath.get(path).get();
+                }
+            };
+            checkedGauge.addLabel(new MetricLabel("path", path));
+            MetricRepo.DORIS_METRIC_REGISTER.addMetrics(checkedGauge);
+        }
+        GaugeMetric<Long> dirtyGauge = new GaugeMetric<Long>("tablet_checker_dirty_tablet_num",
+                Metric.MetricUnit.NOUNIT, "number of dirty tablets waiting to be checked") {
+            @Override
+            public Long getValue() {
+                return (long) dirtyTablets.size();
+            }
+        };
+        MetricRepo.DORIS_METRIC_REGISTER.addMetrics(dirtyGauge);
+    }
+
+    /*
+     * Mark the tablets to be checked in the next round of incremental check.
+     * Called when the replicas of these tablets are changed by tablet report,
+     * or fall behind the visible version after publish.
+     * Only master checks tablets, so the marks made when replaying edit log are ignored.
+     */
+    public void markTabletsDirty(Collection<Long> tabletIds) {
+        if (!Config.enable_incremental_tablet_checker || tabletIds.isEmpty() || !env.isMaster()) {
+            return;
+        }
+        if (dirtyTablets.size() + tabletIds.size() > MAX_DIRTY_TABLET_NUM) {
+            needFullCheck = true;
+            return;
+        }
+        dirtyTablets.addAll(tabletIds);
+    }
+
+    // Called when the state of backend is changed, e.g. dead, alive or decommissioned.
+    public void markBackendDirty(long backendId) {
+        if (!Config.enable_incremental_tablet_checker) {
+            return;
+        }
+        markTabletsDirty(Env.getCurrentInvertedIndex().getTabletIdsByBackendId(backendId));
+    }
+
+    // Called when the table is changed by DDL, e.g. alter job finished or replica allocation modified.
+    public void markTableDirty(long dbId, long tblId) {
+        if (!Config.enable_incremental_tablet_checker) {
+            return;
+        }
+        dirtyTables.put(tblId, dbId);
+    }
+
+    @VisibleForTesting
+    long getRoundCheckedNum(String path) {
+        return roundCheckedNumByPath.get(path).get();
+    }
+
+    @VisibleForTesting
+    int getDirtyTabletNum() {
+        return dirtyTablets.size();
     }
 
     private void addPrios(RepairTabletInfo repairTabletInfo, long timeoutMs) {
@@ -206,7 +304,13 @@ public class TabletChecker extends MasterDaemon {
             return;
         }
 
-        checkTablets();
+        if (!Config.enable_incremental_tablet_checker || needFullCheck
+                || System.currentTimeMillis() - lastFullCheckTime
+                        >= Config.tablet_checker_full_sweep_interval_sec * 1000L) {
+            checkTablets();
+        } else {
+            checkDirtyTablets();
+        }
 
         removePriosIfNecessary();
 
@@ -220,6 +324,8 @@ public class TabletChecker extends MasterDaemon {
         public long addToSchedulerTabletNum = 0;
         public long tabletInScheduler = 0;
         public long tabletNotReady = 0;
+        // tablets which should be checked again in next round of incremental check, null in full check
+        public List<Long> recheckTabletIds = null;
     }
 
     private enum LoopControlStatus {
@@ -227,50 +333,27 @@ public class TabletChecker extends MasterDaemon {
         BREAK_OUT
     }
 
+    private enum TabletCheckResult {
+        HEALTHY,
+        UNRECOVERABLE,
+        IN_SCHEDULER,
+        NOT_READY,
+        SUBMITTED,
+        SCHEDULER_FULL
+    }
+
     private void checkTablets() {
         long start = System.currentTimeMillis();
         CheckerCounter counter = new CheckerCounter();
+        // the events before now are all covered by this round
+        dirtyTablets.clear();
+        dirtyTables.clear();
+        needFullCheck = false;
 
         // 1. Traverse partitions in "prios" first,
         // To prevent the partitions in the "prios" from being unscheduled
         // because the queue in the tablet scheduler is full
-        com.google.common.collect.Table<Long, Long, Set<PrioPart>> copiedPrios;
-        synchronized (prios) {
-            copiedPrios = HashBasedTable.create(prios);
-        }
-
-        OUT:
-        for (long dbId : copiedPrios.rowKeySet()) {
-            Database db = env.getInternalCatalog().getDbNullable(dbId);
-            if (db == null) {
-                continue;
-            }
-            List<Long> aliveBeIdsInCluster = infoService.getClusterBackendIds(db.getClusterName(), true);
-            Map<Long, Set<PrioPart>> tblPartMap = copiedPrios.row(dbId);
-            for (long tblId : tblPartMap.keySet()) {
-                OlapTable tbl = (OlapTable) db.getTableNullable(tblId);
-                if (tbl == null) {
-                    continue;
-                }
-                tbl.readLock();
-                try {
-                    if (!tbl.needSchedule()) {
-                        continue;
-                    }
-                    for (Partition partition : tbl.getAllPartitions()) {
-                        LoopControlStatus st = handlePartitionTablet(db, tbl, partition, true,
-                                aliveBeIdsInCluster, start, counter);
-                        if (st == LoopControlStatus.BREAK_OUT) {
-                            break OUT;
-                        } else {
-                            continue;
-                        }
-                    }
-                } finally {
-                    tbl.readUnlock();
-                }
-            }
-        }
+        checkPrioTablets(start, counter);
 
         // 2. Traverse other partitions not in "prios"
         List<Long> dbIds = env.getInternalCatalog().getDbIds();
@@ -305,6 +388,8 @@ public class TabletChecker extends MasterDaemon {
                         LoopControlStatus st = handlePartitionTablet(db, tbl, partition, false,
                                 aliveBeIdsInCluster, start, counter);
                         if (st == LoopControlStatus.BREAK_OUT) {
+                            // not all tablets are checked, do full check again in next round
+                            needFullCheck = true;
                             break OUT;
                         } else {
                             continue;
@@ -317,10 +402,8 @@ public class TabletChecker extends MasterDaemon {
         } // end for dbs
 
         long cost = System.currentTimeMillis() - start;
-        stat.counterTabletCheckCostMs.addAndGet(cost);
-        stat.counterTabletChecked.addAndGet(counter.totalTabletNum);
-        stat.counterUnhealthyTabletNum.addAndGet(counter.unhealthyTabletNum);
-        stat.counterTabletAddToBeScheduled.addAndGet(counter.addToSchedulerTabletNum);
+        lastFullCheckTime = start;
+        updateStat(FULL_CHECK, cost, counter);
 
         tabletCountByStatus.get("unhealthy").set(counter.unhealthyTabletNum);
         tabletCountByStatus.get("total").set(counter.totalTabletNum);
@@ -333,6 +416,171 @@ public class TabletChecker extends MasterDaemon {
                 counter.tabletInScheduler, counter.tabletNotReady, cost);
     }
 
+    /*
+     * Only check the dirty tablets and tables, and the partitions in "prios".
+     * The tablets which are in scheduler or not ready to be repaired are checked again in next round.
+     */
+    private void checkDirtyTablets() {
+        long start = System.currentTimeMillis();
+        CheckerCounter counter = new CheckerCounter();
+        counter.recheckTabletIds = Lists.newArrayList();
+
+        checkPrioTablets(start, counter);
+
+        // db id -> tbl id -> tablet ids, empty if all tablets of the table are dirty
+        com.google.common.collect.Table<Long, Long, Set<Long>> dirty = HashBasedTable.create();
+        for (Long tblId : Lists.newArrayList(dirtyTables.keySet())) {
+            Long dbId = dirtyTables.remove(tblId);
+            if (dbId != null) {
+                dirty.put(dbId, tblId, Sets.newHashSet());
+            }
+        }
+        Set<Long> wholeTables = Sets.newHashSet(dirty.columnKeySet());
+        TabletInvertedIndex invertedIndex = Env.getCurrentInvertedIndex();
+        for (Long tabletId : Lists.newArrayList(dirtyTablets)) {
+            dirtyTablets.remove(tabletId);
+            TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+            if (tabletMeta == null || wholeTables.contains(tabletMeta.getTableId())) {
+                continue;
+            }
+            Set<Long> tabletIds = dirty.get(tabletMeta.getDbId(), tabletMeta.getTableId());
+            if (tabletIds == null) {
+                tabletIds = Sets.newHashSet();
+                dirty.put(tabletMeta.getDbId(), tabletMeta.getTableId(), tabletIds);
+            }
+            tabletIds.add(tabletId);
+        }
+
+        boolean breakOut = false;
+        for (Cell<Long, Long, Set<Long>> cell : dirty.cellSet()) {
+            if (breakOut) {
+                // tablet scheduler is full, check the left tablets in next round
+                if (wholeTables.contains(cell.getColumnKey())) {
+                    dirtyTables.put(cell.getColumnKey(), cell.getRowKey());
+                } else {
+                    dirtyTablets.addAll(cell.getValue());
+                }
+                continue;
+            }
+            Database db = env.getInternalCatalog().getDbNullable(cell.getRowKey());
+            if (db == null) {
+                continue;
+            }
+            Table table = db.getTableNullable(cell.getColumnKey());
+            if (table == null) {
+                continue;
+            }
+            List<Long> aliveBeIdsInCluster = infoService.getClusterBackendIds(db.getClusterName(), true);
+            table.readLock();
+            try {
+                if (!table.needSchedule()) {
+                    continue;
+                }
+                OlapTable tbl = (OlapTable) table;
+                if (wholeTables.contains(tbl.getId())) {
+                    for (Partition partition : tbl.getAllPartitions()) {
+                        if (isInPrios(db.getId(), tbl.getId(), partition.getId())) {
+                            continue;
+                        }
+                        if (handlePartitionTablet(db, tbl, partition, false, aliveBeIdsInCluster, start, counter)
+                                == LoopControlStatus.BREAK_OUT) {
+                            dirtyTables.put(tbl.getId(), db.getId());
+                            breakOut = true;
+                            break;
+                        }
+                    }
+                    continue;
+                }
+                Iterator<Long> iter = cell.getValue().iterator();
+                while (iter.hasNext()) {
+                    long tabletId = iter.next();
+                    TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+                    if (tabletMeta == null) {
+                        continue;
+                    }
+                    Partition partition = tbl.getPartition(tabletMeta.getPartitionId());
+                    // the tablets in partitions which are not NORMAL will be checked when the alter job is done
+                    if (partition == null || partition.getState() != PartitionState.NORMAL
+                            || isInPrios(db.getId(), tbl.getId(), partition.getId())) {
+                        continue;
+                    }
+                    MaterializedIndex idx = partition.getIndex(tabletMeta.getIndexId());
+                    if (idx == null || idx.getState() == IndexState.SHADOW) {
+                        continue;
+                    }
+                    Tablet tablet = idx.getTablet(tabletId);
+                    if (tablet == null) {
+                        continue;
+                    }
+                    if (checkTablet(db, tbl, partition, idx, tablet, false, aliveBeIdsInCluster, start, counter)
+                            == TabletCheckResult.SCHEDULER_FULL) {
+                        dirtyTablets.add(tabletId);
+                        iter.forEachRemaining(dirtyTablets::add);
+                        breakOut = true;
+                    }
+                }
+            } finally {
+                table.readUnlock();
+            }
+        }
+        dirtyTablets.addAll(counter.recheckTabletIds);
+
+        long cost = System.currentTimeMillis() - start;
+        updateStat(INCREMENTAL_CHECK, cost, counter);
+        LOG.debug("finished to check dirty tablets. unhealth/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, "
+                + "cost: {} ms", counter.unhealthyTabletNum, counter.totalTabletNum,
+                counter.addToSchedulerTabletNum, counter.tabletInScheduler, counter.tabletNotReady, cost);
+    }
+
+    private void updateStat(String path, long cost, CheckerCounter counter) {
+        stat.counterTabletCheckCostMs.addAndGet(cost);
+        stat.counterTabletChecked.addAndGet(counter.totalTabletNum);
+        stat.counterUnhealthyTabletNum.addAndGet(counter.unhealthyTabletNum);
+        stat.counterTabletAddToBeScheduled.addAndGet(counter.addToSchedulerTabletNum);
+        roundCostMsByPath.get(path).set(cost);
+        roundCheckedNumByPath.get(path).set(counter.totalTabletNum);
+    }
+
+    private void checkPrioTablets(long start, CheckerCounter counter) {
+        com.google.common.collect.Table<Long, Long, Set<PrioPart>> copiedPrios;
+        synchronized (prios) {
+            copiedPrios = HashBasedTable.create(prios);
+        }
+
+        OUT:
+        for (long dbId : copiedPrios.rowKeySet()) {
+            Database db = env.getInternalCatalog().getDbNullable(dbId);
+            if (db == null) {
+                continue;
+            }
+            List<Long> aliveBeIdsInCluster = infoService.getClusterBackendIds(db.getClusterName(), true);
+            Map<Long, Set<PrioPart>> tblPartMap = copiedPrios.row(dbId);
+            for (long tblId : tblPartMap.keySet()) {
+                OlapTable tbl = (OlapTable) db.getTableNullable(tblId);
+                if (tbl == null) {
+                    continue;
+                }
+                tbl.readLock();
+                try {
+                    if (!tbl.needSchedule()) {
+                        continue;
+                    }
+                    for (Partition partition : tbl.getAllPartitions()) {
+                        LoopControlStatus st = handlePartitionTablet(db, tbl, partition, true,
+                                aliveBeIdsInCluster, start, counter);
+                        if (st == LoopControlStatus.BREAK_OUT) {
+                            break OUT;
+                        } else {
+                            continue;
+                        }
+                    }
+                } finally {
+                    tbl.readUnlock();
+                }
+            }
+        }
+    }
+
     private LoopControlStatus handlePartitionTablet(Database db, OlapTable tbl, Partition partition, boolean isInPrios,
             List<Long> aliveBeIdsInCluster, long startTime, CheckerCounter counter) {
         if (partition.getState() != PartitionState.NORMAL) {
@@ -346,58 +594,12 @@ public class TabletChecker extends MasterDaemon {
          */
         for (MaterializedIndex idx : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
             for (Tablet tablet : idx.getTablets()) {
-                counter.totalTabletNum++;
-
-                if (tabletScheduler.containsTablet(tablet.getId())) {
-                    counter.tabletInScheduler++;
-                    continue;
-                }
-
-                Pair<TabletStatus, TabletSchedCtx.Priority> statusWithPrio = tablet.getHealthStatusWithPriority(
-                        infoService,
-                        db.getClusterName(),
-                        partition.getVisibleVersion(),
-                        tbl.getPartitionInfo().getReplicaAllocation(partition.getId()),
-                        aliveBeIdsInCluster);
-
-                if (statusWithPrio.first == TabletStatus.HEALTHY) {
-                    // Only set last status check time when status is healthy.
-                    tablet.setLastStatusCheckTime(startTime);
-                    continue;
-                } else if (statusWithPrio.first == TabletStatus.UNRECOVERABLE) {
-                    // This tablet is not recoverable, do not set it into tablet scheduler
-                    // all UNRECOVERABLE tablet can be seen from "show proc '/statistic'"
-                    counter.unhealthyTabletNum++;
-                    continue;
-                } else if (isInPrios) {
-                    statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
-                    prioPartIsHealthy = false;
-                }
-
-                counter.unhealthyTabletNum++;
-
-                if (!tablet.readyToBeRepaired(statusWithPrio.second)) {
-                    counter.tabletNotReady++;
-                    continue;
-                }
-
-                TabletSchedCtx tabletCtx = new TabletSchedCtx(
-                        TabletSchedCtx.Type.REPAIR,
-                        db.getClusterName(),
-                        db.getId(), tbl.getId(),
-                        partition.getId(), idx.getId(), tablet.getId(),
-                        tbl.getPartitionInfo().getReplicaAllocation(partition.getId()),
-                        System.currentTimeMillis());
-                // the tablet status will be set again when being scheduled
-                tabletCtx.setTabletStatus(statusWithPrio.first);
-                tabletCtx.setOrigPriority(statusWithPrio.second);
-
-                AddResult res = tabletScheduler.addTablet(tabletCtx, false /* not force */);
-                if (res == AddResult.LIMIT_EXCEED || res == AddResult.DISABLED) {
-                    LOG.info("tablet scheduler return: {}. stop tablet checker", res.name());
+                TabletCheckResult res = checkTablet(db, tbl, partition, idx, tablet, isInPrios,
+                        aliveBeIdsInCluster, startTime, counter);
+                if (res == TabletCheckResult.SCHEDULER_FULL) {
                     return LoopControlStatus.BREAK_OUT;
-                } else if (res == AddResult.ADDED) {
-                    counter.addToSchedulerTabletNum++;
+                } else if (res == TabletCheckResult.NOT_READY || res == TabletCheckResult.SUBMITTED) {
+                    prioPartIsHealthy = false;
                 }
             }
         } // indices
@@ -413,6 +615,70 @@ public class TabletChecker extends MasterDaemon {
         return LoopControlStatus.CONTINUE;
     }
 
+    private TabletCheckResult checkTablet(Database db, OlapTable tbl, Partition partition, MaterializedIndex idx,
+            Tablet tablet, boolean isInPrios, List<Long> aliveBeIdsInCluster, long startTime,
+            CheckerCounter counter) {
+        counter.totalTabletNum++;
+
+        if (tabletScheduler.containsTablet(tablet.getId())) {
+            counter.tabletInScheduler++;
+            if (counter.recheckTabletIds != null) {
+                counter.recheckTabletIds.add(tablet.getId());
+            }
+            return TabletCheckResult.IN_SCHEDULER;
+        }
+
+        Pair<TabletStatus, TabletSchedCtx.Priority> statusWithPrio = tablet.getHealthStatusWithPriority(
+                infoService,
+                db.getClusterName(),
+                partition.getVisibleVersion(),
+                tbl.getPartitionInfo().getReplicaAllocation(partition.getId()),
+                aliveBeIdsInCluster);
+
+        if (statusWithPrio.first == TabletStatus.HEALTHY) {
+            // Only set last status check time when status is healthy.
+            tablet.setLastStatusCheckTime(startTime);
+            return TabletCheckResult.HEALTHY;
+        } else if (statusWithPrio.first == TabletStatus.UNRECOVERABLE) {
+            // This tablet is not recoverable, do not set it into tablet scheduler
+            // all UNRECOVERABLE tablet can be seen from "show proc '/statistic'"
+            counter.unhealthyTabletNum++;
+            return TabletCheckResult.UNRECOVERABLE;
+        } else if (isInPrios) {
+            statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
+        }
+
+        counter.unhealthyTabletNum++;
+
+        if (!tablet.readyToBeRepaired(statusWithPrio.second)) {
+            counter.tabletNotReady++;
+            if (counter.recheckTabletIds != null) {
+                counter.recheckTabletIds.add(tablet.getId());
+            }
+            return TabletCheckResult.NOT_READY;
+        }
+
+        TabletSchedCtx tabletCtx = new TabletSchedCtx(
+                TabletSchedCtx.Type.REPAIR,
+                db.getClusterName(),
+                db.getId(), tbl.getId(),
+                partition.getId(), idx.getId(), tablet.getId(),
+                tbl.getPartitionInfo().getReplicaAllocation(partition.getId()),
+                System.currentTimeMillis());
+        // the tablet status will be set again when being scheduled
+        tabletCtx.setTabletStatus(statusWithPrio.first);
+        tabletCtx.setOrigPriority(statusWithPrio.second);
+
+        AddResult res = tabletScheduler.addTablet(tabletCtx, false /* not force */);
+        if (res == AddResult.LIMIT_EXCEED || res == AddResult.DISABLED) {
+            LOG.info("tablet scheduler return: {}. stop tablet checker", res.name());
+            return TabletCheckResult.SCHEDULER_FULL;
+        } else if (res == AddResult.ADDED) {
+            counter.addToSchedulerTabletNum++;
+        }
+        return TabletCheckResult.SUBMITTED;
+    }
+
     private boolean isInPrios(long dbId, long tblId, long partId) {
         synchronized (prios) {
             if (prios.contains(dbId, tblId)) {
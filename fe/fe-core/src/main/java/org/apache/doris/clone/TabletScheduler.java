@@ -42,6 +42,7 @@ import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.util.MasterDaemon;
 import org.apache.doris.persist.ReplicaPersistInfo;
 import org.apache.doris.resource.Tag;
@@ -59,6 +60,7 @@ import org.apache.doris.thrift.TStatusCode;
 import org.apache.doris.transaction.DatabaseTransactionMgr;
 import org.apache.doris.transaction.TransactionState;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.EvictingQueue;
 import com.google.common.collect.HashBasedTable;
@@ -76,6 +78,10 @@ import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -141,6 +147,15 @@ public class TabletScheduler extends MasterDaemon {
     private Rebalancer rebalancer;
     private Rebalancer diskRebalancer;
 
+    // If Config.tablet_schedule_thread_num > 1, the repair tablets of each round are divided into shards
+    // by backend and scheduled by this pool in parallel. Balance tablets are always scheduled by the
+    // daemon thread, because rebalancers are not thread safe.
+    private ExecutorService schedulePool = null;
+    // number of tablets assigned to each shard in the last round
+    private AtomicLong[] shardQueueDepth;
+    // number of tablets scheduled by each shard
+    private AtomicLong[] shardScheduledNum;
+
     // result of adding a tablet to pendingTablets
     public enum AddResult {
         ADDED, // success to add
@@ -164,6 +179,30 @@ public class TabletScheduler extends MasterDaemon {
         }
         // if rebalancer can not get new task, then use diskRebalancer to get task
         this.diskRebalancer = new DiskRebalancer(infoService, invertedIndex);
+
+        int shardNum = Math.max(1, Config.tablet_schedule_thread_num);
+        if (shardNum > 1) {
+            this.schedulePool = ThreadPoolManager.newDaemonFixedThreadPool(shardNum, shardNum,
+                    "tablet-schedule-pool", true);
+        }
+        this.shardQueueDepth = new AtomicLong[shardNum];
+        this.shardScheduledNum = new AtomicLong[shardNum];
+        for (int i = 0; i < shardNum; i++) {
+            shardQueueDepth[i] = new AtomicLong(0L);
+            shardScheduledNum[i] = new AtomicLong(0L);
+        }
+    }
+
+    public int getShardNum() {
+        return shardScheduledNum.length;
+    }
+
+    public long getShardQueueDepth(int shard) {
+        return shardQueueDepth[shard].get();
+    }
+
+    public long getShardScheduledNum(int shard) {
+        return shardScheduledNum[shard].get();
     }
 
     public TabletSchedulerStat getStat() {
@@ -388,7 +427,89 @@ public class TabletScheduler extends MasterDaemon {
         LOG.debug("get {} tablets to schedule", currentBatch.size());
 
         AgentBatchTask batchTask = new AgentBatchTask();
+        if (schedulePool == null) {
+            scheduleTablets(currentBatch, batchTask, 0);
+        } else {
+            scheduleTabletsInShards(currentBatch, batchTask);
+        }
+
+        // must send task after adding tablet info to runningTablets.
+        for (AgentTask task : batchTask.getAllTasks()) {
+            if (AgentTaskQueue.addTask(task)) {
+                stat.counterCloneTask.incrementAndGet();
+            }
+            LOG.info("add clone task to agent task queue: {}", task);
+        }
+
+        // send task immediately
+        AgentTaskExecutor.submit(batchTask);
+
+        long cost = System.currentTimeMillis() - start;
+        stat.counterTabletScheduleCostMs.addAndGet(cost);
+    }
+
+    /**
+     * Divide the repair tablets into shards by the backend of their replicas, so that the tablets
+     * on the same backends are scheduled by the same thread, and schedule the shards in parallel.
+     * The slots of paths are still taken from the shared PathSlots, so the limit of each path is respected.
+     */
+    @VisibleForTesting
+    void scheduleTabletsInShards(List<TabletSchedCtx> currentBatch, AgentBatchTask batchTask) {
+        int shardNum = getShardNum();
+        List<List<TabletSchedCtx>> shards = Lists.newArrayListWithCapacity(shardNum);
+        for (int i = 0; i < shardNum; i++) {
+            shards.add(Lists.newArrayList());
+        }
+        List<TabletSchedCtx> balanceTablets = Lists.newArrayList();
         for (TabletSchedCtx tabletCtx : currentBatch) {
+            if (tabletCtx.getType() == Type.BALANCE) {
+                balanceTablets.add(tabletCtx);
+            } else {
+                shards.get(getShard(tabletCtx, shardNum)).add(tabletCtx);
+            }
+        }
+
+        List<Pair<AgentBatchTask, Future<?>>> futures = Lists.newArrayList();
+        for (int i = 0; i < shardNum; i++) {
+            int shard = i;
+            List<TabletSchedCtx> tablets = shards.get(i);
+            shardQueueDepth[i].set(tablets.size());
+            if (tablets.isEmpty()) {
+                continue;
+            }
+            AgentBatchTask shardBatchTask = new AgentBatchTask();
+            futures.add(Pair.of(shardBatchTask, schedulePool.submit(
+                    () -> scheduleTablets(tablets, shardBatchTask, shard))));
+        }
+        scheduleTablets(balanceTablets, batchTask, 0);
+
+        for (Pair<AgentBatchTask, Future<?>> future : futures) {
+            try {
+                future.second.get();
+            } catch (InterruptedException | ExecutionException e) {
+                // scheduleTablets() handles all exceptions of each tablet, so it should not happen
+                LOG.warn("failed to wait tablet schedule shard", e);
+            }
+            for (AgentTask task : future.first.getAllTasks()) {
+                batchTask.addTask(task);
+            }
+        }
+    }
+
+    @VisibleForTesting
+    int getShard(TabletSchedCtx tabletCtx, int shardNum) {
+        long minBackendId = -1;
+        for (Replica replica : invertedIndex.getReplicasByTabletId(tabletCtx.getTabletId())) {
+            if (minBackendId == -1 || replica.getBackendId() < minBackendId) {
+                minBackendId = replica.getBackendId();
+            }
+        }
+        long key = minBackendId == -1 ? tabletCtx.getTabletId() : minBackendId;
+        return Math.floorMod(Long.hashCode(key), shardNum);
+    }
+
+    private void scheduleTablets(List<TabletSchedCtx> tablets, AgentBatchTask batchTask, int shard) {
+        for (TabletSchedCtx tabletCtx : tablets) {
             try {
                 if (Config.disable_tablet_scheduler) {
                     // do not schedule more tablet is tablet scheduler is disabled.
@@ -446,22 +567,9 @@ public class TabletScheduler extends MasterDaemon {
 
             Preconditions.checkState(tabletCtx.getState() == TabletSchedCtx.State.RUNNING, tabletCtx.getState());
             stat.counterTabletScheduledSucceeded.incrementAndGet();
+            shardScheduledNum[shard].incrementAndGet();
             addToRunningTablets(tabletCtx);
         }
-
-        // must send task after adding tablet info to runningTablets.
-        for (AgentTask task : batchTask.getAllTasks()) {
-            if (AgentTaskQueue.addTask(task)) {
-                stat.counterCloneTask.incrementAndGet();
-            }
-            LOG.info("add clone task to agent task queue: {}", task);
-        }
-
-        // send task immediately
-        AgentTaskExecutor.submit(batchTask);
-
-        long cost = System.currentTimeMillis() - start;
-        stat.counterTabletScheduleCostMs.addAndGet(cost);
     }
 
     private synchronized void addToRunningTablets(TabletSchedCtx tabletCtx) {
@@ -480,7 +588,8 @@ public class TabletScheduler extends MasterDaemon {
     /**
      * Try to schedule a single tablet.
      */
-    private void scheduleTablet(TabletSchedCtx tabletCtx, AgentBatchTask batchTask) throws SchedException {
+    @VisibleForTesting
+    void scheduleTablet(TabletSchedCtx tabletCtx, AgentBatchTask batchTask) throws SchedException {
         long currentTime = System.currentTimeMillis();
         tabletCtx.setLastSchedTime(currentTime);
         tabletCtx.setLastVisitedTime(currentTime);
@@ -1428,7 +1537,7 @@ public class TabletScheduler extends MasterDaemon {
     // get next batch of tablets from queue.
     private synchronized List<TabletSchedCtx> getNextTabletCtxBatch() {
         List<TabletSchedCtx> list = Lists.newArrayList();
-        int count = Math.min(MIN_BATCH_NUM, getCurrentAvailableSlotNum());
+        int count = Math.min(MIN_BATCH_NUM * getShardNum(), getCurrentAvailableSlotNum());
         while (count > 0) {
             TabletSchedCtx tablet = pendingTablets.poll();
             if (tablet == null) {
@@ -33,8 +33,16 @@ public class ScopedSpan {
     }
 
     public ScopedSpan(Span span) {
+        this(span, true);
+    }
+
+    /**
+     * @param makeCurrent false if the span is made current by the thread which does the traced work,
+     *                    the scope on the creating thread is not opened then.
+     */
+    public ScopedSpan(Span span, boolean makeCurrent) {
         this.span = span;
-        this.scope = span.makeCurrent();
+        this.scope = makeCurrent ? span.makeCurrent() : null;
     }
 
     public Span getSpan() {
@@ -42,7 +50,9 @@ public class ScopedSpan {
     }
 
     public void endSpan() {
-        scope.close();
+        if (scope != null) {
+            scope.close();
+        }
         span.end();
     }
 }
@@ -21,7 +21,11 @@ import com.google.common.hash.Funnel;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -99,4 +103,30 @@ public class ConsistentHash<K, N> {
         hashKey = !tailMap.isEmpty() ? tailMap.firstKey() : ring.firstKey();
         return ring.get(hashKey).getNode();
     }
+
+    /**
+     * Get at most count distinct nodes along the ring, starting from the node of the key.
+     * The first one is the same as getNode(key), and the others can be used as fallback in order.
+     */
+    public List<N> getNodes(K key, int count) {
+        Set<N> nodes = new LinkedHashSet<>();
+        if (ring.isEmpty() || count <= 0) {
+            return new ArrayList<>(nodes);
+        }
+        Hasher hasher = hashFunction.newHasher();
+        Long hashKey = hasher.putObject(key, keyFunnel).hash().asLong();
+        for (VirtualNode vNode : ring.tailMap(hashKey).values()) {
+            nodes.add(vNode.getNode());
+            if (nodes.size() >= count) {
+                return new ArrayList<>(nodes);
+            }
+        }
+        for (VirtualNode vNode : ring.headMap(hashKey).values()) {
+            nodes.add(vNode.getNode());
+            if (nodes.size() >= count) {
+                break;
+            }
+        }
+        return new ArrayList<>(nodes);
+    }
 }
@@ -0,0 +1,176 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+/**
+ * A hash map with primitive long keys and long values, using open addressing and linear probing.
+ * See {@link LongObjectHashMap}. Not thread safe.
+ */
+public class LongLongHashMap {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final long EMPTY_KEY = 0L;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+    private int mask;
+    private int resizeThreshold;
+
+    private boolean hasZeroKey;
+    private long zeroKeyValue;
+
+    public LongLongHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        allocate(LongObjectHashMap.capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY_KEY) {
+            return hasZeroKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == EMPTY_KEY) {
+            return hasZeroKey ? zeroKeyValue : defaultValue;
+        }
+        int idx = indexOf(key);
+        return idx >= 0 ? values[idx] : defaultValue;
+    }
+
+    public void put(long key, long value) {
+        if (key == EMPTY_KEY) {
+            hasZeroKey = true;
+            zeroKeyValue = value;
+            return;
+        }
+        int idx = slot(key);
+        for (; ; idx = (idx + 1) & mask) {
+            long k = keys[idx];
+            if (k == key) {
+                values[idx] = value;
+                return;
+            }
+            if (k == EMPTY_KEY) {
+                break;
+            }
+        }
+        keys[idx] = key;
+        values[idx] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * @return true if the key was in the map
+     */
+    public boolean remove(long key) {
+        if (key == EMPTY_KEY) {
+            boolean existed = hasZeroKey;
+            hasZeroKey = false;
+            return existed;
+        }
+        int idx = indexOf(key);
+        if (idx < 0) {
+            return false;
+        }
+        shiftKeys(idx);
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        allocate(DEFAULT_CAPACITY);
+        size = 0;
+        hasZeroKey = false;
+    }
+
+    public long estimatedMemoryBytes() {
+        return 16L * keys.length + 32;
+    }
+
+    private int indexOf(long key) {
+        for (int idx = slot(key); ; idx = (idx + 1) & mask) {
+            long k = keys[idx];
+            if (k == key) {
+                return idx;
+            }
+            if (k == EMPTY_KEY) {
+                return -1;
+            }
+        }
+    }
+
+    private void shiftKeys(int idx) {
+        int last = idx;
+        int cur = (idx + 1) & mask;
+        while (keys[cur] != EMPTY_KEY) {
+            int home = slot(keys[cur]);
+            if (last <= cur ? (home <= last || home > cur) : (home <= last && home > cur)) {
+                keys[last] = keys[cur];
+                values[last] = values[cur];
+                last = cur;
+            }
+            cur = (cur + 1) & mask;
+        }
+        keys[last] = EMPTY_KEY;
+        values[last] = 0L;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY_KEY) {
+                int idx = slot(key);
+                while (keys[idx] != EMPTY_KEY) {
+                    idx = (idx + 1) & mask;
+                }
+                keys[idx] = key;
+                values[idx] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slot(long key) {
+        return (int) LongObjectHashMap.mix(key) & mask;
+    }
+}
@@ -28,23 +28,36 @@ import org.apache.doris.common.profile.ProfileTreeNode;
 import org.apache.doris.nereids.stats.StatsErrorEstimator;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /*
  * if you want to visit the attribute(such as queryID,defaultDb)
@@ -100,14 +113,33 @@ public class ProfileManager {
             Arrays.asList(ANALYSIS_TIME, PLAN_TIME, SCHEDULE_TIME, FETCH_RESULT_TIME,
               WRITE_RESULT_TIME, WAIT_FETCH_RESULT_TIME));
 
+    // A profile is HOT when it is pushed, and then archived and spilled as it gets older.
+    private enum ProfileState {
+        // keeps the runtime profile
+        HOT,
+        // being compressed
+        ARCHIVING,
+        // only keeps the compressed profile content in memory
+        ARCHIVED,
+        // being written to the spill dir
+        SPILLING,
+        // the compressed profile content is in the spill dir
+        SPILLED
+    }
+
     public static class ProfileElement {
         public ProfileElement(RuntimeProfile profile) {
             this.profile = profile;
         }
 
-        private final RuntimeProfile profile;
+        // released when the profile is archived
+        private volatile RuntimeProfile profile;
         // cache the result of getProfileContent method
         private volatile String profileContent;
+        private volatile byte[] compressedContent;
+        private volatile File spillFile;
+        private volatile ProfileState state = ProfileState.HOT;
+        private long compressedSize = 0;
         public Map<String, String> infoStrings = Maps.newHashMap();
         public MultiProfileTreeBuilder builder = null;
         public String errMsg = "";
@@ -116,12 +148,32 @@ public class ProfileManager {
 
         // lazy load profileContent because sometimes profileContent is very large
         public String getProfileContent() {
-            if (profileContent != null) {
-                return profileContent;
+            String content = profileContent;
+            if (content != null) {
+                return content;
+            }
+            RuntimeProfile runtimeProfile = profile;
+            if (runtimeProfile != null) {
+                // no need to lock because the possibility of concurrent read is very low
+                content = runtimeProfile.toString();
+                if (state == ProfileState.HOT) {
+                    profileContent = content;
+                }
+                return content;
+            }
+            byte[] compressed = compressedContent;
+            if (compressed != null) {
+                return decompress(compressed);
             }
-            // no need to lock because the possibility of concurrent read is very low
-            profileContent = profile.toString();
-            return profileContent;
+            File file = spillFile;
+            if (file != null) {
+                try {
+                    return decompress(Files.readAllBytes(file.toPath()));
+                } catch (IOException e) {
+                    LOG.warn("failed to read spilled profile {}", file, e);
+                }
+            }
+            return null;
         }
 
         public double getError() {
@@ -131,15 +183,61 @@ public class ProfileManager {
         public void setStatsErrorEstimator(StatsErrorEstimator statsErrorEstimator) {
             this.statsErrorEstimator = statsErrorEstimator;
         }
+
+        private String getQueryId() {
+            return infoStrings.get(QUERY_ID);
+        }
+
+        // Compress the profile content and release the runtime profile.
+        private boolean archive() {
+            byte[] compressed = compress(getProfileContent());
+            if (compressed == null) {
+                return false;
+            }
+            compressedSize = compressed.length;
+            compressedContent = compressed;
+            errMsg = "profile is archived, only the profile content is available";
+            builder = null;
+            profileContent = null;
+            profile = null;
+            return true;
+        }
+
+        private boolean spill(File dir) {
+            File file = new File(dir, getQueryId().replaceAll("[^A-Za-z0-9_-]", "_") + ".profile.gz");
+            try {
+                Files.createDirectories(dir.toPath());
+                Files.write(file.toPath(), compressedContent);
+            } catch (IOException e) {
+                LOG.warn("failed to spill profile {} to {}", getQueryId(), file, e);
+                return false;
+            }
+            spillFile = file;
+            compressedContent = null;
+            return true;
+        }
+
+        private void deleteSpillFile() {
+            File file = spillFile;
+            if (file != null && !file.delete()) {
+                LOG.warn("failed to delete spilled profile {}", file);
+            }
+        }
     }
 
-    // only protect queryIdDeque; queryIdToProfileMap is concurrent, no need to protect
+    // only protect the deques and archivedBytes; queryIdToProfileMap is concurrent, no need to protect
     private ReentrantReadWriteLock lock;
     private ReadLock readLock;
     private WriteLock writeLock;
 
-    // record the order of profiles by queryId
+    // record the order of profiles by queryId, from the oldest to the newest.
+    // ArrayDeque is a ring buffer, so pushing and evicting a profile are O(1).
+    // A profile may be left in a deque after it is moved to another state, it is skipped by checking the state.
     private Deque<String> queryIdDeque;
+    private Deque<String> archivedQueryIdDeque;
+    private Deque<String> spilledQueryIdDeque;
+    // total compressed bytes of the ARCHIVED profiles
+    private long archivedBytes = 0;
     private Map<String, ProfileElement> queryIdToProfileMap; // from QueryId to RuntimeProfile
 
     public static ProfileManager getInstance() {
@@ -157,7 +255,9 @@ public class ProfileManager {
         lock = new ReentrantReadWriteLock(true);
         readLock = lock.readLock();
         writeLock = lock.writeLock();
-        queryIdDeque = new LinkedList<>();
+        queryIdDeque = new ArrayDeque<>();
+        archivedQueryIdDeque = new ArrayDeque<>();
+        spilledQueryIdDeque = new ArrayDeque<>();
         queryIdToProfileMap = new ConcurrentHashMap<>();
     }
 
@@ -202,21 +302,146 @@ public class ProfileManager {
                     + "may be forget to insert 'QUERY_ID' or 'JOB_ID' column into infoStrings");
         }
 
+        List<ProfileElement> toArchive = Lists.newArrayList();
+        List<ProfileElement> toDelete = Lists.newArrayList();
         writeLock.lock();
-        // a profile may be updated multiple times in queryIdToProfileMap,
-        // and only needs to be inserted into the queryIdDeque for the first time.
-        queryIdToProfileMap.put(key, element);
         try {
-            if (!queryIdDeque.contains(key)) {
-                if (queryIdDeque.size() >= Config.max_query_profile_num) {
-                    queryIdToProfileMap.remove(queryIdDeque.getFirst());
-                    queryIdDeque.removeFirst();
+            // a profile may be updated multiple times in queryIdToProfileMap,
+            // and only needs to be inserted into the queryIdDeque for the first time.
+            ProfileElement oldElement = queryIdToProfileMap.put(key, element);
+            if (oldElement == null || oldElement.state != ProfileState.HOT) {
+                if (oldElement != null) {
+                    removeOldElement(oldElement, toDelete);
                 }
                 queryIdDeque.addLast(key);
             }
+            boolean needArchive = Config.max_archived_query_profile_bytes > 0
+                    || !Strings.isNullOrEmpty(Config.query_profile_spill_dir);
+            while (queryIdDeque.size() > Config.max_query_profile_num) {
+                String oldKey = queryIdDeque.removeFirst();
+                ProfileElement oldestElement = queryIdToProfileMap.get(oldKey);
+                if (oldestElement == null || oldestElement.state != ProfileState.HOT) {
+                    continue;
+                }
+                if (needArchive) {
+                    oldestElement.state = ProfileState.ARCHIVING;
+                    archivedQueryIdDeque.addLast(oldKey);
+                    toArchive.add(oldestElement);
+                } else {
+                    queryIdToProfileMap.remove(oldKey);
+                }
+            }
         } finally {
             writeLock.unlock();
         }
+        deleteSpillFiles(toDelete);
+        if (!toArchive.isEmpty()) {
+            archiveProfiles(toArchive);
+        }
+    }
+
+    // Remove the replaced element from the archived or spilled profiles. Called with write lock held.
+    private void removeOldElement(ProfileElement oldElement, List<ProfileElement> toDelete) {
+        if (oldElement.state == ProfileState.ARCHIVED) {
+            archivedBytes -= oldElement.compressedSize;
+        } else if (oldElement.state == ProfileState.SPILLED) {
+            toDelete.add(oldElement);
+        }
+        // ARCHIVING and SPILLING elements are handled by the thread archiving or spilling it
+    }
+
+    // Compress the profiles outside the lock, then evict the oldest archived profiles
+    // if max_archived_query_profile_bytes is exceeded.
+    private void archiveProfiles(List<ProfileElement> elements) {
+        for (ProfileElement element : elements) {
+            if (!element.archive()) {
+                queryIdToProfileMap.remove(element.getQueryId(), element);
+            }
+        }
+
+        List<ProfileElement> toSpill = Lists.newArrayList();
+        List<ProfileElement> toDelete = Lists.newArrayList();
+        String spillDir = Config.query_profile_spill_dir;
+        writeLock.lock();
+        try {
+            for (ProfileElement element : elements) {
+                if (queryIdToProfileMap.get(element.getQueryId()) == element) {
+                    element.state = ProfileState.ARCHIVED;
+                    archivedBytes += element.compressedSize;
+                }
+            }
+            while (archivedBytes > Config.max_archived_query_profile_bytes && !archivedQueryIdDeque.isEmpty()) {
+                String key = archivedQueryIdDeque.removeFirst();
+                ProfileElement element = queryIdToProfileMap.get(key);
+                if (element == null) {
+                    continue;
+                }
+                if (element.state == ProfileState.ARCHIVING) {
+                    // the following profiles are still being archived by other threads
+                    archivedQueryIdDeque.addFirst(key);
+                    break;
+                }
+                if (element.state != ProfileState.ARCHIVED) {
+                    continue;
+                }
+                archivedBytes -= element.compressedSize;
+                if (Strings.isNullOrEmpty(spillDir)) {
+                    queryIdToProfileMap.remove(key);
+                } else {
+                    element.state = ProfileState.SPILLING;
+                    spilledQueryIdDeque.addLast(key);
+                    toSpill.add(element);
+                }
+            }
+            evictSpilledProfiles(toDelete);
+        } finally {
+            writeLock.unlock();
+        }
+        deleteSpillFiles(toDelete);
+
+        for (ProfileElement element : toSpill) {
+            boolean spilled = element.spill(new File(spillDir));
+            writeLock.lock();
+            try {
+                if (!spilled) {
+                    queryIdToProfileMap.remove(element.getQueryId(), element);
+                } else if (queryIdToProfileMap.get(element.getQueryId()) != element) {
+                    // replaced by a new profile with the same query id
+                    toDelete.add(element);
+                } else {
+                    element.state = ProfileState.SPILLED;
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        deleteSpillFiles(toDelete);
+    }
+
+    // Called with write lock held.
+    private void evictSpilledProfiles(List<ProfileElement> toDelete) {
+        while (spilledQueryIdDeque.size() > Config.max_spilled_query_profile_num) {
+            String key = spilledQueryIdDeque.removeFirst();
+            ProfileElement element = queryIdToProfileMap.get(key);
+            if (element == null) {
+                continue;
+            }
+            if (element.state == ProfileState.SPILLING) {
+                spilledQueryIdDeque.addFirst(key);
+                break;
+            }
+            if (element.state == ProfileState.SPILLED) {
+                queryIdToProfileMap.remove(key);
+                toDelete.add(element);
+            }
+        }
+    }
+
+    private void deleteSpillFiles(List<ProfileElement> elements) {
+        for (ProfileElement element : elements) {
+            element.deleteSpillFile();
+        }
+        elements.clear();
     }
 
     public List<List<String>> getAllQueries() {
@@ -225,13 +450,15 @@ public class ProfileManager {
 
     public List<List<String>> getQueryWithType(ProfileType type) {
         List<List<String>> result = Lists.newArrayList();
+        Set<String> visited = Sets.newHashSet();
         readLock.lock();
         try {
-            Iterator reverse = queryIdDeque.descendingIterator();
+            Iterator<String> reverse = Iterators.concat(queryIdDeque.descendingIterator(),
+                    archivedQueryIdDeque.descendingIterator(), spilledQueryIdDeque.descendingIterator());
             while (reverse.hasNext()) {
-                String queryId = (String) reverse.next();
+                String queryId = reverse.next();
                 ProfileElement profileElement = queryIdToProfileMap.get(queryId);
-                if (profileElement == null) {
+                if (profileElement == null || !visited.add(queryId)) {
                     continue;
                 }
                 Map<String, String> infoStrings = profileElement.infoStrings;
@@ -395,12 +622,60 @@ public class ProfileManager {
     }
 
     public void cleanProfile() {
+        List<ProfileElement> toDelete = Lists.newArrayList();
         writeLock.lock();
         try {
+            for (ProfileElement element : queryIdToProfileMap.values()) {
+                if (element.state == ProfileState.SPILLED) {
+                    toDelete.add(element);
+                }
+            }
             queryIdToProfileMap.clear();
             queryIdDeque.clear();
+            archivedQueryIdDeque.clear();
+            spilledQueryIdDeque.clear();
+            archivedBytes = 0;
         } finally {
             writeLock.unlock();
         }
+        deleteSpillFiles(toDelete);
+    }
+
+    public long getArchivedBytes() {
+        readLock.lock();
+        try {
+            return archivedBytes;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private static byte[] compress(String content) {
+        if (content == null) {
+            return null;
+        }
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bos)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOG.warn("failed to compress profile", e);
+            return null;
+        }
+        return bos.toByteArray();
+    }
+
+    private static String decompress(byte[] compressed) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            byte[] buffer = new byte[8192];
+            int len;
+            while ((len = in.read(buffer)) > 0) {
+                bos.write(buffer, 0, len);
+            }
+        } catch (IOException e) {
+            LOG.warn("failed to decompress profile", e);
+            return null;
+        }
+        return new String(bos.toByteArray(), StandardCharsets.UTF_8);
     }
 }
@@ -36,6 +36,12 @@ public class QueryPlannerProfile {
 
     public static final String KEY_WRITE = "Write Result Time";
 
+    public static final String KEY_FETCH_OVERLAP = "Fetch Result Overlap Time";
+
+    public static final String KEY_FILE_LISTING = "File Listing Time";
+
+    public static final String KEY_FILE_LISTING_PARTITIONS = "File Listing Partitions";
+
     // timestamp of query begin
     private long queryBeginTime = -1;
     // Analysis end time
@@ -53,6 +59,14 @@ public class QueryPlannerProfile {
 
     private long queryWriteResultConsumeTime = 0;
 
+    // the part of write result time during which the next result batches are being fetched
+    private long queryFetchResultOverlapTime = 0;
+
+    // the time and partitions of getting files of external tables, only set if the query scans external files.
+    private long fileListingConsumeTime = 0;
+    private long fileListingPartitionNum = 0;
+    private long fileListingCacheMissPartitionNum = 0;
+
     public void setQueryBeginTime() {
         this.queryBeginTime = TimeUtils.getStartTime();
     }
@@ -85,6 +99,16 @@ public class QueryPlannerProfile {
         this.queryWriteResultConsumeTime += TimeUtils.getStartTime() - tempStarTime;
     }
 
+    public void setFetchResultOverlapTime(long overlapTimeNs) {
+        this.queryFetchResultOverlapTime = overlapTimeNs;
+    }
+
+    public synchronized void addFileListing(long partitionNum, long cacheMissPartitionNum, long consumeTimeNs) {
+        this.fileListingPartitionNum += partitionNum;
+        this.fileListingCacheMissPartitionNum += cacheMissPartitionNum;
+        this.fileListingConsumeTime += consumeTimeNs;
+    }
+
     public long getQueryBeginTime() {
         return queryBeginTime;
     }
@@ -125,6 +149,14 @@ public class QueryPlannerProfile {
                 RuntimeProfile.printCounter(queryFetchResultConsumeTime, TUnit.TIME_NS));
         plannerProfile.addInfoString(KEY_WRITE,
                 RuntimeProfile.printCounter(queryWriteResultConsumeTime, TUnit.TIME_NS));
+        plannerProfile.addInfoString(KEY_FETCH_OVERLAP,
+                RuntimeProfile.printCounter(queryFetchResultOverlapTime, TUnit.TIME_NS));
         plannerProfile.addInfoString(KEY_WAIT_AND_FETCH, getPrettyQueryFetchResultFinishTime());
+        if (fileListingPartitionNum > 0) {
+            plannerProfile.addInfoString(KEY_FILE_LISTING,
+                    RuntimeProfile.printCounter(fileListingConsumeTime, TUnit.TIME_NS));
+            plannerProfile.addInfoString(KEY_FILE_LISTING_PARTITIONS, fileListingPartitionNum
+                    + " (cache miss: " + fileListingCacheMissPartitionNum + ")");
+        }
     }
 }
@@ -26,6 +26,7 @@ import org.apache.doris.catalog.Type;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.datasource.CacheException;
 import org.apache.doris.datasource.HMSExternalCatalog;
 import org.apache.doris.external.hive.util.HiveUtil;
@@ -40,6 +41,8 @@ import org.apache.doris.planner.Split;
 import org.apache.doris.planner.external.FileSplit;
 import org.apache.doris.planner.external.HiveSplitter;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.cache.CacheBuilder;
@@ -74,10 +77,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -93,6 +101,9 @@ public class HiveMetaStoreCache {
     private HMSExternalCatalog catalog;
 
     private Executor executor;
+    // executor to list files of partitions in parallel, the concurrency is limited per catalog
+    private ThreadPoolExecutor fileListingExecutor;
+    private Histogram fileListingLatency;
 
     // cache from <dbname-tblname> -> <values of partitions>
     private LoadingCache<PartitionValueCacheKey, HivePartitionValues> partitionValuesCache;
@@ -105,6 +116,13 @@ public class HiveMetaStoreCache {
     public HiveMetaStoreCache(HMSExternalCatalog catalog, Executor executor) {
         this.catalog = catalog;
         this.executor = executor;
+        int fileListingParallelism = NumberUtils.toInt(
+                catalog.getProperties().get(HMSExternalCatalog.FILE_LISTING_PARALLELISM),
+                Config.hive_file_listing_parallelism);
+        this.fileListingExecutor = ThreadPoolManager.newDaemonFixedThreadPool(Math.max(1, fileListingParallelism),
+                Integer.MAX_VALUE, "hive-file-listing-" + catalog.getName(), false);
+        // release the threads of catalog which is not queried for a while
+        this.fileListingExecutor.allowCoreThreadTimeOut(true);
         init();
         initMetrics();
     }
@@ -195,6 +213,9 @@ public class HiveMetaStoreCache {
         fileCacheGauge.addLabel(new MetricLabel("type", "file"));
         fileCacheGauge.addLabel(new MetricLabel("catalog", catalog.getName()));
         MetricRepo.DORIS_METRIC_REGISTER.addMetrics(fileCacheGauge);
+        // file listing
+        fileListingLatency = MetricRepo.METRIC_REGISTER.histogram(MetricRegistry.name("hive", "file", "listing",
+                "latency", "ms", "catalog=" + catalog.getName()));
     }
 
     private HivePartitionValues loadPartitionValues(PartitionValueCacheKey key) {
@@ -265,6 +286,7 @@ public class HiveMetaStoreCache {
     }
 
     private FileCacheValue loadFiles(FileCacheKey key) {
+        long start = System.currentTimeMillis();
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         try {
             Thread.currentThread().setContextClassLoader(ClassLoader.getSystemClassLoader());
@@ -313,6 +335,7 @@ public class HiveMetaStoreCache {
             }
         } finally {
             Thread.currentThread().setContextClassLoader(classLoader);
+            fileListingLatency.update(System.currentTimeMillis() - start);
         }
     }
 
@@ -355,29 +378,55 @@ public class HiveMetaStoreCache {
         }
     }
 
-    public List<FileCacheValue> getFilesByPartitions(List<HivePartition> partitions, boolean useSelfSplitter) {
+    /**
+     * Get the file lists of partitions and pass them to the consumer one by one.
+     * The file lists which are already cached are passed first, and the cache-missed partitions are
+     * listed in parallel by the file listing executor of this catalog, whose file lists are passed
+     * in the order of completion. The consumer is always called in the calling thread, so the caller
+     * can generate splits while the other partitions are still being listed.
+     *
+     * @return the number of partitions which are listed from file system, i.e. missed in cache
+     */
+    public int getFilesByPartitions(List<HivePartition> partitions, boolean useSelfSplitter,
+            Consumer<FileCacheValue> consumer) {
         long start = System.currentTimeMillis();
-        List<FileCacheKey> keys = Lists.newArrayListWithExpectedSize(partitions.size());
-        partitions.stream().forEach(p -> keys.add(new FileCacheKey(p.getPath(), p.getInputFormat(), useSelfSplitter)));
-
-        Stream<FileCacheKey> stream;
-        if (partitions.size() < MIN_BATCH_FETCH_PARTITION_NUM) {
-            stream = keys.stream();
-        } else {
-            stream = keys.parallelStream();
+        LoadingCache<FileCacheKey, FileCacheValue> fileCache = fileCacheRef.get();
+        CompletionService<FileCacheValue> completionService = new ExecutorCompletionService<>(fileListingExecutor);
+        List<Future<FileCacheValue>> futures = Lists.newArrayList();
+        for (HivePartition partition : partitions) {
+            FileCacheKey key = new FileCacheKey(partition.getPath(), partition.getInputFormat(), useSelfSplitter);
+            FileCacheValue value = fileCache.getIfPresent(key);
+            if (value != null) {
+                consumer.accept(value);
+            } else {
+                futures.add(completionService.submit(() -> fileCache.get(key)));
+            }
         }
-        List<FileCacheValue> fileLists = stream.map(k -> {
-            try {
-                return fileCacheRef.get().get(k);
-            } catch (ExecutionException e) {
-                throw new RuntimeException(e);
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                consumer.accept(completionService.take().get());
             }
-        }).collect(Collectors.toList());
-        LOG.debug("get #{} files from #{} partitions in catalog {} cost: {} ms",
-                fileLists.stream().mapToInt(l -> l.getFiles() == null
-                    ? (l.getSplits() == null ? 0 : l.getSplits().size()) : l.getFiles().size()).sum(),
-                partitions.size(), catalog.getName(), (System.currentTimeMillis() - start));
-        return fileLists;
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new CacheException("interrupted while getting files of partitions in catalog %s", e,
+                    catalog.getName());
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new CacheException("failed to get files of partitions in catalog %s", e, catalog.getName());
+        } catch (RuntimeException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw e;
+        }
+        LOG.debug("get files of #{} partitions, #{} listed from file system, in catalog {} cost: {} ms",
+                partitions.size(), futures.size(), catalog.getName(), (System.currentTimeMillis() - start));
+        return futures.size();
+    }
+
+    // Called when the cache of the catalog is removed. The listings in progress are not interrupted,
+    // so that the queries which are still using this cache are not failed.
+    public void shutdown() {
+        fileListingExecutor.shutdown();
     }
 
     public List<HivePartition> getAllPartitions(String dbName, String name, List<List<String>> partitionValuesList) {
@@ -17,13 +17,18 @@
 
 package org.apache.doris.httpv2.rest;
 
+import org.apache.doris.catalog.Database;
 import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Table;
 import org.apache.doris.cluster.ClusterNamespace;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.LoadException;
 import org.apache.doris.httpv2.entity.ResponseEntityBuilder;
 import org.apache.doris.httpv2.entity.RestBaseResult;
+import org.apache.doris.load.StreamLoadRedirectPolicy;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.mysql.privilege.PrivPredicate;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.service.ExecuteEnv;
@@ -33,6 +38,7 @@ import org.apache.doris.system.SystemInfoService;
 import org.apache.doris.thrift.TNetworkAddress;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -56,6 +62,9 @@ public class LoadAction extends RestBaseController {
 
     private ExecuteEnv execEnv = ExecuteEnv.getInstance();
 
+    private String redirectPolicyType;
+    private StreamLoadRedirectPolicy redirectPolicy;
+
     @RequestMapping(path = "/api/{" + DB_KEY + "}/{" + TABLE_KEY + "}/_load", method = RequestMethod.PUT)
     public Object load(HttpServletRequest request, HttpServletResponse response,
                        @PathVariable(value = DB_KEY) String db, @PathVariable(value = TABLE_KEY) String table) {
@@ -164,7 +173,7 @@ public class LoadAction extends RestBaseController {
                     return new RestBaseResult(e.getMessage());
                 }
             } else {
-                redirectAddr = selectRedirectBackend(clusterName);
+                redirectAddr = selectRedirectBackend(clusterName, getTargetTable(fullDbName, tableName));
             }
 
             LOG.info("redirect load action to destination={}, stream: {}, db: {}, tbl: {}, label: {}",
@@ -199,7 +208,7 @@ public class LoadAction extends RestBaseController {
                 return new RestBaseResult("No transaction operation(\'commit\' or \'abort\') selected.");
             }
 
-            TNetworkAddress redirectAddr = selectRedirectBackend(clusterName);
+            TNetworkAddress redirectAddr = selectRedirectBackend(clusterName, null);
             LOG.info("redirect stream load 2PC action to destination={}, db: {}, txn: {}, operation: {}",
                     redirectAddr.toString(), dbName, request.getHeader(TXN_ID_KEY), txnOperation);
 
@@ -211,17 +220,45 @@ public class LoadAction extends RestBaseController {
         }
     }
 
-    private TNetworkAddress selectRedirectBackend(String clusterName) throws LoadException {
-        BeSelectionPolicy policy = new BeSelectionPolicy.Builder().setCluster(clusterName).needLoadAvailable().build();
-        List<Long> backendIds = Env.getCurrentSystemInfo().selectBackendIdsByPolicy(policy, 1);
-        if (backendIds.isEmpty()) {
+    private TNetworkAddress selectRedirectBackend(String clusterName, OlapTable table) throws LoadException {
+        BeSelectionPolicy policy = new BeSelectionPolicy.Builder().setCluster(clusterName).needLoadAvailable()
+                .allowOnSameHost().build();
+        List<Long> backendIds = Env.getCurrentSystemInfo().selectBackendIdsByPolicy(policy, -1);
+        List<Backend> candidates = Lists.newArrayList();
+        for (Long backendId : backendIds) {
+            Backend backend = Env.getCurrentSystemInfo().getBackend(backendId);
+            if (backend != null) {
+                candidates.add(backend);
+            }
+        }
+        if (candidates.isEmpty()) {
             throw new LoadException(SystemInfoService.NO_BACKEND_LOAD_AVAILABLE_MSG + ", policy: " + policy);
         }
 
-        Backend backend = Env.getCurrentSystemInfo().getBackend(backendIds.get(0));
-        if (backend == null) {
-            throw new LoadException(SystemInfoService.NO_BACKEND_LOAD_AVAILABLE_MSG + ", policy: " + policy);
+        Backend backend = getRedirectPolicy().select(candidates, table);
+        if (MetricRepo.isInit) {
+            MetricRepo.BE_COUNTER_STREAM_LOAD_REDIRECT.getOrAdd(backend.getIp() + ":" + backend.getHttpPort())
+                    .increase(1L);
         }
         return new TNetworkAddress(backend.getIp(), backend.getHttpPort());
     }
+
+    private synchronized StreamLoadRedirectPolicy getRedirectPolicy() {
+        if (redirectPolicy == null || !Config.stream_load_redirect_policy.equalsIgnoreCase(redirectPolicyType)) {
+            redirectPolicyType = Config.stream_load_redirect_policy;
+            redirectPolicy = StreamLoadRedirectPolicy.create(redirectPolicyType);
+        }
+        return redirectPolicy;
+    }
+
+    // the target table is only used to choose the backend, so just return null if it does not exist,
+    // and the load will fail with a proper error message later.
+    private OlapTable getTargetTable(String fullDbName, String tableName) {
+        Database db = Env.getCurrentInternalCatalog().getDbNullable(fullDbName);
+        if (db == null) {
+            return null;
+        }
+        Table table = db.getTableNullable(tableName);
+        return table instanceof OlapTable ? (OlapTable) table : null;
+    }
 }
@@ -49,6 +49,13 @@ public interface Journal {
     // Write a journal and sync to disk
     public void write(short op, Writable writable) throws IOException;
 
+    // Write a batch of journals in order and sync to disk
+    public default void write(List<JournalEntity> entities) throws IOException {
+        for (JournalEntity entity : entities) {
+            write(entity.getOpCode(), entity.getData());
+        }
+    }
+
     // Get current journal number
     public long getJournalNum();
 
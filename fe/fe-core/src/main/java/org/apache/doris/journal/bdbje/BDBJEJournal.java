@@ -36,6 +36,7 @@ import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.DatabaseNotFoundException;
 import com.sleepycat.je.LockMode;
 import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.Transaction;
 import com.sleepycat.je.rep.InsufficientLogException;
 import com.sleepycat.je.rep.NetworkRestore;
 import com.sleepycat.je.rep.NetworkRestoreConfig;
@@ -47,6 +48,7 @@ import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -190,6 +192,92 @@ public class BDBJEJournal implements Journal { // CHECKSTYLE IGNORE THIS LINE: B
         }
     }
 
+    /*
+     * Write all the journals in one bdb transaction, so that they only need one sync to disk
+     * and one round of replica acks.
+     */
+    @Override
+    public synchronized void write(List<JournalEntity> entities) throws IOException {
+        if (entities.size() == 1) {
+            write(entities.get(0).getOpCode(), entities.get(0).getData());
+            return;
+        }
+
+        List<DatabaseEntry> dataList = new ArrayList<>(entities.size());
+        boolean allTimestamp = true;
+        for (JournalEntity entity : entities) {
+            DataOutputBuffer buffer = new DataOutputBuffer(OUTPUT_BUFFER_INIT_SIZE);
+            entity.write(buffer);
+            DatabaseEntry theData = new DatabaseEntry(buffer.getData());
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_EDIT_LOG_SIZE_BYTES.increase((long) theData.getSize());
+                MetricRepo.COUNTER_CURRENT_EDIT_LOG_SIZE_BYTES.increase((long) theData.getSize());
+            }
+            dataList.add(theData);
+            allTimestamp &= entity.getOpCode() == OperationType.OP_TIMESTAMP;
+        }
+
+        long firstId = nextJournalId.get();
+        TupleBinding<Long> idBinding = TupleBinding.getPrimitiveBinding(Long.class);
+        boolean writeSucceed = false;
+        for (int i = 0; i < RETRY_TIME && !writeSucceed; i++) {
+            Transaction txn = null;
+            try {
+                txn = bdbEnvironment.getReplicatedEnvironment().beginTransaction(null, null);
+                boolean putSucceed = true;
+                long id = firstId;
+                for (DatabaseEntry theData : dataList) {
+                    DatabaseEntry theKey = new DatabaseEntry();
+                    idBinding.objectToEntry(id++, theKey);
+                    if (currentJournalDB.put(txn, theKey, theData) != OperationStatus.SUCCESS) {
+                        putSucceed = false;
+                        break;
+                    }
+                }
+                if (putSucceed) {
+                    txn.commit();
+                    txn = null;
+                    writeSucceed = true;
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("master write journal {} to {} finished. db name {}, current time {}",
+                                firstId, id - 1, currentJournalDB.getDatabaseName(), System.currentTimeMillis());
+                    }
+                }
+            } catch (DatabaseException e) {
+                LOG.error("catch an exception when writing to database. sleep and retry. journal id {} to {}",
+                        firstId, firstId + dataList.size() - 1, e);
+                try {
+                    Thread.sleep(5 * 1000);
+                } catch (InterruptedException e1) {
+                    LOG.warn("", e1);
+                }
+            } finally {
+                if (txn != null) {
+                    try {
+                        txn.abort();
+                    } catch (DatabaseException e) {
+                        LOG.warn("failed to abort journal transaction", e);
+                    }
+                }
+            }
+        }
+
+        if (writeSucceed) {
+            nextJournalId.set(firstId + dataList.size());
+            return;
+        }
+        if (allTimestamp) {
+            // same as write(), do not exit if all the operations are OP_TIMESTAMP
+            LOG.warn("master can not achieve quorum. write timestamp fail. but will not exit.");
+            return;
+        }
+        String msg = "write bdb failed. will exit. journalId: " + firstId + " to "
+                + (firstId + dataList.size() - 1) + ", bdb database Name: " + currentJournalDB.getDatabaseName();
+        LOG.error(msg);
+        Util.stdoutWithTime(msg);
+        System.exit(-1);
+    }
+
     @Override
     public JournalEntity read(long journalId) {
         List<Long> dbNames = getDatabaseNames();
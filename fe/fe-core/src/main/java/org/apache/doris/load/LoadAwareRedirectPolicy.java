@@ -0,0 +1,170 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.load;
+
+import org.apache.doris.catalog.MaterializedIndex;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.Replica;
+import org.apache.doris.catalog.Tablet;
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.system.Backend;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Choose the backend with the lowest score, the score of a backend is the weighted sum of:
+ * 1. the stream loads recently redirected to the backend by this FE, which approximates the running loads
+ *    on the backend, since FE knows nothing about the load channels of backends.
+ * 2. the max compaction score reported by the backend, which is high when the backend can not catch up writes.
+ * 3. the max disk used percent of the backend.
+ * 4. minus the replicas of the target table on the backend, the data written to local replicas
+ *    does not need to be sent through network.
+ * The redirects, compaction score and replicas are normalized by the max value of all candidates,
+ * and the disk used percent is already in [0, 1].
+ */
+public class LoadAwareRedirectPolicy implements StreamLoadRedirectPolicy {
+    private static final Logger LOG = LogManager.getLogger(LoadAwareRedirectPolicy.class);
+
+    private static final double RECENT_REDIRECT_WEIGHT = 1.0;
+    private static final double COMPACTION_SCORE_WEIGHT = 0.5;
+    private static final double DISK_USED_WEIGHT = 0.5;
+    private static final double REPLICA_WEIGHT = 0.5;
+
+    // the recent redirects of a backend halve every 10 seconds
+    private static final long REDIRECT_HALF_LIFE_MS = 10 * 1000L;
+    // the replica distribution of a table is recomputed every minute
+    private static final long REPLICA_NUM_EXPIRE_SECONDS = 60;
+    private static final long MAX_CACHED_TABLES = 1000;
+
+    // backend id -> recent redirects
+    private final ConcurrentMap<Long, DecayingCounter> recentRedirects = Maps.newConcurrentMap();
+    // table id -> (backend id -> replica num)
+    private final Cache<Long, Map<Long, Integer>> tableReplicaNums = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_TABLES).expireAfterWrite(REPLICA_NUM_EXPIRE_SECONDS, TimeUnit.SECONDS).build();
+
+    @Override
+    public Backend select(List<Backend> candidates, OlapTable table) {
+        long nowMs = System.currentTimeMillis();
+        Map<Long, Integer> replicaNums = table == null ? Collections.emptyMap() : getReplicaNums(table);
+
+        int num = candidates.size();
+        double[] redirects = new double[num];
+        double maxRedirects = 0;
+        long maxCompactionScore = 0;
+        int maxReplicaNum = 0;
+        for (int i = 0; i < num; i++) {
+            Backend backend = candidates.get(i);
+            redirects[i] = getRecentRedirects(backend.getId(), nowMs);
+            maxRedirects = Math.max(maxRedirects, redirects[i]);
+            maxCompactionScore = Math.max(maxCompactionScore, backend.getTabletMaxCompactionScore());
+            maxReplicaNum = Math.max(maxReplicaNum, replicaNums.getOrDefault(backend.getId(), 0));
+        }
+
+        // start from a random candidate, so that the backends with the same score are chosen evenly
+        int start = ThreadLocalRandom.current().nextInt(num);
+        Backend selected = null;
+        double minScore = Double.MAX_VALUE;
+        for (int i = 0; i < num; i++) {
+            int idx = (start + i) % num;
+            Backend backend = candidates.get(idx);
+            double score = RECENT_REDIRECT_WEIGHT * normalize(redirects[idx], maxRedirects)
+                    + COMPACTION_SCORE_WEIGHT * normalize(backend.getTabletMaxCompactionScore(), maxCompactionScore)
+                    + DISK_USED_WEIGHT * backend.getMaxDiskUsedPct()
+                    - REPLICA_WEIGHT * normalize(replicaNums.getOrDefault(backend.getId(), 0), maxReplicaNum);
+            if (score < minScore) {
+                minScore = score;
+                selected = backend;
+            }
+        }
+
+        recentRedirects.computeIfAbsent(selected.getId(), k -> new DecayingCounter()).increase(nowMs);
+        if (replicaNums.containsKey(selected.getId()) && MetricRepo.isInit) {
+            MetricRepo.COUNTER_STREAM_LOAD_REDIRECT_TO_REPLICA.increase(1L);
+        }
+        LOG.debug("select backend {} with score {} for stream load of table {}", selected.getId(), minScore,
+                table == null ? "unknown" : table.getName());
+        return selected;
+    }
+
+    private static double normalize(double value, double max) {
+        return max <= 0 ? 0 : value / max;
+    }
+
+    private double getRecentRedirects(long backendId, long nowMs) {
+        DecayingCounter counter = recentRedirects.get(backendId);
+        return counter == null ? 0 : counter.get(nowMs);
+    }
+
+    private Map<Long, Integer> getReplicaNums(OlapTable table) {
+        Map<Long, Integer> replicaNums = tableReplicaNums.getIfPresent(table.getId());
+        if (replicaNums != null) {
+            return replicaNums;
+        }
+        replicaNums = Maps.newHashMap();
+        table.readLock();
+        try {
+            for (Partition partition : table.getPartitions()) {
+                MaterializedIndex baseIndex = partition.getBaseIndex();
+                for (Tablet tablet : baseIndex.getTablets()) {
+                    for (Replica replica : tablet.getReplicas()) {
+                        replicaNums.merge(replica.getBackendId(), 1, Integer::sum);
+                    }
+                }
+            }
+        } finally {
+            table.readUnlock();
+        }
+        tableReplicaNums.put(table.getId(), replicaNums);
+        return replicaNums;
+    }
+
+    // A counter which halves every REDIRECT_HALF_LIFE_MS
+    private static class DecayingCounter {
+        private double value = 0;
+        private long lastUpdateMs = 0;
+
+        synchronized double get(long nowMs) {
+            decay(nowMs);
+            return value;
+        }
+
+        synchronized void increase(long nowMs) {
+            decay(nowMs);
+            value += 1;
+        }
+
+        private void decay(long nowMs) {
+            if (nowMs > lastUpdateMs) {
+                value *= Math.pow(0.5, (double) (nowMs - lastUpdateMs) / REDIRECT_HALF_LIFE_MS);
+                lastUpdateMs = nowMs;
+            }
+        }
+    }
+}
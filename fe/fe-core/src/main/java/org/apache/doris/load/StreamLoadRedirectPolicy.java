@@ -0,0 +1,48 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.load;
+
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.system.Backend;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Policy to choose the backend which a stream load is redirected to.
+ * The policy is chosen by Config.stream_load_redirect_policy.
+ */
+public interface StreamLoadRedirectPolicy {
+    String RANDOM = "random";
+    String LOAD_AWARE = "load_aware";
+
+    /**
+     * Choose one of the load available candidates.
+     *
+     * @param candidates not empty
+     * @param table the target table of the load, null if unknown, e.g. for the 2PC request
+     */
+    Backend select(List<Backend> candidates, OlapTable table);
+
+    static StreamLoadRedirectPolicy create(String type) {
+        if (RANDOM.equalsIgnoreCase(type)) {
+            return (candidates, table) -> candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+        }
+        return new LoadAwareRedirectPolicy();
+    }
+}
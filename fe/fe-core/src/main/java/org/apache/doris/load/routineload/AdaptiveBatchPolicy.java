@@ -0,0 +1,112 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.load.routineload;
+
+import org.apache.doris.common.Config;
+
+/**
+ * Sizes the tasks of a routine load job with 'adaptive_batch' enabled.
+ * The batch interval is the freshness target of the job in steady state. When the consumed lag can not be
+ * drained within one freshness target at the observed consume rate, or the BE is under compaction pressure,
+ * the task uses the max batch interval and enlarges the row and size limits, so that fewer and larger
+ * transactions are committed.
+ * The interval never exceeds max_batch_interval, because the task timeout is derived from it,
+ * and the enlarged size never exceeds exec_mem_limit of the job.
+ */
+public class AdaptiveBatchPolicy {
+    // weight of the latest task in the moving average of consume rate
+    private static final double RATE_SMOOTHING_FACTOR = 0.3;
+
+    // moving average of the rows consumed per second by the committed tasks
+    private double rowsPerSecond = 0;
+
+    public synchronized void updateConsumeRate(long rows, long taskExecutionTimeMs) {
+        if (rows <= 0 || taskExecutionTimeMs <= 0) {
+            return;
+        }
+        double rate = rows * 1000.0 / taskExecutionTimeMs;
+        if (rowsPerSecond <= 0) {
+            rowsPerSecond = rate;
+        } else {
+            rowsPerSecond = RATE_SMOOTHING_FACTOR * rate + (1 - RATE_SMOOTHING_FACTOR) * rowsPerSecond;
+        }
+    }
+
+    public synchronized double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    /**
+     * @param lagRows the num of messages between the begin offsets of the task and the latest offsets
+     * @param compactionScore the max tablet compaction score of the BE which executes the task
+     * @param execMemLimit the exec_mem_limit of the job, 0 means no limit
+     */
+    public BatchSize compute(long lagRows, long compactionScore, long freshnessTargetS,
+            long maxBatchIntervalS, long maxBatchRows, long maxBatchSizeBytes, long execMemLimit) {
+        long intervalS = Math.max(1, Math.min(freshnessTargetS, maxBatchIntervalS));
+        double maxScale = Math.max(1, Config.routine_load_adaptive_batch_max_scale);
+        if (execMemLimit > 0) {
+            // the batch is buffered in the memory of BE, do not enlarge it beyond the mem limit
+            maxScale = Math.min(maxScale, Math.max(1, (double) execMemLimit / maxBatchSizeBytes));
+        }
+        double scale = 1;
+
+        double rate = getRowsPerSecond();
+        long drainableRows = rate > 0 ? (long) (rate * intervalS) : maxBatchRows;
+        if (lagRows > drainableRows) {
+            // backlog, consume as much as possible in one txn to catch up
+            intervalS = maxBatchIntervalS;
+            scale = Math.min(maxScale, Math.max(1, (double) lagRows / maxBatchRows));
+        }
+        if (compactionScore >= Config.routine_load_adaptive_batch_compaction_score_threshold) {
+            // too many versions on BE, slow down the txn rate
+            intervalS = maxBatchIntervalS;
+            scale = Math.min(maxScale, Math.max(2, scale));
+        }
+        return new BatchSize(intervalS, (long) (maxBatchRows * scale), (long) (maxBatchSizeBytes * scale));
+    }
+
+    public static class BatchSize {
+        private final long intervalS;
+        private final long maxRows;
+        private final long maxBytes;
+
+        public BatchSize(long intervalS, long maxRows, long maxBytes) {
+            this.intervalS = intervalS;
+            this.maxRows = maxRows;
+            this.maxBytes = maxBytes;
+        }
+
+        public long getIntervalS() {
+            return intervalS;
+        }
+
+        public long getMaxRows() {
+            return maxRows;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "interval: " + intervalS + "s, max rows: " + maxRows + ", max bytes: " + maxBytes;
+        }
+    }
+}
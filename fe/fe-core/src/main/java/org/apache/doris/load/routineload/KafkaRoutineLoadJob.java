@@ -39,10 +39,12 @@ import org.apache.doris.common.util.SmallFileMgr;
 import org.apache.doris.common.util.SmallFileMgr.SmallFile;
 import org.apache.doris.common.util.TimeUtils;
 import org.apache.doris.persist.AlterRoutineLoadJobOperationLog;
+import org.apache.doris.system.Backend;
 import org.apache.doris.thrift.TFileCompressType;
 import org.apache.doris.transaction.TransactionState;
 import org.apache.doris.transaction.TransactionStatus;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
@@ -57,6 +59,7 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -92,6 +95,11 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
     // The latest offset of each partition fetched from kafka server.
     // Will be updated periodically by calling hasMoreDataToConsume()
     private Map<Integer, Long> cachedPartitionWithLatestOffsets = Maps.newConcurrentMap();
+    // The time when the latest offset of each partition is fetched from kafka server.
+    private Map<Integer, Long> partitionIdToLatestOffsetUpdateTimeMs = Maps.newConcurrentMap();
+
+    // Size the tasks by kafka lag, consume rate and compaction pressure if 'adaptive_batch' is enabled.
+    private AdaptiveBatchPolicy adaptiveBatchPolicy = new AdaptiveBatchPolicy();
 
     // The kafka partition fetch from kafka server.
     // Will be updated periodically by calling updateKafkaPartitions();
@@ -265,6 +273,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
     protected void updateProgress(RLTaskTxnCommitAttachment attachment) throws UserException {
         super.updateProgress(attachment);
         this.progress.update(attachment);
+        adaptiveBatchPolicy.updateConsumeRate(attachment.getTotalRows(), attachment.getTaskExecutionTimeMs());
     }
 
     @Override
@@ -693,11 +702,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         try {
             // all offsets to be consumed are newer than offsets in cachedPartitionWithLatestOffsets,
             // maybe the cached offset is out-of-date, fetch from kafka server again
-            List<Pair<Integer, Long>> tmp = KafkaUtil.getLatestOffsets(id, taskId, getBrokerList(),
-                    getTopic(), getConvertedCustomProperties(), Lists.newArrayList(partitionIdToOffset.keySet()));
-            for (Pair<Integer, Long> pair : tmp) {
-                cachedPartitionWithLatestOffsets.put(pair.first, pair.second);
-            }
+            updateLatestOffsets(taskId, partitionIdToOffset.keySet());
         } catch (Exception e) {
             LOG.warn("failed to get latest partition offset. {}", e.getMessage(), e);
             return false;
@@ -718,6 +723,61 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         return false;
     }
 
+    private void updateLatestOffsets(UUID taskId, Collection<Integer> partitions) throws UserException {
+        List<Pair<Integer, Long>> tmp = KafkaUtil.getLatestOffsets(id, taskId, getBrokerList(),
+                getTopic(), getConvertedCustomProperties(), Lists.newArrayList(partitions));
+        long now = System.currentTimeMillis();
+        for (Pair<Integer, Long> pair : tmp) {
+            cachedPartitionWithLatestOffsets.put(pair.first, pair.second);
+            partitionIdToLatestOffsetUpdateTimeMs.put(pair.first, now);
+        }
+    }
+
+    // Compute the batch interval and limits of the task which consumes from 'partitionIdToOffset' on the given BE.
+    public AdaptiveBatchPolicy.BatchSize getAdaptiveBatchSize(UUID taskId, Map<Integer, Long> partitionIdToOffset,
+            long beId) {
+        long freshnessTargetS = getFreshnessTargetS();
+        long lagRows = getLagRows(taskId, partitionIdToOffset, freshnessTargetS);
+        Backend backend = Env.getCurrentSystemInfo().getBackend(beId);
+        long compactionScore = backend == null ? 0 : backend.getTabletMaxCompactionScore();
+        AdaptiveBatchPolicy.BatchSize batchSize = adaptiveBatchPolicy.compute(lagRows, compactionScore,
+                freshnessTargetS, maxBatchIntervalS, maxBatchRows, maxBatchSizeBytes, getMemLimit());
+        LOG.debug("adaptive batch size of task {}: {}, lag: {}, compaction score: {}, consume rate: {} rows/s, job {}",
+                taskId, batchSize, lagRows, compactionScore, adaptiveBatchPolicy.getRowsPerSecond(), id);
+        return batchSize;
+    }
+
+    // The cached latest offset of a partition is only refreshed when a task catches up with it,
+    // so refresh the partitions whose latest offsets are older than the freshness target,
+    // otherwise the lag is underestimated.
+    @VisibleForTesting
+    long getLagRows(UUID taskId, Map<Integer, Long> partitionIdToOffset, long freshnessTargetS) {
+        long now = System.currentTimeMillis();
+        List<Integer> stalePartitions = Lists.newArrayList();
+        for (Integer partitionId : partitionIdToOffset.keySet()) {
+            Long updateTimeMs = partitionIdToLatestOffsetUpdateTimeMs.get(partitionId);
+            if (updateTimeMs == null || now - updateTimeMs > freshnessTargetS * 1000) {
+                stalePartitions.add(partitionId);
+            }
+        }
+        if (!stalePartitions.isEmpty()) {
+            try {
+                updateLatestOffsets(taskId, stalePartitions);
+            } catch (Exception e) {
+                LOG.warn("failed to get latest partition offset, use the cached ones. job {}, task {}",
+                        id, taskId, e);
+            }
+        }
+        long lagRows = 0;
+        for (Map.Entry<Integer, Long> entry : partitionIdToOffset.entrySet()) {
+            Long latestOffset = cachedPartitionWithLatestOffsets.get(entry.getKey());
+            if (latestOffset != null && latestOffset > entry.getValue()) {
+                lagRows += latestOffset - entry.getValue();
+            }
+        }
+        return lagRows;
+    }
+
     @Override
     protected String getLag() {
         Map<Integer, Long> partitionIdToOffsetLag = ((KafkaProgress) progress).getLag(cachedPartitionWithLatestOffsets);
@@ -88,9 +88,17 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
         tRoutineLoadTask.setKafkaLoadInfo(tKafkaLoadInfo);
         tRoutineLoadTask.setType(TLoadSourceType.KAFKA);
         tRoutineLoadTask.setParams(rePlan(routineLoadJob));
-        tRoutineLoadTask.setMaxIntervalS(routineLoadJob.getMaxBatchIntervalS());
-        tRoutineLoadTask.setMaxBatchRows(routineLoadJob.getMaxBatchRows());
-        tRoutineLoadTask.setMaxBatchSize(routineLoadJob.getMaxBatchSizeBytes());
+        if (routineLoadJob.isAdaptiveBatch()) {
+            AdaptiveBatchPolicy.BatchSize batchSize =
+                    routineLoadJob.getAdaptiveBatchSize(id, partitionIdToOffset, beId);
+            tRoutineLoadTask.setMaxIntervalS(batchSize.getIntervalS());
+            tRoutineLoadTask.setMaxBatchRows(batchSize.getMaxRows());
+            tRoutineLoadTask.setMaxBatchSize(batchSize.getMaxBytes());
+        } else {
+            tRoutineLoadTask.setMaxIntervalS(routineLoadJob.getMaxBatchIntervalS());
+            tRoutineLoadTask.setMaxBatchRows(routineLoadJob.getMaxBatchRows());
+            tRoutineLoadTask.setMaxBatchSize(routineLoadJob.getMaxBatchSizeBytes());
+        }
         if (!routineLoadJob.getFormat().isEmpty() && routineLoadJob.getFormat().equalsIgnoreCase("json")) {
             tRoutineLoadTask.setFormat(TFileFormatType.FORMAT_JSON);
         } else {
@@ -108,6 +108,7 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
     public static final boolean DEFAULT_STRICT_MODE = false; // default is false
     public static final int DEFAULT_SEND_BATCH_PARALLELISM = 1;
     public static final boolean DEFAULT_LOAD_TO_SINGLE_TABLET = false;
+    public static final boolean DEFAULT_ADAPTIVE_BATCH = false;
 
     protected static final String STAR_STRING = "*";
 
@@ -303,6 +304,13 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
         jobProperties.put(LoadStmt.EXEC_MEM_LIMIT, String.valueOf(this.execMemLimit));
         jobProperties.put(LoadStmt.SEND_BATCH_PARALLELISM, String.valueOf(this.sendBatchParallelism));
         jobProperties.put(LoadStmt.LOAD_TO_SINGLE_TABLET, String.valueOf(this.loadToSingleTablet));
+        if (stmt.isAdaptiveBatch()) {
+            jobProperties.put(CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY, "true");
+        }
+        if (stmt.getFreshnessTargetS() != -1) {
+            jobProperties.put(CreateRoutineLoadStmt.FRESHNESS_TARGET_SEC_PROPERTY,
+                    String.valueOf(stmt.getFreshnessTargetS()));
+        }
 
         if (Strings.isNullOrEmpty(stmt.getFormat()) || stmt.getFormat().equals("csv")) {
             jobProperties.put(PROPS_FORMAT, "csv");
@@ -533,6 +541,20 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
         return maxBatchSizeBytes;
     }
 
+    public boolean isAdaptiveBatch() {
+        return Boolean.parseBoolean(jobProperties.get(CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY));
+    }
+
+    // the expected max delay in seconds of the loaded data in adaptive batch mode,
+    // default is max batch interval.
+    public long getFreshnessTargetS() {
+        String value = jobProperties.get(CreateRoutineLoadStmt.FRESHNESS_TARGET_SEC_PROPERTY);
+        if (value == null) {
+            return maxBatchIntervalS;
+        }
+        return Math.min(Long.parseLong(value), maxBatchIntervalS);
+    }
+
     public String getFormat() {
         String value = jobProperties.get(PROPS_FORMAT);
         if (value == null) {
@@ -1171,6 +1193,8 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
 
         if (!isReplay && jobState != JobState.RUNNING) {
             Env.getCurrentEnv().getEditLog().logOpRoutineLoadJob(new RoutineLoadOperation(id, jobState));
+            // all tasks of the job are removed, so their slots are released
+            Env.getCurrentEnv().getRoutineLoadTaskScheduler().notifySlotReleased();
         }
         LOG.info(new LogBuilder(LogKey.ROUTINE_LOAD_JOB, id)
                          .add("current_job_state", getState())
@@ -1407,6 +1431,10 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
         appendProperties(sb, PROPS_JSONROOT, getJsonRoot(), false);
         appendProperties(sb, LoadStmt.STRICT_MODE, isStrictMode(), false);
         appendProperties(sb, LoadStmt.TIMEZONE, getTimezone(), false);
+        if (isAdaptiveBatch()) {
+            appendProperties(sb, CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY, true, false);
+            appendProperties(sb, CreateRoutineLoadStmt.FRESHNESS_TARGET_SEC_PROPERTY, getFreshnessTargetS(), false);
+        }
         appendProperties(sb, LoadStmt.EXEC_MEM_LIMIT, getMemLimit(), true);
         sb.append(")\n");
         // 6. data_source
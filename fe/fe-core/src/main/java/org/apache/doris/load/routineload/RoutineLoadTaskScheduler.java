@@ -23,12 +23,14 @@ import org.apache.doris.common.Config;
 import org.apache.doris.common.InternalErrorCode;
 import org.apache.doris.common.LoadException;
 import org.apache.doris.common.MetaNotFoundException;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.util.DebugUtil;
 import org.apache.doris.common.util.LogBuilder;
 import org.apache.doris.common.util.LogKey;
 import org.apache.doris.common.util.MasterDaemon;
 import org.apache.doris.load.routineload.RoutineLoadJob.JobState;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.system.Backend;
 import org.apache.doris.thrift.BackendService;
 import org.apache.doris.thrift.TNetworkAddress;
@@ -36,44 +38,106 @@ import org.apache.doris.thrift.TRoutineLoadTask;
 import org.apache.doris.thrift.TStatus;
 import org.apache.doris.thrift.TStatusCode;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Routine load task scheduler is a function which allocate task to be.
- * Step1: update backend slot if interval more than BACKEND_SLOT_UPDATE_INTERVAL_MS
- * Step2: submit beIdToBatchTask when queue is empty
- * Step3: take a task from queue and schedule this task
  *
- * The scheduler will be blocked in step3 till the queue receive a new task
+ * The tasks to be scheduled are kept in per-job queues, and the jobs are polled in round robin,
+ * so that a job with many tasks can not delay the tasks of other jobs.
+ * The dispatcher thread takes a ready task only if there are idle slots in cluster, and hands it to the
+ * schedule threads, which allocate BE slot, begin txn and submit the task to BE in parallel.
+ *
+ * The dispatcher is event driven. It waits when there is no idle slot or no ready task, and is woken up
+ * when a task is added, which usually means a previous task is finished and its slot is released,
+ * when a job stops running and releases its slots, or when a scheduling is finished.
+ * Tasks failed to be allocated a slot are retried after slots are released.
+ * Tasks without more data to consume or failed to begin txn are delayed for 'timeout' to avoid too many failures.
  */
 public class RoutineLoadTaskScheduler extends MasterDaemon {
 
     private static final Logger LOG = LogManager.getLogger(RoutineLoadTaskScheduler.class);
 
     private static final long BACKEND_SLOT_UPDATE_INTERVAL_MS = 10000; // 10s
-    private static final long SLOT_FULL_SLEEP_MS = 10000; // 10s
+    // the max time to wait for an event, in case of any missing event
+    private static final long MAX_EVENT_WAIT_MS = 10000; // 10s
 
     private RoutineLoadManager routineLoadManager;
-    private LinkedBlockingQueue<RoutineLoadTaskInfo> needScheduleTasksQueue = Queues.newLinkedBlockingQueue();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition eventCondition = lock.newCondition();
+    // set when an event happens, so that the event happens while the dispatcher is checking slots is not missed
+    private boolean hasNewEvent = false;
+    // job id -> tasks ready to be scheduled
+    private final LinkedHashMap<Long, Deque<PendingTask>> jobIdToReadyTasks = Maps.newLinkedHashMap();
+    // tasks delayed to be scheduled, ordered by ready time
+    private final PriorityQueue<PendingTask> delayedTasks =
+            new PriorityQueue<>(Comparator.comparingLong(t -> t.readyTimeMs));
+    // tasks waiting for slots to be released
+    private final List<PendingTask> slotWaitingTasks = Lists.newArrayList();
+    // num of tasks being scheduled by the schedule threads
+    private int schedulingTaskNum = 0;
+
+    // the check and allocation of BE slot should be atomic between schedule threads
+    private final Object allocateLock = new Object();
+    private final int scheduleThreadNum;
+    private final Executor scheduleExecutor;
+
+    // job id -> histogram of schedule delay
+    private final Map<Long, Histogram> jobIdToScheduleDelay = Maps.newConcurrentMap();
 
     private long lastBackendSlotUpdateTime = -1;
 
+    private static class PendingTask {
+        private final RoutineLoadTaskInfo taskInfo;
+        // the time since when this task can be scheduled, used to calculate the schedule delay
+        private final long readyTimeMs;
+
+        private PendingTask(RoutineLoadTaskInfo taskInfo, long readyTimeMs) {
+            this.taskInfo = taskInfo;
+            this.readyTimeMs = readyTimeMs;
+        }
+    }
+
     @VisibleForTesting
     public RoutineLoadTaskScheduler() {
-        super("Routine load task scheduler", 0);
-        this.routineLoadManager = Env.getCurrentEnv().getRoutineLoadManager();
+        this(Env.getCurrentEnv().getRoutineLoadManager());
     }
 
     public RoutineLoadTaskScheduler(RoutineLoadManager routineLoadManager) {
+        this(routineLoadManager, ThreadPoolManager.newDaemonFixedThreadPool(getScheduleThreadNum(),
+                getScheduleThreadNum(), "routine-load-task-schedule-pool", false));
+    }
+
+    @VisibleForTesting
+    RoutineLoadTaskScheduler(RoutineLoadManager routineLoadManager, Executor scheduleExecutor) {
         super("Routine load task scheduler", 0);
         this.routineLoadManager = routineLoadManager;
+        this.scheduleThreadNum = getScheduleThreadNum();
+        this.scheduleExecutor = scheduleExecutor;
+    }
+
+    private static int getScheduleThreadNum() {
+        return Math.max(1, Config.routine_load_task_schedule_thread_num);
     }
 
     @Override
@@ -85,35 +149,149 @@ public class RoutineLoadTaskScheduler extends MasterDaemon {
         }
     }
 
-    private void process() throws UserException, InterruptedException {
+    private void process() throws InterruptedException {
         // update the max slot num of each backend periodically
         updateBackendSlotIfNecessary();
 
-        // if size of queue is zero, tasks will be submitted by batch
-        int idleSlotNum = routineLoadManager.getClusterIdleSlotNum();
-        // scheduler will be blocked when there is no slot for task in cluster
-        if (idleSlotNum == 0) {
-            Thread.sleep(SLOT_FULL_SLEEP_MS);
-            return;
+        lock.lock();
+        try {
+            hasNewEvent = false;
+        } finally {
+            lock.unlock();
         }
+        // the tasks being scheduled may take some of the idle slots
+        // ATTN: do not call routine load manager with lock held, the events are sent with the job lock held
+        int idleSlotNum = routineLoadManager.getClusterIdleSlotNum();
 
+        PendingTask pendingTask = null;
+        lock.lock();
         try {
-            // This step will be blocked when queue is empty
-            RoutineLoadTaskInfo routineLoadTaskInfo = needScheduleTasksQueue.take();
-            if (System.currentTimeMillis() - routineLoadTaskInfo.getLastScheduledTime()
-                    < routineLoadTaskInfo.getTimeoutMs()) {
-                // try to delay scheduling this task for 'timeout', to void too many failure
-                needScheduleTasksQueue.put(routineLoadTaskInfo);
+            if (idleSlotNum > schedulingTaskNum && schedulingTaskNum < scheduleThreadNum) {
+                pendingTask = pollReadyTask();
+            }
+            if (pendingTask == null) {
+                // scheduler will be blocked till a task is ready, a slot is released or a scheduling is finished
+                awaitEvent();
                 return;
             }
-            scheduleOneTask(routineLoadTaskInfo);
-        } catch (Exception e) {
-            LOG.warn("Taking routine load task from queue has been interrupted", e);
+            schedulingTaskNum++;
+        } finally {
+            lock.unlock();
+        }
+
+        PendingTask task = pendingTask;
+        scheduleExecutor.execute(() -> {
+            try {
+                scheduleOneTask(task);
+            } catch (Throwable e) {
+                LOG.warn("failed to schedule routine load task {} of job {}",
+                        DebugUtil.printId(task.taskInfo.getId()), task.taskInfo.getJobId(), e);
+            } finally {
+                lock.lock();
+                try {
+                    schedulingTaskNum--;
+                    signalEvent();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    // must be called with lock held
+    private PendingTask pollReadyTask() {
+        long now = System.currentTimeMillis();
+        while (!delayedTasks.isEmpty() && delayedTasks.peek().readyTimeMs <= now) {
+            addReadyTask(delayedTasks.poll(), false);
+        }
+        Iterator<Map.Entry<Long, Deque<PendingTask>>> iter = jobIdToReadyTasks.entrySet().iterator();
+        if (!iter.hasNext()) {
+            return null;
+        }
+        Map.Entry<Long, Deque<PendingTask>> entry = iter.next();
+        PendingTask pendingTask = entry.getValue().pollFirst();
+        // move the job to the tail, so that the jobs are polled in round robin
+        iter.remove();
+        if (!entry.getValue().isEmpty()) {
+            jobIdToReadyTasks.put(entry.getKey(), entry.getValue());
+        }
+        return pendingTask;
+    }
+
+    // must be called with lock held
+    private void addReadyTask(PendingTask pendingTask, boolean first) {
+        Deque<PendingTask> tasks = jobIdToReadyTasks.computeIfAbsent(pendingTask.taskInfo.getJobId(),
+                k -> Queues.newArrayDeque());
+        if (first) {
+            tasks.addFirst(pendingTask);
+        } else {
+            tasks.addLast(pendingTask);
+        }
+    }
+
+    // must be called with lock held
+    private void awaitEvent() throws InterruptedException {
+        if (hasNewEvent) {
             return;
         }
+        long waitMs = MAX_EVENT_WAIT_MS;
+        if (!delayedTasks.isEmpty()) {
+            waitMs = Math.min(waitMs, delayedTasks.peek().readyTimeMs - System.currentTimeMillis());
+        }
+        if (waitMs > 0) {
+            eventCondition.await(waitMs, TimeUnit.MILLISECONDS);
+        }
     }
 
-    private void scheduleOneTask(RoutineLoadTaskInfo routineLoadTaskInfo) throws Exception {
+    // must be called with lock held
+    private void signalEvent() {
+        hasNewEvent = true;
+        eventCondition.signal();
+    }
+
+    // must be called with lock held
+    private void retrySlotWaitingTasks() {
+        for (int i = slotWaitingTasks.size() - 1; i >= 0; i--) {
+            addReadyTask(slotWaitingTasks.get(i), true);
+        }
+        slotWaitingTasks.clear();
+    }
+
+    /**
+     * Called when the running tasks of a job are removed, e.g. the job is paused or stopped.
+     */
+    public void notifySlotReleased() {
+        lock.lock();
+        try {
+            retrySlotWaitingTasks();
+            signalEvent();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void delayTask(PendingTask pendingTask) {
+        RoutineLoadTaskInfo taskInfo = pendingTask.taskInfo;
+        lock.lock();
+        try {
+            delayedTasks.add(new PendingTask(taskInfo, taskInfo.getLastScheduledTime() + taskInfo.getTimeoutMs()));
+            signalEvent();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void waitSlot(PendingTask pendingTask) {
+        lock.lock();
+        try {
+            slotWaitingTasks.add(pendingTask);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void scheduleOneTask(PendingTask pendingTask) throws Exception {
+        RoutineLoadTaskInfo routineLoadTaskInfo = pendingTask.taskInfo;
         routineLoadTaskInfo.setLastScheduledTime(System.currentTimeMillis());
         LOG.debug("schedule routine load task info {} for job {}",
                 routineLoadTaskInfo.id, routineLoadTaskInfo.getJobId());
@@ -129,7 +307,7 @@ public class RoutineLoadTaskScheduler extends MasterDaemon {
 
         // check if topic has more data to consume
         if (!routineLoadTaskInfo.hasMoreDataToConsume()) {
-            needScheduleTasksQueue.put(routineLoadTaskInfo);
+            delayTask(pendingTask);
             return;
         }
 
@@ -137,8 +315,8 @@ public class RoutineLoadTaskScheduler extends MasterDaemon {
         // this should be done before txn begin, or the txn may be begun successfully but failed to be allocated.
         try {
             if (!allocateTaskToBe(routineLoadTaskInfo)) {
-                // allocate failed, push it back to the queue to wait next scheduling
-                needScheduleTasksQueue.put(routineLoadTaskInfo);
+                // allocate failed, wait for slots to be released
+                waitSlot(pendingTask);
                 return;
             }
         } catch (UserException e) {
@@ -161,7 +339,7 @@ public class RoutineLoadTaskScheduler extends MasterDaemon {
                 // begin txn failed. push it back to the queue to wait next scheduling
                 // set BE id to -1 to release the BE slot
                 routineLoadTaskInfo.setBeId(-1);
-                needScheduleTasksQueue.put(routineLoadTaskInfo);
+                delayTask(pendingTask);
                 return;
             }
         } catch (Exception e) {
@@ -227,7 +405,34 @@ public class RoutineLoadTaskScheduler extends MasterDaemon {
         }
 
         // set the executeStartTimeMs of task
-        routineLoadTaskInfo.setExecuteStartTimeMs(System.currentTimeMillis());
+        long executeStartTimeMs = System.currentTimeMillis();
+        routineLoadTaskInfo.setExecuteStartTimeMs(executeStartTimeMs);
+        updateScheduleDelay(routineLoadTaskInfo.getJobId(), executeStartTimeMs - pendingTask.readyTimeMs);
+    }
+
+    private void updateScheduleDelay(long jobId, long delayMs) {
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_ROUTINE_LOAD_TASK_SCHEDULE_DELAY.update(delayMs);
+        }
+        jobIdToScheduleDelay.computeIfAbsent(jobId,
+                k -> MetricRepo.METRIC_REGISTER.histogram(getScheduleDelayMetricName(jobId))).update(delayMs);
+    }
+
+    private static String getScheduleDelayMetricName(long jobId) {
+        return MetricRegistry.name("routine_load", "task", "schedule", "delay", "ms", "job=" + jobId);
+    }
+
+    // remove the schedule delay metrics of the jobs which are not running any more
+    private void removeStaleScheduleDelay() {
+        Iterator<Long> iter = jobIdToScheduleDelay.keySet().iterator();
+        while (iter.hasNext()) {
+            long jobId = iter.next();
+            RoutineLoadJob job = routineLoadManager.getJob(jobId);
+            if (job == null || job.getState().isFinalState()) {
+                MetricRepo.METRIC_REGISTER.remove(getScheduleDelayMetricName(jobId));
+                iter.remove();
+            }
+        }
     }
 
     private void updateBackendSlotIfNecessary() {
@@ -236,19 +441,63 @@ public class RoutineLoadTaskScheduler extends MasterDaemon {
                 || (currentTime - lastBackendSlotUpdateTime > BACKEND_SLOT_UPDATE_INTERVAL_MS)) {
             routineLoadManager.updateBeIdToMaxConcurrentTasks();
             lastBackendSlotUpdateTime = currentTime;
+            // the slot num may be changed, and in case of any missing slot released event
+            lock.lock();
+            try {
+                retrySlotWaitingTasks();
+            } finally {
+                lock.unlock();
+            }
+            removeStaleScheduleDelay();
             LOG.debug("update backend max slot for routine load task scheduling. current task num per BE: {}",
                     Config.max_routine_load_task_num_per_be);
         }
     }
 
+    // A new task is usually added after the previous task of the job is finished, so the slot
+    // of the previous task is released, and the tasks waiting for slot should be retried.
     public void addTaskInQueue(RoutineLoadTaskInfo routineLoadTaskInfo) {
-        needScheduleTasksQueue.add(routineLoadTaskInfo);
-        LOG.debug("total tasks num in routine load task queue: {}", needScheduleTasksQueue.size());
+        addTasksInQueue(Lists.newArrayList(routineLoadTaskInfo));
     }
 
     public void addTasksInQueue(List<RoutineLoadTaskInfo> routineLoadTaskInfoList) {
-        needScheduleTasksQueue.addAll(routineLoadTaskInfoList);
-        LOG.debug("total tasks num in routine load task queue: {}", needScheduleTasksQueue.size());
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            for (RoutineLoadTaskInfo routineLoadTaskInfo : routineLoadTaskInfoList) {
+                long readyTimeMs = now;
+                if (routineLoadTaskInfo.getLastScheduledTime() != -1) {
+                    // try to delay scheduling this task for 'timeout', to void too many failure
+                    readyTimeMs = Math.max(now,
+                            routineLoadTaskInfo.getLastScheduledTime() + routineLoadTaskInfo.getTimeoutMs());
+                }
+                PendingTask pendingTask = new PendingTask(routineLoadTaskInfo, readyTimeMs);
+                if (readyTimeMs > now) {
+                    delayedTasks.add(pendingTask);
+                } else {
+                    addReadyTask(pendingTask, false);
+                }
+            }
+            retrySlotWaitingTasks();
+            signalEvent();
+            LOG.debug("total tasks num in routine load task queue: {}", getPendingTaskNum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @VisibleForTesting
+    public int getPendingTaskNum() {
+        lock.lock();
+        try {
+            int num = delayedTasks.size() + slotWaitingTasks.size();
+            for (Deque<PendingTask> tasks : jobIdToReadyTasks.values()) {
+                num += tasks.size();
+            }
+            return num;
+        } finally {
+            lock.unlock();
+        }
     }
 
     private void submitTask(long beId, TRoutineLoadTask tTask) throws LoadException {
@@ -288,10 +537,14 @@ public class RoutineLoadTaskScheduler extends MasterDaemon {
     // return true if allocate successfully. return false if failed.
     // throw exception if unrecoverable errors happen.
     private boolean allocateTaskToBe(RoutineLoadTaskInfo routineLoadTaskInfo) throws LoadException {
-        long beId = routineLoadManager.getAvailableBeForTask(routineLoadTaskInfo.getJobId(),
-                routineLoadTaskInfo.getPreviousBeId(), routineLoadTaskInfo.getClusterName());
-        if (beId == -1L) {
-            return false;
+        long beId;
+        synchronized (allocateLock) {
+            beId = routineLoadManager.getAvailableBeForTask(routineLoadTaskInfo.getJobId(),
+                    routineLoadTaskInfo.getPreviousBeId(), routineLoadTaskInfo.getClusterName());
+            if (beId == -1L) {
+                return false;
+            }
+            routineLoadTaskInfo.setBeId(beId);
         }
 
         if (LOG.isDebugEnabled()) {
@@ -301,7 +554,6 @@ public class RoutineLoadTaskScheduler extends MasterDaemon {
                     .add("assigned_be_id", beId)
                     .build());
         }
-        routineLoadTaskInfo.setBeId(beId);
         return true;
     }
 }
@@ -36,10 +36,12 @@ import org.apache.doris.catalog.Tablet;
 import org.apache.doris.catalog.Tablet.TabletStatus;
 import org.apache.doris.catalog.TabletInvertedIndex;
 import org.apache.doris.catalog.TabletMeta;
+import org.apache.doris.clone.TabletChecker;
 import org.apache.doris.clone.TabletSchedCtx;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.MetaNotFoundException;
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.util.Daemon;
 import org.apache.doris.common.util.TimeUtils;
 import org.apache.doris.cooldown.CooldownConf;
@@ -83,6 +85,7 @@ import org.apache.doris.thrift.TTablet;
 import org.apache.doris.thrift.TTabletInfo;
 import org.apache.doris.thrift.TTaskType;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
@@ -103,12 +106,25 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 public class ReportHandler extends Daemon {
     private static final Logger LOG = LogManager.getLogger(ReportHandler.class);
 
-    private BlockingQueue<ReportTask> reportQueue = Queues.newLinkedBlockingQueue();
+    // Reports are divided into Config.report_handler_thread_num queues by backend, so that reports of
+    // the same backend are handled in order, and reports of different backends are handled in parallel.
+    // Queue 0 is handled by the report handler thread, and the others by report-worker-pool.
+    private final List<BlockingQueue<ReportTask>> reportQueues = Lists.newArrayList();
+    // null if there is only one queue
+    private final ExecutorService workerPool;
+    // only accessed by the report handler thread
+    private boolean workersStarted = false;
+
+    // be id -> the latest tablet report received from the backend.
+    // The older tablet reports which are still in queue are skipped, because the latest report
+    // contains all tablets of the backend.
+    private final Map<Long, ReportTask> latestTabletReports = Maps.newConcurrentMap();
 
     private enum ReportType {
         UNKNOWN,
@@ -118,16 +134,33 @@ public class ReportHandler extends Daemon {
     }
 
     public ReportHandler() {
+        for (int i = 0; i < Math.max(1, Config.report_handler_thread_num); i++) {
+            reportQueues.add(Queues.newLinkedBlockingQueue());
+        }
+        if (reportQueues.size() > 1) {
+            workerPool = ThreadPoolManager.newDaemonFixedThreadPool(reportQueues.size() - 1,
+                    reportQueues.size(), "report-worker-pool", true);
+        } else {
+            workerPool = null;
+        }
         GaugeMetric<Long> gauge = new GaugeMetric<Long>(
                 "report_queue_size", MetricUnit.NOUNIT, "report queue size") {
             @Override
             public Long getValue() {
-                return (long) reportQueue.size();
+                return (long) getReportQueueSize();
             }
         };
         MetricRepo.DORIS_METRIC_REGISTER.addMetrics(gauge);
     }
 
+    private int getReportQueueSize() {
+        int size = 0;
+        for (BlockingQueue<ReportTask> queue : reportQueues) {
+            size += queue.size();
+        }
+        return size;
+    }
+
     public TMasterResult handleReport(TReportRequest request) throws TException {
         TMasterResult result = new TMasterResult();
         TStatus tStatus = new TStatus(TStatusCode.OK);
@@ -186,26 +219,30 @@ public class ReportHandler extends Daemon {
         } catch (Exception e) {
             tStatus.setStatusCode(TStatusCode.INTERNAL_ERROR);
             List<String> errorMsgs = Lists.newArrayList();
-            errorMsgs.add("failed to put report task to queue. queue size: " + reportQueue.size());
+            errorMsgs.add("failed to put report task to queue. queue size: " + getReportQueueSize());
             errorMsgs.add("err: " + e.getMessage());
             tStatus.setErrorMsgs(errorMsgs);
             return result;
         }
 
         LOG.info("receive report from be {}. type: {}, current queue size: {}",
-                backend.getId(), reportType, reportQueue.size());
+                backend.getId(), reportType, getReportQueueSize());
         return result;
     }
 
-    private void putToQueue(ReportTask reportTask) throws Exception {
-        int currentSize = reportQueue.size();
+    @VisibleForTesting
+    void putToQueue(ReportTask reportTask) throws Exception {
+        int currentSize = getReportQueueSize();
         if (currentSize > Config.report_queue_size) {
             LOG.warn("the report queue size exceeds the limit: {}. current: {}", Config.report_queue_size, currentSize);
             throw new Exception(
                     "the report queue size exceeds the limit: "
                             + Config.report_queue_size + ". current: " + currentSize);
         }
-        reportQueue.put(reportTask);
+        if (reportTask.tablets != null) {
+            latestTabletReports.put(reportTask.beId, reportTask);
+        }
+        reportQueues.get(Math.floorMod(Long.hashCode(reportTask.beId), reportQueues.size())).put(reportTask);
     }
 
     private Map<Long, TTablet> buildTabletMap(List<TTablet> tabletList) {
@@ -220,7 +257,7 @@ public class ReportHandler extends Daemon {
         return tabletMap;
     }
 
-    private class ReportTask extends MasterTask {
+    class ReportTask extends MasterTask {
 
         private long beId;
         private Map<TTaskType, Set<Long>> tasks;
@@ -231,6 +268,8 @@ public class ReportHandler extends Daemon {
         private List<TStoragePolicy> storagePolicies;
         private List<TStorageResource> storageResources;
 
+        private long createTimeMs = System.currentTimeMillis();
+
         public ReportTask(long beId, Map<TTaskType, Set<Long>> tasks,
                           Map<String, TDisk> disks,
                           Map<Long, TTablet> tablets, long reportVersion,
@@ -246,6 +285,9 @@ public class ReportHandler extends Daemon {
 
         @Override
         protected void exec() {
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_REPORT_QUEUE_LATENCY.update(System.currentTimeMillis() - createTimeMs);
+            }
             if (tasks != null) {
                 ReportHandler.taskReport(beId, tasks);
             }
@@ -258,12 +300,23 @@ public class ReportHandler extends Daemon {
 
             if (tablets != null) {
                 long backendReportVersion = Env.getCurrentSystemInfo().getBackendReportVersion(beId);
-                if (reportVersion < backendReportVersion) {
+                if (latestTabletReports.get(beId) != this) {
+                    LOG.info("skip tablet report with version {} from backend[{}], a newer report is in queue",
+                            reportVersion, beId);
+                    if (MetricRepo.isInit) {
+                        MetricRepo.COUNTER_TABLET_REPORT_SKIPPED.increase(1L);
+                    }
+                } else if (reportVersion < backendReportVersion) {
                     LOG.warn("out of date report version {} from backend[{}]. current report version[{}]",
                             reportVersion, beId, backendReportVersion);
                 } else {
+                    long start = System.currentTimeMillis();
                     ReportHandler.tabletReport(beId, tablets, reportVersion);
+                    if (MetricRepo.isInit) {
+                        MetricRepo.HISTO_TABLET_REPORT_LATENCY.update(System.currentTimeMillis() - start);
+                    }
                 }
+                latestTabletReports.remove(beId, this);
             }
         }
     }
@@ -438,6 +491,12 @@ public class ReportHandler extends Daemon {
                 cooldownConfToPush,
                 cooldownConfToUpdate);
 
+        // replicas of these tablets will be changed, let tablet checker check them again
+        TabletChecker tabletChecker = Env.getCurrentEnv().getTabletChecker();
+        tabletChecker.markTabletsDirty(tabletSyncMap.values());
+        tabletChecker.markTabletsDirty(tabletDeleteFromMeta.values());
+        tabletChecker.markTabletsDirty(tabletRecoveryMap.values());
+
         // 2. sync
         if (!tabletSyncMap.isEmpty()) {
             sync(backendTablets, tabletSyncMap, backendId, backendReportVersion);
@@ -1233,14 +1292,28 @@ public class ReportHandler extends Daemon {
 
     @Override
     protected void runOneCycle() {
+        if (workerPool != null && !workersStarted) {
+            for (int i = 1; i < reportQueues.size(); i++) {
+                BlockingQueue<ReportTask> queue = reportQueues.get(i);
+                workerPool.submit(() -> handleReports(queue));
+            }
+            workersStarted = true;
+        }
+        handleReports(reportQueues.get(0));
+    }
+
+    private void handleReports(BlockingQueue<ReportTask> queue) {
         while (true) {
-            ReportTask task = null;
+            ReportTask task;
             try {
-                task = reportQueue.take();
-                task.exec();
+                task = queue.take();
             } catch (InterruptedException e) {
                 LOG.warn("got interupted exception when executing report", e);
+                continue;
             }
+            // MasterTask.run() catches the exception of the task, so that a failed report
+            // does not stop handling the following reports in the queue.
+            task.run();
         }
     }
 }
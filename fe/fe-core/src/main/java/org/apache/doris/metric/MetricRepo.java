@@ -34,6 +34,7 @@ import org.apache.doris.monitor.jvm.JvmService;
 import org.apache.doris.monitor.jvm.JvmStats;
 import org.apache.doris.persist.EditLog;
 import org.apache.doris.qe.QeProcessorImpl;
+import org.apache.doris.qe.cache.CacheFeProxy;
 import org.apache.doris.service.ExecuteEnv;
 import org.apache.doris.system.Backend;
 import org.apache.doris.system.SystemInfoService;
@@ -71,6 +72,8 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_QUERY_ERR;
     public static LongCounterMetric COUNTER_QUERY_TABLE;
     public static LongCounterMetric COUNTER_QUERY_OLAP_TABLE;
+    public static LongCounterMetric COUNTER_POINT_QUERY_PLAN_CACHE_HIT;
+    public static LongCounterMetric COUNTER_POINT_QUERY_PLAN_CACHE_MISS;
     public static Histogram HISTO_QUERY_LATENCY;
     public static AutoMappedMetric<Histogram> DB_HISTO_QUERY_LATENCY;
     public static AutoMappedMetric<GaugeMetricImpl<Long>> USER_GAUGE_QUERY_INSTANCE_NUM;
@@ -83,6 +86,8 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_CACHE_ADDED_PARTITION;
     public static LongCounterMetric COUNTER_CACHE_HIT_SQL;
     public static LongCounterMetric COUNTER_CACHE_HIT_PARTITION;
+    public static LongCounterMetric COUNTER_CACHE_FE_HIT_SQL;
+    public static LongCounterMetric COUNTER_CACHE_FE_MISS_SQL;
 
     public static LongCounterMetric COUNTER_EDIT_LOG_WRITE;
     public static LongCounterMetric COUNTER_EDIT_LOG_READ;
@@ -92,6 +97,8 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_EDIT_LOG_CLEAN_SUCCESS;
     public static LongCounterMetric COUNTER_EDIT_LOG_CLEAN_FAILED;
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
+    public static Histogram HISTO_EDIT_LOG_GROUP_COMMIT_BATCH_SIZE;
+    public static Histogram HISTO_EDIT_LOG_GROUP_COMMIT_WAIT_LATENCY;
 
     public static LongCounterMetric COUNTER_IMAGE_WRITE_SUCCESS;
     public static LongCounterMetric COUNTER_IMAGE_WRITE_FAILED;
@@ -109,9 +116,22 @@ public final class MetricRepo {
     public static AutoMappedMetric<GaugeMetricImpl<Long>> DB_GAUGE_TXN_NUM;
     public static AutoMappedMetric<GaugeMetricImpl<Long>> DB_GAUGE_PUBLISH_TXN_NUM;
 
+    public static LongCounterMetric COUNTER_TABLET_REPORT_SKIPPED;
+    public static Histogram HISTO_REPORT_QUEUE_LATENCY;
+    public static Histogram HISTO_TABLET_REPORT_LATENCY;
+
+    public static LongCounterMetric COUNTER_SPLIT_ASSIGNED;
+    public static LongCounterMetric COUNTER_SPLIT_ASSIGNED_PREFERRED;
+
+    public static LongCounterMetric COUNTER_STREAM_LOAD_PLAN_CACHE_HIT;
+    public static LongCounterMetric COUNTER_STREAM_LOAD_PLAN_CACHE_MISS;
+    public static AutoMappedMetric<LongCounterMetric> BE_COUNTER_STREAM_LOAD_REDIRECT;
+    public static LongCounterMetric COUNTER_STREAM_LOAD_REDIRECT_TO_REPLICA;
+
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_ROWS;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_RECEIVED_BYTES;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_ERROR_ROWS;
+    public static Histogram HISTO_ROUTINE_LOAD_TASK_SCHEDULE_DELAY;
     public static LongCounterMetric COUNTER_HIT_SQL_BLOCK_RULE;
 
     public static AutoMappedMetric<LongCounterMetric> THRIFT_COUNTER_RPC_ALL;
@@ -242,6 +262,50 @@ public final class MetricRepo {
         };
         DORIS_METRIC_REGISTER.addMetrics(scheduledTabletNum);
 
+        // queue depth and scheduled tablets of each shard of tablet scheduler
+        for (int i = 0; i < Math.max(1, Config.tablet_schedule_thread_num); i++) {
+            int shard = i;
+            GaugeMetric<Long> shardQueueDepth = new GaugeMetric<Long>("tablet_schedule_shard_queue_depth",
+                    MetricUnit.NOUNIT, "number of tablets assigned to the shard in the last schedule round") {
+                @Override
+                public Long getValue() {
+                    if (!Env.getCurrentEnv().isMaster()) {
+                        return 0L;
+                    }
+                    return Env.getCurrentEnv().getTabletScheduler().getShardQueueDepth(shard);
+                }
+            };
+            shardQueueDepth.addLabel(new MetricLabel("shard", String.valueOf(shard)));
+            DORIS_METRIC_REGISTER.addMetrics(shardQueueDepth);
+            GaugeMetric<Long> shardScheduledNum = new GaugeMetric<Long>("tablet_schedule_shard_scheduled",
+                    MetricUnit.NOUNIT, "total number of tablets scheduled successfully by the shard") {
+                @Override
+                public Long getValue() {
+                    return Env.getCurrentEnv().getTabletScheduler().getShardScheduledNum(shard);
+                }
+            };
+            shardScheduledNum.addLabel(new MetricLabel("shard", String.valueOf(shard)));
+            DORIS_METRIC_REGISTER.addMetrics(shardScheduledNum);
+        }
+
+        // tablet inverted index
+        GaugeMetric<Long> invertedIndexReplicaNum = new GaugeMetric<Long>("tablet_inverted_index_replica_num",
+                MetricUnit.NOUNIT, "number of replicas in tablet inverted index") {
+            @Override
+            public Long getValue() {
+                return Env.getCurrentInvertedIndex().getReplicaNum();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(invertedIndexReplicaNum);
+        GaugeMetric<Long> invertedIndexMemory = new GaugeMetric<Long>("tablet_inverted_index_memory_bytes",
+                MetricUnit.BYTES, "estimated memory of tablet inverted index") {
+            @Override
+            public Long getValue() {
+                return Env.getCurrentInvertedIndex().getEstimatedMemoryBytes();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(invertedIndexMemory);
+
         // txn status
         for (TransactionStatus status : TransactionStatus.values()) {
             GaugeMetric<Long> gauge = new GaugeMetric<Long>("txn_status", MetricUnit.NOUNIT, "txn statistics") {
@@ -285,6 +349,12 @@ public final class MetricRepo {
         COUNTER_QUERY_OLAP_TABLE = new LongCounterMetric("query_olap_table", MetricUnit.REQUESTS,
                 "total query from olap table");
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_QUERY_OLAP_TABLE);
+        COUNTER_POINT_QUERY_PLAN_CACHE_HIT = new LongCounterMetric("point_query_plan_cache_hit", MetricUnit.REQUESTS,
+                "total point query which reuses cached plan");
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_POINT_QUERY_PLAN_CACHE_HIT);
+        COUNTER_POINT_QUERY_PLAN_CACHE_MISS = new LongCounterMetric("point_query_plan_cache_miss",
+                MetricUnit.REQUESTS, "total point query which can not find cached plan");
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_POINT_QUERY_PLAN_CACHE_MISS);
         HISTO_QUERY_LATENCY = METRIC_REGISTER.histogram(
                 MetricRegistry.name("query", "latency", "ms"));
         DB_HISTO_QUERY_LATENCY = new AutoMappedMetric<>(name -> {
@@ -336,6 +406,22 @@ public final class MetricRepo {
                 "total hits query by partition model");
         COUNTER_CACHE_HIT_PARTITION.addLabel(new MetricLabel("type", "partition"));
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_HIT_PARTITION);
+        COUNTER_CACHE_FE_HIT_SQL = new LongCounterMetric("cache_fe_hit", MetricUnit.REQUESTS,
+                "total hits query by sql model in fe cache");
+        COUNTER_CACHE_FE_HIT_SQL.addLabel(new MetricLabel("type", "sql"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_FE_HIT_SQL);
+        COUNTER_CACHE_FE_MISS_SQL = new LongCounterMetric("cache_fe_miss", MetricUnit.REQUESTS,
+                "total misses query by sql model in fe cache");
+        COUNTER_CACHE_FE_MISS_SQL.addLabel(new MetricLabel("type", "sql"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_FE_MISS_SQL);
+        GaugeMetric<Long> feCacheSize = new GaugeMetric<Long>("cache_fe_size_bytes", MetricUnit.BYTES,
+                "memory used by the results cached in fe") {
+            @Override
+            public Long getValue() {
+                return CacheFeProxy.getInstance().getSizeBytes();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(feCacheSize);
 
         // edit log
         COUNTER_EDIT_LOG_WRITE = new LongCounterMetric("edit_log", MetricUnit.OPERATIONS,
@@ -360,6 +446,10 @@ public final class MetricRepo {
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_CURRENT_EDIT_LOG_SIZE_BYTES);
         HISTO_EDIT_LOG_WRITE_LATENCY = METRIC_REGISTER.histogram(
             MetricRegistry.name("editlog", "write", "latency", "ms"));
+        HISTO_EDIT_LOG_GROUP_COMMIT_BATCH_SIZE = METRIC_REGISTER.histogram(
+            MetricRegistry.name("editlog", "group_commit", "batch_size"));
+        HISTO_EDIT_LOG_GROUP_COMMIT_WAIT_LATENCY = METRIC_REGISTER.histogram(
+            MetricRegistry.name("editlog", "group_commit", "wait", "latency", "ms"));
 
         // edit log clean
         COUNTER_EDIT_LOG_CLEAN_SUCCESS = new LongCounterMetric("edit_log_clean", MetricUnit.OPERATIONS,
@@ -421,6 +511,43 @@ public final class MetricRepo {
             MetricRegistry.name("txn", "exec", "latency", "ms"));
         HISTO_TXN_PUBLISH_LATENCY = METRIC_REGISTER.histogram(
             MetricRegistry.name("txn", "publish", "latency", "ms"));
+
+        // report
+        COUNTER_TABLET_REPORT_SKIPPED = new LongCounterMetric("tablet_report_skipped", MetricUnit.REQUESTS,
+                "counter of tablet reports skipped because a newer report of the same backend is in queue");
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_TABLET_REPORT_SKIPPED);
+        HISTO_REPORT_QUEUE_LATENCY = METRIC_REGISTER.histogram(
+            MetricRegistry.name("report", "queue", "latency", "ms"));
+        HISTO_TABLET_REPORT_LATENCY = METRIC_REGISTER.histogram(
+            MetricRegistry.name("report", "tablet", "latency", "ms"));
+
+        // split assignment of external file scan
+        COUNTER_SPLIT_ASSIGNED = new LongCounterMetric("file_scan_split_assigned", MetricUnit.NOUNIT,
+                "counter of file scan splits assigned by cache affinity");
+        COUNTER_SPLIT_ASSIGNED.addLabel(new MetricLabel("type", "total"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_SPLIT_ASSIGNED);
+        COUNTER_SPLIT_ASSIGNED_PREFERRED = new LongCounterMetric("file_scan_split_assigned", MetricUnit.NOUNIT,
+                "counter of file scan splits assigned to their preferred backend, which are expected to hit cache");
+        COUNTER_SPLIT_ASSIGNED_PREFERRED.addLabel(new MetricLabel("type", "preferred"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_SPLIT_ASSIGNED_PREFERRED);
+
+        // stream load plan cache
+        COUNTER_STREAM_LOAD_PLAN_CACHE_HIT = new LongCounterMetric("stream_load_plan_cache", MetricUnit.REQUESTS,
+                "counter of stream load plans reused from the plan cache");
+        COUNTER_STREAM_LOAD_PLAN_CACHE_HIT.addLabel(new MetricLabel("type", "hit"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_STREAM_LOAD_PLAN_CACHE_HIT);
+        COUNTER_STREAM_LOAD_PLAN_CACHE_MISS = new LongCounterMetric("stream_load_plan_cache", MetricUnit.REQUESTS,
+                "counter of stream load plans not found in the plan cache");
+        COUNTER_STREAM_LOAD_PLAN_CACHE_MISS.addLabel(new MetricLabel("type", "miss"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_STREAM_LOAD_PLAN_CACHE_MISS);
+
+        // stream load redirect
+        BE_COUNTER_STREAM_LOAD_REDIRECT = addLabeledMetrics("be", () ->
+                new LongCounterMetric("stream_load_redirect", MetricUnit.REQUESTS,
+                "number of stream loads redirected to the backend"));
+        COUNTER_STREAM_LOAD_REDIRECT_TO_REPLICA = new LongCounterMetric("stream_load_redirect_to_replica",
+                MetricUnit.REQUESTS, "number of stream loads redirected to a backend holding replicas of the table");
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_STREAM_LOAD_REDIRECT_TO_REPLICA);
         GaugeMetric<Long> txnNum = new GaugeMetric<Long>("txn_num", MetricUnit.NOUNIT,
                 "number of running transactions") {
             @Override
@@ -450,6 +577,8 @@ public final class MetricRepo {
         COUNTER_ROUTINE_LOAD_ERROR_ROWS = new LongCounterMetric("routine_load_error_rows", MetricUnit.ROWS,
                 "total error rows of routine load");
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_ROUTINE_LOAD_ERROR_ROWS);
+        HISTO_ROUTINE_LOAD_TASK_SCHEDULE_DELAY = METRIC_REGISTER.histogram(
+            MetricRegistry.name("routine_load", "task", "schedule", "delay", "ms"));
 
         COUNTER_HIT_SQL_BLOCK_RULE = new LongCounterMetric("counter_hit_sql_block_rule", MetricUnit.ROWS,
                 "total hit sql block rule query");
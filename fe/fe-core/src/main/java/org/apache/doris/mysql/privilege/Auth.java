@@ -38,6 +38,7 @@ import org.apache.doris.cluster.ClusterNamespace;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.AuthenticationException;
 import org.apache.doris.common.AuthorizationException;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.ErrorCode;
 import org.apache.doris.common.ErrorReport;
@@ -65,6 +66,7 @@ import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.logging.log4j.LogManager;
@@ -76,8 +78,10 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class Auth implements Writable {
@@ -107,6 +111,55 @@ public class Auth implements Writable {
 
     private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
+    // Increased on every change of users, roles and privileges, which are all done with write lock.
+    private volatile long privVersion = 0;
+    // user -> cached results of privilege checks of the user, all of them are invalidated when privVersion changes.
+    private Map<UserIdentity, UserPrivCache> userPrivCaches = Maps.newConcurrentMap();
+
+    private static class UserPrivCache {
+        private final long version;
+        private final Map<PrivCheckKey, Boolean> results = Maps.newConcurrentMap();
+
+        public UserPrivCache(long version) {
+            this.version = version;
+        }
+    }
+
+    private static class PrivCheckKey {
+        private final PrivLevel level;
+        private final String ctl;
+        private final String db;
+        // table name, or resource name for resource level
+        private final String name;
+        private final PrivPredicate wanted;
+
+        public PrivCheckKey(PrivLevel level, String ctl, String db, String name, PrivPredicate wanted) {
+            this.level = level;
+            this.ctl = ctl;
+            this.db = db;
+            this.name = name;
+            this.wanted = wanted;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof PrivCheckKey)) {
+                return false;
+            }
+            PrivCheckKey other = (PrivCheckKey) obj;
+            return level == other.level && Objects.equals(ctl, other.ctl) && Objects.equals(db, other.db)
+                    && Objects.equals(name, other.name) && wanted.equals(other.wanted);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(level, ctl, db, name, wanted);
+        }
+    }
+
     private void readLock() {
         lock.readLock().lock();
     }
@@ -120,9 +173,15 @@ public class Auth implements Writable {
     }
 
     private void writeUnlock() {
+        invalidatePrivCache();
         lock.writeLock().unlock();
     }
 
+    private void invalidatePrivCache() {
+        privVersion++;
+        userPrivCaches.clear();
+    }
+
     public enum PrivLevel {
         GLOBAL, CATALOG, DATABASE, TABLE, RESOURCE
     }
@@ -231,18 +290,8 @@ public class Auth implements Writable {
         if (isLdapAuthEnabled() && LdapPrivsChecker.hasGlobalPrivFromLdap(currentUser, wanted)) {
             return true;
         }
-        readLock();
-        try {
-            Set<String> roles = userRoleManager.getRolesByUser(currentUser);
-            for (String roleName : roles) {
-                if (roleManager.getRole(roleName).checkGlobalPriv(wanted)) {
-                    return true;
-                }
-            }
-            return false;
-        } finally {
-            readUnlock();
-        }
+        return checkRolePriv(currentUser, new PrivCheckKey(PrivLevel.GLOBAL, null, null, null, wanted),
+                role -> role.checkGlobalPriv(wanted));
     }
 
     // ==== Catalog ====
@@ -253,18 +302,8 @@ public class Auth implements Writable {
             return false;
         }
         //ldap（before change to rbac）
-        readLock();
-        try {
-            Set<String> roles = userRoleManager.getRolesByUser(currentUser);
-            for (String roleName : roles) {
-                if (roleManager.getRole(roleName).checkCtlPriv(ctl, wanted)) {
-                    return true;
-                }
-            }
-            return false;
-        } finally {
-            readUnlock();
-        }
+        return checkRolePriv(currentUser, new PrivCheckKey(PrivLevel.CATALOG, ctl, null, null, wanted),
+                role -> role.checkCtlPriv(ctl, wanted));
     }
 
     // ==== Database ====
@@ -278,19 +317,8 @@ public class Auth implements Writable {
                     currentUser, db);
             return false;
         }
-        readLock();
-        try {
-            Set<String> roles = userRoleManager.getRolesByUser(currentUser);
-            for (String roleName : roles) {
-                if (roleManager.getRole(roleName).checkDbPriv(ctl, db, wanted)) {
-                    return true;
-                }
-            }
-            return false;
-        } finally {
-            readUnlock();
-        }
-
+        return checkRolePriv(currentUser, new PrivCheckKey(PrivLevel.DATABASE, ctl, db, null, wanted),
+                role -> role.checkDbPriv(ctl, db, wanted));
     }
 
     // ==== Table ====
@@ -302,18 +330,8 @@ public class Auth implements Writable {
             LOG.debug("should check NODE priv in GLOBAL level. user: {}, db: {}, tbl: {}", currentUser, db, tbl);
             return false;
         }
-        readLock();
-        try {
-            Set<String> roles = userRoleManager.getRolesByUser(currentUser);
-            for (String roleName : roles) {
-                if (roleManager.getRole(roleName).checkTblPriv(ctl, db, tbl, wanted)) {
-                    return true;
-                }
-            }
-            return false;
-        } finally {
-            readUnlock();
-        }
+        return checkRolePriv(currentUser, new PrivCheckKey(PrivLevel.TABLE, ctl, db, tbl, wanted),
+                role -> role.checkTblPriv(ctl, db, tbl, wanted));
     }
 
     // ==== Column ====
@@ -334,15 +352,48 @@ public class Auth implements Writable {
         if (isLdapAuthEnabled() && LdapPrivsChecker.hasResourcePrivFromLdap(currentUser, resourceName, wanted)) {
             return true;
         }
+        return checkRolePriv(currentUser, new PrivCheckKey(PrivLevel.RESOURCE, null, null, resourceName, wanted),
+                role -> role.checkResourcePriv(resourceName, wanted));
+    }
+
+    /*
+     * Check if any role of the user satisfies the checker.
+     * If Config.enable_auth_check_cache is true, the result is cached per user with the current privVersion,
+     * so that the repeated checks of the same object are lock-free hash lookups until privileges are changed.
+     */
+    private boolean checkRolePriv(UserIdentity currentUser, PrivCheckKey key, Predicate<Role> checker) {
+        UserPrivCache userCache = null;
+        if (Config.enable_auth_check_cache) {
+            userCache = userPrivCaches.get(currentUser);
+            if (userCache != null && userCache.version == privVersion) {
+                Boolean result = userCache.results.get(key);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
         readLock();
         try {
+            boolean result = false;
             Set<String> roles = userRoleManager.getRolesByUser(currentUser);
             for (String roleName : roles) {
-                if (roleManager.getRole(roleName).checkResourcePriv(resourceName, wanted)) {
-                    return true;
+                if (checker.test(roleManager.getRole(roleName))) {
+                    result = true;
+                    break;
                 }
             }
-            return false;
+            if (Config.enable_auth_check_cache) {
+                // privVersion can not be changed while holding read lock
+                long version = privVersion;
+                if (userCache == null || userCache.version != version) {
+                    userCache = userPrivCaches.compute(currentUser,
+                            (k, v) -> v != null && v.version == version ? v : new UserPrivCache(version));
+                }
+                if (userCache.results.size() < Config.auth_check_cache_max_entries_per_user) {
+                    userCache.results.put(key, result);
+                }
+            }
+            return result;
         } finally {
             readUnlock();
         }
@@ -1498,7 +1549,12 @@ public class Auth implements Writable {
      * So it will rectify the bug in both images and edit log.
      */
     public void rectifyPrivs() {
-        roleManager.rectifyPrivs();
+        writeLock();
+        try {
+            roleManager.rectifyPrivs();
+        } finally {
+            writeUnlock();
+        }
     }
 
     @Override
@@ -1556,6 +1612,8 @@ public class Auth implements Writable {
         } else {
             passwdPolicyManager = new PasswordPolicyManager();
         }
+        // the image is loaded without lock
+        invalidatePrivCache();
     }
 
     private void upgradeToVersion116(UserPrivTable userPrivTable, CatalogPrivTable catalogPrivTable,
@@ -107,6 +107,23 @@ public class PrivPredicate {
         return op;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PrivPredicate)) {
+            return false;
+        }
+        PrivPredicate other = (PrivPredicate) obj;
+        return privs.equals(other.privs) && op == other.op;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * privs.hashCode() + op.hashCode();
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
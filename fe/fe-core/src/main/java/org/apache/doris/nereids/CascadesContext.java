@@ -33,6 +33,7 @@ import org.apache.doris.nereids.jobs.rewrite.RootPlanTreeRewriteJob.RootRewriteJ
 import org.apache.doris.nereids.jobs.scheduler.JobPool;
 import org.apache.doris.nereids.jobs.scheduler.JobScheduler;
 import org.apache.doris.nereids.jobs.scheduler.JobStack;
+import org.apache.doris.nereids.jobs.scheduler.ParallelJobScheduler;
 import org.apache.doris.nereids.jobs.scheduler.ScheduleContext;
 import org.apache.doris.nereids.jobs.scheduler.SimpleJobScheduler;
 import org.apache.doris.nereids.memo.Memo;
@@ -113,13 +114,21 @@ public class CascadesContext implements ScheduleContext, PlanSource {
         this.statementContext = statementContext;
         this.ruleSet = new RuleSet();
         this.jobPool = new JobStack();
-        this.jobScheduler = new SimpleJobScheduler();
+        this.jobScheduler = createJobScheduler(getConnectContext().getSessionVariable());
         this.currentJobContext = new JobContext(this, requireProperties, Double.MAX_VALUE);
         this.subqueryExprIsAnalyzed = new HashMap<>();
         this.runtimeFilterContext = new RuntimeFilterContext(getConnectContext().getSessionVariable());
         this.cteContext = cteContext;
     }
 
+    private static JobScheduler createJobScheduler(SessionVariable sessionVariable) {
+        int parallelism = sessionVariable.getNereidsJobSchedulerParallelism();
+        if (parallelism <= 1) {
+            return new SimpleJobScheduler();
+        }
+        return new ParallelJobScheduler(parallelism, sessionVariable.isEnableNereidsDeterministicScheduler());
+    }
+
     public static CascadesContext newMemoContext(StatementContext statementContext,
             Plan initPlan, PhysicalProperties requireProperties) {
         return new CascadesContext(initPlan, new Memo(initPlan), statementContext, requireProperties);
@@ -107,11 +107,12 @@ public class StatementContext {
         return parsedStatement;
     }
 
-    public ExprId getNextExprId() {
+    // synchronized because ParallelJobScheduler may transform plans in several threads
+    public synchronized ExprId getNextExprId() {
         return exprIdGenerator.getNextId();
     }
 
-    public ObjectId getNextObjectId() {
+    public synchronized ObjectId getNextObjectId() {
         return objectIdGenerator.getNextId();
     }
 
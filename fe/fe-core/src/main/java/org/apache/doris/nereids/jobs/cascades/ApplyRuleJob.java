@@ -17,22 +17,32 @@
 
 package org.apache.doris.nereids.jobs.cascades;
 
+import org.apache.doris.common.Pair;
 import org.apache.doris.nereids.exceptions.AnalysisException;
 import org.apache.doris.nereids.jobs.Job;
 import org.apache.doris.nereids.jobs.JobContext;
 import org.apache.doris.nereids.jobs.JobType;
+import org.apache.doris.nereids.jobs.scheduler.ParallelJobScheduler;
 import org.apache.doris.nereids.memo.CopyInResult;
+import org.apache.doris.nereids.memo.Group;
 import org.apache.doris.nereids.memo.GroupExpression;
+import org.apache.doris.nereids.memo.Memo;
 import org.apache.doris.nereids.metrics.EventChannel;
 import org.apache.doris.nereids.metrics.EventProducer;
 import org.apache.doris.nereids.metrics.consumer.LogConsumer;
 import org.apache.doris.nereids.metrics.event.TransformEvent;
 import org.apache.doris.nereids.pattern.GroupExpressionMatching;
+import org.apache.doris.nereids.pattern.Pattern;
+import org.apache.doris.nereids.pattern.SubTreePattern;
 import org.apache.doris.nereids.rules.Rule;
 import org.apache.doris.nereids.trees.plans.Plan;
 import org.apache.doris.nereids.trees.plans.logical.LogicalPlan;
 
+import com.google.common.collect.Lists;
+
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Job to apply rule on {@link GroupExpression}.
@@ -42,6 +52,12 @@ public class ApplyRuleJob extends Job {
             EventChannel.getDefaultChannel().addConsumers(new LogConsumer(TransformEvent.class, EventChannel.LOG)));
     private final GroupExpression groupExpression;
     private final Rule rule;
+    // transformed plans computed by prepare(), and the memo version and the versions of the groups
+    // enumerated by the pattern matching they are computed on
+    private volatile List<Pair<Plan, List<Plan>>> preparedResult;
+    private volatile long preparedMemoVersion = -1;
+    private volatile Map<Group, Long> preparedGroupVersions;
+    private boolean preparedResultUsed = false;
 
     /**
      * Constructor of ApplyRuleJob.
@@ -56,6 +72,85 @@ public class ApplyRuleJob extends Job {
         this.rule = rule;
     }
 
+    /**
+     * Match the pattern and transform the matched plans ahead of {@link #execute()}, without touching the memo.
+     * Used by {@link ParallelJobScheduler} to run sibling jobs concurrently while no job is modifying the memo.
+     * The result is only used by execute() if the groups enumerated by the pattern matching are not changed
+     * and no group is merged in between.
+     */
+    public void prepare() {
+        if (groupExpression.hasApplied(rule) || groupExpression.isUnused()) {
+            return;
+        }
+        Memo memo = context.getCascadesContext().getMemo();
+        long memoVersion = memo.getVersion();
+        Map<Group, Long> groupVersions = new IdentityHashMap<>();
+        collectMatchedGroups(rule.getPattern(), groupExpression, groupVersions);
+        try {
+            List<Pair<Plan, List<Plan>>> transformed = Lists.newArrayList();
+            for (Plan plan : new GroupExpressionMatching(rule.getPattern(), groupExpression)) {
+                transformed.add(Pair.of(plan, rule.transform(plan, context.getCascadesContext())));
+            }
+            preparedMemoVersion = memoVersion;
+            preparedGroupVersions = groupVersions;
+            preparedResult = transformed;
+        } catch (RuntimeException e) {
+            // let execute() do it again in the scheduler thread, and report the error there if any.
+            preparedResult = null;
+        }
+    }
+
+    public boolean isPrepared() {
+        return preparedResult != null;
+    }
+
+    // whether execute() used the result of prepare() instead of transforming again
+    public boolean isPreparedResultUsed() {
+        return preparedResultUsed;
+    }
+
+    /**
+     * Collect the groups whose expressions are enumerated when matching the pattern on the group expression.
+     * Children matched by GROUP or MULTI_GROUP are only referenced by GroupPlan, so they are skipped.
+     */
+    private static void collectMatchedGroups(Pattern<? extends Plan> pattern, GroupExpression groupExpression,
+            Map<Group, Long> groupVersions) {
+        boolean isSubTree = pattern instanceof SubTreePattern;
+        if (pattern.arity() == 0 && !isSubTree) {
+            return;
+        }
+        for (int i = 0; i < groupExpression.arity(); i++) {
+            Group childGroup = groupExpression.child(i);
+            Pattern<? extends Plan> childPattern = isSubTree
+                    ? pattern : pattern.child(Math.min(i, pattern.arity() - 1));
+            if (childPattern.isGroup() || childPattern.isMultiGroup()) {
+                continue;
+            }
+            if (groupVersions.put(childGroup, childGroup.getVersion()) != null && isSubTree) {
+                // the sub tree pattern is the same for all groups, no need to visit the group again
+                continue;
+            }
+            for (GroupExpression childExpression : childGroup.getLogicalExpressions()) {
+                collectMatchedGroups(childPattern, childExpression, groupVersions);
+            }
+            for (GroupExpression childExpression : childGroup.getPhysicalExpressions()) {
+                collectMatchedGroups(childPattern, childExpression, groupVersions);
+            }
+        }
+    }
+
+    private boolean isPreparedResultValid() {
+        if (preparedMemoVersion != context.getCascadesContext().getMemo().getVersion()) {
+            return false;
+        }
+        for (Map.Entry<Group, Long> entry : preparedGroupVersions.entrySet()) {
+            if (entry.getKey().getVersion() != entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void execute() throws AnalysisException {
         if (groupExpression.hasApplied(rule)
@@ -64,30 +159,42 @@ public class ApplyRuleJob extends Job {
         }
         countJobExecutionTimesOfGroupExpressions(groupExpression);
 
-        GroupExpressionMatching groupExpressionMatching
-                = new GroupExpressionMatching(rule.getPattern(), groupExpression);
-        for (Plan plan : groupExpressionMatching) {
-            List<Plan> newPlans = rule.transform(plan, context.getCascadesContext());
-            for (Plan newPlan : newPlans) {
-                CopyInResult result = context.getCascadesContext()
-                        .getMemo()
-                        .copyIn(newPlan, groupExpression.getOwnerGroup(), false);
-                if (!result.generateNewExpression) {
-                    continue;
-                }
-                GroupExpression newGroupExpression = result.correspondingExpression;
-                newGroupExpression.setFromRule(rule);
-                if (newPlan instanceof LogicalPlan) {
-                    pushJob(new OptimizeGroupExpressionJob(newGroupExpression, context));
-                } else {
-                    pushJob(new CostAndEnforcerJob(newGroupExpression, context));
-                }
-                // we should derive stats for new logical/physical plan if the plan missing the stats
-                pushJob(new DeriveStatsJob(newGroupExpression, context));
-                APPLY_RULE_TRACER.log(TransformEvent.of(groupExpression, plan, newPlans, rule.getRuleType()),
-                        rule::isRewrite);
+        List<Pair<Plan, List<Plan>>> prepared = preparedResult;
+        preparedResult = null;
+        if (prepared != null && isPreparedResultValid()) {
+            preparedResultUsed = true;
+            for (Pair<Plan, List<Plan>> planAndNewPlans : prepared) {
+                copyIn(planAndNewPlans.first, planAndNewPlans.second);
+            }
+        } else {
+            GroupExpressionMatching groupExpressionMatching
+                    = new GroupExpressionMatching(rule.getPattern(), groupExpression);
+            for (Plan plan : groupExpressionMatching) {
+                copyIn(plan, rule.transform(plan, context.getCascadesContext()));
             }
         }
         groupExpression.setApplied(rule);
     }
+
+    private void copyIn(Plan plan, List<Plan> newPlans) {
+        for (Plan newPlan : newPlans) {
+            CopyInResult result = context.getCascadesContext()
+                    .getMemo()
+                    .copyIn(newPlan, groupExpression.getOwnerGroup(), false);
+            if (!result.generateNewExpression) {
+                continue;
+            }
+            GroupExpression newGroupExpression = result.correspondingExpression;
+            newGroupExpression.setFromRule(rule);
+            if (newPlan instanceof LogicalPlan) {
+                pushJob(new OptimizeGroupExpressionJob(newGroupExpression, context));
+            } else {
+                pushJob(new CostAndEnforcerJob(newGroupExpression, context));
+            }
+            // we should derive stats for new logical/physical plan if the plan missing the stats
+            pushJob(new DeriveStatsJob(newGroupExpression, context));
+            APPLY_RULE_TRACER.log(TransformEvent.of(groupExpression, plan, newPlans, rule.getRuleType()),
+                    rule::isRewrite);
+        }
+    }
 }
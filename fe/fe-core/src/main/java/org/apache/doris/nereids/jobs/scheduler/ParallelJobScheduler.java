@@ -0,0 +1,142 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.jobs.scheduler;
+
+import org.apache.doris.nereids.jobs.Job;
+import org.apache.doris.nereids.jobs.cascades.ApplyRuleJob;
+import org.apache.doris.qe.ConnectContext;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Scheduler which transforms independent {@link ApplyRuleJob}s concurrently.
+ *
+ * OptimizeGroupExpressionJob pushes one ApplyRuleJob per valid rule of a group expression, and the
+ * pattern matching and rule transformation of these sibling jobs do not depend on each other.
+ * When such a run of jobs is on the top of the job pool, this scheduler prepares all of them in a
+ * work-stealing pool while the memo is read only, then executes the jobs in the original LIFO order
+ * in the scheduler thread. So the copy-in into memo and all other jobs are still serial, and a
+ * prepared result is discarded if the jobs executed before it changed the groups it has matched,
+ * or merged any group.
+ *
+ * In deterministic mode, the jobs are prepared in the scheduler thread one by one,
+ * which gives the same memo in every run, for test and debugging.
+ */
+public class ParallelJobScheduler implements JobScheduler {
+    // shared by all queries, the parallelism of one query is limited by 'parallelism'
+    private static final ForkJoinPool PREPARE_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    // max number of sibling jobs prepared in one round
+    private static final int MAX_BATCH_SIZE = 64;
+
+    private final int parallelism;
+    private final boolean deterministic;
+
+    // the num of executed jobs which are prepared ahead of time, and which of them used the prepared result
+    private int preparedJobNum = 0;
+    private int reusedJobNum = 0;
+
+    public ParallelJobScheduler(int parallelism, boolean deterministic) {
+        this.parallelism = Math.max(1, parallelism);
+        this.deterministic = deterministic;
+    }
+
+    @Override
+    public void executeJobPool(ScheduleContext scheduleContext) {
+        JobPool pool = scheduleContext.getJobPool();
+        while (!pool.isEmpty()) {
+            Job job = pool.pop();
+            if (job instanceof ApplyRuleJob && !((ApplyRuleJob) job).isPrepared()) {
+                prepareSiblings((ApplyRuleJob) job, pool);
+            }
+            boolean prepared = job instanceof ApplyRuleJob && ((ApplyRuleJob) job).isPrepared();
+            job.execute();
+            if (prepared) {
+                preparedJobNum++;
+                if (((ApplyRuleJob) job).isPreparedResultUsed()) {
+                    reusedJobNum++;
+                }
+            }
+        }
+    }
+
+    public int getPreparedJobNum() {
+        return preparedJobNum;
+    }
+
+    public int getReusedJobNum() {
+        return reusedJobNum;
+    }
+
+    /**
+     * Pop the consecutive unprepared ApplyRuleJobs under the given job, prepare them together
+     * with the given job, and push them back to the pool in the original order.
+     */
+    private void prepareSiblings(ApplyRuleJob first, JobPool pool) {
+        List<ApplyRuleJob> batch = Lists.newArrayList(first);
+        Job next = null;
+        while (batch.size() < MAX_BATCH_SIZE && !pool.isEmpty()) {
+            next = pool.pop();
+            if (!(next instanceof ApplyRuleJob) || ((ApplyRuleJob) next).isPrepared()) {
+                break;
+            }
+            batch.add((ApplyRuleJob) next);
+            next = null;
+        }
+        if (next != null) {
+            pool.push(next);
+        }
+        for (int i = batch.size() - 1; i >= 1; i--) {
+            pool.push(batch.get(i));
+        }
+        if (batch.size() == 1) {
+            // nothing to do in parallel, execute() will do the transformation.
+            return;
+        }
+
+        if (deterministic || parallelism == 1) {
+            batch.forEach(ApplyRuleJob::prepare);
+            return;
+        }
+        // rules get session variables and generate expr ids by the thread local connect context
+        ConnectContext connectContext = ConnectContext.get();
+        int chunkSize = (batch.size() + parallelism - 1) / parallelism;
+        List<ForkJoinTask<?>> tasks = Lists.newArrayList();
+        for (int start = 0; start < batch.size(); start += chunkSize) {
+            List<ApplyRuleJob> chunk = batch.subList(start, Math.min(start + chunkSize, batch.size()));
+            tasks.add(PREPARE_POOL.submit(() -> prepareInWorker(chunk, connectContext)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    private static void prepareInWorker(List<ApplyRuleJob> jobs, ConnectContext connectContext) {
+        if (connectContext != null) {
+            connectContext.setThreadLocalInfo();
+        }
+        try {
+            jobs.forEach(ApplyRuleJob::prepare);
+        } finally {
+            ConnectContext.remove();
+        }
+    }
+}
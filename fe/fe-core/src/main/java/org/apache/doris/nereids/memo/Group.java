@@ -67,6 +67,10 @@ public class Group {
 
     private Statistics statistics;
 
+    // increased when a group expression is added to or removed from this group, used to check whether
+    // the plans matched and transformed ahead of time by ParallelJobScheduler are still valid.
+    private long version = 0;
+
     /**
      * Constructor for Group.
      *
@@ -109,17 +113,24 @@ public class Group {
             physicalExpressions.add(groupExpression);
         }
         groupExpression.setOwnerGroup(this);
+        version++;
         return groupExpression;
     }
 
     public void addLogicalExpression(GroupExpression groupExpression) {
         groupExpression.setOwnerGroup(this);
         logicalExpressions.add(groupExpression);
+        version++;
     }
 
     public void addPhysicalExpression(GroupExpression groupExpression) {
         groupExpression.setOwnerGroup(this);
         physicalExpressions.add(groupExpression);
+        version++;
+    }
+
+    public long getVersion() {
+        return version;
     }
 
     public List<GroupExpression> getLogicalExpressions() {
@@ -160,6 +171,7 @@ public class Group {
             Utils.identityRemove(physicalExpressions, groupExpression);
         }
         groupExpression.setOwnerGroup(null);
+        version++;
         return groupExpression;
     }
 
@@ -168,6 +180,7 @@ public class Group {
                 .peek(groupExpr -> groupExpr.setOwnerGroup(null))
                 .collect(Collectors.toList());
         logicalExpressions.clear();
+        version++;
         return move;
     }
 
@@ -176,6 +189,7 @@ public class Group {
                 .peek(groupExpr -> groupExpr.setOwnerGroup(null))
                 .collect(Collectors.toList());
         physicalExpressions.clear();
+        version++;
         return move;
     }
 
@@ -319,6 +333,7 @@ public class Group {
             }
         }
         logicalExpressions.clear();
+        version++;
         // movePhysicalExpressionOwnership
         Map<GroupExpression, GroupExpression> physicalSet = target.getPhysicalExpressions().stream()
                 .collect(Collectors.toMap(Function.identity(), Function.identity()));
@@ -69,6 +69,9 @@ public class Memo {
     // we could not use Set, because Set does not have get method.
     private final Map<GroupExpression, GroupExpression> groupExpressions = Maps.newHashMap();
     private Group root;
+    // increased on the changes which are not tracked by Group#getVersion, i.e. group merge and rewrite,
+    // used to check whether the plans transformed ahead of time by ParallelJobScheduler are still valid.
+    private volatile long version = 0;
 
     // FOR TEST ONLY
     public Memo() {
@@ -87,6 +90,10 @@ public class Memo {
         return root;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * This function used to update the root group when DPHyp change the root Group
      * Note it only used in DPHyp
@@ -140,6 +147,9 @@ public class Memo {
         } else {
             result = doCopyIn(skipProject(plan, target), target);
         }
+        if (rewrite) {
+            version++;
+        }
         maybeAddStateId(result);
         return result;
     }
@@ -454,6 +464,7 @@ public class Memo {
         if (source.equals(destination)) {
             return source;
         }
+        version++;
         List<GroupExpression> needReplaceChild = Lists.newArrayList();
         for (GroupExpression groupExpression : groupExpressions.values()) {
             if (groupExpression.children().contains(source)) {
@@ -529,6 +540,7 @@ public class Memo {
     // This function is used to copy new group expression
     // It's used in DPHyp after construct new group expression
     public Group copyInGroupExpression(GroupExpression newGroupExpression) {
+        version++;
         Group newGroup = new Group(groupIdGenerator.getNextId(), newGroupExpression,
                 newGroupExpression.getPlan().getLogicalProperties());
         groups.put(newGroup.getGroupId(), newGroup);
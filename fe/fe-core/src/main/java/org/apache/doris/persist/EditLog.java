@@ -84,12 +84,20 @@ import org.apache.doris.system.Backend;
 import org.apache.doris.system.Frontend;
 import org.apache.doris.transaction.TransactionState;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * EditLog maintains a log of the memory modifications.
@@ -107,6 +115,27 @@ public class EditLog {
 
     private Journal journal;
 
+    // edit logs waiting to be written by the group commit thread, see Config.enable_edit_log_group_commit
+    private final BlockingQueue<EditLogItem> logEditQueue = new LinkedBlockingQueue<>();
+    private volatile Thread groupCommitThread = null;
+    // set when the group commit is stopped, e.g. the FE is no longer master, the edit logs after that
+    // are written directly. Guarded by logEditQueue, so no edit log is queued after the thread exits.
+    private volatile boolean groupCommitStopped = false;
+
+    private static final long STOP_CHECK_INTERVAL_MS = 100;
+
+    private static class EditLogItem {
+        private final JournalEntity entity = new JournalEntity();
+        private final long enqueueTime = System.currentTimeMillis();
+        // completed when the edit log is written to the journal
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private EditLogItem(short op, Writable writable) {
+            entity.setOpCode(op);
+            entity.setData(writable);
+        }
+    }
+
     /**
      * The constructor.
      **/
@@ -121,6 +150,11 @@ public class EditLog {
         }
     }
 
+    @VisibleForTesting
+    EditLog(Journal journal) {
+        this.journal = journal;
+    }
+
     public long getMaxJournalId() {
         return journal.getMaxJournalId();
     }
@@ -1048,8 +1082,11 @@ public class EditLog {
     /**
      * Shutdown the file store.
      */
-    public synchronized void close() throws IOException {
-        journal.close();
+    public void close() throws IOException {
+        stopGroupCommit();
+        synchronized (this) {
+            journal.close();
+        }
     }
 
     public synchronized void createEditLogFile(File name) throws IOException {
@@ -1072,7 +1109,15 @@ public class EditLog {
     /**
      * Write an operation to the edit log. Do not sync to persistent store yet.
      */
-    private synchronized void logEdit(short op, Writable writable) {
+    private void logEdit(short op, Writable writable) {
+        if (Config.enable_edit_log_group_commit) {
+            logEditWithQueue(op, writable);
+        } else {
+            logEditDirectly(op, writable);
+        }
+    }
+
+    private synchronized void logEditDirectly(short op, Writable writable) {
         if (this.getNumEditStreams() == 0) {
             LOG.error("Fatal Error : no editLog stream", new Exception());
             throw new Error("Fatal Error : no editLog stream");
@@ -1089,21 +1134,191 @@ public class EditLog {
             System.exit(-1);
         }
 
+        afterWrite(1, System.currentTimeMillis() - start, op);
+    }
+
+    /**
+     * Put the operation into the queue and wait until it is written by the group commit thread.
+     * The order of edit logs is the order they are put into the queue.
+     */
+    private void logEditWithQueue(short op, Writable writable) {
+        if (this.getNumEditStreams() == 0) {
+            LOG.error("Fatal Error : no editLog stream", new Exception());
+            throw new Error("Fatal Error : no editLog stream");
+        }
+
+        EditLogItem item = new EditLogItem(op, writable);
+        synchronized (logEditQueue) {
+            if (!groupCommitStopped) {
+                startGroupCommitThreadIfNeeded();
+                logEditQueue.add(item);
+            } else {
+                item = null;
+            }
+        }
+        if (item == null) {
+            // the edit logs already in the queue must be written first
+            Thread thread = groupCommitThread;
+            if (thread != null) {
+                Uninterruptibles.joinUninterruptibly(thread);
+            }
+            logEditDirectly(op, writable);
+            return;
+        }
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                item.future.get();
+                break;
+            } catch (InterruptedException e) {
+                // the edit log must be written before return, keep waiting
+                interrupted = true;
+            } catch (ExecutionException e) {
+                LOG.error("Fatal Error : write stream Exception", e.getCause());
+                System.exit(-1);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // must be called with the lock of logEditQueue held
+    private void startGroupCommitThreadIfNeeded() {
+        if (groupCommitThread == null) {
+            Thread thread = new Thread(this::groupCommit, "edit-log-group-commit");
+            thread.setDaemon(true);
+            thread.start();
+            groupCommitThread = thread;
+        }
+    }
+
+    /**
+     * Stop the group commit thread after it writes all the queued edit logs.
+     * Called when the FE is no longer master or the edit log is closed.
+     * The thread is not interrupted, because interrupting a thread in bdbje io invalidates the environment.
+     */
+    public void stopGroupCommit() {
+        Thread thread;
+        synchronized (logEditQueue) {
+            groupCommitStopped = true;
+            thread = groupCommitThread;
+        }
+        if (thread != null) {
+            Uninterruptibles.joinUninterruptibly(thread);
+            LOG.info("edit log group commit thread is stopped");
+        }
+    }
+
+    private void groupCommit() {
+        List<EditLogItem> batch = new ArrayList<>();
+        while (true) {
+            boolean stopped;
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                // the items already taken from the queue must still be written
+                LOG.info("edit log group commit thread is interrupted, {} edit logs in current batch", batch.size());
+            }
+            synchronized (logEditQueue) {
+                stopped = groupCommitStopped;
+                if (stopped) {
+                    logEditQueue.drainTo(batch);
+                }
+            }
+            try {
+                writeBatch(batch);
+            } catch (Throwable t) {
+                LOG.error("Fatal Error : write stream Exception", t);
+                System.exit(-1);
+            }
+            // all the futures in the batch are completed by writeBatch()
+            batch.clear();
+            if (stopped) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Take the edit logs from the queue into the batch, until the batch is full or
+     * no more edit log comes within edit_log_group_commit_max_wait_ms after the first one.
+     * Return with an empty batch if the group commit is stopped.
+     */
+    private void collectBatch(List<EditLogItem> batch) throws InterruptedException {
+        EditLogItem first;
+        while ((first = logEditQueue.poll(STOP_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS)) == null) {
+            if (groupCommitStopped) {
+                return;
+            }
+        }
+        batch.add(first);
+        int maxBatchSize = Math.max(1, Config.edit_log_group_commit_max_batch_size);
+        logEditQueue.drainTo(batch, maxBatchSize - batch.size());
+        long deadline = System.currentTimeMillis() + Config.edit_log_group_commit_max_wait_ms;
+        long waitMs;
+        while (batch.size() < maxBatchSize && (waitMs = deadline - System.currentTimeMillis()) > 0) {
+            EditLogItem item = logEditQueue.poll(Math.min(waitMs, STOP_CHECK_INTERVAL_MS), TimeUnit.MILLISECONDS);
+            if (item == null) {
+                if (groupCommitStopped) {
+                    break;
+                }
+                continue;
+            }
+            batch.add(item);
+            logEditQueue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    @VisibleForTesting
+    int getGroupCommitQueueSize() {
+        return logEditQueue.size();
+    }
+
+    @VisibleForTesting
+    Thread getGroupCommitThread() {
+        return groupCommitThread;
+    }
+
+    private synchronized void writeBatch(List<EditLogItem> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        List<JournalEntity> entities = new ArrayList<>(batch.size());
+        for (EditLogItem item : batch) {
+            entities.add(item.entity);
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_EDIT_LOG_GROUP_COMMIT_WAIT_LATENCY.update(start - item.enqueueTime);
+            }
+        }
+        journal.write(entities);
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_EDIT_LOG_GROUP_COMMIT_BATCH_SIZE.update(batch.size());
+        }
+
+        afterWrite(batch.size(), System.currentTimeMillis() - start, batch.get(batch.size() - 1).entity.getOpCode());
+        for (EditLogItem item : batch) {
+            item.future.complete(null);
+        }
+    }
+
+    private void afterWrite(int num, long costMs, short lastOp) {
         // get a new transactionId
-        txId++;
+        txId += num;
 
         // update statistics
-        long end = System.currentTimeMillis();
-        numTransactions++;
-        totalTimeTransactions += (end - start);
+        numTransactions += num;
+        totalTimeTransactions += costMs;
         if (MetricRepo.isInit) {
-            MetricRepo.HISTO_EDIT_LOG_WRITE_LATENCY.update((end - start));
-            MetricRepo.COUNTER_EDIT_LOG_CURRENT.increase(1L);
+            MetricRepo.HISTO_EDIT_LOG_WRITE_LATENCY.update(costMs);
+            MetricRepo.COUNTER_EDIT_LOG_CURRENT.increase((long) num);
         }
 
         if (LOG.isDebugEnabled()) {
             LOG.debug("nextId = {}, numTransactions = {}, totalTimeTransactions = {}, op = {}", txId, numTransactions,
-                    totalTimeTransactions, op);
+                    totalTimeTransactions, lastOp);
         }
 
         if (txId >= Config.edit_log_roll_num) {
@@ -1114,7 +1329,7 @@ public class EditLog {
         }
 
         if (MetricRepo.isInit) {
-            MetricRepo.COUNTER_EDIT_LOG_WRITE.increase(1L);
+            MetricRepo.COUNTER_EDIT_LOG_WRITE.increase((long) num);
         }
     }
 
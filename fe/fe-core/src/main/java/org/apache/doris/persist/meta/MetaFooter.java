@@ -108,6 +108,13 @@ public class MetaFooter {
         this.length = length;
     }
 
+    /**
+     * Return the end offset of image body, which is also the end of the last meta module.
+     */
+    public long getBodyEnd(long fileLength) {
+        return fileLength - FOOTER_LENGTH_SIZE - MetaMagicNumber.MAGIC_STR.length() - length;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -77,6 +77,10 @@ public class MetaHeader {
     }
 
     public static long write(File imageFile) throws IOException {
+        return write(imageFile, null);
+    }
+
+    public static long write(File imageFile, String sectionCompression) throws IOException {
         if (imageFile.length() != 0) {
             throw new IOException("Meta header has to be written to an empty file.");
         }
@@ -84,7 +88,7 @@ public class MetaHeader {
         try (RandomAccessFile raf = new RandomAccessFile(imageFile, "rw")) {
             raf.seek(0);
             MetaMagicNumber.write(raf);
-            MetaJsonHeader.write(raf);
+            MetaJsonHeader.write(raf, sectionCompression);
             raf.getChannel().force(true);
             return raf.getFilePointer();
         }
@@ -119,5 +123,9 @@ public class MetaHeader {
         return metaJsonHeader;
     }
 
+    public boolean isSectionCompressed() {
+        return metaJsonHeader != null && MetaJsonHeader.COMPRESSION_GZIP.equals(metaJsonHeader.sectionCompression);
+    }
+
 
 }
@@ -20,6 +20,7 @@ package org.apache.doris.persist.meta;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.io.Text;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
@@ -28,8 +29,13 @@ import java.io.RandomAccessFile;
 public class MetaJsonHeader {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     public static final String IMAGE_VERSION = FeConstants.meta_format.getVersion();
+    public static final String COMPRESSION_GZIP = "gzip";
     // the version of image format
     public String imageVersion;
+    // the compression of meta module sections, null means the sections are not compressed.
+    // not written when null so that the image can still be loaded by FE of older version.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String sectionCompression;
 
     public static MetaJsonHeader read(RandomAccessFile raf) throws IOException {
         String jsonHeader = Text.readString(raf);
@@ -37,8 +43,13 @@ public class MetaJsonHeader {
     }
 
     public static void write(RandomAccessFile raf) throws IOException {
+        write(raf, null);
+    }
+
+    public static void write(RandomAccessFile raf, String sectionCompression) throws IOException {
         MetaJsonHeader metaJsonHeader = new MetaJsonHeader();
         metaJsonHeader.imageVersion = IMAGE_VERSION;
+        metaJsonHeader.sectionCompression = sectionCompression;
         String jsonHeader =  MetaJsonHeader.toJson(metaJsonHeader);
         Text.writeString(raf, jsonHeader);
     }
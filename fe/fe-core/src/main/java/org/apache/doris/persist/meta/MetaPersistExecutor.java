@@ -0,0 +1,108 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.meta.MetaContext;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Runs the save and load tasks of meta modules in parallel.
+ * A task inherits the meta context and the checkpoint identity of the thread which submits it,
+ * so Env.getCurrentEnv() returns the same env in the worker threads as in the submitting thread.
+ */
+public class MetaPersistExecutor implements AutoCloseable {
+    private final ExecutorService executor;
+
+    public MetaPersistExecutor(String name, int parallelism) {
+        this.executor = ThreadPoolManager.newDaemonFixedThreadPool(Math.max(1, parallelism),
+                PersistMetaModules.MODULE_NAMES.size() + 1, name, false);
+    }
+
+    /**
+     * Run the task after all the dependencies are done.
+     * If any of the dependencies fails, the task will not run and the returned future fails too.
+     */
+    public <T> CompletableFuture<T> submit(List<CompletableFuture<?>> dependencies, Callable<T> task) {
+        Supplier<T> supplier = wrap(task);
+        if (dependencies.isEmpty()) {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        }
+        return CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]))
+                .thenApplyAsync(v -> supplier.get(), executor);
+    }
+
+    private <T> Supplier<T> wrap(Callable<T> task) {
+        boolean isCheckpoint = Env.isCheckpointThread();
+        MetaContext metaContext = MetaContext.get();
+        return () -> {
+            long threadId = Thread.currentThread().getId();
+            if (isCheckpoint) {
+                Env.addCheckpointWorkerThread(threadId);
+            }
+            if (metaContext != null) {
+                metaContext.setThreadLocalInfo();
+            }
+            try {
+                return task.call();
+            } catch (InvocationTargetException e) {
+                throw new CompletionException(e.getCause());
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                MetaContext.remove();
+                if (isCheckpoint) {
+                    Env.removeCheckpointWorkerThread(threadId);
+                }
+            }
+        };
+    }
+
+    public static <T> T get(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -18,9 +18,14 @@
 package org.apache.doris.persist.meta;
 
 import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -30,7 +35,13 @@ import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Image Format:
@@ -62,18 +73,34 @@ import java.lang.reflect.InvocationTargetException;
  * | - Footer Length (8 bytes)                    |
  * | - Magic String (4 bytes)                     |
  * |----------------------------------------------|
+ *
+ * If the image is saved by sections (see MetaWriter), or Config.image_persist_parallelism is larger than 1,
+ * the objects are read by their offsets in footer, and the modules are loaded in parallel
+ * according to PersistMetaModules.MODULE_DEPENDENCIES.
  */
 
 public class MetaReader {
     private static final Logger LOG = LogManager.getLogger(MetaReader.class);
 
+    private static final int SECTION_BUFFER_SIZE = 1024 * 1024;
+
+    private interface SectionReadMethod {
+        long read(DataInputStream dis) throws Exception;
+    }
+
     public static void read(File imageFile, Env env) throws IOException, DdlException {
         LOG.info("start load image from {}. is ckpt: {}", imageFile.getAbsolutePath(), Env.isCheckpointThread());
         long loadImageStartTime = System.currentTimeMillis();
         MetaHeader metaHeader = MetaHeader.read(imageFile);
         MetaFooter metaFooter = MetaFooter.read(imageFile);
+        if (metaHeader.isSectionCompressed()
+                || (Config.image_persist_parallelism > 1 && !metaFooter.metaIndices.isEmpty())) {
+            readSections(imageFile, env, metaHeader, metaFooter, Math.max(1, Config.image_persist_parallelism));
+            return;
+        }
 
         long checksum = 0;
+        Map<String, Long> moduleCostMs = Maps.newLinkedHashMap();
         try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(imageFile)))) {
             // 1. Skip image file header
             IOUtils.skipFully(dis, metaHeader.getEnd());
@@ -101,7 +128,9 @@ public class MetaReader {
                     throw new IOException("Unknown meta module: " + metaIndex.name + ". Known modules: "
                             + PersistMetaModules.MODULE_NAMES);
                 }
+                long moduleStartTime = System.currentTimeMillis();
                 checksum = (long) persistMethod.readMethod.invoke(env, dis, checksum);
+                moduleCostMs.put(metaIndex.name, System.currentTimeMillis() - moduleStartTime);
             }
         } catch (InvocationTargetException | IllegalAccessException e) {
             throw new IOException(e);
@@ -111,6 +140,92 @@ public class MetaReader {
         Preconditions.checkState(remoteChecksum == checksum, remoteChecksum + " vs. " + checksum);
 
         long loadImageEndTime = System.currentTimeMillis();
-        LOG.info("finished to load image in " + (loadImageEndTime - loadImageStartTime) + " ms");
+        LOG.info("finished to load image in {} ms, cost of modules in ms: {}",
+                (loadImageEndTime - loadImageStartTime), moduleCostMs);
+    }
+
+    private static void readSections(File imageFile, Env env, MetaHeader metaHeader, MetaFooter metaFooter,
+            int parallelism) throws IOException, DdlException {
+        long loadImageStartTime = System.currentTimeMillis();
+        boolean compressed = metaHeader.isSectionCompressed();
+        List<MetaIndex> metaIndices = metaFooter.metaIndices;
+        long bodyEnd = metaFooter.getBodyEnd(imageFile.length());
+        Map<String, Long> moduleCostMs = new ConcurrentHashMap<>();
+
+        // the meta header must be read first, it sets the meta version of the image
+        if (metaIndices.isEmpty() || !metaIndices.get(0).name.equals("header")) {
+            throw new IOException("The first meta module of image should be header. indices: " + metaIndices);
+        }
+        long checksum;
+        try {
+            checksum = readSection(imageFile, metaIndices.get(0).offset, getSectionEnd(metaIndices, 0, bodyEnd),
+                    compressed, dis -> env.loadHeader(dis, metaHeader, 0L));
+        } catch (IOException | DdlException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+
+        Map<String, CompletableFuture<Long>> futures = Maps.newLinkedHashMap();
+        try (MetaPersistExecutor executor = new MetaPersistExecutor("image-reader", parallelism)) {
+            for (int i = 1; i < metaIndices.size(); ++i) {
+                MetaIndex metaIndex = metaIndices.get(i);
+                // Should skip some bytes because ignore some meta, such as load job
+                if (metaIndex.name.equals("loadJob")
+                        || metaIndex.name.equals("cooldownJob")) {
+                    LOG.info("Skip {} module", metaIndex.name);
+                    continue;
+                }
+                MetaPersistMethod persistMethod = PersistMetaModules.MODULES_MAP.get(metaIndex.name);
+                if (persistMethod == null) {
+                    throw new IOException("Unknown meta module: " + metaIndex.name + ". Known modules: "
+                            + PersistMetaModules.MODULE_NAMES);
+                }
+                List<CompletableFuture<?>> dependencies = Lists.newArrayList();
+                for (String dependency : PersistMetaModules.MODULE_DEPENDENCIES.getOrDefault(metaIndex.name,
+                        ImmutableList.of())) {
+                    // the image may be saved by older version without some modules
+                    if (futures.containsKey(dependency)) {
+                        dependencies.add(futures.get(dependency));
+                    }
+                }
+                long start = metaIndex.offset;
+                long end = getSectionEnd(metaIndices, i, bodyEnd);
+                futures.put(metaIndex.name, executor.submit(dependencies, () -> {
+                    long moduleStartTime = System.currentTimeMillis();
+                    long moduleChecksum = readSection(imageFile, start, end, compressed,
+                            dis -> (long) persistMethod.readMethod.invoke(env, dis, 0L));
+                    moduleCostMs.put(metaIndex.name, System.currentTimeMillis() - moduleStartTime);
+                    return moduleChecksum;
+                }));
+            }
+            for (CompletableFuture<Long> future : futures.values()) {
+                checksum ^= MetaPersistExecutor.get(future);
+            }
+        }
+
+        long remoteChecksum = metaFooter.checksum;
+        Preconditions.checkState(remoteChecksum == checksum, remoteChecksum + " vs. " + checksum);
+
+        long loadImageEndTime = System.currentTimeMillis();
+        LOG.info("finished to load image with {} threads in {} ms, cost of modules in ms: {}", parallelism,
+                (loadImageEndTime - loadImageStartTime), moduleCostMs);
+    }
+
+    private static long getSectionEnd(List<MetaIndex> metaIndices, int i, long bodyEnd) {
+        return i < metaIndices.size() - 1 ? metaIndices.get(i + 1).offset : bodyEnd;
+    }
+
+    private static long readSection(File imageFile, long start, long end, boolean compressed,
+            SectionReadMethod method) throws Exception {
+        try (FileInputStream fis = new FileInputStream(imageFile)) {
+            fis.getChannel().position(start);
+            InputStream in = ByteStreams.limit(fis, end - start);
+            if (compressed) {
+                in = new GZIPInputStream(in, SECTION_BUFFER_SIZE);
+            }
+            DataInputStream dis = new DataInputStream(new BufferedInputStream(in, SECTION_BUFFER_SIZE));
+            return method.read(dis);
+        }
     }
 }
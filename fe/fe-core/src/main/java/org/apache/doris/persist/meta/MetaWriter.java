@@ -18,10 +18,12 @@
 package org.apache.doris.persist.meta;
 
 import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Reference;
 import org.apache.doris.common.io.CountingDataOutputStream;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -29,8 +31,15 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Image Format:
@@ -62,11 +71,18 @@ import java.util.List;
  * | - Footer Length (8 bytes)                    |
  * | - Magic String (4 bytes)                     |
  * |----------------------------------------------|
+ *
+ * If Config.image_persist_parallelism is larger than 1 or Config.enable_image_section_compression is true,
+ * each object of image body is an independent section which is saved in parallel to a temporary file,
+ * optionally compressed with gzip, and then appended to the image. The checksum of each section starts
+ * from 0, and the checksum in footer is the xor of all sections, which is the same as saving sequentially.
  */
 
 public class MetaWriter {
     private static final Logger LOG = LogManager.getLogger(MetaWriter.class);
 
+    private static final int SECTION_BUFFER_SIZE = 1024 * 1024;
+
     public static MetaWriter writer = new MetaWriter();
 
     private interface Delegate {
@@ -77,6 +93,16 @@ public class MetaWriter {
         long write() throws IOException;
     }
 
+    private interface SectionWriteMethod {
+        long write(CountingDataOutputStream dos) throws Exception;
+    }
+
+    private static class SectionResult {
+        private long checksum;
+        private long costMs;
+        private long size;
+    }
+
     private Delegate delegate;
 
     public void setDelegate(CountingDataOutputStream dos, List<MetaIndex> indices) {
@@ -97,11 +123,16 @@ public class MetaWriter {
         // save image does not need any lock. because only checkpoint thread will call this method.
         LOG.info("start to save image to {}. is ckpt: {}",
                 imageFile.getAbsolutePath(), Env.isCheckpointThread());
+        if (Config.image_persist_parallelism > 1 || Config.enable_image_section_compression) {
+            writeSections(imageFile, env, Config.image_persist_parallelism, Config.enable_image_section_compression);
+            return;
+        }
         final Reference<Long> checksum = new Reference<>(0L);
         long saveImageStartTime = System.currentTimeMillis();
         // MetaHeader should use output stream in the future.
         long startPosition = MetaHeader.write(imageFile);
         List<MetaIndex> metaIndices = Lists.newArrayList();
+        Map<String, Long> moduleCostMs = Maps.newLinkedHashMap();
         FileOutputStream imageFileOut = new FileOutputStream(imageFile, true);
         try (CountingDataOutputStream dos = new CountingDataOutputStream(new BufferedOutputStream(imageFileOut),
                 startPosition)) {
@@ -112,6 +143,7 @@ public class MetaWriter {
                     writer.doWork("header", () -> env.saveHeader(dos, replayedJournalId, checksum.getRef())));
             // 2. write other modules
             for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
+                long moduleStartTime = System.currentTimeMillis();
                 checksum.setRef(writer.doWork(m.name, () -> {
                     try {
                         return (long) m.writeMethod.invoke(env, dos, checksum.getRef());
@@ -120,6 +152,7 @@ public class MetaWriter {
                         throw new RuntimeException(e);
                     }
                 }));
+                moduleCostMs.put(m.name, System.currentTimeMillis() - moduleStartTime);
             }
             // 3. force sync to disk
             imageFileOut.getChannel().force(true);
@@ -127,8 +160,89 @@ public class MetaWriter {
         MetaFooter.write(imageFile, metaIndices, checksum.getRef());
 
         long saveImageEndTime = System.currentTimeMillis();
-        LOG.info("finished save image {} in {} ms. checksum is {}", imageFile.getAbsolutePath(),
-                (saveImageEndTime - saveImageStartTime), checksum.getRef());
+        LOG.info("finished save image {} in {} ms. checksum is {}, cost of modules in ms: {}",
+                imageFile.getAbsolutePath(), (saveImageEndTime - saveImageStartTime), checksum.getRef(),
+                moduleCostMs);
+    }
+
+    private static void writeSections(File imageFile, Env env, int parallelism, boolean compress)
+            throws IOException {
+        long saveImageStartTime = System.currentTimeMillis();
+        // uncompressed sections are laid out as a single stream, keep the header loadable by FE of older version
+        long startPosition = MetaHeader.write(imageFile, compress ? MetaJsonHeader.COMPRESSION_GZIP : null);
+        long replayedJournalId = env.getReplayedJournalId();
+
+        List<String> names = Lists.newArrayList("header");
+        List<File> sectionFiles = Lists.newArrayList(new File(imageFile.getPath() + ".header.part"));
+        for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
+            names.add(m.name);
+            sectionFiles.add(new File(imageFile.getPath() + "." + m.name + ".part"));
+        }
+
+        long checksum = 0;
+        List<MetaIndex> metaIndices = Lists.newArrayList();
+        Map<String, String> moduleCosts = Maps.newLinkedHashMap();
+        try (MetaPersistExecutor executor = new MetaPersistExecutor("image-writer", parallelism)) {
+            List<CompletableFuture<SectionResult>> futures = Lists.newArrayList();
+            futures.add(executor.submit(Collections.emptyList(), () -> writeSection(sectionFiles.get(0), compress,
+                    dos -> env.saveHeader(dos, replayedJournalId, 0L))));
+            for (int i = 0; i < PersistMetaModules.MODULES_IN_ORDER.size(); i++) {
+                MetaPersistMethod m = PersistMetaModules.MODULES_IN_ORDER.get(i);
+                File sectionFile = sectionFiles.get(i + 1);
+                futures.add(executor.submit(Collections.emptyList(), () -> writeSection(sectionFile, compress,
+                        dos -> (long) m.writeMethod.invoke(env, dos, 0L))));
+            }
+
+            // append sections to image in order
+            try (FileChannel imageChannel = FileChannel.open(imageFile.toPath(), StandardOpenOption.WRITE)) {
+                long offset = startPosition;
+                for (int i = 0; i < futures.size(); i++) {
+                    SectionResult result = MetaPersistExecutor.get(futures.get(i));
+                    checksum ^= result.checksum;
+                    metaIndices.add(new MetaIndex(names.get(i), offset));
+                    try (FileChannel sectionChannel = FileChannel.open(sectionFiles.get(i).toPath(),
+                            StandardOpenOption.READ)) {
+                        long position = 0;
+                        while (position < result.size) {
+                            position += sectionChannel.transferTo(position, result.size - position,
+                                    imageChannel.position(offset + position));
+                        }
+                    }
+                    offset += result.size;
+                    moduleCosts.put(names.get(i), result.costMs + "ms/" + result.size + "B");
+                }
+                imageChannel.force(true);
+            }
+        } finally {
+            for (File sectionFile : sectionFiles) {
+                if (sectionFile.exists() && !sectionFile.delete()) {
+                    LOG.warn("failed to delete image section file {}", sectionFile.getAbsolutePath());
+                }
+            }
+        }
+        MetaFooter.write(imageFile, metaIndices, checksum);
+
+        long saveImageEndTime = System.currentTimeMillis();
+        LOG.info("finished save image {} with {} threads, compress: {}, in {} ms. checksum is {}, "
+                + "cost of modules: {}", imageFile.getAbsolutePath(), parallelism, compress,
+                (saveImageEndTime - saveImageStartTime), checksum, moduleCosts);
+    }
+
+    private static SectionResult writeSection(File sectionFile, boolean compress, SectionWriteMethod method)
+            throws Exception {
+        long startTime = System.currentTimeMillis();
+        SectionResult result = new SectionResult();
+        OutputStream out = new FileOutputStream(sectionFile);
+        if (compress) {
+            out = new GZIPOutputStream(out, SECTION_BUFFER_SIZE);
+        }
+        try (CountingDataOutputStream dos = new CountingDataOutputStream(
+                new BufferedOutputStream(out, SECTION_BUFFER_SIZE))) {
+            result.checksum = method.write(dos);
+        }
+        result.size = sectionFile.length();
+        result.costMs = System.currentTimeMillis() - startTime;
+        return result;
     }
 
 }
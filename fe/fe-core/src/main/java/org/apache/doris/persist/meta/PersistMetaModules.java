@@ -18,6 +18,7 @@
 package org.apache.doris.persist.meta;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
@@ -40,6 +41,31 @@ public class PersistMetaModules {
             "paloAuth", "transactionState", "colocateTableIndex", "routineLoadJobs", "loadJobV2", "smallFiles",
             "plugins", "deleteHandler", "sqlBlockRule", "policy", "mtmvJobManager", "globalFunction", "resourceGroups");
 
+    // module name -> names of the modules which must be loaded before it.
+    // A module can only depend on the modules in front of it in MODULE_NAMES.
+    // Modules not in this map only depend on the header, and may be loaded in parallel with any other module.
+    public static final ImmutableMap<String, ImmutableList<String>> MODULE_DEPENDENCIES =
+            ImmutableMap.<String, ImmutableList<String>>builder()
+                    // the internal catalog is replaced when loading datasource
+                    .put("db", ImmutableList.of("datasource"))
+                    .put("alterJob", ImmutableList.of("db"))
+                    .put("recycleBin", ImmutableList.of("db"))
+                    // the backend ids of cluster are reset by the backends in SystemInfoService
+                    .put("cluster", ImmutableList.of("backends", "db"))
+                    .put("exportJob", ImmutableList.of("db"))
+                    .put("syncJob", ImmutableList.of("db"))
+                    .put("backupHandler", ImmutableList.of("db"))
+                    .put("paloAuth", ImmutableList.of("datasource"))
+                    // DatabaseTransactionMgrs are created when loading db and recycleBin
+                    .put("transactionState", ImmutableList.of("db", "recycleBin"))
+                    .put("colocateTableIndex", ImmutableList.of("db"))
+                    .put("routineLoadJobs", ImmutableList.of("db", "transactionState"))
+                    .put("loadJobV2", ImmutableList.of("db", "transactionState"))
+                    .put("deleteHandler", ImmutableList.of("db"))
+                    .put("policy", ImmutableList.of("db", "resources"))
+                    .put("mtmvJobManager", ImmutableList.of("db"))
+                    .build();
+
     static {
         MODULES_MAP = Maps.newHashMap();
         MODULES_IN_ORDER = Lists.newArrayList();
@@ -27,6 +27,7 @@ import org.apache.doris.analysis.DescriptorTable;
 import org.apache.doris.analysis.Expr;
 import org.apache.doris.analysis.InPredicate;
 import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.LiteralExpr;
 import org.apache.doris.analysis.PartitionNames;
 import org.apache.doris.analysis.SlotDescriptor;
 import org.apache.doris.analysis.SlotId;
@@ -49,6 +50,7 @@ import org.apache.doris.catalog.Partition;
 import org.apache.doris.catalog.Partition.PartitionState;
 import org.apache.doris.catalog.PartitionInfo;
 import org.apache.doris.catalog.PartitionItem;
+import org.apache.doris.catalog.PartitionKey;
 import org.apache.doris.catalog.PartitionType;
 import org.apache.doris.catalog.Replica;
 import org.apache.doris.catalog.Tablet;
@@ -1080,6 +1082,62 @@ public class OlapScanNode extends ScanNode {
         return result;
     }
 
+    // Only called when Coordinator exec in high performance point query, after lazyEvaluateRangeLocations().
+    // Route each key tuple to the scanned tablets which may contain it, the result is tablet id -> key indexes.
+    // A key is sent to all scanned tablets of a partition if the partition is not hash distributed by key columns.
+    public Map<Long, List<Integer>> routePointQueryKeys(List<SlotRef> keySlots, List<List<LiteralExpr>> keyTuples) {
+        Set<Long> scanTablets = Sets.newHashSet(scanTabletIds);
+        Map<Long, List<Integer>> tabletToKeys = Maps.newLinkedHashMap();
+        for (Long partitionId : selectedPartitionIds) {
+            Partition partition = olapTable.getPartition(partitionId);
+            List<Long> tabletIdsInOrder = partition.getIndex(selectedIndexId).getTabletIdsInOrder();
+            DistributionInfo distributionInfo = partition.getDistributionInfo();
+            List<Column> distributionColumns = null;
+            List<Integer> keyColumnIndexes = null;
+            if (distributionInfo.getType() == DistributionInfo.DistributionInfoType.HASH) {
+                distributionColumns = ((HashDistributionInfo) distributionInfo).getDistributionColumns();
+                keyColumnIndexes = Lists.newArrayList();
+                for (Column column : distributionColumns) {
+                    int idx = -1;
+                    for (int i = 0; i < keySlots.size(); i++) {
+                        if (keySlots.get(i).getColumnName().equalsIgnoreCase(column.getName())) {
+                            idx = i;
+                            break;
+                        }
+                    }
+                    if (idx < 0) {
+                        keyColumnIndexes = null;
+                        break;
+                    }
+                    keyColumnIndexes.add(idx);
+                }
+            }
+            for (int k = 0; k < keyTuples.size(); k++) {
+                if (keyColumnIndexes == null) {
+                    for (Long tabletId : tabletIdsInOrder) {
+                        if (scanTablets.contains(tabletId)) {
+                            tabletToKeys.computeIfAbsent(tabletId, id -> Lists.newArrayList()).add(k);
+                        }
+                    }
+                    continue;
+                }
+                // same as HashDistributionPruner
+                PartitionKey hashKey = new PartitionKey();
+                for (int c = 0; c < distributionColumns.size(); c++) {
+                    hashKey.pushColumn(keyTuples.get(k).get(keyColumnIndexes.get(c)),
+                            distributionColumns.get(c).getDataType());
+                }
+                long hashValue = hashKey.getHashValue();
+                long tabletId = tabletIdsInOrder.get(
+                        (int) ((hashValue & 0xffffffff) % distributionInfo.getBucketNum()));
+                if (scanTablets.contains(tabletId)) {
+                    tabletToKeys.computeIfAbsent(tabletId, id -> Lists.newArrayList()).add(k);
+                }
+            }
+        }
+        return tabletToKeys;
+    }
+
     public void setDescTable(DescriptorTable descTable) {
         this.descTable = descTable;
     }
@@ -150,21 +150,28 @@ public class OlapTableSink extends DataSink {
 
         tSink.setTableId(dstTable.getId());
         tSink.setTupleId(tupleDescriptor.getId().asInt());
+        tSink.setNeedGenRollup(dstTable.shouldLoadToNewRollup());
+        tSink.setSchema(createSchema(tSink.getDbId(), dstTable));
+        tSink.setWriteSingleReplica(singleReplicaLoad);
+        updatePartitionsAndLocations(tSink);
+    }
+
+    // Refresh the parts of the given sink which may change between loads without a schema change:
+    // the partitions, the tablet locations and the backends.
+    // Used by the stream load plan cache to reuse a planned sink for a new load.
+    public void updatePartitionsAndLocations(TOlapTableSink tSink) throws UserException {
         int numReplicas = 1;
         for (Partition partition : dstTable.getPartitions()) {
             numReplicas = dstTable.getPartitionInfo().getReplicaAllocation(partition.getId()).getTotalReplicaNum();
             break;
         }
         tSink.setNumReplicas(numReplicas);
-        tSink.setNeedGenRollup(dstTable.shouldLoadToNewRollup());
-        tSink.setSchema(createSchema(tSink.getDbId(), dstTable));
         tSink.setPartition(createPartition(tSink.getDbId(), dstTable));
         List<TOlapTableLocationParam> locationParams = createLocation(dstTable);
         tSink.setLocation(locationParams.get(0));
         if (singleReplicaLoad) {
             tSink.setSlaveLocation(locationParams.get(1));
         }
-        tSink.setWriteSingleReplica(singleReplicaLoad);
         tSink.setNodesInfo(createPaloNodesInfo());
     }
 
@@ -310,6 +310,13 @@ public class OriginalPlanner extends Planner {
         }
     }
 
+    // Check column privileges again when a plan is reused without analysis, e.g. by PointQueryPlanCache
+    public void checkColumnPrivileges() throws UserException {
+        for (PlanFragment fragment : fragments) {
+            checkColumnPrivileges(fragment.getPlanRoot());
+        }
+    }
+
     private void checkColumnPrivileges(PlanNode singleNodePlan) throws UserException {
         if (ConnectContext.get() == null) {
             return;
@@ -0,0 +1,235 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.planner;
+
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.MaterializedIndexMeta;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.UserException;
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.task.StreamLoadTask;
+import org.apache.doris.thrift.TExecPlanFragmentParams;
+import org.apache.doris.thrift.TFileRangeDesc;
+import org.apache.doris.thrift.TFileType;
+import org.apache.doris.thrift.TOlapTableSink;
+import org.apache.doris.thrift.TScanRange;
+import org.apache.doris.thrift.TScanRangeParams;
+import org.apache.doris.thrift.TStreamLoadPutRequest;
+import org.apache.doris.thrift.TUniqueId;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Sets;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.thrift.TException;
+import org.apache.thrift.TSerializer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cache of stream load plans.
+ *
+ * Loads into the same table with the same load properties get the same plan except for a few per-load fields,
+ * so the plan is cached by table and load properties. For a cached plan, the load id, the txn id, the file info
+ * and the partitions and tablet locations of the table are patched for each load, which saves the analysis and
+ * planning cost of small and frequent stream loads.
+ *
+ * A cached plan is only reused while the schema and the partitions of the table and the configs used by planning
+ * are unchanged, which is checked by the plan version saved along with the plan. The caller must hold the read lock
+ * of the table.
+ */
+public class StreamLoadPlanCache {
+    private static final Logger LOG = LogManager.getLogger(StreamLoadPlanCache.class);
+
+    private final Cache<PlanKey, CachedPlan> cache;
+
+    public StreamLoadPlanCache(long maxSize) {
+        cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    }
+
+    public TExecPlanFragmentParams plan(Database db, OlapTable table, TStreamLoadPutRequest request)
+            throws UserException {
+        byte[] signature = getRequestSignature(request);
+        if (signature == null) {
+            return newPlanner(db, table, request).plan(request.getLoadId());
+        }
+        PlanKey key = new PlanKey(table.getId(), signature);
+        String planVersion = getPlanVersion(table);
+        CachedPlan cachedPlan = cache.getIfPresent(key);
+        if (cachedPlan != null && cachedPlan.planVersion.equals(planVersion)) {
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_STREAM_LOAD_PLAN_CACHE_HIT.increase(1L);
+            }
+            return cachedPlan.instantiate(request);
+        }
+
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_STREAM_LOAD_PLAN_CACHE_MISS.increase(1L);
+        }
+        StreamLoadPlanner planner = newPlanner(db, table, request);
+        TExecPlanFragmentParams plan = planner.plan(request.getLoadId());
+        cache.put(key, new CachedPlan(plan, planner.getOlapTableSink(), planVersion));
+        return plan;
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private static StreamLoadPlanner newPlanner(Database db, OlapTable table, TStreamLoadPutRequest request)
+            throws UserException {
+        StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request);
+        return new StreamLoadPlanner(db, table, streamLoadTask);
+    }
+
+    // Serialize the request without the fields which are different for each load or are not used by planning,
+    // so that loads with the same signature get the same plan.
+    private static byte[] getRequestSignature(TStreamLoadPutRequest request) {
+        TStreamLoadPutRequest copy = request.deepCopy();
+        copy.setUser("");
+        copy.setPasswd("");
+        copy.setLoadId(new TUniqueId(0, 0));
+        copy.setTxnId(0);
+        copy.unsetUserIp();
+        copy.unsetAuthCode();
+        copy.unsetToken();
+        copy.unsetThriftRpcTimeoutMs();
+        copy.unsetPath();
+        copy.unsetFileSize();
+        try {
+            return new TSerializer().serialize(copy);
+        } catch (TException e) {
+            LOG.warn("failed to serialize stream load request, load id: {}", request.getLoadId(), e);
+            return null;
+        }
+    }
+
+    // The version of the plan includes the configs used by planning, and everything of the table which is used
+    // to plan the load but not refreshed for a cached plan, i.e. the state, the schema of each index and
+    // the partitions. The sink of the cached plan is also reused, whose single replica load is decided by the config
+    // when it is planned.
+    // The column names are included because renaming a column changes neither the schema version nor the hash.
+    private static String getPlanVersion(OlapTable table) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(Config.enable_single_replica_load).append('|').append(Config.enable_pipeline_load)
+                .append('|').append(Config.be_exec_version);
+        sb.append('|').append(table.getState());
+        for (long indexId : Sets.newTreeSet(table.getIndexIdToMeta().keySet())) {
+            MaterializedIndexMeta indexMeta = table.getIndexMetaByIndexId(indexId);
+            sb.append('|').append(indexId).append(':').append(indexMeta.getSchemaVersion())
+                    .append(':').append(indexMeta.getSchemaHash()).append(':');
+            for (Column column : indexMeta.getSchema()) {
+                sb.append(column.getName()).append(',');
+            }
+        }
+        sb.append('|').append(table.getIndexes().size());
+        Set<Long> partitionIds = Sets.newTreeSet();
+        for (Partition partition : table.getAllPartitions()) {
+            partitionIds.add(partition.getId());
+        }
+        sb.append('|').append(partitionIds);
+        return sb.toString();
+    }
+
+    private static class PlanKey {
+        private final long tableId;
+        private final byte[] signature;
+        private final int hashCode;
+
+        PlanKey(long tableId, byte[] signature) {
+            this.tableId = tableId;
+            this.signature = signature;
+            this.hashCode = 31 * Long.hashCode(tableId) + Arrays.hashCode(signature);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof PlanKey)) {
+                return false;
+            }
+            PlanKey other = (PlanKey) obj;
+            return tableId == other.tableId && Arrays.equals(signature, other.signature);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class CachedPlan {
+        private final TExecPlanFragmentParams template;
+        // only used to refresh the partitions and locations, it is not changed after planning
+        private final OlapTableSink sink;
+        private final String planVersion;
+
+        CachedPlan(TExecPlanFragmentParams plan, OlapTableSink sink, String planVersion) {
+            // the partitions and locations are refreshed for each load, so no need to keep them in cache
+            this.template = plan.deepCopy();
+            TOlapTableSink tSink = template.getFragment().getOutputSink().getOlapTableSink();
+            tSink.unsetPartition();
+            tSink.unsetLocation();
+            tSink.unsetSlaveLocation();
+            tSink.unsetNodesInfo();
+            this.sink = sink;
+            this.planVersion = planVersion;
+        }
+
+        TExecPlanFragmentParams instantiate(TStreamLoadPutRequest request) throws UserException {
+            TExecPlanFragmentParams params = template.deepCopy();
+            TUniqueId loadId = request.getLoadId();
+            params.getParams().setQueryId(loadId);
+            params.getParams().setFragmentInstanceId(new TUniqueId(loadId.hi, loadId.lo + 1));
+
+            TOlapTableSink tSink = params.getFragment().getOutputSink().getOlapTableSink();
+            tSink.setLoadId(loadId);
+            tSink.setTxnId(request.getTxnId());
+            sink.updatePartitionsAndLocations(tSink);
+
+            // same as the file range of stream load created by FileGroupInfo
+            long fileSize = -1;
+            if (request.getFileType() == TFileType.FILE_LOCAL) {
+                fileSize = request.isSetFileSize() ? request.getFileSize() : 0;
+            }
+            for (List<TScanRangeParams> scanRanges : params.getParams().getPerNodeScanRanges().values()) {
+                for (TScanRangeParams scanRangeParams : scanRanges) {
+                    TScanRange scanRange = scanRangeParams.getScanRange();
+                    for (TFileRangeDesc rangeDesc : scanRange.getExtScanRange().getFileScanRange().getRanges()) {
+                        rangeDesc.setLoadId(loadId);
+                        if (request.getFileType() == TFileType.FILE_LOCAL) {
+                            rangeDesc.setPath(request.getPath());
+                        }
+                        rangeDesc.setSize(fileSize);
+                        rangeDesc.setFileSize(fileSize);
+                    }
+                }
+            }
+            StreamLoadPlanner.setQueryGlobalsTime(params.getQueryGlobals());
+            return params;
+        }
+    }
+}
@@ -91,6 +91,7 @@ public class StreamLoadPlanner {
 
     private ScanNode scanNode;
     private TupleDescriptor tupleDesc;
+    private OlapTableSink olapTableSink;
 
     public StreamLoadPlanner(Database db, OlapTable destTable, LoadTaskInfo taskInfo) {
         this.db = db;
@@ -111,6 +112,11 @@ public class StreamLoadPlanner {
         return destTable;
     }
 
+    // can only be called after "plan()", or it will return null
+    public OlapTableSink getOlapTableSink() {
+        return olapTableSink;
+    }
+
     // create the plan. the plan's query id and load id are same, using the parameter 'loadId'
     public TExecPlanFragmentParams plan(TUniqueId loadId) throws UserException {
         if (destTable.getKeysType() != KeysType.UNIQUE_KEYS
@@ -218,7 +224,7 @@ public class StreamLoadPlanner {
 
         // create dest sink
         List<Long> partitionIds = getAllPartitionIds();
-        OlapTableSink olapTableSink = new OlapTableSink(destTable, tupleDesc, partitionIds,
+        olapTableSink = new OlapTableSink(destTable, tupleDesc, partitionIds,
                 Config.enable_single_replica_load);
         olapTableSink.init(loadId, taskInfo.getTxnId(), db.getId(), timeout,
                 taskInfo.getSendBatchParallelism(), taskInfo.isLoadToSingleTablet());
@@ -268,11 +274,9 @@ public class StreamLoadPlanner {
 
         params.setQueryOptions(queryOptions);
         TQueryGlobals queryGlobals = new TQueryGlobals();
-        queryGlobals.setNowString(DATE_FORMAT.format(new Date()));
-        queryGlobals.setTimestampMs(System.currentTimeMillis());
+        setQueryGlobalsTime(queryGlobals);
         queryGlobals.setTimeZone(taskInfo.getTimezone());
         queryGlobals.setLoadZeroTolerance(taskInfo.getMaxFilterRatio() <= 0.0);
-        queryGlobals.setNanoSeconds(LocalDateTime.now().getNano());
 
         params.setQueryGlobals(queryGlobals);
 
@@ -280,6 +284,13 @@ public class StreamLoadPlanner {
         return params;
     }
 
+    // set the current time of the load, which is evaluated by now() and other time functions
+    public static void setQueryGlobalsTime(TQueryGlobals queryGlobals) {
+        queryGlobals.setNowString(DATE_FORMAT.format(new Date()));
+        queryGlobals.setTimestampMs(System.currentTimeMillis());
+        queryGlobals.setNanoSeconds(LocalDateTime.now().getNano());
+    }
+
     // get all specified partition ids.
     // if no partition specified, return null
     private List<Long> getAllPartitionIds() throws DdlException, AnalysisException {
@@ -20,19 +20,28 @@ package org.apache.doris.planner.external;
 import org.apache.doris.catalog.Env;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.UserException;
+import org.apache.doris.common.util.ConsistentHash;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.mysql.privilege.UserProperty;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.resource.Tag;
 import org.apache.doris.system.Backend;
 import org.apache.doris.system.BeSelectionPolicy;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.PrimitiveSink;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class FederationBackendPolicy {
@@ -41,6 +50,33 @@ public class FederationBackendPolicy {
 
     private int nextBe = 0;
 
+    // the number of splits assigned by cache affinity, and the number of them assigned to their preferred backend
+    private long affinityAssignedSplitNum = 0;
+    private long preferredAssignedSplitNum = 0;
+
+    private static class BackendHash implements Funnel<Backend> {
+        @Override
+        public void funnel(Backend backend, PrimitiveSink primitiveSink) {
+            primitiveSink.putLong(backend.getId());
+        }
+    }
+
+    private static class SplitHash implements Funnel<FileSplit> {
+        @Override
+        public void funnel(FileSplit split, PrimitiveSink primitiveSink) {
+            primitiveSink.putBytes(split.getPath().toString().getBytes(StandardCharsets.UTF_8));
+            primitiveSink.putLong(split.getStart());
+        }
+    }
+
+    public FederationBackendPolicy() {
+    }
+
+    @VisibleForTesting
+    FederationBackendPolicy(List<Backend> backends) {
+        this.backends.addAll(backends);
+    }
+
     public void init() throws UserException {
         init(Collections.emptyList());
     }
@@ -78,6 +114,99 @@ public class FederationBackendPolicy {
         return selectedBackend;
     }
 
+    /**
+     * Assign the splits to backends, the i-th backend of the result is for the i-th split.
+     *
+     * If Config.enable_split_cache_affinity is true, the split is assigned by consistent hashing of
+     * its file path and offset, so that it is read by the same backend among different queries and
+     * the file cache of backend can be reused. To bound the load imbalance, the bytes assigned to
+     * each backend is limited to Config.split_assigner_max_load_factor times of the average, and the
+     * split goes to the next backend on the hash ring if its preferred backend exceeds the limit.
+     */
+    public List<Backend> assignSplits(List<FileSplit> splits) {
+        List<Backend> assignment = Lists.newArrayListWithCapacity(splits.size());
+        if (!Config.enable_split_cache_affinity || backends.size() == 1) {
+            for (int i = 0; i < splits.size(); i++) {
+                assignment.add(getNextBe());
+            }
+            return assignment;
+        }
+
+        long totalBytes = 0;
+        for (FileSplit split : splits) {
+            totalBytes += getSplitWeight(split);
+        }
+        double maxBytesPerBackend = Math.max(1.0, Config.split_assigner_max_load_factor)
+                * totalBytes / backends.size();
+        int virtualNumber = Math.max(Math.min(512 / backends.size(), 32), 2);
+        ConsistentHash<FileSplit, Backend> consistentHash = new ConsistentHash<>(
+                Hashing.murmur3_128(), new SplitHash(), new BackendHash(), backends, virtualNumber);
+        Map<Long, Long> assignedBytes = Maps.newHashMap();
+        long preferredNum = 0;
+        for (FileSplit split : splits) {
+            long weight = getSplitWeight(split);
+            Backend selected = consistentHash.getNode(split);
+            if (canAssign(assignedBytes.getOrDefault(selected.getId(), 0L), weight, maxBytesPerBackend)) {
+                preferredNum++;
+            } else {
+                // the preferred backend is overloaded, find the next one on the ring,
+                // or the least loaded one if all backends are overloaded.
+                Backend leastLoaded = null;
+                selected = null;
+                for (Backend candidate : consistentHash.getNodes(split, backends.size())) {
+                    long bytes = assignedBytes.getOrDefault(candidate.getId(), 0L);
+                    if (canAssign(bytes, weight, maxBytesPerBackend)) {
+                        selected = candidate;
+                        break;
+                    }
+                    if (leastLoaded == null || bytes < assignedBytes.getOrDefault(leastLoaded.getId(), 0L)) {
+                        leastLoaded = candidate;
+                    }
+                }
+                if (selected == null) {
+                    selected = leastLoaded;
+                }
+            }
+            assignedBytes.merge(selected.getId(), weight, Long::sum);
+            assignment.add(selected);
+        }
+
+        affinityAssignedSplitNum += splits.size();
+        preferredAssignedSplitNum += preferredNum;
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_SPLIT_ASSIGNED.increase((long) splits.size());
+            MetricRepo.COUNTER_SPLIT_ASSIGNED_PREFERRED.increase(preferredNum);
+        }
+        return assignment;
+    }
+
+    // a split larger than the limit can still be assigned to a backend without any load,
+    // otherwise it would never be assigned to its preferred backend
+    private static boolean canAssign(long assignedBytes, long weight, double maxBytesPerBackend) {
+        return assignedBytes + weight <= Math.max(maxBytesPerBackend, weight);
+    }
+
+    // the split without length is treated as 1 byte, so that it is still counted
+    private static long getSplitWeight(FileSplit split) {
+        return Math.max(split.getLength(), 1L);
+    }
+
+    public boolean isAssignedByCacheAffinity() {
+        return affinityAssignedSplitNum > 0;
+    }
+
+    /**
+     * The fraction of splits which are assigned to their preferred backend on the hash ring.
+     * These splits are expected to hit the file cache of backend if they have been read before.
+     * Return -1 if no split is assigned by cache affinity.
+     */
+    public double getExpectedCacheHitRatio() {
+        if (affinityAssignedSplitNum == 0) {
+            return -1;
+        }
+        return (double) preferredAssignedSplitNum / affinityAssignedSplitNum;
+    }
+
     public int numBackends() {
         return backends.size();
     }
@@ -107,6 +107,10 @@ public class FileScanNode extends ExternalScanNode {
             .append(totalFileSize).append(", scanRanges=").append(scanRangeLocations.size()).append("\n");
         output.append(prefix).append("partition=").append(readPartitionNum).append("/").append(totalPartitionNum)
             .append("\n");
+        if (backendPolicy.isAssignedByCacheAffinity()) {
+            output.append(prefix).append(String.format("expectedCacheHitRatio=%.2f",
+                    backendPolicy.getExpectedCacheHitRatio())).append("\n");
+        }
 
         if (detailLevel == TExplainLevel.VERBOSE) {
             output.append(prefix).append("backends:").append("\n");
@@ -166,6 +170,14 @@ public class FileScanNode extends ExternalScanNode {
         return output.toString();
     }
 
+    /**
+     * Whether the scan ranges are assigned to backends by cache affinity,
+     * in which case the coordinator should keep the assigned backends.
+     */
+    public boolean isAssignedByCacheAffinity() {
+        return backendPolicy.isAssignedByCacheAffinity();
+    }
+
     protected void createScanRangeLocations(ParamCreateContext context, FileScanProviderIf scanProvider)
             throws UserException {
         scanProvider.createScanRangeLocations(context, backendPolicy, scanRangeLocations);
@@ -24,6 +24,7 @@ import org.apache.doris.catalog.PartitionItem;
 import org.apache.doris.catalog.Type;
 import org.apache.doris.catalog.external.HMSExternalTable;
 import org.apache.doris.common.UserException;
+import org.apache.doris.common.util.TimeUtils;
 import org.apache.doris.common.util.Util;
 import org.apache.doris.datasource.HMSExternalCatalog;
 import org.apache.doris.datasource.hive.HiveMetaStoreCache;
@@ -47,6 +48,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -133,18 +135,29 @@ public class HiveSplitter implements Splitter {
     }
 
     private void getFileSplitByPartitions(HiveMetaStoreCache cache, List<HivePartition> partitions,
-                                          List<Split> allFiles, boolean useSelfSplitter) throws IOException {
-        for (HiveMetaStoreCache.FileCacheValue fileCacheValue :
-                cache.getFilesByPartitions(partitions, useSelfSplitter)) {
+                                          List<Split> allFiles, boolean useSelfSplitter) {
+        long start = TimeUtils.getStartTime();
+        // the files of partitions are listed in parallel, and the splits of a partition are generated
+        // as soon as its files are listed.
+        int cacheMissNum = cache.getFilesByPartitions(partitions, useSelfSplitter, fileCacheValue -> {
             if (fileCacheValue.getSplits() != null) {
                 allFiles.addAll(fileCacheValue.getSplits());
             }
             if (fileCacheValue.getFiles() != null) {
                 boolean isSplittable = fileCacheValue.isSplittable();
                 for (HiveMetaStoreCache.HiveFileStatus status : fileCacheValue.getFiles()) {
-                    allFiles.addAll(splitFile(status, isSplittable));
+                    try {
+                        allFiles.addAll(splitFile(status, isSplittable));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
                 }
             }
+        });
+        ConnectContext ctx = ConnectContext.get();
+        if (ctx != null && ctx.getExecutor() != null) {
+            ctx.getExecutor().getPlannerProfile().addFileListing(partitions.size(), cacheMissNum,
+                    TimeUtils.getStartTime() - start);
         }
     }
 
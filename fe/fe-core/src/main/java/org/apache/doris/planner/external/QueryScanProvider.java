@@ -48,6 +48,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 public abstract class QueryScanProvider implements FileScanProviderIf {
     public static final Logger LOG = LogManager.getLogger(QueryScanProvider.class);
@@ -105,9 +106,11 @@ public abstract class QueryScanProvider implements FileScanProviderIf {
             context.params.setProperties(locationProperties);
         }
 
-        for (Split split : inputSplits) {
-            TScanRangeLocations curLocations = newLocations(context.params, backendPolicy);
-            FileSplit fileSplit = (FileSplit) split;
+        List<FileSplit> fileSplits = inputSplits.stream().map(split -> (FileSplit) split).collect(Collectors.toList());
+        List<Backend> assignedBackends = backendPolicy.assignSplits(fileSplits);
+        for (int i = 0; i < fileSplits.size(); i++) {
+            TScanRangeLocations curLocations = newLocations(context.params, assignedBackends.get(i));
+            FileSplit fileSplit = fileSplits.get(i);
             List<String> pathPartitionKeys = getPathPartitionKeys();
             List<String> partitionValuesFromPath = BrokerUtil.parseColumnsFromPath(fileSplit.getPath().toString(),
                     pathPartitionKeys, false);
@@ -139,7 +142,7 @@ public abstract class QueryScanProvider implements FileScanProviderIf {
         return this.inputFileSize;
     }
 
-    private TScanRangeLocations newLocations(TFileScanRangeParams params, FederationBackendPolicy backendPolicy) {
+    private TScanRangeLocations newLocations(TFileScanRangeParams params, Backend selectedBackend) {
         // Generate on file scan range
         TFileScanRange fileScanRange = new TFileScanRange();
         fileScanRange.setParams(params);
@@ -155,7 +158,6 @@ public abstract class QueryScanProvider implements FileScanProviderIf {
         locations.setScanRange(scanRange);
 
         TScanRangeLocation location = new TScanRangeLocation();
-        Backend selectedBackend = backendPolicy.getNextBe();
         location.setBackendId(selectedBackend.getId());
         location.setServer(new TNetworkAddress(selectedBackend.getIp(), selectedBackend.getBePort()));
         locations.addToLocations(location);
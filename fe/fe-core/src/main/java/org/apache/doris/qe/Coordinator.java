@@ -28,6 +28,7 @@ import org.apache.doris.common.MarkedCountDownLatch;
 import org.apache.doris.common.Pair;
 import org.apache.doris.common.Reference;
 import org.apache.doris.common.Status;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.telemetry.ScopedSpan;
 import org.apache.doris.common.telemetry.Telemetry;
@@ -62,6 +63,7 @@ import org.apache.doris.planner.ScanNode;
 import org.apache.doris.planner.SetOperationNode;
 import org.apache.doris.planner.UnionNode;
 import org.apache.doris.planner.external.ExternalScanNode;
+import org.apache.doris.planner.external.FileScanNode;
 import org.apache.doris.proto.InternalService;
 import org.apache.doris.proto.InternalService.PExecPlanFragmentResult;
 import org.apache.doris.proto.InternalService.PExecPlanFragmentStartRequest;
@@ -87,6 +89,7 @@ import org.apache.doris.thrift.TPipelineFragmentParams;
 import org.apache.doris.thrift.TPipelineFragmentParamsList;
 import org.apache.doris.thrift.TPipelineInstanceParams;
 import org.apache.doris.thrift.TPipelineResourceGroup;
+import org.apache.doris.thrift.TPlanFragment;
 import org.apache.doris.thrift.TPlanFragmentDestination;
 import org.apache.doris.thrift.TPlanFragmentExecParams;
 import org.apache.doris.thrift.TQueryGlobals;
@@ -104,6 +107,7 @@ import org.apache.doris.thrift.TStatusCode;
 import org.apache.doris.thrift.TTabletCommitInfo;
 import org.apache.doris.thrift.TUniqueId;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.HashMultiset;
@@ -142,11 +146,15 @@ import java.util.Map.Entry;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class Coordinator {
@@ -261,6 +269,9 @@ public class Coordinator {
     // Runtime filter ID to the builder instance number
     public Map<RuntimeFilterId, Integer> ridToBuilderNum = Maps.newHashMap();
 
+    // Serialize and send plan fragments to backends in parallel, see execRemoteFragmentsAsync()
+    private static ExecutorService sendFragmentPool = null;
+
     private boolean isPointQuery = false;
     private PointQueryExec pointExec = null;
 
@@ -646,9 +657,7 @@ public class Coordinator {
             }
         } else {
             OlapScanNode planRoot = (OlapScanNode) fragments.get(0).getPlanRoot();
-            Preconditions.checkState(planRoot.getScanTabletIds().size() == 1);
-            pointExec.setCandidateBackends(planRoot.getScanBackendIds());
-            pointExec.setTabletId(planRoot.getScanTabletIds().get(0));
+            pointExec.setScanRangeLocations(planRoot, planRoot.getScanRangeLocations(0));
         }
     }
 
@@ -698,6 +707,7 @@ public class Coordinator {
             // For example: select * from numbers("10","w") will generate ExchangeNode and TableValuedFunctionScanNode,
             // we should ensure TableValuedFunctionScanNode does not send data until ExchangeNode is ready to receive.
             boolean twoPhaseExecution = fragments.size() >= 2;
+            long buildStartTime = System.currentTimeMillis();
             for (PlanFragment fragment : fragments) {
                 FragmentExecParams params = fragmentExecParamsMap.get(fragment.getFragmentId());
 
@@ -760,8 +770,6 @@ public class Coordinator {
             } // end for fragments
 
             // 4. send and wait fragments rpc
-            List<Triple<BackendExecStates, BackendServiceProxy, Future<InternalService.PExecPlanFragmentResult>>>
-                    futures = Lists.newArrayList();
             Context parentSpanContext = Context.current();
             for (BackendExecStates states : beToExecStates.values()) {
                 Span span = Telemetry.getNoopSpan();
@@ -769,12 +777,17 @@ public class Coordinator {
                     span = ConnectContext.get().getTracer().spanBuilder("execRemoteFragmentsAsync")
                             .setParent(parentSpanContext).setSpanKind(SpanKind.CLIENT).startSpan();
                 }
-                states.scopedSpan = new ScopedSpan(span);
+                // made current by the thread which sends the fragments, see execRemoteFragmentsAsync()
+                states.scopedSpan = new ScopedSpan(span, false);
                 states.unsetFields();
-                BackendServiceProxy proxy = BackendServiceProxy.getInstance();
-                futures.add(ImmutableTriple.of(states, proxy, states.execRemoteFragmentsAsync(proxy)));
             }
+            long sendStartTime = System.currentTimeMillis();
+            List<Triple<BackendExecStates, BackendServiceProxy, Future<InternalService.PExecPlanFragmentResult>>>
+                    futures = execRemoteFragmentsAsync(beToExecStates.values(),
+                    BackendExecStates::execRemoteFragmentsAsync, states -> states.scopedSpan.getSpan());
+            long waitStartTime = System.currentTimeMillis();
             waitRpc(futures, this.timeoutDeadline - System.currentTimeMillis(), "send fragments");
+            long waitEndTime = System.currentTimeMillis();
 
             if (twoPhaseExecution) {
                 // 5. send and wait execution start rpc
@@ -791,6 +804,9 @@ public class Coordinator {
                 }
                 waitRpc(futures, this.timeoutDeadline - System.currentTimeMillis(), "send execution start");
             }
+            addSendFragmentProfile(beToExecStates.size(), sendStartTime - buildStartTime,
+                    waitStartTime - sendStartTime, waitEndTime - waitStartTime,
+                    System.currentTimeMillis() - waitEndTime);
 
             attachInstanceProfileToFragmentProfile();
         } finally {
@@ -818,6 +834,7 @@ public class Coordinator {
             // For example: select * from numbers("10","w") will generate ExchangeNode and TableValuedFunctionScanNode,
             // we should ensure TableValuedFunctionScanNode does not send data until ExchangeNode is ready to receive.
             boolean twoPhaseExecution = fragments.size() >= 2;
+            long buildStartTime = System.currentTimeMillis();
             for (PlanFragment fragment : fragments) {
                 FragmentExecParams params = fragmentExecParamsMap.get(fragment.getFragmentId());
 
@@ -871,8 +888,6 @@ public class Coordinator {
             } // end for fragments
 
             // 4. send and wait fragments rpc
-            List<Triple<PipelineExecContexts, BackendServiceProxy, Future<InternalService.PExecPlanFragmentResult>>>
-                    futures = Lists.newArrayList();
             Context parentSpanContext = Context.current();
             for (PipelineExecContexts ctxs : beToPipelineExecCtxs.values()) {
                 Span span = Telemetry.getNoopSpan();
@@ -880,12 +895,17 @@ public class Coordinator {
                     span = ConnectContext.get().getTracer().spanBuilder("execRemoteFragmentsAsync")
                             .setParent(parentSpanContext).setSpanKind(SpanKind.CLIENT).startSpan();
                 }
-                ctxs.scopedSpan = new ScopedSpan(span);
+                // made current by the thread which sends the fragments, see execRemoteFragmentsAsync()
+                ctxs.scopedSpan = new ScopedSpan(span, false);
                 ctxs.unsetFields();
-                BackendServiceProxy proxy = BackendServiceProxy.getInstance();
-                futures.add(ImmutableTriple.of(ctxs, proxy, ctxs.execRemoteFragmentsAsync(proxy)));
             }
+            long sendStartTime = System.currentTimeMillis();
+            List<Triple<PipelineExecContexts, BackendServiceProxy, Future<InternalService.PExecPlanFragmentResult>>>
+                    futures = execRemoteFragmentsAsync(beToPipelineExecCtxs.values(),
+                    PipelineExecContexts::execRemoteFragmentsAsync, ctxs -> ctxs.scopedSpan.getSpan());
+            long waitStartTime = System.currentTimeMillis();
             waitPipelineRpc(futures, this.timeoutDeadline - System.currentTimeMillis(), "send fragments");
+            long waitEndTime = System.currentTimeMillis();
 
             if (twoPhaseExecution) {
                 // 5. send and wait execution start rpc
@@ -902,6 +922,9 @@ public class Coordinator {
                 }
                 waitPipelineRpc(futures, this.timeoutDeadline - System.currentTimeMillis(), "send execution start");
             }
+            addSendFragmentProfile(beToPipelineExecCtxs.size(), sendStartTime - buildStartTime,
+                    waitStartTime - sendStartTime, waitEndTime - waitStartTime,
+                    System.currentTimeMillis() - waitEndTime);
 
             attachInstanceProfileToFragmentProfile();
         } finally {
@@ -909,6 +932,114 @@ public class Coordinator {
         }
     }
 
+    interface FragmentsSender<T> {
+        Future<PExecPlanFragmentResult> execRemoteFragmentsAsync(T states, BackendServiceProxy proxy)
+                throws TException;
+    }
+
+    private static synchronized ExecutorService getSendFragmentPool() {
+        if (sendFragmentPool == null) {
+            sendFragmentPool = ThreadPoolManager.newDaemonFixedThreadPool(Config.send_fragment_parallelism,
+                    Config.send_fragment_parallelism * 64, "send-fragment-pool", true);
+        }
+        return sendFragmentPool;
+    }
+
+    /**
+     * Serialize and send the fragments of each backend. The thrift serialization of fragment params
+     * dominates the latency of queries on many backends, so it is done in parallel by send-fragment-pool.
+     * All the fragments have been sent or failed when this method returns, so that they can be cancelled.
+     * Once a send fails, the pool rejects a send or the query thread is interrupted, the sends not started
+     * yet are skipped, and the running ones are still waited for.
+     * The span of each backend is made current in the thread which sends to it, so that the rpc carries it.
+     */
+    @VisibleForTesting
+    static <T> List<Triple<T, BackendServiceProxy, Future<PExecPlanFragmentResult>>> execRemoteFragmentsAsync(
+            Collection<T> beStates, FragmentsSender<T> sender, Function<T, Span> spanGetter)
+            throws TException, UserException {
+        List<Triple<T, BackendServiceProxy, Future<PExecPlanFragmentResult>>> futures = Lists.newArrayList();
+        BackendServiceProxy proxy = BackendServiceProxy.getInstance();
+        if (Config.send_fragment_parallelism <= 1 || beStates.size() <= 1) {
+            for (T states : beStates) {
+                try (Scope scope = spanGetter.apply(states).makeCurrent()) {
+                    futures.add(ImmutableTriple.of(states, proxy, sender.execRemoteFragmentsAsync(states, proxy)));
+                }
+            }
+            return futures;
+        }
+
+        ExecutorService pool = getSendFragmentPool();
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List<Pair<T, Future<Future<PExecPlanFragmentResult>>>> sendTasks = Lists.newArrayList();
+        Exception sendException = null;
+        for (T states : beStates) {
+            Span span = spanGetter.apply(states);
+            try {
+                sendTasks.add(Pair.of(states, pool.submit(() -> {
+                    if (failed.get()) {
+                        return null;
+                    }
+                    try (Scope scope = span.makeCurrent()) {
+                        return sender.execRemoteFragmentsAsync(states, proxy);
+                    } catch (Throwable t) {
+                        failed.set(true);
+                        throw t;
+                    }
+                })));
+            } catch (RejectedExecutionException e) {
+                // the submitted sends are waited for below, and the query fails
+                failed.set(true);
+                sendException = e;
+                break;
+            }
+        }
+        boolean interrupted = false;
+        for (Pair<T, Future<Future<PExecPlanFragmentResult>>> task : sendTasks) {
+            while (true) {
+                try {
+                    Future<PExecPlanFragmentResult> future = task.second.get();
+                    if (future != null) {
+                        futures.add(ImmutableTriple.of(task.first, proxy, future));
+                    }
+                    break;
+                } catch (ExecutionException e) {
+                    failed.set(true);
+                    if (sendException == null) {
+                        sendException = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    }
+                    break;
+                } catch (InterruptedException e) {
+                    // keep waiting for the running sends, they are fast since the rpc is asynchronous
+                    interrupted = true;
+                    failed.set(true);
+                    if (sendException == null) {
+                        sendException = e;
+                    }
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (sendException instanceof TException) {
+            throw (TException) sendException;
+        } else if (sendException instanceof RuntimeException
+                && !(sendException instanceof RejectedExecutionException)) {
+            throw (RuntimeException) sendException;
+        } else if (sendException != null) {
+            throw new UserException("failed to send fragments: " + sendException.getMessage(), sendException);
+        }
+        return futures;
+    }
+
+    private void addSendFragmentProfile(int backendNum, long buildMs, long sendMs, long waitMs, long startMs) {
+        queryProfile.addInfoString("Send Fragment Backend Num", String.valueOf(backendNum));
+        queryProfile.addInfoString("Build Fragment Params Time", DebugUtil.getPrettyStringMs(buildMs));
+        queryProfile.addInfoString("Serialize And Send Fragments Time", DebugUtil.getPrettyStringMs(sendMs));
+        queryProfile.addInfoString("Wait Send Fragments Rpc Time", DebugUtil.getPrettyStringMs(waitMs));
+        queryProfile.addInfoString("Send Execution Start Time", DebugUtil.getPrettyStringMs(startMs));
+    }
+
     private void waitRpc(List<Triple<BackendExecStates, BackendServiceProxy, Future<PExecPlanFragmentResult>>> futures,
                          long leftTimeMs,
             String operation) throws RpcException, UserException {
@@ -1159,6 +1290,10 @@ public class Coordinator {
         }
     }
 
+    public long getResultFetchOverlapTimeNs() {
+        return receiver == null ? 0 : receiver.getFetchOverlapTimeNs();
+    }
+
     public RowBatch getNext() throws Exception {
         if (receiver == null) {
             throw new UserException("There is no receiver.");
@@ -2034,9 +2169,21 @@ public class Coordinator {
         int virtualNumber = Math.max(Math.min(512 / aliveBEs.size(), 32), 2);
         ConsistentHash<TScanRangeLocations, Backend> consistentHash = new ConsistentHash<>(
                 Hashing.murmur3_128(), new ScanRangeHash(), new BackendHash(), aliveBEs, virtualNumber);
+        boolean assignedByCacheAffinity = scanNode instanceof FileScanNode
+                && ((FileScanNode) scanNode).isAssignedByCacheAffinity();
         for (TScanRangeLocations scanRangeLocations : locations) {
             TScanRangeLocation minLocation = scanRangeLocations.locations.get(0);
-            Backend backend = consistentHash.getNode(scanRangeLocations);
+            Backend backend = null;
+            if (assignedByCacheAffinity) {
+                // keep the backend assigned by planner with bounded load, if it is still available
+                backend = idToBackend.get(minLocation.backend_id);
+                if (backend != null && !SimpleScheduler.isAvailable(backend)) {
+                    backend = null;
+                }
+            }
+            if (backend == null) {
+                backend = consistentHash.getNode(scanRangeLocations);
+            }
             TNetworkAddress execHostPort = new TNetworkAddress(backend.getIp(), backend.getBePort());
             this.addressToBackendID.put(execHostPort, backend.getId());
             // Why only increase 1 in other implementations ?
@@ -3065,12 +3212,14 @@ public class Coordinator {
 
         List<TExecPlanFragmentParams> toThrift(int backendNum) {
             List<TExecPlanFragmentParams> paramsList = Lists.newArrayList();
+            // the plan is the same for all instances, and it is read only when serializing
+            TPlanFragment tFragment = fragment.toThrift();
 
             for (int i = 0; i < instanceExecParams.size(); ++i) {
                 final FInstanceExecParam instanceExecParam = instanceExecParams.get(i);
                 TExecPlanFragmentParams params = new TExecPlanFragmentParams();
                 params.setProtocolVersion(PaloInternalServiceVersion.V1);
-                params.setFragment(fragment.toThrift());
+                params.setFragment(tFragment);
                 params.setDescTbl(descTable);
                 params.setParams(new TPlanFragmentExecParams());
                 params.setResourceInfo(tResourceInfo);
@@ -3129,6 +3278,8 @@ public class Coordinator {
             }
 
             Map<TNetworkAddress, TPipelineFragmentParams> res = new HashMap();
+            // the plan is the same for all backends, and it is read only when serializing
+            TPlanFragment tFragment = fragment.toThrift();
             for (int i = 0; i < instanceExecParams.size(); ++i) {
                 final FInstanceExecParam instanceExecParam = instanceExecParams.get(i);
                 if (!res.containsKey(instanceExecParam.host)) {
@@ -3148,7 +3299,7 @@ public class Coordinator {
                     params.query_options.setMemLimit(memLimit);
                     params.setSendQueryStatisticsWithEveryBatch(
                             fragment.isTransferQueryStatisticsWithEveryBatch());
-                    params.setFragment(fragment.toThrift());
+                    params.setFragment(tFragment);
                     params.setLocalParams(Lists.newArrayList());
                     params.setSharedScanOpt(sharedScanOpt);
                     if (tResourceGroups != null) {
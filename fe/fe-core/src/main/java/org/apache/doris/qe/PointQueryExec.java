@@ -19,11 +19,13 @@ package org.apache.doris.qe;
 
 import org.apache.doris.analysis.DescriptorTable;
 import org.apache.doris.analysis.Expr;
+import org.apache.doris.analysis.InPredicate;
 import org.apache.doris.analysis.LiteralExpr;
 import org.apache.doris.analysis.SlotRef;
 import org.apache.doris.catalog.Env;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.Status;
+import org.apache.doris.planner.OlapScanNode;
 import org.apache.doris.proto.InternalService;
 import org.apache.doris.proto.InternalService.KeyTuple;
 import org.apache.doris.rpc.BackendServiceProxy;
@@ -32,8 +34,13 @@ import org.apache.doris.system.Backend;
 import org.apache.doris.thrift.TExpr;
 import org.apache.doris.thrift.TExprList;
 import org.apache.doris.thrift.TResultBatch;
+import org.apache.doris.thrift.TScanRangeLocation;
+import org.apache.doris.thrift.TScanRangeLocations;
 import org.apache.doris.thrift.TStatusCode;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.protobuf.ByteString;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -43,10 +50,9 @@ import org.apache.thrift.TSerializer;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -55,26 +61,44 @@ import java.util.concurrent.TimeoutException;
 
 public class PointQueryExec {
     private static final Logger LOG = LogManager.getLogger(PointQueryExec.class);
-    // SlotRef sorted by column id
+    // SlotRef sorted by column id, the value is a LiteralExpr for `k = v` or an InPredicate for `k IN (...)`
     private Map<SlotRef, Expr> equalPredicats;
     // ByteString serialized for prepared statement
     private ByteString serializedDescTable;
     private ByteString serializedOutputExpr;
     private ArrayList<Expr> outputExprs;
     private DescriptorTable descriptorTable;
-    private long tabletID = 0;
     private long timeoutMs = 1000; // default 1s
 
     private boolean isCancel = false;
     private boolean isBinaryProtocol = false;
 
-    private List<Backend> candidateBackends;
+    // One lookup request per tablet, all of them are sent at the first getNext(),
+    // and the results are returned tablet by tablet.
+    private List<TabletLookup> tabletLookups = Lists.newArrayList();
+    private int nextLookupIdx = 0;
+    private boolean requestSent = false;
 
     // For parepared statement cached structure,
     // there are some pre caculated structure in Backend TabletFetch service
     // using this ID to find for this prepared statement
     private UUID cacheID;
 
+    private static class TabletLookup {
+        private final long tabletId;
+        // candidate backends in random order
+        private final List<Backend> backends;
+        private final List<KeyTuple> keyTuples;
+        // in flight request to the first candidate backend
+        private Future<InternalService.PTabletKeyLookupResponse> future;
+
+        TabletLookup(long tabletId, List<Backend> backends, List<KeyTuple> keyTuples) {
+            this.tabletId = tabletId;
+            this.backends = backends;
+            this.keyTuples = keyTuples;
+        }
+    }
+
     public PointQueryExec(Map<SlotRef, Expr> equalPredicats, DescriptorTable descTable,
             ArrayList<Expr> outputExprs) {
         this.equalPredicats = equalPredicats;
@@ -82,16 +106,70 @@ public class PointQueryExec {
         this.outputExprs = outputExprs;
     }
 
-    void setCandidateBackends(HashSet<Long> backendsIds) {
-        candidateBackends = new ArrayList<>();
-        for (Long backendID : backendsIds) {
-            Backend backend = Env.getCurrentSystemInfo().getBackend(backendID);
-            if (SimpleScheduler.isAvailable(backend)) {
-                candidateBackends.add(backend);
+    // Route the lookup keys to the tablets evaluated by OlapScanNode.lazyEvaluateRangeLocations()
+    void setScanRangeLocations(OlapScanNode scanNode, List<TScanRangeLocations> locations) {
+        List<SlotRef> keySlots = Lists.newArrayList(equalPredicats.keySet());
+        List<List<LiteralExpr>> keyValues = getKeyValues();
+        Map<Long, List<Integer>> tabletToKeys = scanNode.routePointQueryKeys(keySlots, keyValues);
+        Map<Long, TScanRangeLocations> tabletToLocations = Maps.newHashMap();
+        for (TScanRangeLocations location : locations) {
+            tabletToLocations.put(location.getScanRange().getPaloScanRange().getTabletId(), location);
+        }
+        tabletLookups = Lists.newArrayListWithCapacity(tabletToKeys.size());
+        for (Map.Entry<Long, List<Integer>> entry : tabletToKeys.entrySet()) {
+            List<KeyTuple> keyTuples = Lists.newArrayListWithCapacity(entry.getValue().size());
+            for (int idx : entry.getValue()) {
+                KeyTuple.Builder kBuilder = KeyTuple.newBuilder();
+                for (LiteralExpr lexpr : keyValues.get(idx)) {
+                    kBuilder.addKeyColumnRep(lexpr.getStringValue());
+                }
+                keyTuples.add(kBuilder.build());
+            }
+            TScanRangeLocations location = tabletToLocations.get(entry.getKey());
+            List<Backend> backends = Lists.newArrayList();
+            if (location != null) {
+                for (TScanRangeLocation scanRangeLocation : location.getLocations()) {
+                    Backend backend = Env.getCurrentSystemInfo().getBackend(scanRangeLocation.getBackendId());
+                    if (SimpleScheduler.isAvailable(backend)) {
+                        backends.add(backend);
+                    }
+                }
+            }
+            // Random read replicas
+            Collections.shuffle(backends);
+            tabletLookups.add(new TabletLookup(entry.getKey(), backends, keyTuples));
+        }
+    }
+
+    // The cartesian product of the values of all key columns, duplicated keys are removed.
+    private List<List<LiteralExpr>> getKeyValues() {
+        List<List<LiteralExpr>> keyValues = Lists.newArrayList();
+        keyValues.add(Lists.newArrayList());
+        for (Expr expr : equalPredicats.values()) {
+            List<LiteralExpr> columnValues = Lists.newArrayList();
+            if (expr instanceof InPredicate) {
+                Set<String> distinctValues = Sets.newHashSet();
+                for (int i = 1; i < expr.getChildren().size(); i++) {
+                    LiteralExpr lexpr = (LiteralExpr) expr.getChild(i);
+                    if (distinctValues.add(lexpr.getStringValue())) {
+                        columnValues.add(lexpr);
+                    }
+                }
+            } else {
+                columnValues.add((LiteralExpr) expr);
+            }
+            List<List<LiteralExpr>> newKeyValues = Lists.newArrayListWithCapacity(
+                    keyValues.size() * columnValues.size());
+            for (List<LiteralExpr> keyValue : keyValues) {
+                for (LiteralExpr columnValue : columnValues) {
+                    List<LiteralExpr> newKeyValue = Lists.newArrayList(keyValue);
+                    newKeyValue.add(columnValue);
+                    newKeyValues.add(newKeyValue);
+                }
             }
+            keyValues = newKeyValues;
         }
-        // Random read replicas
-        Collections.shuffle(this.candidateBackends);
+        return keyValues;
     }
 
     public void setSerializedDescTable(ByteString serializedDescTable) {
@@ -106,10 +184,6 @@ public class PointQueryExec {
         this.cacheID = cacheID;
     }
 
-    public void setTabletId(long tabletID) {
-        this.tabletID = tabletID;
-    }
-
     public void setTimeout(long timeoutMs) {
         this.timeoutMs = timeoutMs;
     }
@@ -118,25 +192,27 @@ public class PointQueryExec {
         this.isBinaryProtocol = isBinaryProtocol;
     }
 
-    void addKeyTuples(
-            InternalService.PTabletKeyLookupRequest.Builder requestBuilder) {
-        // TODO handle IN predicates
-        KeyTuple.Builder kBuilder = KeyTuple.newBuilder();
-        for (Expr expr : equalPredicats.values()) {
-            LiteralExpr lexpr = (LiteralExpr) expr;
-            kBuilder.addKeyColumnRep(lexpr.getStringValue());
-        }
-        requestBuilder.addKeyTuples(kBuilder);
-    }
-
     public RowBatch getNext(Status status) throws TException {
-        Iterator<Backend> backendIter = candidateBackends.iterator();
+        if (!requestSent) {
+            sendRequests();
+            requestSent = true;
+        }
+        if (nextLookupIdx >= tabletLookups.size()) {
+            // no tablet contains the keys
+            return new RowBatch();
+        }
+        TabletLookup lookup = tabletLookups.get(nextLookupIdx++);
+        if (lookup.backends.isEmpty()) {
+            status.setStatus("no available backend for tablet " + lookup.tabletId);
+            return null;
+        }
         RowBatch rowBatch = null;
         int tryCount = 0;
-        int maxTry = Math.min(Config.max_point_query_retry_time, candidateBackends.size());
+        int maxTry = Math.min(Config.max_point_query_retry_time, lookup.backends.size());
         do {
-            Backend backend = backendIter.next();
-            rowBatch = getNextInternal(status, backend);
+            Backend backend = lookup.backends.get(tryCount);
+            Future<InternalService.PTabletKeyLookupResponse> future = tryCount == 0 ? lookup.future : null;
+            rowBatch = getNextInternal(status, backend, lookup, future);
             ++tryCount;
             if (rowBatch != null) {
                 break;
@@ -146,46 +222,71 @@ public class PointQueryExec {
             }
             status.setStatus(Status.OK);
         } while (true);
+        if (rowBatch != null) {
+            rowBatch.setEos(nextLookupIdx >= tabletLookups.size());
+        }
         return rowBatch;
     }
 
-    private RowBatch getNextInternal(Status status, Backend backend) throws TException {
-        long timeoutTs = System.currentTimeMillis() + timeoutMs;
-        RowBatch rowBatch = new RowBatch();
-        InternalService.PTabletKeyLookupResponse pResult = null;
-        try {
-            if (serializedDescTable == null) {
-                serializedDescTable = ByteString.copyFrom(
-                        new TSerializer().serialize(descriptorTable.toThrift()));
+    // Send the requests of all tablets to their first candidate backends,
+    // so that the lookups of different tablets are executed in parallel.
+    private void sendRequests() throws TException {
+        if (serializedDescTable == null) {
+            serializedDescTable = ByteString.copyFrom(
+                    new TSerializer().serialize(descriptorTable.toThrift()));
+        }
+        if (serializedOutputExpr == null) {
+            List<TExpr> exprs = new ArrayList<>();
+            for (Expr expr : outputExprs) {
+                exprs.add(expr.treeToThrift());
             }
-            if (serializedOutputExpr == null) {
-                List<TExpr> exprs = new ArrayList<>();
-                for (Expr expr : outputExprs) {
-                    exprs.add(expr.treeToThrift());
-                }
-                TExprList exprList = new TExprList(exprs);
-                serializedOutputExpr = ByteString.copyFrom(
-                        new TSerializer().serialize(exprList));
+            TExprList exprList = new TExprList(exprs);
+            serializedOutputExpr = ByteString.copyFrom(
+                    new TSerializer().serialize(exprList));
+        }
+        for (TabletLookup lookup : tabletLookups) {
+            if (lookup.backends.isEmpty()) {
+                continue;
             }
-
-            InternalService.PTabletKeyLookupRequest.Builder requestBuilder
-                        = InternalService.PTabletKeyLookupRequest.newBuilder()
-                            .setTabletId(tabletID)
-                            .setDescTbl(serializedDescTable)
-                            .setOutputExpr(serializedOutputExpr)
-                            .setIsBinaryRow(isBinaryProtocol);
-            if (cacheID != null) {
-                InternalService.UUID.Builder uuidBuilder = InternalService.UUID.newBuilder();
-                uuidBuilder.setUuidHigh(cacheID.getMostSignificantBits());
-                uuidBuilder.setUuidLow(cacheID.getLeastSignificantBits());
-                requestBuilder.setUuid(uuidBuilder);
+            Backend backend = lookup.backends.get(0);
+            try {
+                lookup.future = BackendServiceProxy.getInstance().fetchTabletDataAsync(
+                        backend.getBrpcAdress(), buildRequest(lookup));
+            } catch (RpcException e) {
+                // the request will be sent again and handled in getNextInternal()
+                LOG.warn("send point query request to {} failed", backend.getBrpcAdress(), e);
             }
-            addKeyTuples(requestBuilder);
+        }
+    }
+
+    private InternalService.PTabletKeyLookupRequest buildRequest(TabletLookup lookup) {
+        InternalService.PTabletKeyLookupRequest.Builder requestBuilder
+                    = InternalService.PTabletKeyLookupRequest.newBuilder()
+                        .setTabletId(lookup.tabletId)
+                        .setDescTbl(serializedDescTable)
+                        .setOutputExpr(serializedOutputExpr)
+                        .setIsBinaryRow(isBinaryProtocol)
+                        .addAllKeyTuples(lookup.keyTuples);
+        if (cacheID != null) {
+            InternalService.UUID.Builder uuidBuilder = InternalService.UUID.newBuilder();
+            uuidBuilder.setUuidHigh(cacheID.getMostSignificantBits());
+            uuidBuilder.setUuidLow(cacheID.getLeastSignificantBits());
+            requestBuilder.setUuid(uuidBuilder);
+        }
+        return requestBuilder.build();
+    }
 
+    private RowBatch getNextInternal(Status status, Backend backend, TabletLookup lookup,
+            Future<InternalService.PTabletKeyLookupResponse> futureResponse) throws TException {
+        long timeoutTs = System.currentTimeMillis() + timeoutMs;
+        RowBatch rowBatch = new RowBatch();
+        InternalService.PTabletKeyLookupResponse pResult = null;
+        try {
             while (pResult == null) {
-                InternalService.PTabletKeyLookupRequest request = requestBuilder.build();
-                Future<InternalService.PTabletKeyLookupResponse> futureResponse =
-                        BackendServiceProxy.getInstance().fetchTabletDataAsync(backend.getBrpcAdress(), request);
+                if (futureResponse == null) {
+                    futureResponse = BackendServiceProxy.getInstance().fetchTabletDataAsync(
+                            backend.getBrpcAdress(), buildRequest(lookup));
+                }
                 long currentTs = System.currentTimeMillis();
                 if (currentTs >= timeoutTs) {
                     LOG.warn("fetch result timeout {}", backend.getBrpcAdress());
@@ -0,0 +1,165 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.Analyzer;
+import org.apache.doris.analysis.PrepareStmt;
+import org.apache.doris.common.Config;
+import org.apache.doris.planner.Planner;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache the analyzed and planned point queries of the same statement shape, so that
+ * `SELECT ... FROM tbl WHERE pk1 = 1 AND pk2 = 2` can skip analysis and planning next time
+ * when only the literals are changed.
+ * <p>
+ * A cached plan is a prepared statement whose literals are replaced by placeholders.
+ * Plans are mutable when executed, so a plan is taken out of the cache by a query, and put back
+ * after the query is finished. The statement shapes are evicted in LRU order.
+ * <p>
+ * Only the session independent part of a plan is cached. The session variables which affect the
+ * analysis, e.g. time zone and sql mode, are part of the key, and a new {@link PrepareStmtContext}
+ * is created for the session that reuses the plan.
+ */
+public class PointQueryPlanCache {
+    private static final PointQueryPlanCache INSTANCE = new PointQueryPlanCache();
+
+    // statement key -> cache entry of the statement
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static class Entry {
+        // The statement is not a point query, e.g. the table does not store row column.
+        // It is not prepared again until the entry is evicted.
+        private boolean unsupported = false;
+        private final Deque<CachedPlan> idlePlans = new ArrayDeque<>();
+    }
+
+    /**
+     * The prepared statement and its plan, which are not bound to any session.
+     */
+    public static class CachedPlan {
+        public final PrepareStmt stmt;
+        public final Planner planner;
+        public final String stmtString;
+
+        public CachedPlan(PrepareStmt stmt, Planner planner, String stmtString) {
+            this.stmt = stmt;
+            this.planner = planner;
+            this.stmtString = stmtString;
+        }
+
+        /**
+         * Bind the plan to the session which reuses it.
+         */
+        public PrepareStmtContext newContext(ConnectContext ctx) {
+            stmt.setContext(ctx);
+            Analyzer analyzer = new Analyzer(ctx.getEnv(), ctx);
+            analyzer.setPrepareStmt(stmt);
+            return new PrepareStmtContext(stmt, ctx, planner, analyzer, stmtString);
+        }
+    }
+
+    public static PointQueryPlanCache getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return Config.max_point_query_plan_cache_num > 0;
+    }
+
+    /**
+     * Key of a statement shape, which is only valid for the same user, catalog and database
+     * since the names in the statement are resolved by them, and for the same time zone and
+     * sql mode since the literals and functions in the statement are analyzed by them.
+     */
+    public static String getKey(ConnectContext ctx, String stmtDigest) {
+        SessionVariable sessionVariable = ctx.getSessionVariable();
+        return ctx.getQualifiedUser() + "\u0001" + ctx.getDefaultCatalog() + "\u0001" + ctx.getDatabase()
+                + "\u0001" + sessionVariable.getTimeZone() + "\u0001" + sessionVariable.getSqlMode()
+                + "\u0001" + stmtDigest;
+    }
+
+    /**
+     * Take an idle plan of the statement out of the cache, return null if there is no idle plan.
+     */
+    public synchronized CachedPlan acquire(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        return entry.idlePlans.pollFirst();
+    }
+
+    /**
+     * Put the plan back to the cache after the query is finished.
+     */
+    public synchronized void release(String key, CachedPlan plan) {
+        // do not keep the session which used the plan
+        plan.stmt.setContext(null);
+        Entry entry = getOrCreateEntry(key);
+        if (entry != null && !entry.unsupported && entry.idlePlans.size() < Config.max_point_query_plans_per_stmt) {
+            entry.idlePlans.addFirst(plan);
+        }
+    }
+
+    /**
+     * Whether the statement has been found not to be a point query.
+     */
+    public synchronized boolean isUnsupported(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.unsupported;
+    }
+
+    public synchronized void markUnsupported(String key) {
+        Entry entry = getOrCreateEntry(key);
+        if (entry != null) {
+            entry.unsupported = true;
+            entry.idlePlans.clear();
+        }
+    }
+
+    private Entry getOrCreateEntry(String key) {
+        if (!isEnabled()) {
+            entries.clear();
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry();
+            entries.put(key, entry);
+            Iterator<Map.Entry<String, Entry>> iter = entries.entrySet().iterator();
+            while (entries.size() > Config.max_point_query_plan_cache_num && iter.hasNext()) {
+                iter.next();
+                iter.remove();
+            }
+        }
+        return entry;
+    }
+
+    public synchronized int getStmtNum() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+}
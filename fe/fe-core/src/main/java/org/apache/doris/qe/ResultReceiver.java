@@ -17,6 +17,7 @@
 
 package org.apache.doris.qe;
 
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Status;
 import org.apache.doris.common.util.DebugUtil;
 import org.apache.doris.proto.InternalService;
@@ -28,16 +29,27 @@ import org.apache.doris.thrift.TResultBatch;
 import org.apache.doris.thrift.TStatusCode;
 import org.apache.doris.thrift.TUniqueId;
 
+import com.google.common.collect.Maps;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.thrift.TDeserializer;
 import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.transport.TByteBuffer;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+/**
+ * Fetch the result batches of a query from backend.
+ * Up to Config.result_receiver_prefetch_num fetch rpcs are kept in flight while the returned batch is being sent
+ * to client. Backend serves the waiting fetch rpcs in order, results which arrive out of order are held until
+ * their turn according to the packet seq.
+ */
 public class ResultReceiver {
     private static final Logger LOG = LogManager.getLogger(ResultReceiver.class);
     private boolean isDone    = false;
@@ -49,6 +61,12 @@ public class ResultReceiver {
     private Long backendId;
     private Thread currentThread;
 
+    private final Deque<Future<InternalService.PFetchDataResult>> inflightFetches = new ArrayDeque<>();
+    private final Map<Long, InternalService.PFetchDataResult> outOfOrderResults = Maps.newHashMap();
+    // the time of sending results to client while there are fetch rpcs in flight
+    private long fetchOverlapTimeNs = 0;
+    private long lastReturnTimeNs = -1;
+
     public ResultReceiver(TUniqueId tid, Long backendId, TNetworkAddress address, long timeoutTs) {
         this.finstId = Types.PUniqueId.newBuilder().setHi(tid.hi).setLo(tid.lo).build();
         this.backendId = backendId;
@@ -60,33 +78,35 @@ public class ResultReceiver {
         if (isDone) {
             return null;
         }
+        if (lastReturnTimeNs != -1) {
+            fetchOverlapTimeNs += System.nanoTime() - lastReturnTimeNs;
+            lastReturnTimeNs = -1;
+        }
         final RowBatch rowBatch = new RowBatch();
         try {
             while (!isDone && !isCancel) {
-                InternalService.PFetchDataRequest request = InternalService.PFetchDataRequest.newBuilder()
-                        .setFinstId(finstId)
-                        .setRespInAttachment(false)
-                        .build();
-
-                currentThread = Thread.currentThread();
-                Future<InternalService.PFetchDataResult> future
-                        = BackendServiceProxy.getInstance().fetchDataAsync(address, request);
-                InternalService.PFetchDataResult pResult = null;
-                while (pResult == null) {
-                    long currentTs = System.currentTimeMillis();
-                    if (currentTs >= timeoutTs) {
-                        throw new TimeoutException("query timeout");
-                    }
-                    try {
-                        pResult = future.get(timeoutTs - currentTs, TimeUnit.MILLISECONDS);
-                    } catch (InterruptedException e) {
-                        // continue to get result
-                        LOG.info("future get interrupted Exception");
-                        if (isCancel) {
-                            status.setStatus(Status.CANCELLED);
-                            return null;
+                InternalService.PFetchDataResult pResult = outOfOrderResults.remove(packetIdx);
+                if (pResult == null) {
+                    fetchAsync(Math.max(Config.result_receiver_prefetch_num, 1));
+                    currentThread = Thread.currentThread();
+                    Future<InternalService.PFetchDataResult> future = inflightFetches.peekFirst();
+                    while (pResult == null) {
+                        long currentTs = System.currentTimeMillis();
+                        if (currentTs >= timeoutTs) {
+                            throw new TimeoutException("query timeout");
+                        }
+                        try {
+                            pResult = future.get(timeoutTs - currentTs, TimeUnit.MILLISECONDS);
+                        } catch (InterruptedException e) {
+                            // continue to get result
+                            LOG.info("future get interrupted Exception");
+                            if (isCancel) {
+                                status.setStatus(Status.CANCELLED);
+                                return null;
+                            }
                         }
                     }
+                    inflightFetches.pollFirst();
                 }
                 TStatusCode code = TStatusCode.findByValue(pResult.getStatus().getStatusCode());
                 if (code != TStatusCode.OK) {
@@ -94,6 +114,12 @@ public class ResultReceiver {
                     return null;
                 }
 
+                if (pResult.getPacketSeq() > packetIdx) {
+                    // an earlier fetch rpc is served later by backend, wait for the packet in order
+                    outOfOrderResults.put(pResult.getPacketSeq(), pResult);
+                    continue;
+                }
+
                 rowBatch.setQueryStatistics(pResult.getQueryStatistics());
 
                 if (packetIdx != pResult.getPacketSeq()) {
@@ -109,15 +135,15 @@ public class ResultReceiver {
                 if (pResult.hasEmptyBatch() && pResult.getEmptyBatch()) {
                     LOG.info("finistId={}, get first empty rowbatch", DebugUtil.printId(finstId));
                     rowBatch.setEos(false);
-                    return rowBatch;
+                    return onReturn(rowBatch);
                 } else if (pResult.hasRowBatch() && pResult.getRowBatch().size() > 0) {
-                    byte[] serialResult = pResult.getRowBatch().toByteArray();
+                    // deserialize from the buffer of protobuf directly instead of copying it to a byte array
                     TResultBatch resultBatch = new TResultBatch();
-                    TDeserializer deserializer = new TDeserializer();
-                    deserializer.deserialize(resultBatch, serialResult);
+                    resultBatch.read(new TBinaryProtocol(
+                            new TByteBuffer(pResult.getRowBatch().asReadOnlyByteBuffer())));
                     rowBatch.setBatch(resultBatch);
                     rowBatch.setEos(pResult.getEos());
-                    return rowBatch;
+                    return onReturn(rowBatch);
                 }
             }
         } catch (RpcException e) {
@@ -148,6 +174,35 @@ public class ResultReceiver {
         return rowBatch;
     }
 
+    /**
+     * Keep the given number of fetch rpcs in flight.
+     */
+    private void fetchAsync(int inflightNum) throws RpcException {
+        while (inflightFetches.size() < inflightNum) {
+            InternalService.PFetchDataRequest request = InternalService.PFetchDataRequest.newBuilder()
+                    .setFinstId(finstId)
+                    .setRespInAttachment(false)
+                    .build();
+            inflightFetches.addLast(BackendServiceProxy.getInstance().fetchDataAsync(address, request));
+        }
+    }
+
+    private RowBatch onReturn(RowBatch rowBatch) throws RpcException {
+        if (!isDone && Config.result_receiver_prefetch_num > 0) {
+            fetchAsync(Config.result_receiver_prefetch_num);
+            lastReturnTimeNs = System.nanoTime();
+        } else if (isDone) {
+            // the remaining rpcs are finished by backend when the result buffer is closed
+            inflightFetches.clear();
+            outOfOrderResults.clear();
+        }
+        return rowBatch;
+    }
+
+    public long getFetchOverlapTimeNs() {
+        return fetchOverlapTimeNs;
+    }
+
     public void cancel() {
         isCancel = true;
         synchronized (this) {
@@ -256,6 +256,9 @@ public class SessionVariable implements Serializable, Writable {
 
     public static final String NEREIDS_TRACE_EVENT_MODE = "nereids_trace_event_mode";
 
+    public static final String NEREIDS_JOB_SCHEDULER_PARALLELISM = "nereids_job_scheduler_parallelism";
+    public static final String ENABLE_NEREIDS_DETERMINISTIC_SCHEDULER = "enable_nereids_deterministic_scheduler";
+
     public static final String INTERNAL_SESSION = "internal_session";
 
     public static final String PARTITIONED_HASH_JOIN_ROWS_THRESHOLD = "partitioned_hash_join_rows_threshold";
@@ -794,6 +797,16 @@ public class SessionVariable implements Serializable, Writable {
     @VariableMgr.VarAttr(name = FILE_SPLIT_SIZE, needForward = true)
     public long fileSplitSize = 0;
 
+    // Number of threads used to apply rules of one query in the cascades optimizer.
+    // 1 means use the single thread SimpleJobScheduler.
+    @VariableMgr.VarAttr(name = NEREIDS_JOB_SCHEDULER_PARALLELISM)
+    public int nereidsJobSchedulerParallelism = 1;
+
+    // If true, the parallel job scheduler applies rules in a single thread in a fixed order,
+    // so that the memo is the same in every run. Only for test and debug.
+    @VariableMgr.VarAttr(name = ENABLE_NEREIDS_DETERMINISTIC_SCHEDULER)
+    public boolean enableNereidsDeterministicScheduler = false;
+
     // If this fe is in fuzzy mode, then will use initFuzzyModeVariables to generate some variables,
     // not the default value set in the code.
     public void initFuzzyModeVariables() {
@@ -1892,6 +1905,22 @@ public class SessionVariable implements Serializable, Writable {
         return dumpNereidsMemo;
     }
 
+    public int getNereidsJobSchedulerParallelism() {
+        return nereidsJobSchedulerParallelism;
+    }
+
+    public void setNereidsJobSchedulerParallelism(int nereidsJobSchedulerParallelism) {
+        this.nereidsJobSchedulerParallelism = nereidsJobSchedulerParallelism;
+    }
+
+    public boolean isEnableNereidsDeterministicScheduler() {
+        return enableNereidsDeterministicScheduler;
+    }
+
+    public void setEnableNereidsDeterministicScheduler(boolean enableNereidsDeterministicScheduler) {
+        this.enableNereidsDeterministicScheduler = enableNereidsDeterministicScheduler;
+    }
+
     public void setDumpNereidsMemo(boolean dumpNereidsMemo) {
         this.dumpNereidsMemo = dumpNereidsMemo;
     }
@@ -95,6 +95,7 @@ import org.apache.doris.common.util.Util;
 import org.apache.doris.load.EtlJobType;
 import org.apache.doris.load.LoadJobRowResult;
 import org.apache.doris.load.loadv2.LoadManager;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.mysql.MysqlChannel;
 import org.apache.doris.mysql.MysqlCommand;
 import org.apache.doris.mysql.MysqlEofPacket;
@@ -207,6 +208,12 @@ public class StmtExecutor implements ProfileWriter {
     private String mysqlLoadId;
     // Distinguish from prepare and execute command
     private boolean isExecuteStmt = false;
+    // Key and reused plan of the statement in PointQueryPlanCache, see usePointQueryPlan()
+    private String pointQueryPlanKey = null;
+    private PointQueryPlanCache.CachedPlan pointQueryPlan = null;
+    // Key literals of the point query which is prepared on a cache miss, see preparePointQuery()
+    private List<LiteralExpr> pointQueryLiterals = null;
+    private boolean pointQueryUnsupported = false;
 
     // The result schema if "dry_run_query" is true.
     // Only one column to indicate the real return row numbers.
@@ -747,6 +754,7 @@ public class StmtExecutor implements ProfileWriter {
                     }
                 }
             }
+            releasePointQueryPlan();
         }
     }
 
@@ -783,6 +791,10 @@ public class StmtExecutor implements ProfileWriter {
         masterOpExecutor = new MasterOpExecutor(originStmt, context, redirectStatus, isQuery());
         LOG.debug("need to transfer to Master. stmt: {}", context.getStmtId());
         masterOpExecutor.execute();
+        if (parsedStmt instanceof DdlStmt) {
+            // the cache of master is cleared when it executes the statement, see handleDdlStmt()
+            PointQueryPlanCache.getInstance().clear();
+        }
         if (parsedStmt instanceof SetStmt) {
             SetStmt setStmt = (SetStmt) parsedStmt;
             setStmt.modifySetVarsForExecute();
@@ -816,6 +828,11 @@ public class StmtExecutor implements ProfileWriter {
 
         parseByLegacy();
 
+        if (usePointQueryPlan()) {
+            // Return directly to bypass analyze and plan
+            return;
+        }
+
         boolean preparedStmtReanalyzed = false;
         PrepareStmtContext preparedStmtCtx = null;
         if (parsedStmt instanceof ExecuteStmt) {
@@ -851,6 +868,10 @@ public class StmtExecutor implements ProfileWriter {
 
         analyzer = new Analyzer(context.getEnv(), context);
 
+        if (pointQueryLiterals != null && prepareStmt == null) {
+            preparePointQuery();
+        }
+
         if (parsedStmt instanceof PrepareStmt || context.getCommand() == MysqlCommand.COM_STMT_PREPARE) {
             if (context.getCommand() == MysqlCommand.COM_STMT_PREPARE) {
                 prepareStmt = new PrepareStmt(parsedStmt,
@@ -932,6 +953,11 @@ public class StmtExecutor implements ProfileWriter {
                 throw new AnalysisException("Unexpected exception: " + e.getMessage());
             }
         }
+        if (pointQueryLiterals != null) {
+            // execute the prepared point query with its own literals, same as `EXECUTE ... USING ...`
+            prepareStmt.asignValues(pointQueryLiterals);
+            isExecuteStmt = true;
+        }
         if (preparedStmtReanalyzed) {
             LOG.debug("update planner and analyzer after prepared statement reanalyzed");
             preparedStmtCtx.planner = planner;
@@ -941,6 +967,119 @@ public class StmtExecutor implements ProfileWriter {
         }
     }
 
+    // Reuse the prepared plan in PointQueryPlanCache for point query like `SELECT * FROM tbl WHERE pk = 1`.
+    // The literals of the statement are assigned to the placeholders of the plan, so analysis is skipped.
+    private boolean usePointQueryPlan() throws UserException {
+        if (!PointQueryPlanCache.isEnabled() || pointQueryPlanKey != null || originStmt == null
+                || context.getCommand() != MysqlCommand.COM_QUERY
+                || !(parsedStmt instanceof SelectStmt) || parsedStmt.isExplain()) {
+            return false;
+        }
+        SelectStmt selectStmt = (SelectStmt) parsedStmt;
+        String digest = selectStmt.getPointQueryDigest();
+        if (digest == null) {
+            return false;
+        }
+        String key = PointQueryPlanCache.getKey(context, digest);
+        if (PointQueryPlanCache.getInstance().isUnsupported(key)) {
+            return false;
+        }
+        pointQueryPlanKey = key;
+        PointQueryPlanCache.CachedPlan plan = PointQueryPlanCache.getInstance().acquire(key);
+        // the plan is dropped if schema of the table has been changed, or the table has been replaced
+        if (plan == null || plan.stmt.needReAnalyze()) {
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_POINT_QUERY_PLAN_CACHE_MISS.increase(1L);
+            }
+            // the statement is prepared when it is analyzed, see preparePointQuery()
+            pointQueryLiterals = selectStmt.getPointQueryLiterals();
+            return false;
+        }
+        List<LiteralExpr> literals;
+        try {
+            literals = plan.stmt.castValuesToSlotTypes(selectStmt.getPointQueryLiterals());
+        } catch (AnalysisException e) {
+            // the statement is analyzed as usual, which reports the error or casts the literal by BE
+            LOG.debug("failed to reuse point query plan. {}", context.getQueryIdentifier(), e);
+            PointQueryPlanCache.getInstance().release(key, plan);
+            return false;
+        }
+        // the plan is returned to cache in releasePointQueryPlan() even if the checks below fail
+        pointQueryPlan = plan;
+        PrepareStmtContext planCtx = plan.newContext(context);
+        planCtx.stmt.asignValues(literals);
+        ((OriginalPlanner) planCtx.planner).checkColumnPrivileges();
+        parsedStmt = planCtx.stmt.getInnerStmt();
+        planner = planCtx.planner;
+        analyzer = planCtx.analyzer;
+        prepareStmt = planCtx.stmt;
+        isExecuteStmt = true;
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_POINT_QUERY_PLAN_CACHE_HIT.increase(1L);
+        }
+        return true;
+    }
+
+    // Analyze the point query with its literals replaced by placeholders on a cache miss, same as
+    // `PREPARE ... FROM ...`, so that the plan of this execution can be put into PointQueryPlanCache.
+    // The original statement is analyzed as usual if it turns out not to be a point query.
+    private void preparePointQuery() throws UserException {
+        SelectStmt selectStmt = (SelectStmt) parsedStmt;
+        selectStmt.replacePointQueryLiteralsWithPlaceHolders();
+        PrepareStmt stmt = new PrepareStmt(selectStmt, "point_query_plan", false);
+        stmt.setOrigStmt(originStmt);
+        stmt.setUserInfo(context.getCurrentUserIdentity());
+        stmt.setContext(context);
+        try {
+            stmt.analyze(analyzer);
+        } catch (UserException e) {
+            LOG.debug("failed to prepare point query, analyze it as usual. {}", context.getQueryIdentifier(), e);
+            pointQueryUnsupported = true;
+            analyzePointQueryAsUsual();
+            return;
+        }
+        try {
+            pointQueryLiterals = stmt.castValuesToSlotTypes(pointQueryLiterals);
+        } catch (AnalysisException e) {
+            // only the literals of this statement are invalid, the plan may be prepared next time
+            LOG.debug("failed to cast point query literals, analyze it as usual. {}",
+                    context.getQueryIdentifier(), e);
+            analyzePointQueryAsUsual();
+            return;
+        }
+        prepareStmt = stmt;
+        parsedStmt = stmt.getInnerStmt();
+    }
+
+    private void analyzePointQueryAsUsual() throws UserException {
+        pointQueryLiterals = null;
+        parsedStmt = null;
+        parseByLegacy();
+        analyzer = new Analyzer(context.getEnv(), context);
+    }
+
+    // Return the reused plan to PointQueryPlanCache, or put the plan of the succeeded point query into it.
+    private void releasePointQueryPlan() {
+        if (pointQueryPlanKey == null) {
+            return;
+        }
+        PointQueryPlanCache.CachedPlan plan = pointQueryPlan;
+        boolean succeeded = context.getState().getStateType() != MysqlStateType.ERR;
+        if (plan == null && pointQueryLiterals != null && succeeded) {
+            plan = new PointQueryPlanCache.CachedPlan(prepareStmt, planner, originStmt.originStmt);
+        }
+        if (plan != null) {
+            PointQueryPlanCache.getInstance().release(pointQueryPlanKey, plan);
+        } else if (pointQueryUnsupported && succeeded) {
+            // a failed statement is not marked, e.g. it may be a point query once its table is created
+            PointQueryPlanCache.getInstance().markUnsupported(pointQueryPlanKey);
+        }
+        pointQueryPlanKey = null;
+        pointQueryPlan = null;
+        pointQueryLiterals = null;
+        pointQueryUnsupported = false;
+    }
+
     private void parseByLegacy() throws AnalysisException, DdlException {
         // parsedStmt may already by set when constructing this StmtExecutor();
         if (parsedStmt == null) {
@@ -1399,6 +1538,7 @@ public class StmtExecutor implements ProfileWriter {
 
             statisticsForAuditLog = batch.getQueryStatistics() == null ? null : batch.getQueryStatistics().toBuilder();
             context.getState().setEof();
+            plannerProfile.setFetchResultOverlapTime(coord.getResultFetchOverlapTimeNs());
             plannerProfile.setQueryFetchResultFinishTime();
         } catch (Exception e) {
             // notify all be cancel runing fragment
@@ -2057,6 +2197,8 @@ public class StmtExecutor implements ProfileWriter {
     private void handleDdlStmt() {
         try {
             DdlExecutor.execute(context.getEnv(), (DdlStmt) parsedStmt);
+            // the statement shapes may be point queries or resolve to other tables now
+            PointQueryPlanCache.getInstance().clear();
             context.getState().setOk();
         } catch (QueryStateException e) {
             LOG.warn("", e);
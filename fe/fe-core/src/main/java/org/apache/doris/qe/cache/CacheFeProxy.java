@@ -0,0 +1,156 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Status;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+import org.apache.doris.thrift.TStatusCode;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache the results in the memory of FE, so that a cache hit does not need to fetch data from BE.
+ * The results are evicted in LRU order when the total size exceeds Config.cache_fe_sql_cache_max_size_mb.
+ */
+public class CacheFeProxy extends CacheProxy {
+    private static final Logger LOG = LogManager.getLogger(CacheFeProxy.class);
+
+    private static final CacheFeProxy INSTANCE = new CacheFeProxy();
+
+    private static class CacheEntry {
+        private final List<InternalService.PCacheValue> values;
+        private final long sizeBytes;
+
+        CacheEntry(List<InternalService.PCacheValue> values, long sizeBytes) {
+            this.values = values;
+            this.sizeBytes = sizeBytes;
+        }
+    }
+
+    // sql key -> cached values, in access order
+    private final LinkedHashMap<Types.PUniqueId, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes = 0;
+
+    private CacheFeProxy() {
+    }
+
+    public static CacheFeProxy getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public synchronized int getEntryNum() {
+        return entries.size();
+    }
+
+    private static long getMaxSizeBytes() {
+        return Config.cache_fe_sql_cache_max_size_mb * 1024 * 1024;
+    }
+
+    @Override
+    public void updateCache(InternalService.PUpdateCacheRequest request, int timeoutMs, Status status) {
+        long entrySize = request.getSqlKey().getSerializedSize();
+        for (InternalService.PCacheValue value : request.getValuesList()) {
+            entrySize += value.getSerializedSize();
+        }
+        long maxSize = getMaxSizeBytes();
+        synchronized (this) {
+            remove(request.getSqlKey());
+            if (entrySize > maxSize) {
+                status.setStatus(InternalService.PCacheStatus.SIZE_OVER_LIMIT.toString());
+                return;
+            }
+            entries.put(request.getSqlKey(), new CacheEntry(request.getValuesList(), entrySize));
+            sizeBytes += entrySize;
+            Iterator<Map.Entry<Types.PUniqueId, CacheEntry>> iter = entries.entrySet().iterator();
+            while (sizeBytes > maxSize && iter.hasNext()) {
+                sizeBytes -= iter.next().getValue().sizeBytes;
+                iter.remove();
+            }
+        }
+        status.setStatus(new Status(TStatusCode.OK, "CACHE_OK"));
+    }
+
+    /**
+     * The result is CACHE_OK only if all the requested partitions are cached with the same version,
+     * a cached result with different versions is removed since the data has been changed.
+     */
+    @Override
+    public InternalService.PFetchCacheResult fetchCache(InternalService.PFetchCacheRequest request,
+                                                        int timeoutMs, Status status) {
+        InternalService.PFetchCacheResult.Builder result = InternalService.PFetchCacheResult.newBuilder();
+        CacheEntry entry;
+        synchronized (this) {
+            entry = entries.get(request.getSqlKey());
+        }
+        if (entry == null) {
+            return result.setStatus(InternalService.PCacheStatus.NO_SQL_KEY).build();
+        }
+        for (InternalService.PCacheParam param : request.getParamsList()) {
+            InternalService.PCacheValue value = findValue(entry, param.getPartitionKey());
+            if (value == null) {
+                return result.setStatus(InternalService.PCacheStatus.NO_PARTITION_KEY).build();
+            }
+            if (value.getParam().getLastVersion() != param.getLastVersion()
+                    || value.getParam().getLastVersionTime() != param.getLastVersionTime()) {
+                synchronized (this) {
+                    if (entries.get(request.getSqlKey()) == entry) {
+                        remove(request.getSqlKey());
+                    }
+                }
+                return result.setStatus(InternalService.PCacheStatus.DATA_OVERDUE).build();
+            }
+            result.addValues(value);
+        }
+        return result.setStatus(InternalService.PCacheStatus.CACHE_OK).build();
+    }
+
+    private static InternalService.PCacheValue findValue(CacheEntry entry, long partitionKey) {
+        for (InternalService.PCacheValue value : entry.values) {
+            if (value.getParam().getPartitionKey() == partitionKey) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private void remove(Types.PUniqueId sqlKey) {
+        CacheEntry entry = entries.remove(sqlKey);
+        if (entry != null) {
+            sizeBytes -= entry.sizeBytes;
+        }
+    }
+
+    @Override
+    public synchronized void clearCache(InternalService.PClearCacheRequest request) {
+        LOG.info("clear fe cache, entry num {}, size {} bytes", entries.size(), sizeBytes);
+        entries.clear();
+        sizeBytes = 0;
+    }
+}
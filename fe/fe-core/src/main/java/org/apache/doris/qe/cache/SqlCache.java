@@ -18,6 +18,7 @@
 package org.apache.doris.qe.cache;
 
 import org.apache.doris.analysis.SelectStmt;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Status;
 import org.apache.doris.common.util.DebugUtil;
 import org.apache.doris.metric.MetricRepo;
@@ -53,15 +54,42 @@ public class SqlCache extends Cache {
                         .setLastVersionTime(latestTable.latestTime))
                 .build();
 
+        // try fe cache first, fall back to be cache
+        boolean feCacheEnabled = Config.cache_enable_fe_sql_cache;
+        if (feCacheEnabled) {
+            InternalService.PFetchCacheResult cacheResult = CacheFeProxy.getInstance()
+                    .fetchCache(request, CacheProxy.FETCH_TIMEOUT, new Status());
+            if (cacheResult.getStatus() == InternalService.PCacheStatus.CACHE_OK) {
+                MetricRepo.COUNTER_CACHE_FE_HIT_SQL.increase(1L);
+                return onCacheHit(cacheResult);
+            }
+            MetricRepo.COUNTER_CACHE_FE_MISS_SQL.increase(1L);
+        } else if (CacheFeProxy.getInstance().getEntryNum() > 0) {
+            // fe cache has been disabled, release the memory
+            CacheFeProxy.getInstance().clearCache(null);
+        }
+
         InternalService.PFetchCacheResult cacheResult = proxy.fetchCache(request, 10000, status);
         if (status.ok() && cacheResult != null && cacheResult.getStatus() == InternalService.PCacheStatus.CACHE_OK) {
-            cacheResult = cacheResult.toBuilder().setAllCount(1).build();
-            MetricRepo.COUNTER_CACHE_HIT_SQL.increase(1L);
-            hitRange = HitRange.Full;
+            if (feCacheEnabled) {
+                // load the hot result into fe cache for the following queries
+                CacheFeProxy.getInstance().updateCache(InternalService.PUpdateCacheRequest.newBuilder()
+                        .setSqlKey(request.getSqlKey())
+                        .addAllValues(cacheResult.getValuesList())
+                        .setCacheType(InternalService.CacheType.SQL_CACHE)
+                        .build(), CacheProxy.UPDATE_TIMEOUT, new Status());
+            }
+            cacheResult = onCacheHit(cacheResult);
         }
         return cacheResult;
     }
 
+    private InternalService.PFetchCacheResult onCacheHit(InternalService.PFetchCacheResult cacheResult) {
+        MetricRepo.COUNTER_CACHE_HIT_SQL.increase(1L);
+        hitRange = HitRange.Full;
+        return cacheResult.toBuilder().setAllCount(1).build();
+    }
+
     public SelectStmt getRewriteStmt() {
         return null;
     }
@@ -82,6 +110,9 @@ public class SqlCache extends Cache {
                 rowBatchBuilder.buildSqlUpdateRequest(getSqlWithViewStmt(), latestTable.latestPartitionId,
                         latestTable.latestVersion, latestTable.latestTime);
         if (updateRequest.getValuesCount() > 0) {
+            if (Config.cache_enable_fe_sql_cache) {
+                CacheFeProxy.getInstance().updateCache(updateRequest, CacheProxy.UPDATE_TIMEOUT, new Status());
+            }
             CacheBeProxy proxy = new CacheBeProxy();
             Status status = new Status();
             proxy.updateCache(updateRequest, CacheProxy.UPDATE_TIMEOUT, status);
@@ -60,6 +60,7 @@ import org.apache.doris.datasource.InternalCatalog;
 import org.apache.doris.master.MasterImpl;
 import org.apache.doris.mysql.privilege.AccessControllerManager;
 import org.apache.doris.mysql.privilege.PrivPredicate;
+import org.apache.doris.planner.StreamLoadPlanCache;
 import org.apache.doris.planner.StreamLoadPlanner;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.qe.ConnectProcessor;
@@ -167,10 +168,12 @@ public class FrontendServiceImpl implements FrontendService.Iface {
     private static final Logger LOG = LogManager.getLogger(FrontendServiceImpl.class);
     private MasterImpl masterImpl;
     private ExecuteEnv exeEnv;
+    private StreamLoadPlanCache streamLoadPlanCache;
 
     public FrontendServiceImpl(ExecuteEnv exeEnv) {
         masterImpl = new MasterImpl();
         this.exeEnv = exeEnv;
+        streamLoadPlanCache = new StreamLoadPlanCache(Config.stream_load_plan_cache_max_entries);
     }
 
     @Override
@@ -1278,9 +1281,14 @@ public class FrontendServiceImpl implements FrontendService.Iface {
                     "get table read lock timeout, database=" + fullDbName + ",table=" + table.getName());
         }
         try {
-            StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request);
-            StreamLoadPlanner planner = new StreamLoadPlanner(db, (OlapTable) table, streamLoadTask);
-            TExecPlanFragmentParams plan = planner.plan(streamLoadTask.getId());
+            TExecPlanFragmentParams plan;
+            if (Config.enable_stream_load_plan_cache) {
+                plan = streamLoadPlanCache.plan(db, (OlapTable) table, request);
+            } else {
+                StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request);
+                StreamLoadPlanner planner = new StreamLoadPlanner(db, (OlapTable) table, streamLoadTask);
+                plan = planner.plan(streamLoadTask.getId());
+            }
             // add table indexes to transaction state
             TransactionState txnState = Env.getCurrentGlobalTransactionMgr()
                     .getTransactionState(db.getId(), request.getTxnId());
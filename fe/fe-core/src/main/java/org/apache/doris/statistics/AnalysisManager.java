@@ -176,6 +176,7 @@ public class AnalysisManager {
     private void createTaskForEachColumns(AnalyzeStmt analyzeStmt, String catalogName, String db, TableName tbl,
             Set<String> colNames, Set<String> partitionNames, Map<Long, AnalysisTaskInfo> analysisTaskInfos,
             long jobId) throws DdlException {
+        int samplePercent = analyzeStmt.getSamplePercent();
         for (String colName : colNames) {
             long taskId = Env.getCurrentEnv().getNextId();
             AnalysisType analType = analyzeStmt.isHistogram ? AnalysisType.HISTOGRAM : AnalysisType.COLUMN;
@@ -183,7 +184,9 @@ public class AnalysisManager {
                     .setTaskId(taskId).setCatalogName(catalogName).setDbName(db)
                     .setTblName(tbl.getTbl()).setColName(colName)
                     .setPartitionNames(partitionNames).setJobType(JobType.MANUAL)
-                    .setAnalysisMethod(AnalysisMethod.FULL).setAnalysisType(analType)
+                    .setAnalysisMethod(samplePercent < 100 ? AnalysisMethod.SAMPLE : AnalysisMethod.FULL)
+                    .setSamplePercent(samplePercent).setIncremental(analyzeStmt.isIncrement)
+                    .setAnalysisType(analType)
                     .setState(AnalysisState.PENDING)
                     .setScheduleType(ScheduleType.ONCE).build();
             try {
@@ -73,8 +73,15 @@ public class AnalysisTaskInfo {
 
     public final AnalysisType analysisType;
 
+    // percent of tablets to scan in each partition, 100 means full scan
+    public final int samplePercent;
+
+    public final double sampleRate;
+
+    // only analyze the partitions whose data changed since the last analysis
+    public final boolean incremental;
+
     // TODO: define constants or get them from configuration properties
-    public final double sampleRate = 1.0;
     public final int maxBucketNum = 128;
 
     public String message;
@@ -89,7 +96,8 @@ public class AnalysisTaskInfo {
     public AnalysisTaskInfo(long jobId, long taskId, String catalogName, String dbName, String tblName,
             String colName, Set<String> partitionNames, Long indexId, JobType jobType,
             AnalysisMethod analysisMethod, AnalysisType analysisType, String message,
-            int lastExecTimeInMs, AnalysisState state, ScheduleType scheduleType) {
+            int lastExecTimeInMs, AnalysisState state, ScheduleType scheduleType, int samplePercent,
+            boolean incremental) {
         this.jobId = jobId;
         this.taskId = taskId;
         this.catalogName = catalogName;
@@ -105,6 +113,9 @@ public class AnalysisTaskInfo {
         this.lastExecTimeInMs = lastExecTimeInMs;
         this.state = state;
         this.scheduleType = scheduleType;
+        this.samplePercent = samplePercent;
+        this.sampleRate = samplePercent / 100.0;
+        this.incremental = incremental;
     }
 
     @Override
@@ -118,6 +129,8 @@ public class AnalysisTaskInfo {
         sj.add("PartitionNames: " + partitionNames);
         sj.add("TaskType: " + analysisType.toString());
         sj.add("TaskMethod: " + analysisMethod.toString());
+        sj.add("SamplePercent: " + samplePercent);
+        sj.add("Incremental: " + incremental);
         sj.add("Message: " + message);
         sj.add("LastExecTime: " + lastExecTimeInMs);
         sj.add("CurrentState: " + state.toString());
@@ -40,6 +40,8 @@ public class AnalysisTaskInfoBuilder {
     private int lastExecTimeInMs;
     private AnalysisState state;
     private ScheduleType scheduleType;
+    private int samplePercent = 100;
+    private boolean incremental;
 
     public AnalysisTaskInfoBuilder setJobId(long jobId) {
         this.jobId = jobId;
@@ -116,8 +118,19 @@ public class AnalysisTaskInfoBuilder {
         return this;
     }
 
+    public AnalysisTaskInfoBuilder setSamplePercent(int samplePercent) {
+        this.samplePercent = samplePercent;
+        return this;
+    }
+
+    public AnalysisTaskInfoBuilder setIncremental(boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
     public AnalysisTaskInfo build() {
         return new AnalysisTaskInfo(jobId, taskId, catalogName, dbName, tblName, colName, partitionNames,
-                indexId, jobType, analysisMethod, analysisType, message, lastExecTimeInMs, state, scheduleType);
+                indexId, jobType, analysisMethod, analysisType, message, lastExecTimeInMs, state, scheduleType,
+                samplePercent, incremental);
     }
 }
@@ -20,8 +20,12 @@ package org.apache.doris.statistics;
 import org.apache.doris.catalog.Column;
 import org.apache.doris.catalog.DatabaseIf;
 import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.HashDistributionInfo;
+import org.apache.doris.catalog.MaterializedIndex;
+import org.apache.doris.catalog.Partition;
 import org.apache.doris.catalog.PrimitiveType;
 import org.apache.doris.catalog.TableIf;
+import org.apache.doris.catalog.Tablet;
 import org.apache.doris.datasource.CatalogIf;
 import org.apache.doris.qe.StmtExecutor;
 import org.apache.doris.statistics.AnalysisTaskInfo.AnalysisType;
@@ -30,7 +34,9 @@ import com.google.common.annotations.VisibleForTesting;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 public abstract class BaseAnalysisTask {
@@ -52,12 +58,13 @@ public abstract class BaseAnalysisTask {
             + "${idxId} AS idx_id, "
             + "'${colId}' AS col_id, "
             + "${partId} AS part_id, "
-            + "COUNT(1) AS row_count, "
-            + "NDV(`${colName}`) AS ndv, "
-            + "SUM(CASE WHEN `${colName}` IS NULL THEN 1 ELSE 0 END) AS null_count, "
+            + "CAST(ROUND(COUNT(1) * ${scaleFactor:-1}) AS BIGINT) AS row_count, "
+            + "CAST(ROUND(NDV(`${colName}`) * ${ndvScaleFactor:-1}) AS BIGINT) AS ndv, "
+            + "CAST(ROUND(SUM(CASE WHEN `${colName}` IS NULL THEN 1 ELSE 0 END) * ${scaleFactor:-1}) AS BIGINT)"
+            + " AS null_count, "
             + "MIN(`${colName}`) AS min, "
             + "MAX(`${colName}`) AS max, "
-            + "${dataSizeFunction} AS data_size, "
+            + "CAST(ROUND(${dataSizeFunction} * ${scaleFactor:-1}) AS BIGINT) AS data_size, "
             + "NOW() ";
 
     protected static final String INSERT_COL_STATISTICS = "INSERT INTO "
@@ -185,6 +192,58 @@ public abstract class BaseAnalysisTask {
         return "COUNT(1) * " + column.getType().getSlotSize();
     }
 
+    protected boolean isSample() {
+        return info.samplePercent < 100;
+    }
+
+    /**
+     * The tablet list of scan is only applied to hash distributed partitions, others are fully scanned.
+     */
+    protected boolean canSample(Partition partition) {
+        return isSample() && partition.getDistributionInfo() instanceof HashDistributionInfo;
+    }
+
+    /**
+     * Choose samplePercent of the tablets in the base index of the partition. Tablets are chosen consecutively
+     * from a pseudo random start, so different partitions and tasks do not always sample the same buckets.
+     */
+    protected List<Long> getSampleTabletIds(Partition partition) {
+        List<Long> tabletIds = partition.getBaseIndex().getTabletIdsInOrder();
+        int sampleNum = (int) Math.min(tabletIds.size(), Math.ceil(tabletIds.size() * info.sampleRate));
+        if (sampleNum == tabletIds.size()) {
+            return tabletIds;
+        }
+        int start = Math.floorMod(Long.hashCode(info.taskId * 31 + partition.getId()), tabletIds.size());
+        List<Long> sampleTabletIds = new ArrayList<>(sampleNum);
+        for (int i = 0; i < sampleNum; i++) {
+            sampleTabletIds.add(tabletIds.get((start + i) % tabletIds.size()));
+        }
+        return sampleTabletIds;
+    }
+
+    protected long getTabletRowCount(Partition partition, List<Long> tabletIds) {
+        MaterializedIndex index = partition.getBaseIndex();
+        long rowCount = 0;
+        for (Long tabletId : tabletIds) {
+            Tablet tablet = index.getTablet(tabletId);
+            if (tablet != null) {
+                rowCount += tablet.getRowCount(true);
+            }
+        }
+        return rowCount;
+    }
+
+    /**
+     * The factor to scale count based statistics of sampled tablets up to the whole data. Reported row counts
+     * are used if available, otherwise assume rows are evenly distributed in tablets.
+     */
+    protected static double getScaleFactor(long totalRows, long sampleRows, long totalTablets, long sampleTablets) {
+        if (sampleRows > 0 && totalRows >= sampleRows) {
+            return (double) totalRows / sampleRows;
+        }
+        return sampleTablets == 0 ? 1.0 : (double) totalTablets / sampleTablets;
+    }
+
     private boolean isUnsupportedType(PrimitiveType type) {
         return unsupportedType.contains(type);
     }
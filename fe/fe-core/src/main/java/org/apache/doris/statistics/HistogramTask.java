@@ -18,6 +18,8 @@
 package org.apache.doris.statistics;
 
 import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.qe.AutoCloseConnectContext;
 import org.apache.doris.qe.StmtExecutor;
@@ -26,8 +28,11 @@ import org.apache.doris.statistics.util.StatisticsUtil;
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.commons.text.StringSubstitutor;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -54,6 +59,8 @@ public class HistogramTask extends BaseAnalysisTask {
     private static final String ANALYZE_HISTOGRAM_SQL_TEMPLATE_PART = ANALYZE_HISTOGRAM_SQL_TEMPLATE_TABLE
             + "    PARTITION (${partName})";
 
+    private static final String SAMPLE_TABLETS = " TABLET(${tabletIds})";
+
     @VisibleForTesting
     public HistogramTask() {
         super();
@@ -83,22 +90,34 @@ public class HistogramTask extends BaseAnalysisTask {
         String histogramSql;
         Set<String> partitionNames = info.partitionNames;
 
-        if (partitionNames.isEmpty()) {
-            StringSubstitutor stringSubstitutor = new StringSubstitutor(params);
-            histogramSql = stringSubstitutor.replace(ANALYZE_HISTOGRAM_SQL_TEMPLATE_TABLE);
-        } else {
-            try {
-                tbl.readLock();
-                String partNames = partitionNames.stream()
-                        .filter(x -> tbl.getPartition(x) != null)
-                        .map(partName ->  "`" + partName + "`")
+        try {
+            tbl.readLock();
+            String template;
+            List<Partition> partitions;
+            if (partitionNames.isEmpty()) {
+                template = ANALYZE_HISTOGRAM_SQL_TEMPLATE_TABLE;
+                partitions = new ArrayList<>(((OlapTable) tbl).getPartitions());
+            } else {
+                partitions = partitionNames.stream().map(tbl::getPartition).filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+                String partNames = partitions.stream()
+                        .map(partition -> "`" + partition.getName() + "`")
                         .collect(Collectors.joining(","));
                 params.put("partName", partNames);
-                StringSubstitutor stringSubstitutor = new StringSubstitutor(params);
-                histogramSql = stringSubstitutor.replace(ANALYZE_HISTOGRAM_SQL_TEMPLATE_PART);
-            } finally {
-                tbl.readUnlock();
+                template = ANALYZE_HISTOGRAM_SQL_TEMPLATE_PART;
             }
+            if (!partitions.isEmpty() && partitions.stream().allMatch(this::canSample)) {
+                List<Long> tabletIds = new ArrayList<>();
+                partitions.forEach(partition -> tabletIds.addAll(getSampleTabletIds(partition)));
+                params.put("tabletIds", tabletIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+                template += SAMPLE_TABLETS;
+            } else {
+                params.put("sampleRate", "1.0");
+            }
+            StringSubstitutor stringSubstitutor = new StringSubstitutor(params);
+            histogramSql = stringSubstitutor.replace(template);
+        } finally {
+            tbl.readUnlock();
         }
 
         LOG.info("SQL to collect the histogram:\n {}", histogramSql);
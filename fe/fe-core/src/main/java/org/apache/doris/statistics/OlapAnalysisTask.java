@@ -17,21 +17,34 @@
 
 package org.apache.doris.statistics;
 
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.DistributionInfo;
 import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.HashDistributionInfo;
+import org.apache.doris.catalog.OlapTable;
 import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.PartitionInfo;
+import org.apache.doris.catalog.PartitionType;
+import org.apache.doris.common.DdlException;
 import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.util.TimeUtils;
 import org.apache.doris.qe.AutoCloseConnectContext;
 import org.apache.doris.qe.StmtExecutor;
+import org.apache.doris.statistics.util.InternalQueryResult.ResultRow;
 import org.apache.doris.statistics.util.StatisticsUtil;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.commons.text.StringSubstitutor;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TimeZone;
+import java.util.stream.Collectors;
 
 /**
  * Each task analyze one column.
@@ -42,12 +55,33 @@ public class OlapAnalysisTask extends BaseAnalysisTask {
             + "FROM `${dbName}`.`${tblName}` "
             + "PARTITION ${partName}";
 
+    // Count based statistics of the sampled tablets are scaled up by scaleFactor. NDV is only scaled up
+    // for the distribution column, whose values in different tablets are disjoint.
+    private static final String ANALYZE_PARTITION_SAMPLE_SQL_TEMPLATE = ANALYZE_PARTITION_SQL_TEMPLATE
+            + " TABLET(${tabletIds})";
+
     // TODO Currently, NDV is computed for the full table; in fact,
     //  NDV should only be computed for the relevant partition.
     private static final String ANALYZE_COLUMN_SQL_TEMPLATE = INSERT_COL_STATISTICS
             + "     (SELECT NDV(`${colName}`) AS ndv "
             + "     FROM `${dbName}`.`${tblName}`) t2\n";
 
+    private static final String ANALYZE_COLUMN_SAMPLE_SQL_TEMPLATE = INSERT_COL_STATISTICS
+            + "     (SELECT CAST(ROUND(NDV(`${colName}`) * ${ndvScaleFactor}) AS BIGINT) AS ndv "
+            + "     FROM `${dbName}`.`${tblName}` TABLET(${tabletIds})) t2\n";
+
+    // Values of the only partition column are disjoint between partitions,
+    // so the NDV of table is merged from the NDV of partitions without scanning the table.
+    private static final String MERGE_COLUMN_SQL_TEMPLATE = INSERT_COL_STATISTICS
+            + "     (SELECT SUM(ndv) AS ndv "
+            + "     FROM ${internalDB}.${columnStatTbl}"
+            + "     WHERE ${internalDB}.${columnStatTbl}.db_id = '${dbId}' AND "
+            + "     ${internalDB}.${columnStatTbl}.tbl_id='${tblId}' AND "
+            + "     ${internalDB}.${columnStatTbl}.col_id='${colId}' AND "
+            + "     ${internalDB}.${columnStatTbl}.idx_id='${idxId}' AND "
+            + "     ${internalDB}.${columnStatTbl}.part_id IN (${partIds})"
+            + "     ) t2\n";
+
     @VisibleForTesting
     public OlapAnalysisTask() {
         super();
@@ -70,10 +104,21 @@ public class OlapAnalysisTask extends BaseAnalysisTask {
         params.put("dbName", info.dbName);
         params.put("colName", String.valueOf(info.colName));
         params.put("tblName", String.valueOf(info.tblName));
+        Set<String> partNames = info.partitionNames;
+        if (info.incremental) {
+            partNames = getChangedPartitions(partNames);
+            if (partNames.isEmpty()) {
+                LOG.info("skip analyzing column {} of table {}, no partition changed since last analysis",
+                        info.colName, info.tblName);
+                return;
+            }
+        }
         List<String> partitionAnalysisSQLs = new ArrayList<>();
+        OlapTable olapTable = (OlapTable) tbl;
+        boolean mergeNdv;
+        boolean sampleTable;
         try {
             tbl.readLock();
-            Set<String> partNames = info.partitionNames;
             for (String partName : partNames) {
                 Partition part = tbl.getPartition(partName);
                 if (part == null) {
@@ -82,8 +127,32 @@ public class OlapAnalysisTask extends BaseAnalysisTask {
                 params.put("partId", String.valueOf(tbl.getPartition(partName).getId()));
                 // Avoid error when get the default partition
                 params.put("partName", "`" + partName + "`");
+                String template = ANALYZE_PARTITION_SQL_TEMPLATE;
+                removeSampleParams(params);
+                if (canSample(part)) {
+                    List<Long> tabletIds = getSampleTabletIds(part);
+                    if (tabletIds.isEmpty()) {
+                        continue;
+                    }
+                    double scaleFactor = getScaleFactor(part.getBaseIndex().getRowCount(),
+                            getTabletRowCount(part, tabletIds), part.getBaseIndex().getTablets().size(),
+                            tabletIds.size());
+                    putSampleParams(params, tabletIds, scaleFactor, isDistributionColumn(part));
+                    template = ANALYZE_PARTITION_SAMPLE_SQL_TEMPLATE;
+                }
                 StringSubstitutor stringSubstitutor = new StringSubstitutor(params);
-                partitionAnalysisSQLs.add(stringSubstitutor.replace(ANALYZE_PARTITION_SQL_TEMPLATE));
+                partitionAnalysisSQLs.add(stringSubstitutor.replace(template));
+            }
+            // the statistics of dropped partitions are still in the statistics table,
+            // so only the current partitions are merged
+            mergeNdv = info.incremental && isOnlyPartitionColumn(olapTable.getPartitionInfo());
+            if (mergeNdv) {
+                params.put("partIds", getPartitionIds(olapTable));
+            }
+            removeSampleParams(params);
+            sampleTable = !mergeNdv && olapTable.getPartitions().stream().allMatch(this::canSample);
+            if (sampleTable) {
+                putTableSampleParams(params, olapTable);
             }
         } finally {
             tbl.readUnlock();
@@ -91,12 +160,118 @@ public class OlapAnalysisTask extends BaseAnalysisTask {
         execSQLs(partitionAnalysisSQLs);
         params.remove("partId");
         params.put("type", col.getType().toString());
+        String template = ANALYZE_COLUMN_SQL_TEMPLATE;
+        if (mergeNdv) {
+            template = MERGE_COLUMN_SQL_TEMPLATE;
+        } else if (sampleTable) {
+            template = ANALYZE_COLUMN_SAMPLE_SQL_TEMPLATE;
+        }
         StringSubstitutor stringSubstitutor = new StringSubstitutor(params);
-        String sql = stringSubstitutor.replace(ANALYZE_COLUMN_SQL_TEMPLATE);
+        String sql = stringSubstitutor.replace(template);
         execSQL(sql);
         Env.getCurrentEnv().getStatisticsCache().refreshColStatsSync(tbl.getId(), -1, col.getName());
     }
 
+    /**
+     * Get the partitions whose visible version changed after their statistics were collected.
+     */
+    private Set<String> getChangedPartitions(Set<String> partNames) {
+        Map<Long, String> partIdToName = new HashMap<>();
+        Map<Long, Long> partIdToVersionTime = new HashMap<>();
+        try {
+            tbl.readLock();
+            for (String partName : partNames) {
+                Partition part = tbl.getPartition(partName);
+                if (part != null) {
+                    partIdToName.put(part.getId(), partName);
+                    partIdToVersionTime.put(part.getId(), part.getVisibleVersionTime());
+                }
+            }
+        } finally {
+            tbl.readUnlock();
+        }
+        if (partIdToName.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<ResultRow> rows = StatisticsRepository.queryPartitionStatistics(tbl.getId(), col.getName(),
+                partIdToName.keySet());
+        TimeZone timeZone = TimeUtils.getTimeZone();
+        for (ResultRow row : rows) {
+            try {
+                long partId = Long.parseLong(row.getColumnValue("part_id"));
+                long updateTime = TimeUtils.timeStringToLong(row.getColumnValue("update_time"), timeZone);
+                Long versionTime = partIdToVersionTime.get(partId);
+                // update_time is truncated to seconds, only skip the partition if it is analyzed afterwards
+                if (versionTime != null && updateTime > versionTime) {
+                    partIdToName.remove(partId);
+                }
+            } catch (DdlException | NumberFormatException e) {
+                LOG.warn("failed to parse partition statistics of column {} of table {}, analyze it again",
+                        info.colName, info.tblName, e);
+            }
+        }
+        return new HashSet<>(partIdToName.values());
+    }
+
+    private String getPartitionIds(OlapTable olapTable) {
+        String partIds = olapTable.getPartitions().stream().map(p -> "'" + p.getId() + "'")
+                .collect(Collectors.joining(","));
+        // a table without partitions, IN () is not valid
+        return partIds.isEmpty() ? "'-1'" : partIds;
+    }
+
+    private void removeSampleParams(Map<String, String> params) {
+        params.remove("tabletIds");
+        params.remove("scaleFactor");
+        params.remove("ndvScaleFactor");
+    }
+
+    private void putSampleParams(Map<String, String> params, List<Long> tabletIds, double scaleFactor,
+            boolean isDistributionColumn) {
+        params.put("tabletIds", tabletIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        params.put("scaleFactor", String.valueOf(scaleFactor));
+        params.put("ndvScaleFactor", String.valueOf(isDistributionColumn ? scaleFactor : 1.0));
+    }
+
+    private void putTableSampleParams(Map<String, String> params, OlapTable olapTable) {
+        List<Long> tabletIds = new ArrayList<>();
+        long totalRows = 0;
+        long sampleRows = 0;
+        long totalTablets = 0;
+        boolean isDistributionColumn = true;
+        for (Partition part : olapTable.getPartitions()) {
+            List<Long> partTabletIds = getSampleTabletIds(part);
+            tabletIds.addAll(partTabletIds);
+            totalRows += part.getBaseIndex().getRowCount();
+            sampleRows += getTabletRowCount(part, partTabletIds);
+            totalTablets += part.getBaseIndex().getTablets().size();
+            isDistributionColumn &= isDistributionColumn(part);
+        }
+        if (tabletIds.isEmpty()) {
+            // an empty table, TABLET() is not valid
+            tabletIds.add(-1L);
+        }
+        putSampleParams(params, tabletIds, getScaleFactor(totalRows, sampleRows, totalTablets, tabletIds.size()),
+                isDistributionColumn);
+    }
+
+    private boolean isDistributionColumn(Partition partition) {
+        DistributionInfo distributionInfo = partition.getDistributionInfo();
+        if (!(distributionInfo instanceof HashDistributionInfo)) {
+            return false;
+        }
+        List<Column> distributionColumns = ((HashDistributionInfo) distributionInfo).getDistributionColumns();
+        return distributionColumns.size() == 1 && distributionColumns.get(0).getName().equalsIgnoreCase(col.getName());
+    }
+
+    private boolean isOnlyPartitionColumn(PartitionInfo partitionInfo) {
+        if (partitionInfo.getType() != PartitionType.RANGE && partitionInfo.getType() != PartitionType.LIST) {
+            return false;
+        }
+        List<Column> partitionColumns = partitionInfo.getPartitionColumns();
+        return partitionColumns.size() == 1 && partitionColumns.get(0).getName().equalsIgnoreCase(col.getName());
+    }
+
     @VisibleForTesting
     public void execSQLs(List<String> partitionAnalysisSQLs) throws Exception {
         for (String sql : partitionAnalysisSQLs) {
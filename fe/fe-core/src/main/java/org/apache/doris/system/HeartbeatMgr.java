@@ -25,6 +25,7 @@ import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.Version;
 import org.apache.doris.common.util.MasterDaemon;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.persist.HbPackage;
 import org.apache.doris.resource.Tag;
 import org.apache.doris.service.FrontendOptions;
@@ -47,19 +48,28 @@ import org.apache.doris.thrift.TPaloBrokerService;
 import org.apache.doris.thrift.TStatus;
 import org.apache.doris.thrift.TStatusCode;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Heartbeat manager run as a daemon at a fix interval.
@@ -69,6 +79,8 @@ public class HeartbeatMgr extends MasterDaemon {
     private static final Logger LOG = LogManager.getLogger(HeartbeatMgr.class);
 
     private final ExecutorService executor;
+    // node key -> heartbeat task of the node, only accessed by heartbeat mgr thread
+    private final Map<String, HeartbeatTask> pendingHeartbeats = Maps.newHashMap();
     private SystemInfoService nodeMgr;
     private HeartbeatFlags heartbeatFlags;
 
@@ -96,15 +108,20 @@ public class HeartbeatMgr extends MasterDaemon {
      * At each round:
      * 1. send heartbeat to all nodes
      * 2. collect the heartbeat response from all nodes, and handle them
+     *
+     * The responses are collected with a deadline of Config.heartbeat_node_timeout_ms, so that hung nodes
+     * will not delay the heartbeat of the whole cluster. A node whose heartbeat is timeout is treated as a
+     * failed heartbeat in this round, and no new heartbeat will be sent to it until the pending one returns.
      */
     @Override
     protected void runAfterCatalogReady() {
-        List<Future<HeartbeatResponse>> hbResponses = Lists.newArrayList();
+        List<HeartbeatTask> hbTasks = Lists.newArrayList();
 
         // send backend heartbeat
         for (Backend backend : nodeMgr.getIdToBackend().values()) {
             BackendHeartbeatHandler handler = new BackendHeartbeatHandler(backend);
-            hbResponses.add(executor.submit(handler));
+            hbTasks.add(submitHeartbeat("backend", String.valueOf(backend.getId()), handler,
+                    errMsg -> new BackendHbResponse(backend.getId(), backend.getIp(), errMsg)));
         }
 
         // send frontend heartbeat
@@ -113,7 +130,8 @@ public class HeartbeatMgr extends MasterDaemon {
             FrontendHeartbeatHandler handler = new FrontendHeartbeatHandler(frontend,
                     Env.getCurrentEnv().getClusterId(),
                     Env.getCurrentEnv().getToken());
-            hbResponses.add(executor.submit(handler));
+            hbTasks.add(submitHeartbeat("frontend", frontend.getNodeName(), handler,
+                    errMsg -> new FrontendHbResponse(frontend.getNodeName(), errMsg)));
         }
 
         // send broker heartbeat;
@@ -123,19 +141,22 @@ public class HeartbeatMgr extends MasterDaemon {
             for (FsBroker brokerAddress : entry.getValue()) {
                 BrokerHeartbeatHandler handler = new BrokerHeartbeatHandler(entry.getKey(), brokerAddress,
                         masterInfo.get().getNetworkAddress().getHostname());
-                hbResponses.add(executor.submit(handler));
+                hbTasks.add(submitHeartbeat("broker",
+                        entry.getKey() + "_" + brokerAddress.ip + "_" + brokerAddress.port, handler,
+                        errMsg -> new BrokerHbResponse(entry.getKey(), brokerAddress.ip, brokerAddress.port, errMsg)));
             }
         }
+        removeStaleHeartbeats(hbTasks);
 
         // collect all heartbeat responses and handle them.
         // and also we find which node's info is changed, if is changed, we need collect them and write
         // an edit log to synchronize the info to other Frontends
         HbPackage hbPackage = new HbPackage();
-        for (Future<HeartbeatResponse> future : hbResponses) {
+        long deadline = System.currentTimeMillis() + Config.heartbeat_node_timeout_ms;
+        for (HeartbeatTask hbTask : hbTasks) {
             boolean isChanged = false;
             try {
-                // the heartbeat rpc's timeout is 5 seconds, so we will not be blocked here very long.
-                HeartbeatResponse response = future.get();
+                HeartbeatResponse response = hbTask.getResponse(deadline);
                 if (response.getStatus() != HbStatus.OK) {
                     LOG.warn("get bad heartbeat response: {}", response);
                 }
@@ -152,6 +173,45 @@ public class HeartbeatMgr extends MasterDaemon {
         Env.getCurrentEnv().getEditLog().logHeartbeat(hbPackage);
     }
 
+    @VisibleForTesting
+    HeartbeatTask submitHeartbeat(String type, String nodeKey, Callable<HeartbeatResponse> handler,
+            Function<String, HeartbeatResponse> failedResponse) {
+        String key = type + "_" + nodeKey;
+        HeartbeatTask hbTask = pendingHeartbeats.get(key);
+        if (hbTask == null) {
+            // the dot is used as the separator of metric name, so replace it in node key, eg: ip of broker
+            String latencyMetricName = MetricRegistry.name("heartbeat", "latency", "ms",
+                    "type=" + type, "node=" + nodeKey.replace('.', '_'));
+            hbTask = new HeartbeatTask(key, latencyMetricName);
+            pendingHeartbeats.put(key, hbTask);
+        }
+        hbTask.failedResponse = failedResponse;
+        if (hbTask.future == null || hbTask.future.isDone()) {
+            hbTask.submit(handler);
+        } else {
+            LOG.info("last heartbeat to {} is still pending for {} ms, skip sending a new one",
+                    key, System.currentTimeMillis() - hbTask.sendTime);
+        }
+        return hbTask;
+    }
+
+    // remove the heartbeat tasks and latency metrics of the dropped nodes
+    @VisibleForTesting
+    void removeStaleHeartbeats(List<HeartbeatTask> hbTasks) {
+        if (hbTasks.size() == pendingHeartbeats.size()) {
+            return;
+        }
+        Set<String> keys = hbTasks.stream().map(t -> t.key).collect(Collectors.toSet());
+        Iterator<Map.Entry<String, HeartbeatTask>> iter = pendingHeartbeats.entrySet().iterator();
+        while (iter.hasNext()) {
+            HeartbeatTask hbTask = iter.next().getValue();
+            if (!keys.contains(hbTask.key)) {
+                MetricRepo.METRIC_REGISTER.remove(hbTask.latencyMetricName);
+                iter.remove();
+            }
+        }
+    }
+
     private boolean handleHbResponse(HeartbeatResponse response, boolean isReplay) {
         switch (response.getType()) {
             case FRONTEND: {
@@ -166,7 +226,12 @@ public class HeartbeatMgr extends MasterDaemon {
                 BackendHbResponse hbResponse = (BackendHbResponse) response;
                 Backend be = nodeMgr.getBackend(hbResponse.getBeId());
                 if (be != null) {
+                    boolean isAlive = be.isAlive();
                     boolean isChanged = be.handleHbResponse(hbResponse);
+                    if (!isReplay && isAlive != be.isAlive()) {
+                        // health of tablets on this backend is changed
+                        Env.getCurrentEnv().getTabletChecker().markBackendDirty(be.getId());
+                    }
                     if (hbResponse.getStatus() != HbStatus.OK) {
                         // invalid all connections cached in ClientPool
                         ClientPool.backendPool.clearPool(new TNetworkAddress(be.getIp(), be.getBePort()));
@@ -199,6 +264,42 @@ public class HeartbeatMgr extends MasterDaemon {
         return false;
     }
 
+    // the heartbeat of one node, which may be pending across rounds if the node does not respond in time
+    class HeartbeatTask {
+        private final String key;
+        private final Histogram latency;
+        private final String latencyMetricName;
+        private Function<String, HeartbeatResponse> failedResponse;
+        private volatile Future<HeartbeatResponse> future;
+        private volatile long sendTime;
+
+        public HeartbeatTask(String key, String latencyMetricName) {
+            this.key = key;
+            this.latency = MetricRepo.METRIC_REGISTER.histogram(latencyMetricName);
+            this.latencyMetricName = latencyMetricName;
+        }
+
+        public void submit(Callable<HeartbeatResponse> handler) {
+            sendTime = System.currentTimeMillis();
+            future = executor.submit(() -> {
+                try {
+                    return handler.call();
+                } finally {
+                    latency.update(System.currentTimeMillis() - sendTime);
+                }
+            });
+        }
+
+        public HeartbeatResponse getResponse(long deadline) throws InterruptedException, ExecutionException {
+            try {
+                return future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                return failedResponse.apply("heartbeat timeout, pending for "
+                        + (System.currentTimeMillis() - sendTime) + " ms");
+            }
+        }
+    }
+
     // backend heartbeat
     private class BackendHeartbeatHandler implements Callable<HeartbeatResponse> {
         private Backend backend;
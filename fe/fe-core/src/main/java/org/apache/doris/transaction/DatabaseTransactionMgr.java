@@ -78,6 +78,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
@@ -100,14 +102,22 @@ public class DatabaseTransactionMgr {
     private final long dbId;
 
     // the lock is used to control the access to transaction states
-    // no other locks should be inside this lock
+    // no other locks should be inside this lock.
+    // begin and commit of transactions only hold the read lock together with the label lock of the
+    // transaction, so that loads with different labels do not block each other. Operations which move
+    // transactions to final status, remove transactions or need a consistent view of all transactions
+    // still hold the write lock.
     private final ReentrantReadWriteLock transactionLock = new ReentrantReadWriteLock(true);
 
+    // striped locks of labels, see labelLock()
+    private final ReentrantLock[] labelLocks;
+
     // transactionId -> running TransactionState
-    private final Map<Long, TransactionState> idToRunningTransactionState = Maps.newHashMap();
+    // the maps are concurrent so that transaction states can be read without lock
+    private final Map<Long, TransactionState> idToRunningTransactionState = Maps.newConcurrentMap();
 
     // transactionId -> final status TransactionState
-    private final Map<Long, TransactionState> idToFinalStatusTransactionState = Maps.newHashMap();
+    private final Map<Long, TransactionState> idToFinalStatusTransactionState = Maps.newConcurrentMap();
 
     // The following 2 queues are to store transactionStates with final status
     // These queues are mainly used to avoid traversing all txns and speed up the cleaning time
@@ -124,13 +134,13 @@ public class DatabaseTransactionMgr {
     // this member should be consistent with idToTransactionState,
     // which means if a txn exist in idToRunningTransactionState or idToFinalStatusTransactionState
     // it must exists in dbIdToTxnLabels, and vice versa
-    private final Map<String, Set<Long>> labelToTxnIds = Maps.newHashMap();
+    private final Map<String, Set<Long>> labelToTxnIds = Maps.newConcurrentMap();
 
     // count the number of running txns of database, except for the routine load txn
-    private volatile int runningTxnNums = 0;
+    private final AtomicInteger runningTxnNums = new AtomicInteger(0);
 
     // count only the number of running routine load txns of database
-    private volatile int runningRoutineLoadTxnNums = 0;
+    private final AtomicInteger runningRoutineLoadTxnNums = new AtomicInteger(0);
 
     private final Env env;
 
@@ -165,11 +175,20 @@ public class DatabaseTransactionMgr {
         this.transactionLock.writeLock().unlock();
     }
 
+    // the label lock must be acquired after the read lock, and no other label lock should be inside it
+    private ReentrantLock labelLock(String label) {
+        return labelLocks[Math.floorMod(label.hashCode(), labelLocks.length)];
+    }
+
     public DatabaseTransactionMgr(long dbId, Env env, TransactionIdGenerator idGenerator) {
         this.dbId = dbId;
         this.env = env;
         this.idGenerator = idGenerator;
         this.editLog = env.getEditLog();
+        this.labelLocks = new ReentrantLock[Math.max(1, Config.transaction_label_lock_stripe_num)];
+        for (int i = 0; i < labelLocks.length; i++) {
+            labelLocks[i] = new ReentrantLock();
+        }
     }
 
     public long getDbId() {
@@ -177,19 +196,11 @@ public class DatabaseTransactionMgr {
     }
 
     public TransactionState getTransactionState(Long transactionId) {
-        readLock();
-        try {
-            TransactionState transactionState = idToRunningTransactionState.get(transactionId);
-            if (transactionState != null) {
-                return transactionState;
-            } else {
-                return idToFinalStatusTransactionState.get(transactionId);
-            }
-        } finally {
-            readUnlock();
-        }
+        return unprotectedGetTransactionState(transactionId);
     }
 
+    // a transaction is put into idToFinalStatusTransactionState before it is removed from
+    // idToRunningTransactionState, so it is always found here even without lock
     private TransactionState unprotectedGetTransactionState(Long transactionId) {
         TransactionState transactionState = idToRunningTransactionState.get(transactionId);
         if (transactionState != null) {
@@ -205,11 +216,11 @@ public class DatabaseTransactionMgr {
     }
 
     public int getRunningTxnNums() {
-        return runningTxnNums;
+        return runningTxnNums.get();
     }
 
     protected int getRunningRoutineLoadTxnNums() {
-        return runningRoutineLoadTxnNums;
+        return runningRoutineLoadTxnNums.get();
     }
 
     @VisibleForTesting
@@ -291,10 +302,12 @@ public class DatabaseTransactionMgr {
             throws DuplicatedRequestException, LabelAlreadyUsedException, BeginTransactionException,
             AnalysisException, QuotaExceedException, MetaNotFoundException {
         checkDatabaseDataQuota();
-        writeLock();
+        Preconditions.checkNotNull(coordinator);
+        Preconditions.checkNotNull(label);
+        ReentrantLock labelLock = labelLock(label);
+        readLock();
+        labelLock.lock();
         try {
-            Preconditions.checkNotNull(coordinator);
-            Preconditions.checkNotNull(label);
             FeNameFormat.checkLabel(label);
 
             /*
@@ -352,7 +365,8 @@ public class DatabaseTransactionMgr {
             }
             throw e;
         } finally {
-            writeUnlock();
+            labelLock.unlock();
+            readUnlock();
         }
     }
 
@@ -649,7 +663,10 @@ public class DatabaseTransactionMgr {
         transactionState.beforeStateTransform(TransactionStatus.COMMITTED);
         // transaction state transform
         boolean txnOperated = false;
-        writeLock();
+        // COMMITTED is not a final status, so the read lock and label lock are enough
+        ReentrantLock labelLock = labelLock(transactionState.getLabel());
+        readLock();
+        labelLock.lock();
         try {
             if (is2PC) {
                 unprotectedCommitTransaction2PC(transactionState, db);
@@ -659,7 +676,8 @@ public class DatabaseTransactionMgr {
             }
             txnOperated = true;
         } finally {
-            writeUnlock();
+            labelLock.unlock();
+            readUnlock();
             // after state transform
             transactionState.afterStateTransform(TransactionStatus.COMMITTED, txnOperated);
         }
@@ -776,32 +794,22 @@ public class DatabaseTransactionMgr {
     }
 
     public TransactionStatus getLabelState(String label) {
-        readLock();
-        try {
-            Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
-            if (existingTxnIds == null || existingTxnIds.isEmpty()) {
-                return TransactionStatus.UNKNOWN;
-            }
-            // find the latest txn (which id is largest)
-            long maxTxnId = existingTxnIds.stream().max(Comparator.comparingLong(Long::valueOf)).get();
-            return unprotectedGetTransactionState(maxTxnId).getTransactionStatus();
-        } finally {
-            readUnlock();
+        Long maxTxnId = getTransactionId(label);
+        if (maxTxnId == null) {
+            return TransactionStatus.UNKNOWN;
         }
+        TransactionState transactionState = unprotectedGetTransactionState(maxTxnId);
+        // the txn may be removed concurrently as it is expired
+        return transactionState == null ? TransactionStatus.UNKNOWN : transactionState.getTransactionStatus();
     }
 
     public Long getTransactionId(String label) {
-        readLock();
-        try {
-            Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
-            if (existingTxnIds == null || existingTxnIds.isEmpty()) {
-                return null;
-            }
-            // find the latest txn (which id is largest)
-            return existingTxnIds.stream().max(Comparator.comparingLong(Long::valueOf)).get();
-        } finally {
-            readUnlock();
+        Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
+        if (existingTxnIds == null) {
+            return null;
         }
+        // find the latest txn (which id is largest)
+        return existingTxnIds.stream().max(Comparator.comparingLong(Long::valueOf)).orElse(null);
     }
 
     public List<TransactionState> getPreCommittedTxnList() {
@@ -1108,6 +1116,8 @@ public class DatabaseTransactionMgr {
     }
 
     // for add/update/delete TransactionState
+    // the write lock must be held if the transaction is in final status,
+    // otherwise the read lock and the label lock of the transaction are enough.
     protected void unprotectUpsertTransactionState(TransactionState transactionState, boolean isReplay) {
         // if this is a replay operation, we should not log it
         if (!isReplay) {
@@ -1123,20 +1133,20 @@ public class DatabaseTransactionMgr {
         if (!transactionState.getTransactionStatus().isFinalStatus()) {
             if (idToRunningTransactionState.put(transactionState.getTransactionId(), transactionState) == null) {
                 if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
-                    runningRoutineLoadTxnNums++;
+                    runningRoutineLoadTxnNums.incrementAndGet();
                 } else {
-                    runningTxnNums++;
+                    runningTxnNums.incrementAndGet();
                 }
             }
         } else {
+            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             if (idToRunningTransactionState.remove(transactionState.getTransactionId()) != null) {
                 if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
-                    runningRoutineLoadTxnNums--;
+                    runningRoutineLoadTxnNums.decrementAndGet();
                 } else {
-                    runningTxnNums--;
+                    runningTxnNums.decrementAndGet();
                 }
             }
-            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             if (transactionState.isShortTxn()) {
                 finalStatusTransactionStateDequeShort.add(transactionState);
             } else {
@@ -1147,16 +1157,12 @@ public class DatabaseTransactionMgr {
     }
 
     public int getRunningTxnNum() {
-        readLock();
-        try {
-            return runningTxnNums;
-        } finally {
-            readUnlock();
-        }
+        return runningTxnNums.get();
     }
 
     private void updateTxnLabels(TransactionState transactionState) {
-        Set<Long> txnIds = labelToTxnIds.computeIfAbsent(transactionState.getLabel(), k -> Sets.newHashSet());
+        Set<Long> txnIds = labelToTxnIds.computeIfAbsent(transactionState.getLabel(),
+                k -> Sets.newConcurrentHashSet());
         txnIds.add(transactionState.getTransactionId());
     }
 
@@ -1538,10 +1544,13 @@ public class DatabaseTransactionMgr {
                 //    load, and other txn may not be able to submitted.
                 break;
             default:
+                // transactions with different labels begin concurrently, so the limit may be exceeded
+                // by at most Config.transaction_label_lock_stripe_num transactions
                 long txnQuota = env.getInternalCatalog().getDbOrMetaException(dbId).getTransactionQuotaSize();
-                if (runningTxnNums >= txnQuota) {
+                int runningNum = runningTxnNums.get();
+                if (runningNum >= txnQuota) {
                     throw new BeginTransactionException("current running txns on db " + dbId + " is "
-                            + runningTxnNums + ", larger than limit " + txnQuota);
+                            + runningNum + ", larger than limit " + txnQuota);
                 }
                 break;
         }
@@ -1587,6 +1596,8 @@ public class DatabaseTransactionMgr {
 
     private boolean updateCatalogAfterVisible(TransactionState transactionState, Database db) {
         Set<Long> errorReplicaIds = transactionState.getErrorReplicas();
+        // tablets with replicas falling behind the visible version, which need to be repaired
+        List<Long> versionLagTabletIds = Lists.newArrayList();
         for (TableCommitInfo tableCommitInfo : transactionState.getIdToTableCommitInfos().values()) {
             long tableId = tableCommitInfo.getTableId();
             OlapTable table = (OlapTable) db.getTableNullable(tableId);
@@ -1643,6 +1654,9 @@ public class DatabaseTransactionMgr {
                                 }
                             }
                             replica.updateVersionWithFailedInfo(newVersion, lastFailedVersion, lastSuccessVersion);
+                            if (lastFailedVersion > 0) {
+                                versionLagTabletIds.add(tablet.getId());
+                            }
                         }
                     }
                 } // end for indices
@@ -1655,6 +1669,9 @@ public class DatabaseTransactionMgr {
                 }
             }
         }
+        if (!versionLagTabletIds.isEmpty()) {
+            env.getTabletChecker().markTabletsDirty(versionLagTabletIds);
+        }
         return true;
     }
 
@@ -1764,7 +1781,7 @@ public class DatabaseTransactionMgr {
         readLock();
         try {
             infos.add(Lists.newArrayList("running", String.valueOf(
-                    runningTxnNums + runningRoutineLoadTxnNums)));
+                    runningTxnNums.get() + runningRoutineLoadTxnNums.get())));
             long finishedNum = getFinishedTxnNums();
             infos.add(Lists.newArrayList("finished", String.valueOf(finishedNum)));
         } finally {
@@ -231,4 +231,27 @@ public class AlterRoutineLoadStmtTest {
         } // CHECKSTYLE IGNORE THIS LINE
     }
 
+    @Test
+    public void testAdaptiveBatch() throws UserException {
+        Map<String, String> jobProperties = Maps.newHashMap();
+        jobProperties.put(CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY, "TRUE");
+        jobProperties.put(CreateRoutineLoadStmt.FRESHNESS_TARGET_SEC_PROPERTY, "5");
+        AlterRoutineLoadStmt stmt = new AlterRoutineLoadStmt(new LabelName("db1", "label1"),
+                jobProperties, new RoutineLoadDataSourceProperties());
+        stmt.analyze(analyzer);
+        Assert.assertEquals("true",
+                stmt.getAnalyzedJobProperties().get(CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY));
+        Assert.assertEquals("5",
+                stmt.getAnalyzedJobProperties().get(CreateRoutineLoadStmt.FRESHNESS_TARGET_SEC_PROPERTY));
+
+        jobProperties.put(CreateRoutineLoadStmt.FRESHNESS_TARGET_SEC_PROPERTY, "61");
+        AlterRoutineLoadStmt invalidStmt = new AlterRoutineLoadStmt(new LabelName("db1", "label1"),
+                jobProperties, new RoutineLoadDataSourceProperties());
+        try {
+            invalidStmt.analyze(analyzer);
+            Assert.fail();
+        } catch (AnalysisException e) {
+            Assert.assertTrue(e.getMessage().contains("freshness_target should between 1 and 60"));
+        }
+    }
 }
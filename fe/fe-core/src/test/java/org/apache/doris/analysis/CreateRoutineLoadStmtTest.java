@@ -202,4 +202,57 @@ public class CreateRoutineLoadStmtTest {
         Assert.assertEquals("+08:00", createRoutineLoadStmt.getTimezone());
     }
 
+    @Test
+    public void testAnalyzeAdaptiveBatch(@Injectable Analyzer analyzer,
+                                         @Injectable SessionVariable sessionVariable) throws UserException {
+        new MockUp<StatementBase>() {
+            @Mock
+            public void analyze(Analyzer analyzer1) {
+                return;
+            }
+        };
+
+        new Expectations() {
+            {
+                ctx.getSessionVariable();
+                minTimes = 0;
+                result = sessionVariable;
+                sessionVariable.getSendBatchParallelism();
+                minTimes = 0;
+                result = 1;
+            }
+        };
+
+        CreateRoutineLoadStmt createRoutineLoadStmt = createKafkaStmt(Maps.newHashMap());
+        createRoutineLoadStmt.analyze(analyzer);
+        Assert.assertFalse(createRoutineLoadStmt.isAdaptiveBatch());
+        Assert.assertEquals(-1, createRoutineLoadStmt.getFreshnessTargetS());
+
+        Map<String, String> properties = Maps.newHashMap();
+        properties.put(CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY, "true");
+        properties.put(CreateRoutineLoadStmt.FRESHNESS_TARGET_SEC_PROPERTY, "5");
+        createRoutineLoadStmt = createKafkaStmt(properties);
+        createRoutineLoadStmt.analyze(analyzer);
+        Assert.assertTrue(createRoutineLoadStmt.isAdaptiveBatch());
+        Assert.assertEquals(5, createRoutineLoadStmt.getFreshnessTargetS());
+
+        properties.put(CreateRoutineLoadStmt.FRESHNESS_TARGET_SEC_PROPERTY, "0");
+        try {
+            createKafkaStmt(properties).analyze(analyzer);
+            Assert.fail();
+        } catch (AnalysisException e) {
+            Assert.assertTrue(e.getMessage().contains("freshness_target should between 1 and 60"));
+        }
+    }
+
+    private CreateRoutineLoadStmt createKafkaStmt(Map<String, String> jobProperties) {
+        Map<String, String> properties = Maps.newHashMap(jobProperties);
+        properties.put(LoadStmt.TIMEZONE, "8:00");
+        Map<String, String> customProperties = Maps.newHashMap();
+        customProperties.put(CreateRoutineLoadStmt.KAFKA_TOPIC_PROPERTY, "topic1");
+        customProperties.put(CreateRoutineLoadStmt.KAFKA_BROKER_LIST_PROPERTY, "127.0.0.1:8080");
+        customProperties.put(CreateRoutineLoadStmt.KAFKA_PARTITIONS_PROPERTY, "1,2,3");
+        return new CreateRoutineLoadStmt(new LabelName("db1", "job1"), "table1", new ArrayList<>(), properties,
+                LoadDataSourceType.KAFKA.name(), customProperties, LoadTask.MergeType.APPEND, "");
+    }
 }
@@ -0,0 +1,107 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.analysis;
+
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.util.SqlParserUtils;
+import org.apache.doris.planner.OriginalPlanner;
+import org.apache.doris.qe.PointQueryPlanCache;
+import org.apache.doris.qe.StmtExecutor;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+public class PrepareStmtPointQueryTest extends TestWithFeService {
+    private static final String CREATE_TABLE = "create table test.tbl (k1 int, k2 varchar(32), v1 int)\n"
+            + "unique key(k1, k2) distributed by hash(k1) buckets 1\n"
+            + "properties('replication_num' = '1', 'light_schema_change' = 'true',\n"
+            + "'enable_unique_key_merge_on_write' = 'true', 'store_row_column' = 'true');";
+    private static final String SQL = "select * from test.tbl where k1 = 1 and k2 = 'a'";
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        FeConstants.runningUnitTest = true;
+        createDatabase("test");
+        useDatabase("test");
+        createTable(CREATE_TABLE);
+    }
+
+    // same as StmtExecutor prepares a point query on a cache miss
+    private PrepareStmt prepare(String sql) throws Exception {
+        SelectStmt selectStmt = (SelectStmt) SqlParserUtils.getFirstStmt(
+                new SqlParser(new SqlScanner(new StringReader(sql))));
+        selectStmt.replacePointQueryLiteralsWithPlaceHolders();
+        PrepareStmt stmt = new PrepareStmt(selectStmt, "point_query_plan", false);
+        stmt.setContext(connectContext);
+        stmt.analyze(new Analyzer(connectContext.getEnv(), connectContext));
+        return stmt;
+    }
+
+    @Test
+    public void testCastValuesToSlotTypes() throws Exception {
+        PrepareStmt stmt = prepare(SQL);
+        List<LiteralExpr> values = stmt.castValuesToSlotTypes(
+                Lists.newArrayList(new StringLiteral("2"), new IntLiteral(3)));
+        Assertions.assertTrue(values.get(0) instanceof IntLiteral);
+        Assertions.assertEquals(Type.INT, values.get(0).getType());
+        Assertions.assertEquals(2, values.get(0).getLongValue());
+        Assertions.assertTrue(values.get(1) instanceof StringLiteral);
+        Assertions.assertEquals("3", values.get(1).getStringValue());
+
+        Assertions.assertThrows(AnalysisException.class, () -> stmt.castValuesToSlotTypes(
+                Lists.newArrayList(new StringLiteral("abc"), new StringLiteral("a"))));
+        Assertions.assertThrows(AnalysisException.class, () -> stmt.castValuesToSlotTypes(
+                Lists.newArrayList(new IntLiteral(1))));
+    }
+
+    @Test
+    public void testReAnalyzeIfTableReplaced() throws Exception {
+        PrepareStmt stmt = prepare(SQL);
+        Assertions.assertFalse(stmt.needReAnalyze());
+
+        // same schema version, but another table
+        dropTable("test.tbl", true);
+        createTable(CREATE_TABLE);
+        Assertions.assertTrue(stmt.needReAnalyze());
+    }
+
+    @Test
+    public void testPlanCacheClearedByDdl() throws Exception {
+        int origCacheNum = Config.max_point_query_plan_cache_num;
+        Config.max_point_query_plan_cache_num = 16;
+        PointQueryPlanCache cache = PointQueryPlanCache.getInstance();
+        try {
+            cache.release("k1", new PointQueryPlanCache.CachedPlan(prepare(SQL), new OriginalPlanner(null), SQL));
+            Assertions.assertEquals(1, cache.getStmtNum());
+
+            new StmtExecutor(connectContext, "create database test_ddl").execute();
+            Assertions.assertEquals(0, cache.getStmtNum());
+        } finally {
+            Config.max_point_query_plan_cache_num = origCacheNum;
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.analysis;
+
+import org.apache.doris.common.util.SqlParserUtils;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+public class SelectStmtPointQueryTest {
+
+    private static SelectStmt parse(String sql) throws Exception {
+        SqlParser parser = new SqlParser(new SqlScanner(new StringReader(sql)));
+        return (SelectStmt) SqlParserUtils.getFirstStmt(parser);
+    }
+
+    @Test
+    public void testDigestIgnoresKeyLiterals() throws Exception {
+        SelectStmt stmt1 = parse("select k1, v1 from tbl where k1 = 1 and k2 = 'a'");
+        SelectStmt stmt2 = parse("select k1, v1 from tbl where k1 = 2 and k2 = 'b'");
+        Assert.assertNotNull(stmt1.getPointQueryDigest());
+        Assert.assertEquals(stmt1.getPointQueryDigest(), stmt2.getPointQueryDigest());
+
+        // literals in select list are part of the plan
+        SelectStmt stmt3 = parse("select k1, 1 from tbl where k1 = 1 and k2 = 'a'");
+        SelectStmt stmt4 = parse("select k1, 2 from tbl where k1 = 1 and k2 = 'a'");
+        Assert.assertNotEquals(stmt3.getPointQueryDigest(), stmt4.getPointQueryDigest());
+
+        List<LiteralExpr> literals = stmt1.getPointQueryLiterals();
+        Assert.assertEquals(2, literals.size());
+        Assert.assertEquals("1", literals.get(0).getStringValue());
+        Assert.assertEquals("a", literals.get(1).getStringValue());
+    }
+
+    @Test
+    public void testNotCandidate() throws Exception {
+        Assert.assertNull(parse("select * from tbl where k1 > 1").getPointQueryDigest());
+        Assert.assertNull(parse("select * from tbl where k1 = 1 or k2 = 2").getPointQueryDigest());
+        Assert.assertNull(parse("select * from tbl where k1 in (1, 2)").getPointQueryDigest());
+        Assert.assertNull(parse("select * from tbl where k1 = null").getPointQueryDigest());
+        Assert.assertNull(parse("select * from tbl where k1 = 1 limit 1").getPointQueryDigest());
+        Assert.assertNull(parse("select * from tbl where k1 = 1 order by k2").getPointQueryDigest());
+        Assert.assertNull(parse("select * from tbl").getPointQueryDigest());
+    }
+
+    @Test
+    public void testReplaceLiteralsWithPlaceHolders() throws Exception {
+        SelectStmt stmt = parse("select * from tbl where k1 = 1 and k2 = 2 and k3 = 3");
+        stmt.replacePointQueryLiteralsWithPlaceHolders();
+        List<PlaceHolderExpr> placeholders = Lists.newArrayList();
+        stmt.getWhereClause().collect(PlaceHolderExpr.class, placeholders);
+        Assert.assertEquals(3, placeholders.size());
+        Assert.assertNull(stmt.getPointQueryLiterals());
+    }
+}
@@ -104,6 +104,49 @@ public class SqlBlockRuleMgrTest extends TestWithFeService {
         dropSqlBlockRule(dropSqlRule);
     }
 
+    @Test
+    public void testMultiRegexMatchSql() throws Exception {
+        createSqlBlockRule("CREATE SQL_BLOCK_RULE test_rule1 PROPERTIES(\"sql\"=\"(select|SELECT) count\", "
+                + "\"global\"=\"true\", \"enable\"=\"true\");");
+        createSqlBlockRule("CREATE SQL_BLOCK_RULE test_rule2 PROPERTIES(\"sql\"=\"from (test_)?table3\", "
+                + "\"global\"=\"true\", \"enable\"=\"true\");");
+        createSqlBlockRule("CREATE SQL_BLOCK_RULE test_rule3 PROPERTIES(\"sql\"=\"from (test_)?table4\", "
+                + "\"global\"=\"true\", \"enable\"=\"false\");");
+        String sql = "select * from test_table3 limit 5";
+        ExceptionChecker.expectThrowsWithMsg(AnalysisException.class, "sql match regex sql block rule: test_rule2",
+                () -> mgr.matchSql(sql, DigestUtils.md5Hex(sql), "root"));
+        String sql2 = "select * from test_table4 limit 5";
+        ExceptionChecker.expectThrowsNoException(() -> mgr.matchSql(sql2, DigestUtils.md5Hex(sql2), "root"));
+        // matchers are rebuilt after rules changed
+        dropSqlBlockRule("DROP SQL_BLOCK_RULE test_rule2");
+        ExceptionChecker.expectThrowsNoException(() -> mgr.matchSql(sql, DigestUtils.md5Hex(sql), "root"));
+        dropSqlBlockRule("DROP SQL_BLOCK_RULE test_rule1, test_rule3");
+    }
+
+    @Test
+    public void testMultiRegexWithQuoteAndFlag() throws Exception {
+        // the unterminated quotation would swallow the following rules if they are combined
+        createSqlBlockRule("CREATE SQL_BLOCK_RULE test_rule1 PROPERTIES(\"sql\"=\"\\\\Qcount(*)\", "
+                + "\"global\"=\"true\", \"enable\"=\"true\");");
+        // the comments mode would make the spaces of the following rules ignored if they are combined
+        createSqlBlockRule("CREATE SQL_BLOCK_RULE test_rule2 PROPERTIES(\"sql\"=\"(?x)sum [(] k1 [)]\", "
+                + "\"global\"=\"true\", \"enable\"=\"true\");");
+        createSqlBlockRule("CREATE SQL_BLOCK_RULE test_rule3 PROPERTIES(\"sql\"=\"from test_table5 limit\", "
+                + "\"global\"=\"true\", \"enable\"=\"true\");");
+        String sql = "select count(*) from test_table6";
+        ExceptionChecker.expectThrowsWithMsg(AnalysisException.class, "sql match regex sql block rule: test_rule1",
+                () -> mgr.matchSql(sql, DigestUtils.md5Hex(sql), "root"));
+        String sql2 = "select sum(k1) from test_table6";
+        ExceptionChecker.expectThrowsWithMsg(AnalysisException.class, "sql match regex sql block rule: test_rule2",
+                () -> mgr.matchSql(sql2, DigestUtils.md5Hex(sql2), "root"));
+        String sql3 = "select * from test_table5 limit 5";
+        ExceptionChecker.expectThrowsWithMsg(AnalysisException.class, "sql match regex sql block rule: test_rule3",
+                () -> mgr.matchSql(sql3, DigestUtils.md5Hex(sql3), "root"));
+        String sql4 = "select * from test_table6 limit 5";
+        ExceptionChecker.expectThrowsNoException(() -> mgr.matchSql(sql4, DigestUtils.md5Hex(sql4), "root"));
+        dropSqlBlockRule("DROP SQL_BLOCK_RULE test_rule1, test_rule2, test_rule3");
+    }
+
     @Test
     public void testHashMatchSql() throws Exception {
         String sql = "select * from test_table1 tt1 join test_table2 tt2 on tt1.testId=tt2.testId limit 5";
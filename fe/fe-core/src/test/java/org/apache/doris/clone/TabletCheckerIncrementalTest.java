@@ -0,0 +1,147 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.clone;
+
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.Tablet;
+import org.apache.doris.common.Config;
+import org.apache.doris.system.Backend;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TabletCheckerIncrementalTest extends TestWithFeService {
+    private boolean origIncremental;
+    private long origFullSweepInterval;
+
+    private TabletChecker checker;
+    private TabletSchedulerStat stat;
+    private Database db;
+    private OlapTable tbl;
+    private List<Long> tabletIds;
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase("test");
+        createTable("CREATE TABLE test.tbl1 (\n"
+                + "  `k1` int NULL,\n"
+                + "  `k2` int NULL\n"
+                + ") ENGINE=OLAP\n"
+                + "DUPLICATE KEY(`k1`)\n"
+                + "DISTRIBUTED BY HASH(`k1`) BUCKETS 3\n"
+                + "PROPERTIES (\n"
+                + " \"replication_num\" = \"1\"\n"
+                + ");");
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        origIncremental = Config.enable_incremental_tablet_checker;
+        origFullSweepInterval = Config.tablet_checker_full_sweep_interval_sec;
+        Config.enable_incremental_tablet_checker = true;
+        Config.tablet_checker_full_sweep_interval_sec = 3600;
+
+        // a checker of its own, so the rounds are not interleaved with the tablet checker daemon
+        Env env = Env.getCurrentEnv();
+        stat = new TabletSchedulerStat();
+        checker = new TabletChecker(env, env.getClusterInfo(), env.getTabletScheduler(), stat);
+        db = env.getInternalCatalog().getDbOrMetaException("default_cluster:test");
+        tbl = (OlapTable) db.getTableOrMetaException("tbl1");
+        tabletIds = Lists.newArrayList();
+        for (Partition partition : tbl.getPartitions()) {
+            for (Tablet tablet : partition.getBaseIndex().getTablets()) {
+                tabletIds.add(tablet.getId());
+            }
+        }
+        Assertions.assertEquals(3, tabletIds.size());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Config.enable_incremental_tablet_checker = origIncremental;
+        Config.tablet_checker_full_sweep_interval_sec = origFullSweepInterval;
+    }
+
+    private long runRound() {
+        long checkedNum = stat.counterTabletChecked.get();
+        checker.runAfterCatalogReady();
+        return stat.counterTabletChecked.get() - checkedNum;
+    }
+
+    @Test
+    public void testCheckDirtyTablets() {
+        // the first round is a full sweep
+        long totalTabletNum = runRound();
+        Assertions.assertTrue(totalTabletNum >= tabletIds.size());
+        Assertions.assertEquals(totalTabletNum, checker.getRoundCheckedNum(TabletChecker.FULL_CHECK));
+
+        // nothing changed
+        Assertions.assertEquals(0, runRound());
+
+        // only the dirty tablets are checked
+        checker.markTabletsDirty(Lists.newArrayList(tabletIds.get(0)));
+        Assertions.assertEquals(1, checker.getDirtyTabletNum());
+        Assertions.assertEquals(1, runRound());
+        Assertions.assertEquals(1, checker.getRoundCheckedNum(TabletChecker.INCREMENTAL_CHECK));
+        Assertions.assertEquals(0, checker.getDirtyTabletNum());
+        Assertions.assertEquals(0, runRound());
+
+        // all tablets of a dirty table are checked once
+        checker.markTableDirty(db.getId(), tbl.getId());
+        checker.markTabletsDirty(tabletIds);
+        Assertions.assertEquals(tabletIds.size(), runRound());
+
+        // all tablets of a dirty backend are checked
+        Backend backend = Env.getCurrentSystemInfo().getIdToBackend().values().iterator().next();
+        checker.markBackendDirty(backend.getId());
+        Assertions.assertEquals(Env.getCurrentInvertedIndex().getTabletIdsByBackendId(backend.getId()).size(),
+                runRound());
+        Assertions.assertEquals(0, checker.getDirtyTabletNum());
+    }
+
+    @Test
+    public void testPeriodicFullSweep() {
+        long totalTabletNum = runRound();
+        checker.markTabletsDirty(Lists.newArrayList(tabletIds.get(0)));
+        Assertions.assertEquals(1, runRound());
+
+        // all tablets are checked when the full sweep interval elapsed, and the dirty marks are covered by it
+        Config.tablet_checker_full_sweep_interval_sec = 0;
+        checker.markTabletsDirty(Lists.newArrayList(tabletIds.get(0)));
+        Assertions.assertEquals(totalTabletNum, runRound());
+        Assertions.assertEquals(0, checker.getDirtyTabletNum());
+        Assertions.assertEquals(totalTabletNum, runRound());
+
+        // all tablets are checked every round if incremental check is disabled
+        Config.tablet_checker_full_sweep_interval_sec = 3600;
+        Config.enable_incremental_tablet_checker = false;
+        Assertions.assertEquals(totalTabletNum, runRound());
+        Config.enable_incremental_tablet_checker = true;
+        Assertions.assertEquals(0, runRound());
+    }
+}
@@ -321,6 +321,7 @@ public class TabletRepairAndBalanceTest {
 
         // wait all replica reallocating to correct backend
         checkTableReplicaAllocation(tbl);
+        replicaMetaTable = invertedIndex.getReplicaMetaTable();
         Assert.assertEquals(90, replicaMetaTable.cellSet().size());
 
         // for now, tbl has 3 partitions:
@@ -342,6 +343,7 @@ public class TabletRepairAndBalanceTest {
         Assert.assertEquals(tag2, be.getLocationTag());
         ExceptionChecker.expectThrows(UserException.class, () -> tbl.checkReplicaAllocation());
         checkTableReplicaAllocation(tbl);
+        replicaMetaTable = invertedIndex.getReplicaMetaTable();
         Assert.assertEquals(90, replicaMetaTable.cellSet().size());
 
         // For now, Backends:
@@ -0,0 +1,160 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.clone;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.Replica;
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.catalog.ReplicaAllocation;
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.catalog.TabletMeta;
+import org.apache.doris.clone.SchedException.Status;
+import org.apache.doris.clone.TabletSchedCtx.Type;
+import org.apache.doris.common.Config;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.task.AgentBatchTask;
+import org.apache.doris.task.DropReplicaTask;
+import org.apache.doris.thrift.TStorageMedium;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import mockit.Mocked;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+public class TabletSchedulerShardTest {
+    private static final int SHARD_NUM = 4;
+
+    @Mocked
+    private Env env;
+
+    private int origThreadNum;
+    private TabletInvertedIndex invertedIndex;
+
+    @Before
+    public void setUp() {
+        origThreadNum = Config.tablet_schedule_thread_num;
+        Config.tablet_schedule_thread_num = SHARD_NUM;
+        invertedIndex = new TabletInvertedIndex();
+    }
+
+    @After
+    public void tearDown() {
+        Config.tablet_schedule_thread_num = origThreadNum;
+    }
+
+    private TabletSchedCtx addTablet(Type type, long tabletId, long... backendIds) {
+        invertedIndex.addTablet(tabletId, new TabletMeta(1, 2, 3, 4, 0, TStorageMedium.HDD));
+        for (long backendId : backendIds) {
+            invertedIndex.addReplica(tabletId, new Replica(tabletId * 100 + backendId, backendId, 0,
+                    ReplicaState.NORMAL));
+        }
+        return new TabletSchedCtx(type, SystemInfoService.DEFAULT_CLUSTER, 1, 2, 3, 4, tabletId,
+                ReplicaAllocation.DEFAULT_ALLOCATION, System.currentTimeMillis());
+    }
+
+    @Test
+    public void testShardByBackend() {
+        TabletScheduler scheduler = new TabletScheduler(env, new SystemInfoService(), invertedIndex,
+                new TabletSchedulerStat(), "BeLoad");
+        Assert.assertEquals(SHARD_NUM, scheduler.getShardNum());
+
+        // tablets are divided by the smallest backend id of their replicas
+        TabletSchedCtx tablet1 = addTablet(Type.REPAIR, 1001, 10003, 10001, 10002);
+        TabletSchedCtx tablet2 = addTablet(Type.REPAIR, 1002, 10001, 10004, 10005);
+        Assert.assertEquals(scheduler.getShard(tablet1, SHARD_NUM), scheduler.getShard(tablet2, SHARD_NUM));
+
+        Set<Integer> shards = Sets.newHashSet();
+        for (long backendId = 10001; backendId <= 10008; backendId++) {
+            TabletSchedCtx tablet = addTablet(Type.REPAIR, 2000 + backendId, backendId, backendId + 10);
+            int shard = scheduler.getShard(tablet, SHARD_NUM);
+            Assert.assertTrue(shard >= 0 && shard < SHARD_NUM);
+            shards.add(shard);
+        }
+        Assert.assertEquals(SHARD_NUM, shards.size());
+
+        // a tablet without replicas is divided by its id
+        TabletSchedCtx tablet3 = addTablet(Type.REPAIR, 1003);
+        Assert.assertEquals(Math.floorMod(Long.hashCode(1003L), SHARD_NUM), scheduler.getShard(tablet3, SHARD_NUM));
+    }
+
+    @Test
+    public void testScheduleShardsInParallel() throws Exception {
+        // every shard waits for the others, which only passes if the shards are scheduled in parallel
+        CyclicBarrier barrier = new CyclicBarrier(SHARD_NUM);
+        Set<String> repairThreads = ConcurrentHashMap.newKeySet();
+        List<String> balanceThreads = Collections.synchronizedList(Lists.newArrayList());
+        TabletScheduler scheduler = new TabletScheduler(env, new SystemInfoService(), invertedIndex,
+                new TabletSchedulerStat(), "BeLoad") {
+            @Override
+            void scheduleTablet(TabletSchedCtx tabletCtx, AgentBatchTask batchTask) throws SchedException {
+                if (tabletCtx.getType() == Type.BALANCE) {
+                    balanceThreads.add(Thread.currentThread().getName());
+                } else {
+                    repairThreads.add(Thread.currentThread().getName());
+                    try {
+                        barrier.await(10, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new SchedException(Status.UNRECOVERABLE, "shards are not scheduled in parallel");
+                    }
+                }
+                tabletCtx.setState(TabletSchedCtx.State.RUNNING);
+                batchTask.addTask(new DropReplicaTask(10001, tabletCtx.getTabletId(), 1, 0, false));
+            }
+        };
+
+        // one repair tablet for each shard
+        List<TabletSchedCtx> batch = Lists.newArrayList();
+        for (long backendId = 10001; backendId < 10001 + SHARD_NUM; backendId++) {
+            batch.add(addTablet(Type.REPAIR, backendId * 10, backendId));
+        }
+        batch.add(addTablet(Type.BALANCE, 9999, 10001));
+
+        AgentBatchTask batchTask = new AgentBatchTask();
+        scheduler.scheduleTabletsInShards(batch, batchTask);
+
+        // the tasks of all shards are merged
+        Assert.assertEquals(SHARD_NUM + 1, batchTask.getTaskNum());
+        Assert.assertEquals(SHARD_NUM + 1, scheduler.getRunningNum());
+        for (int i = 0; i < SHARD_NUM; i++) {
+            Assert.assertEquals(1, scheduler.getShardQueueDepth(i));
+        }
+        long scheduledNum = 0;
+        for (int i = 0; i < SHARD_NUM; i++) {
+            scheduledNum += scheduler.getShardScheduledNum(i);
+        }
+        Assert.assertEquals(SHARD_NUM + 1, scheduledNum);
+
+        Assert.assertEquals(SHARD_NUM, repairThreads.size());
+        for (String thread : repairThreads) {
+            Assert.assertTrue(thread, thread.startsWith("tablet-schedule-pool"));
+        }
+        // balance tablets are scheduled by the calling thread
+        Assert.assertEquals(Lists.newArrayList(Thread.currentThread().getName()), balanceThreads);
+    }
+}
@@ -0,0 +1,71 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Hashing;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class ConsistentHashTest {
+    private static final Funnel<String> STRING_FUNNEL =
+            (str, sink) -> sink.putBytes(str.getBytes(StandardCharsets.UTF_8));
+    private static final Funnel<Long> LONG_FUNNEL = (num, sink) -> sink.putLong(num);
+
+    @Test
+    public void testGetNodes() {
+        List<Long> nodes = Lists.newArrayList(1L, 2L, 3L, 4L);
+        ConsistentHash<String, Long> consistentHash = new ConsistentHash<>(
+                Hashing.murmur3_128(), STRING_FUNNEL, LONG_FUNNEL, nodes, 16);
+        for (int i = 0; i < 100; i++) {
+            String key = "file_" + i;
+            List<Long> candidates = consistentHash.getNodes(key, nodes.size());
+            Assert.assertEquals(nodes.size(), candidates.size());
+            Assert.assertEquals(Sets.newHashSet(nodes), Sets.newHashSet(candidates));
+            Assert.assertEquals(consistentHash.getNode(key), candidates.get(0));
+
+            List<Long> partial = consistentHash.getNodes(key, 2);
+            Assert.assertEquals(candidates.subList(0, 2), partial);
+        }
+        Assert.assertTrue(consistentHash.getNodes("file_0", 0).isEmpty());
+    }
+
+    @Test
+    public void testRemoveNode() {
+        List<Long> nodes = Lists.newArrayList(1L, 2L, 3L);
+        ConsistentHash<String, Long> consistentHash = new ConsistentHash<>(
+                Hashing.murmur3_128(), STRING_FUNNEL, LONG_FUNNEL, nodes, 16);
+        for (int i = 0; i < 100; i++) {
+            String key = "file_" + i;
+            List<Long> candidates = consistentHash.getNodes(key, nodes.size());
+            if (candidates.get(0) == 3L) {
+                consistentHash.removeNode(3L);
+                // the key of the removed node moves to its next node on the ring
+                Assert.assertEquals(candidates.get(1), consistentHash.getNode(key));
+                consistentHash.addNode(3L);
+            } else {
+                Assert.assertEquals(candidates.get(0), consistentHash.getNode(key));
+            }
+        }
+    }
+}
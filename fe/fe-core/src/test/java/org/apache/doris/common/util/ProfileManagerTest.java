@@ -0,0 +1,111 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import org.apache.doris.common.Config;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+public class ProfileManagerTest {
+    private int maxQueryProfileNum;
+    private long maxArchivedBytes;
+    private String spillDir;
+    private File tmpDir;
+
+    @Before
+    public void setUp() throws Exception {
+        maxQueryProfileNum = Config.max_query_profile_num;
+        maxArchivedBytes = Config.max_archived_query_profile_bytes;
+        spillDir = Config.query_profile_spill_dir;
+        tmpDir = Files.createTempDirectory("profile_spill").toFile();
+        ProfileManager.getInstance().cleanProfile();
+    }
+
+    @After
+    public void tearDown() {
+        ProfileManager.getInstance().cleanProfile();
+        Config.max_query_profile_num = maxQueryProfileNum;
+        Config.max_archived_query_profile_bytes = maxArchivedBytes;
+        Config.query_profile_spill_dir = spillDir;
+        tmpDir.delete();
+    }
+
+    private static RuntimeProfile createProfile(String queryId) {
+        RuntimeProfile profile = new RuntimeProfile("Query");
+        RuntimeProfile summary = new RuntimeProfile("Summary");
+        summary.addInfoString(ProfileManager.QUERY_ID, queryId);
+        summary.addInfoString(ProfileManager.QUERY_TYPE, "Query");
+        summary.addInfoString(ProfileManager.USER, "root");
+        profile.addChild(summary);
+        return profile;
+    }
+
+    @Test
+    public void testEvict() {
+        Config.max_query_profile_num = 3;
+        ProfileManager manager = ProfileManager.getInstance();
+        for (int i = 0; i < 5; i++) {
+            manager.pushProfile(createProfile("query_" + i));
+        }
+        // push an existing profile again does not change the order
+        manager.pushProfile(createProfile("query_3"));
+
+        List<List<String>> queries = manager.getAllQueries();
+        Assert.assertEquals(3, queries.size());
+        Assert.assertEquals("query_4", queries.get(0).get(1));
+        Assert.assertEquals("query_2", queries.get(2).get(1));
+        Assert.assertNull(manager.getProfile("query_1"));
+    }
+
+    @Test
+    public void testArchiveAndSpill() {
+        Config.max_query_profile_num = 2;
+        Config.max_archived_query_profile_bytes = Long.MAX_VALUE;
+        ProfileManager manager = ProfileManager.getInstance();
+        for (int i = 0; i < 5; i++) {
+            manager.pushProfile(createProfile("query_" + i));
+        }
+        List<List<String>> queries = manager.getAllQueries();
+        Assert.assertEquals(5, queries.size());
+        Assert.assertEquals("query_4", queries.get(0).get(1));
+        Assert.assertEquals("query_0", queries.get(4).get(1));
+        Assert.assertTrue(manager.getArchivedBytes() > 0);
+        // archived profile still has profile content
+        Assert.assertTrue(manager.getProfile("query_0").contains("query_0"));
+
+        // spill all archived profiles
+        Config.max_archived_query_profile_bytes = 1;
+        Config.query_profile_spill_dir = tmpDir.getAbsolutePath();
+        manager.pushProfile(createProfile("query_5"));
+        Assert.assertEquals(0, manager.getArchivedBytes());
+        Assert.assertEquals(4, tmpDir.listFiles().length);
+        Assert.assertEquals(6, manager.getAllQueries().size());
+        Assert.assertTrue(manager.getProfile("query_1").contains("query_1"));
+
+        manager.cleanProfile();
+        Assert.assertEquals(0, tmpDir.listFiles().length);
+        Assert.assertNull(manager.getProfile("query_1"));
+    }
+}
@@ -0,0 +1,224 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.datasource.hive;
+
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.datasource.CacheException;
+import org.apache.doris.datasource.ExternalMetaCacheMgr;
+import org.apache.doris.datasource.HMSExternalCatalog;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.FileCacheKey;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.FileCacheValue;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.MoreExecutors;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+public class HiveMetaStoreCacheTest {
+    @Mocked
+    private HMSExternalCatalog catalog;
+
+    private HiveMetaStoreCache cache;
+    private LoadingCache<FileCacheKey, FileCacheValue> fileCache;
+
+    @Before
+    public void setUp() {
+        Map<String, String> properties = Maps.newHashMap();
+        properties.put(HMSExternalCatalog.FILE_LISTING_PARALLELISM, "4");
+        new Expectations() {
+            {
+                catalog.getId();
+                minTimes = 0;
+                result = 1L;
+                catalog.getName();
+                minTimes = 0;
+                result = "hms";
+                catalog.getProperties();
+                minTimes = 0;
+                result = properties;
+            }
+        };
+        cache = new HiveMetaStoreCache(catalog, MoreExecutors.directExecutor());
+    }
+
+    // list the files of partitions by the given function of location instead of the file system
+    private void setFileLoader(Function<String, FileCacheValue> loader) {
+        fileCache = CacheBuilder.newBuilder().build(new CacheLoader<FileCacheKey, FileCacheValue>() {
+            @Override
+            public FileCacheValue load(FileCacheKey key) {
+                return loader.apply(Deencapsulation.getField(key, "location"));
+            }
+        });
+        AtomicReference<LoadingCache<FileCacheKey, FileCacheValue>> fileCacheRef =
+                Deencapsulation.getField(cache, "fileCacheRef");
+        fileCacheRef.set(fileCache);
+    }
+
+    private static HivePartition partition(String location) {
+        return new HivePartition("org.apache.hadoop.mapred.TextInputFormat", location, Lists.newArrayList());
+    }
+
+    @Test
+    public void testCompletionOrder() throws Exception {
+        FileCacheValue value1 = new FileCacheValue();
+        FileCacheValue value2 = new FileCacheValue();
+        FileCacheValue value3 = new FileCacheValue();
+        CountDownLatch value3Consumed = new CountDownLatch(1);
+        setFileLoader(location -> {
+            switch (location) {
+                case "p2":
+                    // finished after the later partition is consumed
+                    try {
+                        Assert.assertTrue(value3Consumed.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    return value2;
+                case "p3":
+                    return value3;
+                default:
+                    throw new IllegalStateException("unexpected location " + location);
+            }
+        });
+        // the cached file list is consumed first
+        fileCache.put(new FileCacheKey("p1", null), value1);
+
+        Thread callingThread = Thread.currentThread();
+        List<FileCacheValue> consumed = Lists.newArrayList();
+        int cacheMissNum = cache.getFilesByPartitions(
+                Lists.newArrayList(partition("p1"), partition("p2"), partition("p3")), true, value -> {
+                    Assert.assertSame(callingThread, Thread.currentThread());
+                    consumed.add(value);
+                    if (value == value3) {
+                        value3Consumed.countDown();
+                    }
+                });
+        Assert.assertEquals(2, cacheMissNum);
+        Assert.assertEquals(3, consumed.size());
+        Assert.assertSame(value1, consumed.get(0));
+        Assert.assertSame(value3, consumed.get(1));
+        Assert.assertSame(value2, consumed.get(2));
+
+        // all are cached now
+        consumed.clear();
+        Assert.assertEquals(0, cache.getFilesByPartitions(
+                Lists.newArrayList(partition("p1"), partition("p2"), partition("p3")), true, consumed::add));
+        Assert.assertEquals(3, consumed.size());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        CountDownLatch p2Interrupted = new CountDownLatch(1);
+        setFileLoader(location -> {
+            if (location.equals("p1")) {
+                throw new IllegalStateException("failed to list p1");
+            }
+            try {
+                Thread.sleep(60000);
+            } catch (InterruptedException e) {
+                p2Interrupted.countDown();
+            }
+            return new FileCacheValue();
+        });
+
+        List<FileCacheValue> consumed = Lists.newArrayList();
+        try {
+            cache.getFilesByPartitions(Lists.newArrayList(partition("p1"), partition("p2")), true, consumed::add);
+            Assert.fail();
+        } catch (CacheException e) {
+            Assert.assertTrue(e.getMessage().contains("failed to get files of partitions"));
+        }
+        Assert.assertTrue(consumed.isEmpty());
+        // the listing of other partitions is cancelled
+        Assert.assertTrue(p2Interrupted.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testConsumerFailure() throws Exception {
+        CountDownLatch p2Interrupted = new CountDownLatch(1);
+        setFileLoader(location -> {
+            if (location.equals("p2")) {
+                try {
+                    Thread.sleep(60000);
+                } catch (InterruptedException e) {
+                    p2Interrupted.countDown();
+                }
+            }
+            return new FileCacheValue();
+        });
+
+        try {
+            cache.getFilesByPartitions(Lists.newArrayList(partition("p1"), partition("p2")), true, value -> {
+                throw new IllegalStateException("failed to consume");
+            });
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("failed to consume", e.getMessage());
+        }
+        Assert.assertTrue(p2Interrupted.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testInterrupted() {
+        setFileLoader(location -> {
+            try {
+                Thread.sleep(60000);
+            } catch (InterruptedException e) {
+                // cancelled
+            }
+            return new FileCacheValue();
+        });
+
+        Thread.currentThread().interrupt();
+        try {
+            cache.getFilesByPartitions(Lists.newArrayList(partition("p1")), true, value -> Assert.fail());
+            Assert.fail();
+        } catch (CacheException e) {
+            Assert.assertTrue(e.getMessage().contains("interrupted"));
+        }
+        // the interrupt status is kept for the caller
+        Assert.assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    public void testShutdownWhenCacheRemoved() {
+        ExternalMetaCacheMgr cacheMgr = new ExternalMetaCacheMgr();
+        HiveMetaStoreCache metaStoreCache = cacheMgr.getMetaStoreCache(catalog);
+        ThreadPoolExecutor fileListingExecutor = Deencapsulation.getField(metaStoreCache, "fileListingExecutor");
+        Assert.assertFalse(fileListingExecutor.isShutdown());
+        cacheMgr.removeCache(catalog.getId());
+        Assert.assertTrue(fileListingExecutor.isShutdown());
+        Assert.assertNotSame(metaStoreCache, cacheMgr.getMetaStoreCache(catalog));
+    }
+}
@@ -0,0 +1,71 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.load;
+
+import org.apache.doris.system.Backend;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class LoadAwareRedirectPolicyTest {
+
+    @Test
+    public void testSpreadRedirects() {
+        List<Backend> backends = Lists.newArrayList(new Backend(10001, "192.168.0.1", 9050),
+                new Backend(10002, "192.168.0.2", 9050), new Backend(10003, "192.168.0.3", 9050));
+        LoadAwareRedirectPolicy policy = new LoadAwareRedirectPolicy();
+        Map<Long, Integer> redirects = Maps.newHashMap();
+        for (int i = 0; i < 30; i++) {
+            Backend backend = policy.select(backends, null);
+            redirects.merge(backend.getId(), 1, Integer::sum);
+        }
+        for (Backend backend : backends) {
+            int num = redirects.getOrDefault(backend.getId(), 0);
+            Assert.assertTrue("redirects of " + backend.getId() + ": " + num, num >= 9 && num <= 11);
+        }
+    }
+
+    @Test
+    public void testAvoidHighCompactionScore() {
+        Backend busy = new Backend(10001, "192.168.0.1", 9050);
+        busy.setTabletMaxCompactionScore(1000);
+        Backend idle1 = new Backend(10002, "192.168.0.2", 9050);
+        idle1.setTabletMaxCompactionScore(10);
+        Backend idle2 = new Backend(10003, "192.168.0.3", 9050);
+        idle2.setTabletMaxCompactionScore(10);
+        List<Backend> backends = Lists.newArrayList(busy, idle1, idle2);
+
+        LoadAwareRedirectPolicy policy = new LoadAwareRedirectPolicy();
+        Assert.assertNotEquals(busy.getId(), policy.select(backends, null).getId());
+        Assert.assertNotEquals(busy.getId(), policy.select(backends, null).getId());
+    }
+
+    @Test
+    public void testCreatePolicy() {
+        Assert.assertTrue(StreamLoadRedirectPolicy.create("LOAD_AWARE") instanceof LoadAwareRedirectPolicy);
+        Assert.assertTrue(StreamLoadRedirectPolicy.create("unknown") instanceof LoadAwareRedirectPolicy);
+        Assert.assertFalse(StreamLoadRedirectPolicy.create("random") instanceof LoadAwareRedirectPolicy);
+        List<Backend> backends = Lists.newArrayList(new Backend(10001, "192.168.0.1", 9050));
+        Assert.assertEquals(10001, StreamLoadRedirectPolicy.create("random").select(backends, null).getId());
+    }
+}
@@ -0,0 +1,96 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.load.routineload;
+
+import org.apache.doris.common.Config;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveBatchPolicyTest {
+
+    @Test
+    public void testSteadyState() {
+        AdaptiveBatchPolicy policy = new AdaptiveBatchPolicy();
+        policy.updateConsumeRate(10000, 1000);
+        AdaptiveBatchPolicy.BatchSize batchSize = policy.compute(5000, 0, 3, 10, 200000, 100L << 20, 0);
+        Assert.assertEquals(3, batchSize.getIntervalS());
+        Assert.assertEquals(200000, batchSize.getMaxRows());
+        Assert.assertEquals(100L << 20, batchSize.getMaxBytes());
+
+        // freshness target is bounded by max batch interval
+        batchSize = policy.compute(5000, 0, 30, 10, 200000, 100L << 20, 0);
+        Assert.assertEquals(10, batchSize.getIntervalS());
+    }
+
+    @Test
+    public void testBacklog() {
+        AdaptiveBatchPolicy policy = new AdaptiveBatchPolicy();
+        policy.updateConsumeRate(10000, 1000);
+        AdaptiveBatchPolicy.BatchSize batchSize = policy.compute(400000, 0, 3, 10, 200000, 100L << 20, 0);
+        Assert.assertEquals(10, batchSize.getIntervalS());
+        Assert.assertEquals(400000, batchSize.getMaxRows());
+        Assert.assertEquals(200L << 20, batchSize.getMaxBytes());
+
+        batchSize = policy.compute(100000000, 0, 3, 10, 200000, 100L << 20, 0);
+        Assert.assertEquals(200000L * Config.routine_load_adaptive_batch_max_scale, batchSize.getMaxRows());
+    }
+
+    @Test
+    public void testCompactionPressure() {
+        AdaptiveBatchPolicy policy = new AdaptiveBatchPolicy();
+        policy.updateConsumeRate(10000, 1000);
+        AdaptiveBatchPolicy.BatchSize batchSize = policy.compute(5000,
+                Config.routine_load_adaptive_batch_compaction_score_threshold, 3, 10, 200000, 100L << 20, 0);
+        Assert.assertEquals(10, batchSize.getIntervalS());
+        Assert.assertEquals(400000, batchSize.getMaxRows());
+    }
+
+    @Test
+    public void testConsumeRate() {
+        AdaptiveBatchPolicy policy = new AdaptiveBatchPolicy();
+        policy.updateConsumeRate(0, 1000);
+        Assert.assertEquals(0, policy.getRowsPerSecond(), 0.001);
+        policy.updateConsumeRate(10000, 1000);
+        Assert.assertEquals(10000, policy.getRowsPerSecond(), 0.001);
+        policy.updateConsumeRate(20000, 1000);
+        Assert.assertEquals(13000, policy.getRowsPerSecond(), 0.001);
+    }
+
+    @Test
+    public void testMemLimit() {
+        AdaptiveBatchPolicy policy = new AdaptiveBatchPolicy();
+        policy.updateConsumeRate(10000, 1000);
+        // the scaled batch size is bounded by exec_mem_limit
+        AdaptiveBatchPolicy.BatchSize batchSize = policy.compute(100000000, 0, 3, 10, 200000, 100L << 20,
+                200L << 20);
+        Assert.assertEquals(10, batchSize.getIntervalS());
+        Assert.assertEquals(400000, batchSize.getMaxRows());
+        Assert.assertEquals(200L << 20, batchSize.getMaxBytes());
+
+        batchSize = policy.compute(5000, Config.routine_load_adaptive_batch_compaction_score_threshold, 3, 10,
+                200000, 100L << 20, 150L << 20);
+        Assert.assertEquals(300000, batchSize.getMaxRows());
+        Assert.assertEquals(150L << 20, batchSize.getMaxBytes());
+
+        // never smaller than the configured batch size
+        batchSize = policy.compute(100000000, 0, 3, 10, 200000, 100L << 20, 10L << 20);
+        Assert.assertEquals(200000, batchSize.getMaxRows());
+        Assert.assertEquals(100L << 20, batchSize.getMaxBytes());
+    }
+}
@@ -66,6 +66,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class KafkaRoutineLoadJobTest {
     private static final Logger LOG = LogManager.getLogger(KafkaRoutineLoadJobTest.class);
@@ -300,6 +301,52 @@ public class KafkaRoutineLoadJobTest {
         Assert.assertEquals(sequenceStmt.getSequenceColName(), kafkaRoutineLoadJob.getSequenceCol());
     }
 
+    @Test
+    public void testGetLagRows(@Mocked Env env) {
+        List<List<Integer>> fetchedPartitions = Lists.newArrayList();
+        Map<Integer, Long> latestOffsets = Maps.newHashMap();
+        new MockUp<KafkaUtil>() {
+            @Mock
+            public List<Pair<Integer, Long>> getLatestOffsets(long jobId, UUID taskId, String brokerList,
+                    String topic, Map<String, String> convertedCustomProperties, List<Integer> partitionIds) {
+                fetchedPartitions.add(Lists.newArrayList(partitionIds));
+                return partitionIds.stream().map(p -> Pair.of(p, latestOffsets.get(p))).collect(Collectors.toList());
+            }
+        };
+
+        KafkaRoutineLoadJob routineLoadJob = new KafkaRoutineLoadJob(1L, "kafka_routine_load_job", "default", 1L,
+                1L, "127.0.0.1:9020", "topic1", UserIdentity.ADMIN);
+        UUID taskId = UUID.randomUUID();
+        Map<Integer, Long> partitionIdToOffset = Maps.newHashMap();
+        partitionIdToOffset.put(1, 50L);
+        partitionIdToOffset.put(2, 150L);
+        latestOffsets.put(1, 100L);
+        latestOffsets.put(2, 200L);
+        Assert.assertEquals(100, routineLoadJob.getLagRows(taskId, partitionIdToOffset, 10));
+        Assert.assertEquals(Lists.newArrayList(Lists.newArrayList(1, 2)), fetchedPartitions);
+
+        // the cached latest offsets are fresh enough
+        latestOffsets.put(1, 300L);
+        latestOffsets.put(2, 400L);
+        Assert.assertEquals(100, routineLoadJob.getLagRows(taskId, partitionIdToOffset, 10));
+        Assert.assertEquals(1, fetchedPartitions.size());
+
+        // only the stale partition is refreshed
+        Map<Integer, Long> updateTimeMs = Deencapsulation.getField(routineLoadJob,
+                "partitionIdToLatestOffsetUpdateTimeMs");
+        updateTimeMs.put(1, System.currentTimeMillis() - 20000);
+        Assert.assertEquals(300, routineLoadJob.getLagRows(taskId, partitionIdToOffset, 10));
+        Assert.assertEquals(Lists.newArrayList(1), fetchedPartitions.get(1));
+
+        // a partition never fetched is refreshed alone
+        Map<Integer, Long> partitionIdToOffset2 = Maps.newHashMap();
+        partitionIdToOffset2.put(3, 0L);
+        latestOffsets.put(3, 10L);
+        Assert.assertEquals(10, routineLoadJob.getLagRows(taskId, partitionIdToOffset2, 10));
+        Assert.assertEquals(Lists.newArrayList(3), fetchedPartitions.get(2));
+        Assert.assertEquals(3, fetchedPartitions.size());
+    }
+
     private CreateRoutineLoadStmt initCreateRoutineLoadStmt() {
         List<ParseNode> loadPropertyList = new ArrayList<>();
         loadPropertyList.add(columnSeparator);
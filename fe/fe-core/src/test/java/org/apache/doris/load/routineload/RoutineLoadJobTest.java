@@ -18,6 +18,7 @@
 package org.apache.doris.load.routineload;
 
 import org.apache.doris.analysis.CreateRoutineLoadStmt;
+import org.apache.doris.analysis.RoutineLoadDataSourceProperties;
 import org.apache.doris.analysis.SqlParser;
 import org.apache.doris.analysis.UserIdentity;
 import org.apache.doris.catalog.Database;
@@ -28,6 +29,7 @@ import org.apache.doris.common.UserException;
 import org.apache.doris.common.jmockit.Deencapsulation;
 import org.apache.doris.common.util.KafkaUtil;
 import org.apache.doris.datasource.InternalCatalog;
+import org.apache.doris.persist.AlterRoutineLoadJobOperationLog;
 import org.apache.doris.persist.EditLog;
 import org.apache.doris.thrift.TKafkaRLTaskProgress;
 import org.apache.doris.transaction.TransactionException;
@@ -369,4 +371,39 @@ public class RoutineLoadJobTest {
         Assert.assertEquals(expect, showCreateInfo);
     }
 
+    @Test
+    public void testAdaptiveBatchProperties() {
+        KafkaRoutineLoadJob routineLoadJob = new KafkaRoutineLoadJob(111L, "test_load", "test", 1,
+                11, "localhost:9092", "test_topic", UserIdentity.ADMIN);
+        Assert.assertFalse(routineLoadJob.isAdaptiveBatch());
+        Assert.assertEquals(10, routineLoadJob.getFreshnessTargetS());
+        Assert.assertFalse(routineLoadJob.getShowCreateInfo().contains(CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY));
+
+        // alter routine load
+        Map<String, String> jobProperties = Maps.newHashMap();
+        jobProperties.put(CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY, "true");
+        jobProperties.put(CreateRoutineLoadStmt.FRESHNESS_TARGET_SEC_PROPERTY, "5");
+        routineLoadJob.replayModifyProperties(new AlterRoutineLoadJobOperationLog(111L, jobProperties,
+                new RoutineLoadDataSourceProperties()));
+        Assert.assertTrue(routineLoadJob.isAdaptiveBatch());
+        Assert.assertEquals(5, routineLoadJob.getFreshnessTargetS());
+        Assert.assertTrue(routineLoadJob.getShowCreateInfo().contains("\"timezone\" = \"Asia/Shanghai\",\n"
+                + "\"adaptive_batch\" = \"true\",\n"
+                + "\"freshness_target\" = \"5\",\n"
+                + "\"exec_mem_limit\" = \"2147483648\"\n"));
+
+        // freshness target is bounded by max batch interval
+        jobProperties.clear();
+        jobProperties.put(CreateRoutineLoadStmt.MAX_BATCH_INTERVAL_SEC_PROPERTY, "3");
+        routineLoadJob.replayModifyProperties(new AlterRoutineLoadJobOperationLog(111L, jobProperties,
+                new RoutineLoadDataSourceProperties()));
+        Assert.assertEquals(3, routineLoadJob.getFreshnessTargetS());
+
+        jobProperties.clear();
+        jobProperties.put(CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY, "false");
+        routineLoadJob.replayModifyProperties(new AlterRoutineLoadJobOperationLog(111L, jobProperties,
+                new RoutineLoadDataSourceProperties()));
+        Assert.assertFalse(routineLoadJob.isAdaptiveBatch());
+        Assert.assertFalse(routineLoadJob.getShowCreateInfo().contains(CreateRoutineLoadStmt.ADAPTIVE_BATCH_PROPERTY));
+    }
 }
@@ -15,32 +15,32 @@
 // specific language governing permissions and limitations
 // under the License.
 
+
 package org.apache.doris.load.routineload;
 
-import org.apache.doris.analysis.LoadColumnsInfo;
 import org.apache.doris.catalog.Env;
-import org.apache.doris.common.AnalysisException;
-import org.apache.doris.common.ClientPool;
-import org.apache.doris.common.LabelAlreadyUsedException;
-import org.apache.doris.common.LoadException;
-import org.apache.doris.common.MetaNotFoundException;
-import org.apache.doris.common.jmockit.Deencapsulation;
-import org.apache.doris.load.RoutineLoadDesc;
-import org.apache.doris.task.AgentTaskExecutor;
+import org.apache.doris.common.GenericPool;
 import org.apache.doris.thrift.BackendService;
-import org.apache.doris.transaction.BeginTransactionException;
-import org.apache.doris.transaction.GlobalTransactionMgr;
+import org.apache.doris.thrift.TNetworkAddress;
+import org.apache.doris.thrift.TRoutineLoadTask;
+import org.apache.doris.thrift.TStatus;
+import org.apache.doris.thrift.TStatusCode;
+import org.apache.doris.thrift.TUniqueId;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Queues;
 import mockit.Expectations;
-import mockit.Injectable;
+import mockit.Mock;
+import mockit.MockUp;
 import mockit.Mocked;
+import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class RoutineLoadTaskSchedulerTest {
 
@@ -48,39 +48,64 @@ public class RoutineLoadTaskSchedulerTest {
     private RoutineLoadManager routineLoadManager;
     @Mocked
     private Env env;
-    @Mocked
-    private AgentTaskExecutor agentTaskExecutor;
 
-    @Test
-    public void testRunOneCycle(@Injectable KafkaRoutineLoadJob kafkaRoutineLoadJob1,
-                                @Injectable KafkaRoutineLoadJob routineLoadJob,
-                                @Injectable RoutineLoadDesc routineLoadDesc,
-                                @Injectable LoadColumnsInfo loadColumnsInfo,
-                                @Mocked GlobalTransactionMgr globalTransactionMgr,
-                                @Mocked BackendService.Client client,
-                                @Mocked ClientPool clientPool) throws LoadException,
-            MetaNotFoundException, AnalysisException, LabelAlreadyUsedException, BeginTransactionException {
-        long beId = 100L;
+    private final List<TRoutineLoadTask> submittedTasks = Lists.newArrayList();
 
-        Map<Integer, Long> partitionIdToOffset = Maps.newHashMap();
-        partitionIdToOffset.put(1, 100L);
-        partitionIdToOffset.put(2, 200L);
-        KafkaProgress kafkaProgress = new KafkaProgress();
-        Deencapsulation.setField(kafkaProgress, "partitionIdToOffset", partitionIdToOffset);
+    private static class TestTaskInfo extends RoutineLoadTaskInfo {
+        TestTaskInfo(long jobId) {
+            super(UUID.randomUUID(), jobId, "default_cluster", 20000);
+        }
 
-        Queue<RoutineLoadTaskInfo> routineLoadTaskInfoQueue = Queues.newLinkedBlockingQueue();
-        KafkaTaskInfo routineLoadTaskInfo1 = new KafkaTaskInfo(new UUID(1, 1), 1L, "default_cluster", 20000,
-                partitionIdToOffset);
-        routineLoadTaskInfoQueue.add(routineLoadTaskInfo1);
+        @Override
+        TRoutineLoadTask createRoutineLoadTask() {
+            TRoutineLoadTask tRoutineLoadTask = new TRoutineLoadTask();
+            tRoutineLoadTask.setId(new TUniqueId(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+            tRoutineLoadTask.setJobId(jobId);
+            return tRoutineLoadTask;
+        }
 
-        Map<Long, RoutineLoadTaskInfo> idToRoutineLoadTask = Maps.newHashMap();
-        idToRoutineLoadTask.put(1L, routineLoadTaskInfo1);
+        @Override
+        String getTaskDataSourceProperties() {
+            return "";
+        }
 
-        Map<String, RoutineLoadJob> idToRoutineLoadJob = Maps.newConcurrentMap();
-        idToRoutineLoadJob.put("1", routineLoadJob);
+        @Override
+        boolean hasMoreDataToConsume() {
+            return true;
+        }
 
-        Deencapsulation.setField(routineLoadManager, "idToRoutineLoadJob", idToRoutineLoadJob);
+        @Override
+        public boolean beginTxn() {
+            return true;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        submittedTasks.clear();
+        new MockUp<GenericPool<BackendService.Client>>() {
+            @Mock
+            public BackendService.Client borrowObject(TNetworkAddress address) throws Exception {
+                return new BackendService.Client(null);
+            }
+
+            @Mock
+            public void returnObject(TNetworkAddress address, BackendService.Client object) {
+                return;
+            }
 
+            @Mock
+            public void invalidateObject(TNetworkAddress address, BackendService.Client object) {
+                return;
+            }
+        };
+        new MockUp<BackendService.Client>() {
+            @Mock
+            public TStatus submitRoutineLoadTask(List<TRoutineLoadTask> tasks) {
+                submittedTasks.addAll(tasks);
+                return new TStatus(TStatusCode.OK);
+            }
+        };
         new Expectations() {
             {
                 Env.getCurrentEnv();
@@ -92,31 +117,153 @@ public class RoutineLoadTaskSchedulerTest {
 
                 routineLoadManager.getClusterIdleSlotNum();
                 minTimes = 0;
-                result = 1;
+                result = 10;
                 routineLoadManager.checkTaskInJob((RoutineLoadTaskInfo) any);
                 minTimes = 0;
                 result = true;
+            }
+        };
+    }
 
-                kafkaRoutineLoadJob1.getDbId();
-                minTimes = 0;
-                result = 1L;
-                kafkaRoutineLoadJob1.getTableId();
-                minTimes = 0;
-                result = 1L;
-                kafkaRoutineLoadJob1.getName();
-                minTimes = 0;
-                result = "";
-                routineLoadManager.getMinTaskBeId(anyString);
-                minTimes = 0;
+    private RoutineLoadTaskScheduler newScheduler() {
+        // schedule the tasks in the dispatcher thread
+        return new RoutineLoadTaskScheduler(routineLoadManager, Runnable::run);
+    }
+
+    private static TUniqueId getId(RoutineLoadTaskInfo taskInfo) {
+        return new TUniqueId(taskInfo.getId().getMostSignificantBits(), taskInfo.getId().getLeastSignificantBits());
+    }
+
+    @Test
+    public void testRunOneCycle() throws Exception {
+        long beId = 100L;
+
+        Map<Integer, Long> partitionIdToOffset = Maps.newHashMap();
+        partitionIdToOffset.put(1, 100L);
+        partitionIdToOffset.put(2, 200L);
+        KafkaTaskInfo routineLoadTaskInfo1 = new KafkaTaskInfo(new UUID(1, 1), 1L, "default_cluster", 20000,
+                partitionIdToOffset);
+        TRoutineLoadTask tRoutineLoadTask = new TRoutineLoadTask();
+        tRoutineLoadTask.setId(getId(routineLoadTaskInfo1));
+        tRoutineLoadTask.setJobId(1L);
+
+        new Expectations(routineLoadTaskInfo1) {
+            {
+                routineLoadTaskInfo1.hasMoreDataToConsume();
+                result = true;
+                routineLoadTaskInfo1.beginTxn();
+                result = true;
+                routineLoadTaskInfo1.createRoutineLoadTask();
+                result = tRoutineLoadTask;
+                routineLoadManager.getAvailableBeForTask(1L, -1L, "default_cluster");
                 result = beId;
-                routineLoadManager.getJob(anyLong);
-                minTimes = 0;
-                result = kafkaRoutineLoadJob1;
             }
         };
 
-        RoutineLoadTaskScheduler routineLoadTaskScheduler = new RoutineLoadTaskScheduler();
-        Deencapsulation.setField(routineLoadTaskScheduler, "needScheduleTasksQueue", routineLoadTaskInfoQueue);
+        RoutineLoadTaskScheduler routineLoadTaskScheduler = newScheduler();
+        routineLoadTaskScheduler.addTaskInQueue(routineLoadTaskInfo1);
+        Assert.assertEquals(1, routineLoadTaskScheduler.getPendingTaskNum());
         routineLoadTaskScheduler.runAfterCatalogReady();
+        Assert.assertEquals(0, routineLoadTaskScheduler.getPendingTaskNum());
+        Assert.assertEquals(beId, routineLoadTaskInfo1.getBeId());
+        Assert.assertEquals(1, submittedTasks.size());
+        Assert.assertEquals(getId(routineLoadTaskInfo1), submittedTasks.get(0).getId());
+    }
+
+    @Test
+    public void testRoundRobinBetweenJobs() throws Exception {
+        new Expectations() {
+            {
+                routineLoadManager.getAvailableBeForTask(anyLong, anyLong, anyString);
+                result = 100L;
+            }
+        };
+
+        RoutineLoadTaskScheduler scheduler = newScheduler();
+        // job 1 has more tasks than job 2, but the task of job 2 is not delayed by them
+        scheduler.addTasksInQueue(Lists.newArrayList(new TestTaskInfo(1L), new TestTaskInfo(1L),
+                new TestTaskInfo(1L)));
+        scheduler.addTaskInQueue(new TestTaskInfo(2L));
+        Assert.assertEquals(4, scheduler.getPendingTaskNum());
+        for (int i = 0; i < 4; i++) {
+            scheduler.runAfterCatalogReady();
+        }
+        Assert.assertEquals(0, scheduler.getPendingTaskNum());
+        Assert.assertEquals(Lists.newArrayList(1L, 2L, 1L, 1L),
+                submittedTasks.stream().map(TRoutineLoadTask::getJobId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testRetrySlotWaitingTasks() throws Exception {
+        new Expectations() {
+            {
+                routineLoadManager.getAvailableBeForTask(anyLong, anyLong, anyString);
+                returns(-1L, 100L, -1L, 100L, 100L);
+            }
+        };
+
+        RoutineLoadTaskScheduler scheduler = newScheduler();
+        TestTaskInfo task1 = new TestTaskInfo(1L);
+        scheduler.addTaskInQueue(task1);
+        // no idle slot on backends, the task waits for slots to be released
+        scheduler.runAfterCatalogReady();
+        Assert.assertEquals(1, scheduler.getPendingTaskNum());
+        Assert.assertEquals(-1L, task1.getBeId());
+        Assert.assertTrue(submittedTasks.isEmpty());
+
+        // the slots of a stopped job are released
+        scheduler.notifySlotReleased();
+        scheduler.runAfterCatalogReady();
+        Assert.assertEquals(0, scheduler.getPendingTaskNum());
+        Assert.assertEquals(100L, task1.getBeId());
+
+        // a new task means the slot of the previous task is released, the waiting task is retried first
+        TestTaskInfo task2 = new TestTaskInfo(2L);
+        scheduler.addTaskInQueue(task2);
+        scheduler.runAfterCatalogReady();
+        Assert.assertEquals(1, scheduler.getPendingTaskNum());
+        TestTaskInfo task3 = new TestTaskInfo(3L);
+        scheduler.addTaskInQueue(task3);
+        scheduler.runAfterCatalogReady();
+        scheduler.runAfterCatalogReady();
+        Assert.assertEquals(0, scheduler.getPendingTaskNum());
+        Assert.assertEquals(Lists.newArrayList(getId(task1), getId(task2), getId(task3)),
+                submittedTasks.stream().map(TRoutineLoadTask::getId).collect(Collectors.toList()));
+    }
+
+    private void assertWokenUp(RoutineLoadTaskScheduler scheduler, Runnable event) throws Exception {
+        Thread dispatcher = new Thread(scheduler::runAfterCatalogReady);
+        dispatcher.start();
+        // wait for the dispatcher to wait for events
+        long deadline = System.currentTimeMillis() + 5000;
+        while (dispatcher.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(Thread.State.TIMED_WAITING, dispatcher.getState());
+        long start = System.currentTimeMillis();
+        event.run();
+        dispatcher.join(5000);
+        Assert.assertFalse(dispatcher.isAlive());
+        // woken up by the event instead of the max wait time
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+
+    @Test
+    public void testWakeUpByEvents() throws Exception {
+        new Expectations() {
+            {
+                routineLoadManager.getAvailableBeForTask(anyLong, anyLong, anyString);
+                minTimes = 0;
+                result = 100L;
+            }
+        };
+
+        RoutineLoadTaskScheduler scheduler = newScheduler();
+        TestTaskInfo task1 = new TestTaskInfo(1L);
+        assertWokenUp(scheduler, () -> scheduler.addTaskInQueue(task1));
+        scheduler.runAfterCatalogReady();
+        Assert.assertEquals(1, submittedTasks.size());
+
+        assertWokenUp(scheduler, scheduler::notifySlotReleased);
     }
 }
@@ -0,0 +1,89 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.master;
+
+import org.apache.doris.common.Config;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReportHandlerTest {
+    private int origThreadNum;
+
+    @Before
+    public void setUp() {
+        origThreadNum = Config.report_handler_thread_num;
+        Config.report_handler_thread_num = 2;
+    }
+
+    @After
+    public void tearDown() {
+        Config.report_handler_thread_num = origThreadNum;
+    }
+
+    private ReportHandler.ReportTask newTask(ReportHandler handler, long beId, Runnable action) {
+        return handler.new ReportTask(beId, null, null, null, -1, null, null) {
+            @Override
+            protected void exec() {
+                action.run();
+            }
+        };
+    }
+
+    private static long countWorkerThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().startsWith("report-worker-pool")).count();
+    }
+
+    @Test
+    public void testFailedReportNotStopQueue() throws Exception {
+        ReportHandler handler = new ReportHandler();
+        handler.start();
+
+        // backend 0 is handled by the report handler thread, and backend 1 by the worker pool
+        AtomicInteger failedNum = new AtomicInteger(0);
+        CountDownLatch latch = new CountDownLatch(4);
+        for (long beId = 0; beId < 2; beId++) {
+            handler.putToQueue(newTask(handler, beId, () -> {
+                failedNum.incrementAndGet();
+                throw new RuntimeException("report failed");
+            }));
+            handler.putToQueue(newTask(handler, beId, latch::countDown));
+            handler.putToQueue(newTask(handler, beId, latch::countDown));
+        }
+
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(2, failedNum.get());
+        Assert.assertTrue(handler.isAlive());
+        Assert.assertEquals(1, countWorkerThreads());
+
+        // the queues are still handled after the failure
+        CountDownLatch latch2 = new CountDownLatch(2);
+        handler.putToQueue(newTask(handler, 0, latch2::countDown));
+        handler.putToQueue(newTask(handler, 1, latch2::countDown));
+        Assert.assertTrue(latch2.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, countWorkerThreads());
+    }
+}
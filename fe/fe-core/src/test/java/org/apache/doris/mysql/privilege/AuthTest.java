@@ -35,6 +35,7 @@ import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.ExceptionChecker;
 import org.apache.doris.common.UserException;
+import org.apache.doris.common.jmockit.Deencapsulation;
 import org.apache.doris.datasource.InternalCatalog;
 import org.apache.doris.persist.EditLog;
 import org.apache.doris.persist.PrivInfo;
@@ -1535,6 +1536,45 @@ public class AuthTest {
         Assert.assertTrue(hasException);
     }
 
+    @Test
+    public void testPrivCheckCache() throws UserException {
+        UserIdentity userIdentity = new UserIdentity("cacheUser", "%");
+        CreateUserStmt createUserStmt = new CreateUserStmt(false, new UserDesc(userIdentity, "12345", true), null);
+        createUserStmt.analyze(analyzer);
+        auth.createUser(createUserStmt);
+        String db = SystemInfoService.DEFAULT_CLUSTER + ":db1";
+        // the same result should be returned by the cached check
+        for (int i = 0; i < 2; i++) {
+            Assert.assertFalse(accessManager.checkTblPriv(userIdentity, db, "tbl1", PrivPredicate.SELECT));
+        }
+
+        // grant invalidates the cached result
+        GrantStmt grantStmt = new GrantStmt(userIdentity, null, new TablePattern("db1", "tbl1"),
+                Lists.newArrayList(AccessPrivilege.SELECT_PRIV));
+        grantStmt.analyze(analyzer);
+        auth.grant(grantStmt);
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(accessManager.checkTblPriv(userIdentity, db, "tbl1", PrivPredicate.SELECT));
+            Assert.assertFalse(accessManager.checkTblPriv(userIdentity, db, "tbl2", PrivPredicate.SELECT));
+            Assert.assertFalse(accessManager.checkTblPriv(userIdentity, db, "tbl1", PrivPredicate.ALTER));
+        }
+        // an equal predicate hits the same cached result
+        PrivPredicate select = PrivPredicate.of(PrivPredicate.SELECT.getPrivs().copy(), PrivPredicate.SELECT.getOp());
+        Assert.assertTrue(accessManager.checkTblPriv(userIdentity, db, "tbl1", select));
+
+        // revoke invalidates the cached result
+        RevokeStmt revokeStmt = new RevokeStmt(userIdentity, null, new TablePattern("db1", "tbl1"),
+                Lists.newArrayList(AccessPrivilege.SELECT_PRIV));
+        revokeStmt.analyze(analyzer);
+        auth.revoke(revokeStmt);
+        Assert.assertFalse(accessManager.checkTblPriv(userIdentity, db, "tbl1", PrivPredicate.SELECT));
+
+        // rectifying the privileges after replay invalidates the cached results
+        long privVersion = Deencapsulation.getField(auth, "privVersion");
+        auth.rectifyPrivs();
+        Assert.assertNotEquals(privVersion, (long) Deencapsulation.getField(auth, "privVersion"));
+    }
+
     @Test
     public void testResource() {
         UserIdentity userIdentity = new UserIdentity("testUser", "%");
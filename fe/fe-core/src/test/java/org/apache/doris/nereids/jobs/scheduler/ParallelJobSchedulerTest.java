@@ -0,0 +1,97 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.jobs.scheduler;
+
+import org.apache.doris.nereids.datasets.ssb.SSBTestBase;
+import org.apache.doris.nereids.datasets.ssb.SSBUtils;
+import org.apache.doris.nereids.properties.PhysicalProperties;
+import org.apache.doris.nereids.util.PlanChecker;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ParallelJobSchedulerTest extends SSBTestBase {
+
+    @AfterEach
+    public void resetSessionVariable() {
+        connectContext.getSessionVariable().setNereidsJobSchedulerParallelism(1);
+        connectContext.getSessionVariable().setEnableNereidsDeterministicScheduler(false);
+    }
+
+    @Test
+    public void testSameCostAsSimpleScheduler() {
+        for (String sql : new String[] {SSBUtils.Q2_1, SSBUtils.Q3_1, SSBUtils.Q4_1}) {
+            double expected = optimizeAndGetCost(sql);
+
+            connectContext.getSessionVariable().setNereidsJobSchedulerParallelism(4);
+            Assertions.assertEquals(expected, optimizeAndGetCost(sql), 1e-6);
+
+            connectContext.getSessionVariable().setEnableNereidsDeterministicScheduler(true);
+            Assertions.assertEquals(expected, optimizeAndGetCost(sql), 1e-6);
+            resetSessionVariable();
+        }
+    }
+
+    @Test
+    public void testDeterministicMode() {
+        connectContext.getSessionVariable().setNereidsJobSchedulerParallelism(4);
+        connectContext.getSessionVariable().setEnableNereidsDeterministicScheduler(true);
+        PlanChecker first = optimize(SSBUtils.Q4_1);
+        PlanChecker second = optimize(SSBUtils.Q4_1);
+        Assertions.assertTrue(first.getCascadesContext().getJobScheduler() instanceof ParallelJobScheduler);
+        Assertions.assertEquals(first.getCascadesContext().getMemo().getGroupExpressions().size(),
+                second.getCascadesContext().getMemo().getGroupExpressions().size());
+        Assertions.assertTrue(PlanChecker.isPlanEqualWithoutID(first.getBestPlanTree(), second.getBestPlanTree()));
+    }
+
+    @Test
+    public void testPreparedResultReused() {
+        for (boolean deterministic : new boolean[] {true, false}) {
+            connectContext.getSessionVariable().setNereidsJobSchedulerParallelism(4);
+            connectContext.getSessionVariable().setEnableNereidsDeterministicScheduler(deterministic);
+            ParallelJobScheduler scheduler = (ParallelJobScheduler) optimize(SSBUtils.Q4_1)
+                    .getCascadesContext().getJobScheduler();
+            // the sibling jobs only add expressions into the group they are applied on,
+            // which does not invalidate the results prepared by the others.
+            Assertions.assertTrue(scheduler.getPreparedJobNum() > 0);
+            Assertions.assertTrue(scheduler.getReusedJobNum() > 0);
+            Assertions.assertTrue(scheduler.getReusedJobNum() <= scheduler.getPreparedJobNum());
+        }
+    }
+
+    @Test
+    public void testSerialSchedulerIfNoParallelism() {
+        connectContext.getSessionVariable().setNereidsJobSchedulerParallelism(1);
+        connectContext.getSessionVariable().setEnableNereidsDeterministicScheduler(true);
+        Assertions.assertTrue(optimize(SSBUtils.Q2_1).getCascadesContext().getJobScheduler()
+                instanceof SimpleJobScheduler);
+    }
+
+    private PlanChecker optimize(String sql) {
+        return PlanChecker.from(connectContext)
+                .analyze(sql)
+                .rewrite()
+                .optimize();
+    }
+
+    private double optimizeAndGetCost(String sql) {
+        return optimize(sql).getCascadesContext().getMemo().getRoot()
+                .getLowestCostPlan(PhysicalProperties.ANY).get().first.getValue();
+    }
+}
@@ -17,11 +17,27 @@
 
 package org.apache.doris.persist;
 
+import org.apache.doris.common.Config;
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.journal.Journal;
+import org.apache.doris.journal.JournalCursor;
+import org.apache.doris.journal.JournalEntity;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 public class EditLogTest {
     private String meta = "editLogTestDir/";
@@ -102,4 +118,226 @@ public class EditLogTest {
     public void test() {
 
     }
+
+    private boolean enableGroupCommit;
+    private int maxBatchSize;
+    private long maxWaitMs;
+
+    @Before
+    public void setUp() {
+        enableGroupCommit = Config.enable_edit_log_group_commit;
+        maxBatchSize = Config.edit_log_group_commit_max_batch_size;
+        maxWaitMs = Config.edit_log_group_commit_max_wait_ms;
+        Config.enable_edit_log_group_commit = true;
+        Config.edit_log_group_commit_max_batch_size = 1024;
+        Config.edit_log_group_commit_max_wait_ms = 0;
+    }
+
+    @After
+    public void tearDown() {
+        Config.enable_edit_log_group_commit = enableGroupCommit;
+        Config.edit_log_group_commit_max_batch_size = maxBatchSize;
+        Config.edit_log_group_commit_max_wait_ms = maxWaitMs;
+    }
+
+    @Test
+    public void testGroupCommitBatch() throws Exception {
+        Assert.assertEquals(Lists.newArrayList(1, 7), writeWhileFirstBatchBlocked(8));
+    }
+
+    @Test
+    public void testGroupCommitMaxBatchSize() throws Exception {
+        Config.edit_log_group_commit_max_batch_size = 3;
+        Assert.assertEquals(Lists.newArrayList(1, 3, 3, 1), writeWhileFirstBatchBlocked(8));
+    }
+
+    // the first edit log is written alone and blocked in the journal, the others are queued meanwhile
+    private List<Integer> writeWhileFirstBatchBlocked(int num) throws Exception {
+        MockJournal journal = new MockJournal();
+        EditLog editLog = new EditLog(journal);
+        journal.blockWrite();
+        List<Thread> threads = Lists.newArrayList(logAsync(editLog, 0));
+        Assert.assertTrue(journal.writeStarted.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i < num; i++) {
+            threads.add(logAsync(editLog, i));
+        }
+        waitUntil(() -> editLog.getGroupCommitQueueSize() == num - 1);
+        journal.unblockWrite();
+        for (Thread thread : threads) {
+            thread.join(10000);
+            Assert.assertFalse(thread.isAlive());
+        }
+        editLog.stopGroupCommit();
+        Assert.assertEquals(num, journal.writtenNum.get());
+        return journal.batchSizes;
+    }
+
+    @Test
+    public void testGroupCommitMaxWait() throws Exception {
+        Config.edit_log_group_commit_max_wait_ms = 1000;
+        MockJournal journal = new MockJournal();
+        EditLog editLog = new EditLog(journal);
+
+        // the edit log arrives within the max wait time joins the batch
+        Thread first = logAsync(editLog, 0);
+        waitUntil(() -> editLog.getGroupCommitQueueSize() == 0 && editLog.getGroupCommitThread() != null);
+        Thread.sleep(100);
+        Thread second = logAsync(editLog, 1);
+        first.join(10000);
+        second.join(10000);
+        Assert.assertEquals(Lists.newArrayList(2), journal.batchSizes);
+
+        // a single edit log is written when the max wait time elapses
+        Config.edit_log_group_commit_max_wait_ms = 300;
+        long start = System.currentTimeMillis();
+        editLog.logSaveNextId(2);
+        Assert.assertTrue(System.currentTimeMillis() - start >= 250);
+        Assert.assertEquals(Lists.newArrayList(2, 1), journal.batchSizes);
+        editLog.stopGroupCommit();
+    }
+
+    @Test
+    public void testGroupCommitThreadInterrupted() throws Exception {
+        Config.edit_log_group_commit_max_wait_ms = 60000;
+        MockJournal journal = new MockJournal();
+        EditLog editLog = new EditLog(journal);
+
+        Thread writer = logAsync(editLog, 0);
+        // the edit log is taken from the queue, and the thread is waiting for more
+        waitUntil(() -> editLog.getGroupCommitQueueSize() == 0 && editLog.getGroupCommitThread() != null);
+        Thread.sleep(100);
+        editLog.getGroupCommitThread().interrupt();
+        // the taken edit log is still written
+        writer.join(10000);
+        Assert.assertFalse(writer.isAlive());
+        Assert.assertEquals(Lists.newArrayList(1), journal.batchSizes);
+        Assert.assertTrue(editLog.getGroupCommitThread().isAlive());
+
+        Config.edit_log_group_commit_max_wait_ms = 0;
+        editLog.logSaveNextId(1);
+        Assert.assertEquals(Lists.newArrayList(1, 1), journal.batchSizes);
+        editLog.stopGroupCommit();
+    }
+
+    @Test
+    public void testStopGroupCommit() throws Exception {
+        Config.edit_log_group_commit_max_wait_ms = 60000;
+        MockJournal journal = new MockJournal();
+        EditLog editLog = new EditLog(journal);
+
+        Thread writer = logAsync(editLog, 0);
+        waitUntil(() -> editLog.getGroupCommitQueueSize() == 0 && editLog.getGroupCommitThread() != null);
+        // the pending batch is written before the thread exits
+        editLog.stopGroupCommit();
+        writer.join(10000);
+        Assert.assertFalse(writer.isAlive());
+        Assert.assertFalse(editLog.getGroupCommitThread().isAlive());
+        Assert.assertEquals(Lists.newArrayList(1), journal.batchSizes);
+
+        // written directly after the group commit is stopped
+        editLog.logSaveNextId(1);
+        Assert.assertEquals(Lists.newArrayList(1), journal.batchSizes);
+        Assert.assertEquals(2, journal.writtenNum.get());
+    }
+
+    private static Thread logAsync(EditLog editLog, long id) {
+        Thread thread = new Thread(() -> editLog.logSaveNextId(id));
+        thread.start();
+        return thread;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static class MockJournal implements Journal {
+        private final List<Integer> batchSizes = Collections.synchronizedList(Lists.newArrayList());
+        private final AtomicInteger writtenNum = new AtomicInteger();
+        private final CountDownLatch writeStarted = new CountDownLatch(1);
+        private volatile CountDownLatch blockLatch = null;
+
+        private void blockWrite() {
+            blockLatch = new CountDownLatch(1);
+        }
+
+        private void unblockWrite() {
+            blockLatch.countDown();
+        }
+
+        @Override
+        public void write(List<JournalEntity> entities) throws IOException {
+            writeStarted.countDown();
+            CountDownLatch latch = blockLatch;
+            if (latch != null) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                blockLatch = null;
+            }
+            batchSizes.add(entities.size());
+            writtenNum.addAndGet(entities.size());
+        }
+
+        @Override
+        public void write(short op, Writable writable) throws IOException {
+            writtenNum.incrementAndGet();
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void rollJournal() {
+        }
+
+        @Override
+        public long getMaxJournalId() {
+            return 0;
+        }
+
+        @Override
+        public long getMinJournalId() {
+            return 0;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public JournalEntity read(long journalId) {
+            return null;
+        }
+
+        @Override
+        public JournalCursor read(long fromKey, long toKey) {
+            return null;
+        }
+
+        @Override
+        public long getJournalNum() {
+            return 0;
+        }
+
+        @Override
+        public void deleteJournals(long deleteJournalToId) {
+        }
+
+        @Override
+        public long getFinalizedJournalId() {
+            return 0;
+        }
+
+        @Override
+        public List<Long> getDatabaseNames() {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,140 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.cluster.Cluster;
+import org.apache.doris.common.Config;
+import org.apache.doris.meta.MetaContext;
+import org.apache.doris.qe.VariableMgr;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MetaPersistRoundTripTest extends TestWithFeService {
+
+    @Override
+    protected int backendNum() {
+        return 3;
+    }
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase("test");
+        createTable("CREATE TABLE test.tbl1 (\n"
+                + "  `k1` int NULL,\n"
+                + "  `k2` int NULL\n"
+                + ") ENGINE=OLAP\n"
+                + "DUPLICATE KEY(`k1`)\n"
+                + "DISTRIBUTED BY HASH(`k1`) BUCKETS 3\n"
+                + "PROPERTIES (\n"
+                + " \"replication_num\" = \"1\"\n"
+                + ");");
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        int parallelism = Config.image_persist_parallelism;
+        boolean compression = Config.enable_image_section_compression;
+        File dir = Files.createTempDirectory("meta_persist_round_trip").toFile();
+        try {
+            // sequential, sections, compressed sections
+            int[] parallelisms = {1, 4, 4};
+            boolean[] compressions = {false, false, true};
+            for (int i = 0; i < parallelisms.length; i++) {
+                Config.image_persist_parallelism = parallelisms[i];
+                Config.enable_image_section_compression = compressions[i];
+                File image = new File(dir, "image." + i);
+                Assertions.assertTrue(image.createNewFile());
+                MetaWriter.write(image, Env.getCurrentEnv());
+                MetaHeader metaHeader = MetaHeader.read(image);
+                Assertions.assertEquals(compressions[i], metaHeader.isSectionCompressed());
+                if (!compressions[i]) {
+                    // not written into the header, so that the image can be loaded by FE of older version
+                    Assertions.assertNull(metaHeader.getMetaJsonHeader().sectionCompression);
+                }
+                checkLoadedImage(image);
+            }
+        } finally {
+            Config.image_persist_parallelism = parallelism;
+            Config.enable_image_section_compression = compression;
+            for (File file : dir.listFiles()) {
+                file.delete();
+            }
+            dir.delete();
+        }
+    }
+
+    // load the image into a checkpoint env, like the checkpoint thread does
+    private void checkLoadedImage(File image) throws Exception {
+        Env servingEnv = Env.getServingEnv();
+        Database servingDb = servingEnv.getInternalCatalog().getDbOrMetaException("default_cluster:test");
+        OlapTable servingTable = (OlapTable) servingDb.getTableOrMetaException("tbl1");
+        Cluster servingCluster = servingEnv.getCluster(SystemInfoService.DEFAULT_CLUSTER);
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            long threadId = Thread.currentThread().getId();
+            Env.addCheckpointWorkerThread(threadId);
+            VariableMgr.createDefaultSessionVariableForCkpt();
+            new MetaContext().setThreadLocalInfo();
+            try {
+                Env env = Env.getCurrentEnv();
+                Assertions.assertNotSame(servingEnv, env);
+                MetaReader.read(image, env);
+
+                Assertions.assertEquals(servingEnv.getClusterInfo().getBackendIds(false),
+                        env.getClusterInfo().getBackendIds(false));
+                Database db = env.getInternalCatalog().getDbOrMetaException("default_cluster:test");
+                Assertions.assertEquals(servingDb.getId(), db.getId());
+                OlapTable table = (OlapTable) db.getTableOrMetaException("tbl1");
+                Assertions.assertEquals(servingTable.getId(), table.getId());
+                Assertions.assertEquals(servingTable.getBaseSchema().size(), table.getBaseSchema().size());
+                Assertions.assertEquals(Sets.newHashSet(servingTable.getPartitionIds()),
+                        Sets.newHashSet(table.getPartitionIds()));
+                if (servingCluster != null) {
+                    // the cluster is loaded after backends
+                    Cluster cluster = env.getCluster(SystemInfoService.DEFAULT_CLUSTER);
+                    Assertions.assertEquals(servingCluster.getBackendIdList().size(),
+                            cluster.getBackendIdList().size());
+                }
+            } catch (Throwable t) {
+                error.set(t);
+            } finally {
+                Env.destroyCheckpoint();
+                VariableMgr.destroyDefaultSessionVariableForCkpt();
+                MetaContext.remove();
+                Env.removeCheckpointWorkerThread(threadId);
+            }
+        });
+        thread.start();
+        thread.join();
+        if (error.get() != null) {
+            throw new AssertionError("failed to load image " + image.getName(), error.get());
+        }
+    }
+}
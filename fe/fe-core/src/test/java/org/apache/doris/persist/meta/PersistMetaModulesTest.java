@@ -0,0 +1,41 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class PersistMetaModulesTest {
+
+    @Test
+    public void testModuleDependencies() {
+        // a module can only depend on the modules written in front of it
+        for (Map.Entry<String, ImmutableList<String>> entry : PersistMetaModules.MODULE_DEPENDENCIES.entrySet()) {
+            int index = PersistMetaModules.MODULE_NAMES.indexOf(entry.getKey());
+            Assert.assertTrue(entry.getKey(), index >= 0);
+            for (String dependency : entry.getValue()) {
+                int dependencyIndex = PersistMetaModules.MODULE_NAMES.indexOf(dependency);
+                Assert.assertTrue(entry.getKey() + " -> " + dependency,
+                        dependencyIndex >= 0 && dependencyIndex < index);
+            }
+        }
+    }
+}
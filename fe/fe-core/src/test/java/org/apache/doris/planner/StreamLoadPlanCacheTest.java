@@ -0,0 +1,280 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.planner;
+
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.common.Config;
+import org.apache.doris.task.StreamLoadTask;
+import org.apache.doris.thrift.TExecPlanFragmentParams;
+import org.apache.doris.thrift.TFileFormatType;
+import org.apache.doris.thrift.TFileRangeDesc;
+import org.apache.doris.thrift.TFileType;
+import org.apache.doris.thrift.TOlapTableSink;
+import org.apache.doris.thrift.TScanRangeParams;
+import org.apache.doris.thrift.TStreamLoadPutRequest;
+import org.apache.doris.thrift.TUniqueId;
+import org.apache.doris.utframe.TestWithFeService;
+
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StreamLoadPlanCacheTest extends TestWithFeService {
+    private final AtomicInteger planNum = new AtomicInteger(0);
+    private long nextLoadId = 1;
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase("test");
+        createTable("CREATE TABLE test.tbl1 (\n"
+                + "  `k1` int NOT NULL,\n"
+                + "  `k2` int NULL\n"
+                + ") ENGINE=OLAP\n"
+                + "DUPLICATE KEY(`k1`)\n"
+                + "PARTITION BY RANGE(`k1`)\n"
+                + "(PARTITION p1 VALUES LESS THAN (\"10\"),\n"
+                + "PARTITION p2 VALUES LESS THAN (\"20\"))\n"
+                + "DISTRIBUTED BY HASH(`k1`) BUCKETS 3\n"
+                + "PROPERTIES (\n"
+                + " \"replication_num\" = \"1\",\n"
+                + " \"light_schema_change\" = \"true\"\n"
+                + ");");
+    }
+
+    @BeforeEach
+    public void setUp() {
+        planNum.set(0);
+        new MockUp<StreamLoadPlanner>() {
+            @Mock
+            public TExecPlanFragmentParams plan(Invocation inv, TUniqueId loadId) {
+                planNum.incrementAndGet();
+                return inv.proceed();
+            }
+        };
+    }
+
+    private TStreamLoadPutRequest newRequest(String tblName) {
+        TStreamLoadPutRequest request = new TStreamLoadPutRequest();
+        request.setUser("root");
+        request.setPasswd("");
+        request.setDb("test");
+        request.setTbl(tblName);
+        request.setLoadId(new TUniqueId(nextLoadId, nextLoadId));
+        request.setTxnId(nextLoadId);
+        nextLoadId++;
+        request.setFileType(TFileType.FILE_STREAM);
+        request.setFormatType(TFileFormatType.FORMAT_CSV_PLAIN);
+        request.setColumnSeparator(",");
+        return request;
+    }
+
+    private OlapTable getTable(String tblName) throws Exception {
+        Database db = Env.getCurrentInternalCatalog().getDbOrMetaException("default_cluster:test");
+        return (OlapTable) db.getTableOrMetaException(tblName);
+    }
+
+    private TExecPlanFragmentParams plan(StreamLoadPlanCache cache, TStreamLoadPutRequest request)
+            throws Exception {
+        Database db = Env.getCurrentInternalCatalog().getDbOrMetaException("default_cluster:test");
+        OlapTable table = getTable(request.getTbl());
+        table.readLock();
+        try {
+            return cache.plan(db, table, request);
+        } finally {
+            table.readUnlock();
+        }
+    }
+
+    private TExecPlanFragmentParams planWithoutCache(TStreamLoadPutRequest request) throws Exception {
+        Database db = Env.getCurrentInternalCatalog().getDbOrMetaException("default_cluster:test");
+        OlapTable table = getTable(request.getTbl());
+        table.readLock();
+        try {
+            StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request);
+            return new StreamLoadPlanner(db, table, streamLoadTask).plan(streamLoadTask.getId());
+        } finally {
+            table.readUnlock();
+        }
+    }
+
+    // clear the ids and the time which are different for each load
+    private static TExecPlanFragmentParams normalize(TExecPlanFragmentParams plan) {
+        TExecPlanFragmentParams copy = plan.deepCopy();
+        TUniqueId id = new TUniqueId(0, 0);
+        copy.getParams().setQueryId(id);
+        copy.getParams().setFragmentInstanceId(id);
+        TOlapTableSink tSink = copy.getFragment().getOutputSink().getOlapTableSink();
+        tSink.setLoadId(id);
+        tSink.setTxnId(0);
+        for (List<TScanRangeParams> scanRanges : copy.getParams().getPerNodeScanRanges().values()) {
+            for (TScanRangeParams scanRangeParams : scanRanges) {
+                for (TFileRangeDesc rangeDesc : scanRangeParams.getScanRange().getExtScanRange()
+                        .getFileScanRange().getRanges()) {
+                    rangeDesc.setLoadId(id);
+                }
+            }
+        }
+        copy.getQueryGlobals().unsetNowString();
+        copy.getQueryGlobals().unsetTimestampMs();
+        copy.getQueryGlobals().unsetNanoSeconds();
+        return copy;
+    }
+
+    private static void assertPlanOf(TStreamLoadPutRequest request, TExecPlanFragmentParams plan) {
+        Assertions.assertEquals(request.getLoadId(), plan.getParams().getQueryId());
+        TOlapTableSink tSink = plan.getFragment().getOutputSink().getOlapTableSink();
+        Assertions.assertEquals(request.getLoadId(), tSink.getLoadId());
+        Assertions.assertEquals(request.getTxnId(), tSink.getTxnId());
+    }
+
+    @Test
+    public void testCachedPlanSameAsNewPlan() throws Exception {
+        StreamLoadPlanCache cache = new StreamLoadPlanCache(100);
+        TStreamLoadPutRequest request = newRequest("tbl1");
+        plan(cache, request);
+        Assertions.assertEquals(1, planNum.get());
+        Assertions.assertEquals(1, cache.size());
+
+        request = newRequest("tbl1");
+        TExecPlanFragmentParams cachedPlan = plan(cache, request);
+        Assertions.assertEquals(1, planNum.get());
+        assertPlanOf(request, cachedPlan);
+        TExecPlanFragmentParams newPlan = planWithoutCache(request);
+        Assertions.assertEquals(normalize(newPlan), normalize(cachedPlan));
+
+        // the load with different properties gets its own plan
+        request = newRequest("tbl1");
+        request.setColumnSeparator("|");
+        plan(cache, request);
+        Assertions.assertEquals(3, planNum.get());
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testInvalidateByTableChange() throws Exception {
+        createTable("CREATE TABLE test.tbl2 (\n"
+                + "  `k1` int NOT NULL,\n"
+                + "  `k2` int NULL\n"
+                + ") ENGINE=OLAP\n"
+                + "DUPLICATE KEY(`k1`)\n"
+                + "PARTITION BY RANGE(`k1`)\n"
+                + "(PARTITION p1 VALUES LESS THAN (\"10\"))\n"
+                + "DISTRIBUTED BY HASH(`k1`) BUCKETS 3\n"
+                + "PROPERTIES (\n"
+                + " \"replication_num\" = \"1\",\n"
+                + " \"light_schema_change\" = \"true\"\n"
+                + ");");
+        StreamLoadPlanCache cache = new StreamLoadPlanCache(100);
+        plan(cache, newRequest("tbl2"));
+        plan(cache, newRequest("tbl2"));
+        Assertions.assertEquals(1, planNum.get());
+
+        // schema change
+        alterTableSync("ALTER TABLE test.tbl2 ADD COLUMN k3 int NULL");
+        TStreamLoadPutRequest request = newRequest("tbl2");
+        TExecPlanFragmentParams plan = plan(cache, request);
+        Assertions.assertEquals(2, planNum.get());
+        Assertions.assertEquals(normalize(planWithoutCache(request)), normalize(plan));
+        planNum.set(0);
+
+        // rename column, which changes neither the schema version nor the schema hash
+        alterTableSync("ALTER TABLE test.tbl2 RENAME COLUMN k3 k4");
+        request = newRequest("tbl2");
+        plan = plan(cache, request);
+        Assertions.assertEquals(1, planNum.get());
+        Assertions.assertEquals(normalize(planWithoutCache(request)), normalize(plan));
+        Assertions.assertTrue(plan.getFragment().getOutputSink().getOlapTableSink().getSchema().getSlotDescs()
+                .stream().anyMatch(slotDesc -> "k4".equals(slotDesc.getColName())));
+        planNum.set(0);
+
+        // add partition
+        alterTableSync("ALTER TABLE test.tbl2 ADD PARTITION p2 VALUES LESS THAN (\"20\")");
+        request = newRequest("tbl2");
+        plan = plan(cache, request);
+        Assertions.assertEquals(1, planNum.get());
+        Assertions.assertEquals(normalize(planWithoutCache(request)), normalize(plan));
+        plan(cache, newRequest("tbl2"));
+        Assertions.assertEquals(2, planNum.get());
+
+        // drop partition
+        alterTableSync("ALTER TABLE test.tbl2 DROP PARTITION p1");
+        request = newRequest("tbl2");
+        plan = plan(cache, request);
+        Assertions.assertEquals(3, planNum.get());
+        Assertions.assertEquals(normalize(planWithoutCache(request)), normalize(plan));
+        planNum.set(0);
+
+        // recreate the table with the same name
+        long tableId = getTable("tbl2").getId();
+        dropTable("test.tbl2", true);
+        createTable("CREATE TABLE test.tbl2 (\n"
+                + "  `k1` int NOT NULL,\n"
+                + "  `k2` int NULL\n"
+                + ") ENGINE=OLAP\n"
+                + "DUPLICATE KEY(`k1`)\n"
+                + "DISTRIBUTED BY HASH(`k1`) BUCKETS 3\n"
+                + "PROPERTIES (\n"
+                + " \"replication_num\" = \"1\"\n"
+                + ");");
+        Assertions.assertNotEquals(tableId, getTable("tbl2").getId());
+        request = newRequest("tbl2");
+        plan = plan(cache, request);
+        Assertions.assertEquals(1, planNum.get());
+        Assertions.assertEquals(normalize(planWithoutCache(request)), normalize(plan));
+    }
+
+    @Test
+    public void testInvalidateByConfigChange() throws Exception {
+        boolean origSingleReplicaLoad = Config.enable_single_replica_load;
+        int origBeExecVersion = Config.be_exec_version;
+        try {
+            Config.enable_single_replica_load = false;
+            StreamLoadPlanCache cache = new StreamLoadPlanCache(100);
+            plan(cache, newRequest("tbl1"));
+            plan(cache, newRequest("tbl1"));
+            Assertions.assertEquals(1, planNum.get());
+
+            // the sink of the cached plan is planned without single replica load
+            Config.enable_single_replica_load = true;
+            TStreamLoadPutRequest request = newRequest("tbl1");
+            TExecPlanFragmentParams plan = plan(cache, request);
+            Assertions.assertEquals(2, planNum.get());
+            Assertions.assertTrue(plan.getFragment().getOutputSink().getOlapTableSink().isWriteSingleReplica());
+            plan = plan(cache, newRequest("tbl1"));
+            Assertions.assertEquals(2, planNum.get());
+            Assertions.assertTrue(plan.getFragment().getOutputSink().getOlapTableSink().isWriteSingleReplica());
+
+            Config.be_exec_version = origBeExecVersion - 1;
+            plan = plan(cache, newRequest("tbl1"));
+            Assertions.assertEquals(3, planNum.get());
+            Assertions.assertEquals(origBeExecVersion - 1, plan.getQueryOptions().getBeExecVersion());
+        } finally {
+            Config.enable_single_replica_load = origSingleReplicaLoad;
+            Config.be_exec_version = origBeExecVersion;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.planner.external;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.system.Backend;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.hadoop.fs.Path;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class FederationBackendPolicyTest {
+    private boolean origAffinity;
+    private double origLoadFactor;
+    private List<Backend> backends;
+
+    @Before
+    public void setUp() {
+        origAffinity = Config.enable_split_cache_affinity;
+        origLoadFactor = Config.split_assigner_max_load_factor;
+        Config.enable_split_cache_affinity = true;
+        backends = Lists.newArrayList();
+        for (int i = 0; i < 3; i++) {
+            backends.add(new Backend(10001 + i, "192.168.1." + i, 9050));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        Config.enable_split_cache_affinity = origAffinity;
+        Config.split_assigner_max_load_factor = origLoadFactor;
+    }
+
+    private static List<FileSplit> newSplits(int num, long length) {
+        List<FileSplit> splits = Lists.newArrayList();
+        for (int i = 0; i < num; i++) {
+            splits.add(new FileSplit(new Path("hdfs://nameservice/path/file_" + i), 0, length, length, null));
+        }
+        return splits;
+    }
+
+    private static Map<Long, Long> getAssignedBytes(List<FileSplit> splits, List<Backend> assignment) {
+        Assert.assertEquals(splits.size(), assignment.size());
+        Map<Long, Long> assignedBytes = Maps.newHashMap();
+        for (int i = 0; i < splits.size(); i++) {
+            assignedBytes.merge(assignment.get(i).getId(), splits.get(i).getLength(), Long::sum);
+        }
+        return assignedBytes;
+    }
+
+    @Test
+    public void testAssignByAffinity() {
+        // all splits go to their preferred backend if the load is not bounded
+        Config.split_assigner_max_load_factor = 100;
+        List<FileSplit> splits = newSplits(300, 100);
+        FederationBackendPolicy policy = new FederationBackendPolicy(backends);
+        List<Backend> assignment = policy.assignSplits(splits);
+        Assert.assertTrue(policy.isAssignedByCacheAffinity());
+        Assert.assertEquals(1.0, policy.getExpectedCacheHitRatio(), 0.0001);
+
+        // the same split is assigned to the same backend among different queries
+        FederationBackendPolicy policy2 = new FederationBackendPolicy(backends);
+        Assert.assertEquals(assignment, policy2.assignSplits(splits));
+        Assert.assertEquals(3, getAssignedBytes(splits, assignment).size());
+    }
+
+    @Test
+    public void testBoundedLoad() {
+        Config.split_assigner_max_load_factor = 100;
+        List<FileSplit> splits = newSplits(300, 100);
+        List<Backend> preferred = new FederationBackendPolicy(backends).assignSplits(splits);
+
+        Config.split_assigner_max_load_factor = 1.1;
+        FederationBackendPolicy policy = new FederationBackendPolicy(backends);
+        List<Backend> assignment = policy.assignSplits(splits);
+        double maxBytesPerBackend = 1.1 * 300 * 100 / backends.size();
+        for (long bytes : getAssignedBytes(splits, assignment).values()) {
+            Assert.assertTrue(bytes <= maxBytesPerBackend);
+        }
+
+        // the splits which are still assigned to their preferred backend are counted
+        int preferredNum = 0;
+        for (int i = 0; i < splits.size(); i++) {
+            if (assignment.get(i).getId() == preferred.get(i).getId()) {
+                preferredNum++;
+            }
+        }
+        Assert.assertTrue(preferredNum > 0);
+        Assert.assertEquals((double) preferredNum / splits.size(), policy.getExpectedCacheHitRatio(), 0.0001);
+
+        // the ratio is accumulated among the assignments of the policy
+        policy.assignSplits(splits);
+        Assert.assertEquals((double) preferredNum / splits.size(), policy.getExpectedCacheHitRatio(), 0.0001);
+    }
+
+    @Test
+    public void testSplitLargerThanLimit() {
+        // the limit is 1.2 * 1000 / 3 bytes, which is less than the only split
+        Config.split_assigner_max_load_factor = 1.2;
+        List<FileSplit> splits = newSplits(1, 1000);
+        FederationBackendPolicy policy = new FederationBackendPolicy(backends);
+        List<Backend> assignment = policy.assignSplits(splits);
+        Assert.assertEquals(1.0, policy.getExpectedCacheHitRatio(), 0.0001);
+
+        Config.split_assigner_max_load_factor = 100;
+        Assert.assertEquals(assignment, new FederationBackendPolicy(backends).assignSplits(splits));
+
+        // the large splits are spread to the backends without load
+        Config.split_assigner_max_load_factor = 1.2;
+        splits = newSplits(3, 1000);
+        assignment = new FederationBackendPolicy(backends).assignSplits(splits);
+        Assert.assertEquals(3, getAssignedBytes(splits, assignment).size());
+    }
+
+    @Test
+    public void testRoundRobin() {
+        Config.enable_split_cache_affinity = false;
+        FederationBackendPolicy policy = new FederationBackendPolicy(backends);
+        List<Backend> assignment = policy.assignSplits(newSplits(6, 100));
+        for (int i = 0; i < assignment.size(); i++) {
+            Assert.assertEquals(backends.get(i % backends.size()), assignment.get(i));
+        }
+        Assert.assertFalse(policy.isAssignedByCacheAffinity());
+        Assert.assertEquals(-1, policy.getExpectedCacheHitRatio(), 0.0001);
+    }
+}
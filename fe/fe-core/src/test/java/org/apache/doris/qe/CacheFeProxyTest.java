@@ -0,0 +1,91 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Status;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.qe.cache.CacheFeProxy;
+import org.apache.doris.qe.cache.CacheProxy;
+
+import com.google.protobuf.ByteString;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CacheFeProxyTest {
+    private final CacheFeProxy proxy = CacheFeProxy.getInstance();
+
+    @After
+    public void tearDown() {
+        proxy.clearCache(null);
+        Config.cache_fe_sql_cache_max_size_mb = 256;
+    }
+
+    private static InternalService.PCacheParam param(long version) {
+        return InternalService.PCacheParam.newBuilder().setPartitionKey(1L)
+                .setLastVersion(version).setLastVersionTime(1000L).build();
+    }
+
+    private static InternalService.PUpdateCacheRequest update(String sql, long version, int rowSize) {
+        return InternalService.PUpdateCacheRequest.newBuilder()
+                .setSqlKey(CacheProxy.getMd5(sql))
+                .addValues(InternalService.PCacheValue.newBuilder().setParam(param(version))
+                        .setDataSize(rowSize).addRows(ByteString.copyFrom(new byte[rowSize])))
+                .build();
+    }
+
+    private InternalService.PCacheStatus fetch(String sql, long version) {
+        InternalService.PFetchCacheRequest request = InternalService.PFetchCacheRequest.newBuilder()
+                .setSqlKey(CacheProxy.getMd5(sql)).addParams(param(version)).build();
+        return proxy.fetchCache(request, CacheProxy.FETCH_TIMEOUT, new Status()).getStatus();
+    }
+
+    @Test
+    public void testFetchAndVersion() {
+        Assert.assertEquals(InternalService.PCacheStatus.NO_SQL_KEY, fetch("select 1", 2L));
+        proxy.updateCache(update("select 1", 2L, 10), CacheProxy.UPDATE_TIMEOUT, new Status());
+        Assert.assertEquals(InternalService.PCacheStatus.CACHE_OK, fetch("select 1", 2L));
+        // data has been changed, the overdue result is removed
+        Assert.assertEquals(InternalService.PCacheStatus.DATA_OVERDUE, fetch("select 1", 3L));
+        Assert.assertEquals(InternalService.PCacheStatus.NO_SQL_KEY, fetch("select 1", 2L));
+        Assert.assertEquals(0, proxy.getSizeBytes());
+    }
+
+    @Test
+    public void testLruEviction() {
+        Config.cache_fe_sql_cache_max_size_mb = 1;
+        int rowSize = 400 * 1024;
+        proxy.updateCache(update("q1", 2L, rowSize), CacheProxy.UPDATE_TIMEOUT, new Status());
+        proxy.updateCache(update("q2", 2L, rowSize), CacheProxy.UPDATE_TIMEOUT, new Status());
+        // q1 becomes the most recently used one
+        Assert.assertEquals(InternalService.PCacheStatus.CACHE_OK, fetch("q1", 2L));
+        proxy.updateCache(update("q3", 2L, rowSize), CacheProxy.UPDATE_TIMEOUT, new Status());
+        Assert.assertEquals(2, proxy.getEntryNum());
+        Assert.assertEquals(InternalService.PCacheStatus.NO_SQL_KEY, fetch("q2", 2L));
+        Assert.assertEquals(InternalService.PCacheStatus.CACHE_OK, fetch("q1", 2L));
+        Assert.assertEquals(InternalService.PCacheStatus.CACHE_OK, fetch("q3", 2L));
+        Assert.assertTrue(proxy.getSizeBytes() <= 1024 * 1024);
+
+        // too large to be cached
+        Status status = new Status();
+        proxy.updateCache(update("q4", 2L, 2 * 1024 * 1024), CacheProxy.UPDATE_TIMEOUT, status);
+        Assert.assertFalse(status.ok());
+        Assert.assertEquals(InternalService.PCacheStatus.NO_SQL_KEY, fetch("q4", 2L));
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.doris.analysis.TupleId;
 import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.HashDistributionInfo;
 import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.common.UserException;
 import org.apache.doris.common.jmockit.Deencapsulation;
 import org.apache.doris.persist.EditLog;
 import org.apache.doris.planner.DataPartition;
@@ -38,6 +39,8 @@ import org.apache.doris.planner.PlanFragment;
 import org.apache.doris.planner.PlanFragmentId;
 import org.apache.doris.planner.PlanNodeId;
 import org.apache.doris.planner.ScanNode;
+import org.apache.doris.proto.InternalService.PExecPlanFragmentResult;
+import org.apache.doris.rpc.BackendServiceProxy;
 import org.apache.doris.service.FrontendOptions;
 import org.apache.doris.system.Backend;
 import org.apache.doris.thrift.TNetworkAddress;
@@ -49,10 +52,18 @@ import org.apache.doris.thrift.TUniqueId;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
 import mockit.Mocked;
 import org.apache.commons.collections.map.HashedMap;
+import org.apache.commons.lang3.tuple.Triple;
+import org.apache.thrift.TException;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -62,6 +73,17 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class CoordinatorTest extends Coordinator {
 
@@ -875,4 +897,135 @@ public class CoordinatorTest extends Coordinator {
             hostNames.remove(host.hostname);
         }
     }
+
+    private static List<Integer> newBeStates(int num) {
+        List<Integer> beStates = Lists.newArrayList();
+        for (int i = 0; i < num; i++) {
+            beStates.add(i);
+        }
+        return beStates;
+    }
+
+    @Test
+    public void testSendFragmentsFailed() throws Exception {
+        List<Integer> beStates = newBeStates(64);
+        AtomicInteger started = new AtomicInteger(0);
+        AtomicInteger finished = new AtomicInteger(0);
+        try {
+            Coordinator.execRemoteFragmentsAsync(beStates, (states, proxy) -> {
+                started.incrementAndGet();
+                try {
+                    if (states == 0) {
+                        throw new TException("send failed");
+                    }
+                    Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+                    return CompletableFuture.completedFuture(PExecPlanFragmentResult.getDefaultInstance());
+                } finally {
+                    finished.incrementAndGet();
+                }
+            }, states -> Span.getInvalid());
+            Assert.fail("send failure is not thrown");
+        } catch (TException e) {
+            Assert.assertEquals("send failed", e.getMessage());
+        }
+        // no send is running after the failure is thrown, and the sends not started are skipped
+        Assert.assertEquals(started.get(), finished.get());
+        Assert.assertTrue(started.get() < beStates.size());
+    }
+
+    @Test
+    public void testSendFragmentsInterrupted() throws Exception {
+        List<Integer> beStates = newBeStates(64);
+        AtomicInteger started = new AtomicInteger(0);
+        AtomicInteger finished = new AtomicInteger(0);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch sent = new CountDownLatch(1);
+        AtomicReference<Exception> error = new AtomicReference<>();
+        AtomicBoolean interrupted = new AtomicBoolean(false);
+        Thread queryThread = new Thread(() -> {
+            try {
+                Coordinator.execRemoteFragmentsAsync(beStates, (states, proxy) -> {
+                    started.incrementAndGet();
+                    try {
+                        sending.countDown();
+                        Uninterruptibles.awaitUninterruptibly(sent);
+                        return CompletableFuture.completedFuture(PExecPlanFragmentResult.getDefaultInstance());
+                    } finally {
+                        finished.incrementAndGet();
+                    }
+                }, states -> Span.getInvalid());
+            } catch (Exception e) {
+                error.set(e);
+            }
+            interrupted.set(Thread.currentThread().isInterrupted());
+        });
+        queryThread.start();
+        sending.await();
+        queryThread.interrupt();
+        // the running sends are still waited for
+        queryThread.join(200);
+        Assert.assertTrue(queryThread.isAlive());
+        sent.countDown();
+        queryThread.join();
+
+        Assert.assertTrue(error.get() instanceof UserException);
+        Assert.assertTrue(error.get().getCause() instanceof InterruptedException);
+        Assert.assertTrue(interrupted.get());
+        Assert.assertEquals(started.get(), finished.get());
+        Assert.assertTrue(started.get() < beStates.size());
+    }
+
+    @Test
+    public void testSendFragmentsWithBackendSpan() throws Exception {
+        List<Integer> beStates = newBeStates(8);
+        Map<Integer, Span> spans = Maps.newHashMap();
+        for (Integer states : beStates) {
+            spans.put(states, Span.wrap(SpanContext.create(String.format("%032x", states + 1),
+                    String.format("%016x", states + 1), TraceFlags.getSampled(), TraceState.getDefault())));
+        }
+        Map<Integer, SpanContext> currentSpans = Maps.newConcurrentMap();
+        List<Triple<Integer, BackendServiceProxy, Future<PExecPlanFragmentResult>>> futures =
+                Coordinator.execRemoteFragmentsAsync(beStates, (states, proxy) -> {
+                    currentSpans.put(states, Span.current().getSpanContext());
+                    return CompletableFuture.completedFuture(PExecPlanFragmentResult.getDefaultInstance());
+                }, spans::get);
+        Assert.assertEquals(beStates.size(), futures.size());
+        // each backend is sent with its own span, and the span of the query thread is not changed
+        for (Integer states : beStates) {
+            Assert.assertEquals(spans.get(states).getSpanContext(), currentSpans.get(states));
+        }
+        Assert.assertFalse(Span.current().getSpanContext().isValid());
+    }
+
+    @Test
+    public void testSendFragmentsRejected() throws Exception {
+        List<Integer> beStates = newBeStates(64);
+        AtomicInteger started = new AtomicInteger(0);
+        AtomicInteger finished = new AtomicInteger(0);
+        ExecutorService originPool = Deencapsulation.getField(Coordinator.class, "sendFragmentPool");
+        // one send is running and one is queued, the third one is rejected
+        ExecutorService pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+        Deencapsulation.setField(Coordinator.class, "sendFragmentPool", pool);
+        try {
+            Coordinator.execRemoteFragmentsAsync(beStates, (states, proxy) -> {
+                started.incrementAndGet();
+                try {
+                    Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+                    return CompletableFuture.completedFuture(PExecPlanFragmentResult.getDefaultInstance());
+                } finally {
+                    finished.incrementAndGet();
+                }
+            }, states -> Span.getInvalid());
+            Assert.fail("rejected send is not thrown");
+        } catch (UserException e) {
+            Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+        } finally {
+            Deencapsulation.setField(Coordinator.class, "sendFragmentPool", originPool);
+            pool.shutdown();
+        }
+        // the submitted sends are waited for, and the queued one is skipped
+        Assert.assertEquals(started.get(), finished.get());
+        Assert.assertEquals(1, started.get());
+    }
 }
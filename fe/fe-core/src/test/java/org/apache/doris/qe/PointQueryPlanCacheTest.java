@@ -0,0 +1,152 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.PrepareStmt;
+import org.apache.doris.analysis.SelectStmt;
+import org.apache.doris.analysis.SqlParser;
+import org.apache.doris.analysis.SqlScanner;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.util.SqlParserUtils;
+import org.apache.doris.planner.OriginalPlanner;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+
+public class PointQueryPlanCacheTest {
+    private static final String SQL = "select * from tbl where k1 = 1";
+
+    private int origCacheNum;
+    private int origPlansPerStmt;
+    private final PointQueryPlanCache cache = PointQueryPlanCache.getInstance();
+
+    @Before
+    public void setUp() {
+        origCacheNum = Config.max_point_query_plan_cache_num;
+        origPlansPerStmt = Config.max_point_query_plans_per_stmt;
+        Config.max_point_query_plan_cache_num = 2;
+        Config.max_point_query_plans_per_stmt = 2;
+        cache.clear();
+    }
+
+    @After
+    public void tearDown() {
+        Config.max_point_query_plan_cache_num = origCacheNum;
+        Config.max_point_query_plans_per_stmt = origPlansPerStmt;
+        cache.clear();
+    }
+
+    private static ConnectContext newContext() {
+        ConnectContext ctx = new ConnectContext();
+        ctx.setQualifiedUser("root");
+        return ctx;
+    }
+
+    private static PointQueryPlanCache.CachedPlan newPlan() throws Exception {
+        SelectStmt stmt = (SelectStmt) SqlParserUtils.getFirstStmt(
+                new SqlParser(new SqlScanner(new StringReader(SQL))));
+        return new PointQueryPlanCache.CachedPlan(new PrepareStmt(stmt, "point_query_plan", false),
+                new OriginalPlanner(null), SQL);
+    }
+
+    @Test
+    public void testKeyContainsSessionVariables() {
+        ConnectContext ctx1 = newContext();
+        ConnectContext ctx2 = newContext();
+        Assert.assertEquals(PointQueryPlanCache.getKey(ctx1, SQL), PointQueryPlanCache.getKey(ctx2, SQL));
+
+        ctx2.getSessionVariable().setTimeZone("America/New_York");
+        Assert.assertNotEquals(PointQueryPlanCache.getKey(ctx1, SQL), PointQueryPlanCache.getKey(ctx2, SQL));
+
+        ConnectContext ctx3 = newContext();
+        ctx3.getSessionVariable().setSqlMode(SqlModeHelper.MODE_PIPES_AS_CONCAT);
+        Assert.assertNotEquals(PointQueryPlanCache.getKey(ctx1, SQL), PointQueryPlanCache.getKey(ctx3, SQL));
+    }
+
+    @Test
+    public void testPlanIsBoundToReusingSession() throws Exception {
+        ConnectContext ctx1 = newContext();
+        ConnectContext ctx2 = newContext();
+        String key = PointQueryPlanCache.getKey(ctx1, SQL);
+        PointQueryPlanCache.CachedPlan plan = newPlan();
+
+        PrepareStmtContext planCtx1 = plan.newContext(ctx1);
+        Assert.assertSame(ctx1, planCtx1.ctx);
+        Assert.assertSame(ctx1, planCtx1.analyzer.getContext());
+        Assert.assertSame(plan.stmt, planCtx1.analyzer.getPrepareStmt());
+        cache.release(key, plan);
+
+        Assert.assertSame(plan, cache.acquire(key));
+        PrepareStmtContext planCtx2 = plan.newContext(ctx2);
+        Assert.assertSame(ctx2, planCtx2.ctx);
+        Assert.assertSame(ctx2, planCtx2.analyzer.getContext());
+        Assert.assertNotSame(planCtx1.analyzer, planCtx2.analyzer);
+        Assert.assertSame(plan.planner, planCtx2.planner);
+    }
+
+    @Test
+    public void testAcquireAndRelease() throws Exception {
+        String key = PointQueryPlanCache.getKey(newContext(), SQL);
+        Assert.assertNull(cache.acquire(key));
+
+        PointQueryPlanCache.CachedPlan plan1 = newPlan();
+        PointQueryPlanCache.CachedPlan plan2 = newPlan();
+        PointQueryPlanCache.CachedPlan plan3 = newPlan();
+        cache.release(key, plan1);
+        cache.release(key, plan2);
+        // exceeds max_point_query_plans_per_stmt
+        cache.release(key, plan3);
+        Assert.assertSame(plan2, cache.acquire(key));
+        Assert.assertSame(plan1, cache.acquire(key));
+        Assert.assertNull(cache.acquire(key));
+    }
+
+    @Test
+    public void testEvictInLruOrder() throws Exception {
+        cache.release("k1", newPlan());
+        cache.release("k2", newPlan());
+        // k1 is the most recently used
+        Assert.assertNotNull(cache.acquire("k1"));
+        cache.release("k3", newPlan());
+        Assert.assertEquals(2, cache.getStmtNum());
+        Assert.assertNull(cache.acquire("k2"));
+        Assert.assertNotNull(cache.acquire("k3"));
+    }
+
+    @Test
+    public void testUnsupported() throws Exception {
+        Assert.assertFalse(cache.isUnsupported("k1"));
+        cache.release("k1", newPlan());
+        cache.markUnsupported("k1");
+        Assert.assertTrue(cache.isUnsupported("k1"));
+        Assert.assertNull(cache.acquire("k1"));
+        // a plan taken before is not put back
+        cache.release("k1", newPlan());
+        Assert.assertNull(cache.acquire("k1"));
+
+        Config.max_point_query_plan_cache_num = 0;
+        cache.release("k2", newPlan());
+        Assert.assertEquals(0, cache.getStmtNum());
+        Assert.assertFalse(cache.isUnsupported("k1"));
+    }
+}
@@ -0,0 +1,174 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+package org.apache.doris.qe;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Status;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+import org.apache.doris.rpc.BackendServiceProxy;
+import org.apache.doris.thrift.TNetworkAddress;
+import org.apache.doris.thrift.TResultBatch;
+import org.apache.doris.thrift.TUniqueId;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import mockit.Mock;
+import mockit.MockUp;
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+public class ResultReceiverTest {
+    private int origPrefetchNum;
+    // the results returned by the fetch rpcs in order of sending, the rpcs beyond them are pending
+    private final List<InternalService.PFetchDataResult> results = Lists.newArrayList();
+    private int sentNum;
+
+    @Before
+    public void setUp() {
+        origPrefetchNum = Config.result_receiver_prefetch_num;
+        results.clear();
+        sentNum = 0;
+        new MockUp<BackendServiceProxy>() {
+            @Mock
+            public Future<InternalService.PFetchDataResult> fetchDataAsync(TNetworkAddress address,
+                    InternalService.PFetchDataRequest request) {
+                int idx = sentNum++;
+                return idx < results.size() ? CompletableFuture.completedFuture(results.get(idx))
+                        : new CompletableFuture<>();
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Config.result_receiver_prefetch_num = origPrefetchNum;
+    }
+
+    private static InternalService.PFetchDataResult newResult(long packetSeq, boolean eos) throws Exception {
+        TResultBatch batch = new TResultBatch();
+        batch.setRows(Lists.newArrayList(ByteBuffer.wrap(("row" + packetSeq).getBytes(StandardCharsets.UTF_8))));
+        batch.setIsCompressed(false);
+        batch.setPacketSeq(packetSeq);
+        byte[] bytes = new TSerializer(new TBinaryProtocol.Factory()).serialize(batch);
+        return InternalService.PFetchDataResult.newBuilder()
+                .setStatus(Types.PStatus.newBuilder().setStatusCode(0))
+                .setPacketSeq(packetSeq)
+                .setEos(eos)
+                .setRowBatch(ByteString.copyFrom(bytes))
+                .build();
+    }
+
+    private static String getRow(RowBatch rowBatch) {
+        ByteBuffer row = rowBatch.getBatch().getRows().get(0);
+        return StandardCharsets.UTF_8.decode(row.duplicate()).toString();
+    }
+
+    private static ResultReceiver newReceiver() {
+        return new ResultReceiver(new TUniqueId(1, 2), 10001L, new TNetworkAddress("127.0.0.1", 8060),
+                System.currentTimeMillis() + 10000);
+    }
+
+    @Test
+    public void testOutOfOrderPrefetch() throws Exception {
+        Config.result_receiver_prefetch_num = 3;
+        // the second rpc is served before the first one
+        results.add(newResult(1, false));
+        results.add(newResult(0, false));
+        results.add(newResult(2, true));
+        ResultReceiver receiver = newReceiver();
+        Status status = new Status();
+
+        RowBatch rowBatch = receiver.getNext(status);
+        Assert.assertTrue(status.ok());
+        Assert.assertEquals("row0", getRow(rowBatch));
+        Assert.assertFalse(rowBatch.isEos());
+        // 3 rpcs are kept in flight
+        Assert.assertEquals(5, sentNum);
+
+        // the held packet is returned without a new rpc
+        rowBatch = receiver.getNext(status);
+        Assert.assertTrue(status.ok());
+        Assert.assertEquals("row1", getRow(rowBatch));
+        Assert.assertFalse(rowBatch.isEos());
+        Assert.assertEquals(5, sentNum);
+
+        rowBatch = receiver.getNext(status);
+        Assert.assertTrue(status.ok());
+        Assert.assertEquals("row2", getRow(rowBatch));
+        Assert.assertTrue(rowBatch.isEos());
+
+        // no more rpc after eos
+        Assert.assertNull(receiver.getNext(status));
+        Assert.assertEquals(5, sentNum);
+    }
+
+    @Test
+    public void testOutOfOrderEos() throws Exception {
+        Config.result_receiver_prefetch_num = 2;
+        // the eos packet arrives before the last packet
+        results.add(newResult(1, true));
+        results.add(newResult(0, false));
+        ResultReceiver receiver = newReceiver();
+        Status status = new Status();
+
+        RowBatch rowBatch = receiver.getNext(status);
+        Assert.assertTrue(status.ok());
+        Assert.assertEquals("row0", getRow(rowBatch));
+        Assert.assertFalse(rowBatch.isEos());
+
+        rowBatch = receiver.getNext(status);
+        Assert.assertTrue(status.ok());
+        Assert.assertEquals("row1", getRow(rowBatch));
+        Assert.assertTrue(rowBatch.isEos());
+
+        int sent = sentNum;
+        Assert.assertNull(receiver.getNext(status));
+        Assert.assertEquals(sent, sentNum);
+    }
+
+    @Test
+    public void testPrefetchDisabled() throws Exception {
+        Config.result_receiver_prefetch_num = 0;
+        results.add(newResult(0, false));
+        results.add(newResult(1, true));
+        ResultReceiver receiver = newReceiver();
+        Status status = new Status();
+
+        // only one rpc is sent for each batch
+        RowBatch rowBatch = receiver.getNext(status);
+        Assert.assertEquals("row0", getRow(rowBatch));
+        Assert.assertEquals(1, sentNum);
+        rowBatch = receiver.getNext(status);
+        Assert.assertEquals("row1", getRow(rowBatch));
+        Assert.assertTrue(rowBatch.isEos());
+        Assert.assertEquals(2, sentNum);
+        Assert.assertEquals(0, receiver.getFetchOverlapTimeNs());
+    }
+}
@@ -19,12 +19,14 @@ package org.apache.doris.statistics;
 
 import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.InternalSchemaInitializer;
+import org.apache.doris.catalog.OlapTable;
 import org.apache.doris.qe.AutoCloseConnectContext;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.qe.StmtExecutor;
 import org.apache.doris.statistics.AnalysisTaskInfo.AnalysisMethod;
 import org.apache.doris.statistics.AnalysisTaskInfo.AnalysisType;
 import org.apache.doris.statistics.AnalysisTaskInfo.JobType;
+import org.apache.doris.statistics.util.InternalQueryResult.ResultRow;
 import org.apache.doris.statistics.util.StatisticsUtil;
 import org.apache.doris.utframe.TestWithFeService;
 
@@ -36,6 +38,10 @@ import mockit.Mocked;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
 public class AnalysisJobTest extends TestWithFeService {
 
     @Override
@@ -48,6 +54,14 @@ public class AnalysisJobTest extends TestWithFeService {
                     + "DISTRIBUTED BY HASH(col3)\n" + "BUCKETS 1\n"
                     + "PROPERTIES(\n" + "    \"replication_num\"=\"1\"\n"
                     + ");");
+            createTable("CREATE TABLE t2 (col1 int not null, col2 int not null)\n"
+                    + "PARTITION BY RANGE(col1)\n"
+                    + "(PARTITION p1 VALUES LESS THAN (\"10\"),\n"
+                    + "PARTITION p2 VALUES LESS THAN (\"20\"),\n"
+                    + "PARTITION p3 VALUES LESS THAN (\"30\"))\n"
+                    + "DISTRIBUTED BY HASH(col2)\n" + "BUCKETS 1\n"
+                    + "PROPERTIES(\n" + "    \"replication_num\"=\"1\"\n"
+                    + ");");
             InternalSchemaInitializer storageInitializer = new InternalSchemaInitializer();
             Env.getCurrentEnv().createTable(storageInitializer.buildAnalysisJobTblStmt());
         } catch (Exception e) {
@@ -116,4 +130,68 @@ public class AnalysisJobTest extends TestWithFeService {
         new OlapAnalysisTask(analysisJobInfo).execute();
     }
 
+    @Test
+    public void testSampleJobExecution(@Mocked AnalysisTaskScheduler scheduler) throws Exception {
+        List<String> sqls = new ArrayList<>();
+        new MockUp<OlapAnalysisTask>() {
+            @Mock
+            public void execSQL(String sql) throws Exception {
+                sqls.add(sql);
+            }
+        };
+        AnalysisTaskInfo analysisJobInfo = new AnalysisTaskInfoBuilder().setJobId(0).setTaskId(0)
+                .setCatalogName("internal").setDbName("default_cluster:analysis_job_test").setTblName("t1")
+                .setColName("col3").setJobType(JobType.MANUAL).setAnalysisMethod(AnalysisMethod.SAMPLE)
+                .setAnalysisType(AnalysisType.COLUMN).setSamplePercent(10)
+                .setPartitionNames(Sets.newHashSet("t1"))
+                .build();
+        new OlapAnalysisTask(analysisJobInfo).execute();
+        Assertions.assertEquals(2, sqls.size());
+        // both partition and table statistics only scan the sampled tablet
+        Assertions.assertTrue(sqls.get(0).contains("TABLET("));
+        Assertions.assertTrue(sqls.get(1).contains("TABLET("));
+    }
+
+    @Test
+    public void testIncrementalMergeWithDroppedPartitions(@Mocked AnalysisTaskScheduler scheduler) throws Exception {
+        List<String> sqls = new ArrayList<>();
+        new MockUp<OlapAnalysisTask>() {
+            @Mock
+            public void execSQL(String sql) throws Exception {
+                sqls.add(sql);
+            }
+        };
+        new MockUp<StatisticsRepository>() {
+            @Mock
+            public List<ResultRow> queryPartitionStatistics(long tblId, String colName, Set<Long> partIds) {
+                return new ArrayList<>();
+            }
+        };
+        OlapTable tbl = (OlapTable) Env.getCurrentInternalCatalog()
+                .getDbOrAnalysisException("default_cluster:analysis_job_test").getTableOrAnalysisException("t2");
+        long p1 = tbl.getPartition("p1").getId();
+        long p2 = tbl.getPartition("p2").getId();
+        long p3 = tbl.getPartition("p3").getId();
+        alterTableSync("ALTER TABLE t2 DROP PARTITION p3");
+
+        // the NDV of the only partition column is merged from the current partitions
+        AnalysisTaskInfoBuilder builder = new AnalysisTaskInfoBuilder().setJobId(0).setTaskId(0)
+                .setCatalogName("internal").setDbName("default_cluster:analysis_job_test").setTblName("t2")
+                .setColName("col1").setJobType(JobType.MANUAL).setAnalysisMethod(AnalysisMethod.FULL)
+                .setAnalysisType(AnalysisType.COLUMN).setPartitionNames(Sets.newHashSet("p1", "p2", "p3"));
+        new OlapAnalysisTask(builder.setIncremental(true).build()).execute();
+        Assertions.assertEquals(3, sqls.size());
+        String mergeSql = sqls.get(2);
+        Assertions.assertTrue(mergeSql.contains("SUM(ndv)"));
+        Assertions.assertTrue(mergeSql.contains("'" + p1 + "'"));
+        Assertions.assertTrue(mergeSql.contains("'" + p2 + "'"));
+        Assertions.assertFalse(mergeSql.contains(String.valueOf(p3)));
+
+        // the table is scanned if it is not an incremental analysis
+        sqls.clear();
+        new OlapAnalysisTask(builder.setIncremental(false).build()).execute();
+        Assertions.assertEquals(3, sqls.size());
+        Assertions.assertFalse(sqls.get(2).contains("SUM(ndv)"));
+        Assertions.assertTrue(sqls.get(2).contains("NDV(`col1`)"));
+    }
 }
@@ -21,8 +21,10 @@ import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.FsBroker;
 import org.apache.doris.common.GenericPool;
 import org.apache.doris.ha.FrontendNodeType;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.system.HeartbeatMgr.BrokerHeartbeatHandler;
 import org.apache.doris.system.HeartbeatMgr.FrontendHeartbeatHandler;
+import org.apache.doris.system.HeartbeatMgr.HeartbeatTask;
 import org.apache.doris.system.HeartbeatResponse.HbStatus;
 import org.apache.doris.system.SystemInfoService.HostInfo;
 import org.apache.doris.thrift.FrontendService;
@@ -35,6 +37,7 @@ import org.apache.doris.thrift.TFrontendPingFrontendStatusCode;
 import org.apache.doris.thrift.TNetworkAddress;
 import org.apache.doris.thrift.TPaloBrokerService;
 
+import com.google.common.collect.Lists;
 import mockit.Expectations;
 import mockit.Mock;
 import mockit.MockUp;
@@ -44,6 +47,10 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class HeartbeatMgrTest {
 
     @Mocked
@@ -178,4 +185,79 @@ public class HeartbeatMgrTest {
         Assert.assertEquals(HbStatus.OK, hbResponse.getStatus());
     }
 
+    private static long countLatencyMetrics(String nodeKey) {
+        return MetricRepo.METRIC_REGISTER.getHistograms().keySet().stream()
+                .filter(name -> name.endsWith("node=" + nodeKey)).count();
+    }
+
+    @Test
+    public void testPendingHeartbeat() throws Exception {
+        HeartbeatMgr heartbeatMgr = new HeartbeatMgr(new SystemInfoService(), false);
+        CountDownLatch hung = new CountDownLatch(1);
+        AtomicInteger sentNum = new AtomicInteger(0);
+
+        // the node hangs, and a failed response is returned when the deadline is reached
+        HeartbeatTask hbTask = heartbeatMgr.submitHeartbeat("backend", "10001", () -> {
+            sentNum.incrementAndGet();
+            hung.await();
+            return new BackendHbResponse(10001, "192.168.1.1", "stale response");
+        }, errMsg -> new BackendHbResponse(10001, "192.168.1.1", errMsg));
+        HeartbeatResponse response = hbTask.getResponse(System.currentTimeMillis() + 100);
+        Assert.assertEquals(HbStatus.BAD, response.getStatus());
+        Assert.assertTrue(response.getMsg().contains("heartbeat timeout"));
+
+        // no new heartbeat is sent while the last one is pending
+        HeartbeatTask hbTask2 = heartbeatMgr.submitHeartbeat("backend", "10001", () -> {
+            sentNum.incrementAndGet();
+            return new BackendHbResponse(10001, "192.168.1.1", "new response");
+        }, errMsg -> new BackendHbResponse(10001, "192.168.1.1", errMsg));
+        Assert.assertSame(hbTask, hbTask2);
+        response = hbTask2.getResponse(System.currentTimeMillis() + 100);
+        Assert.assertTrue(response.getMsg().contains("heartbeat timeout"));
+        Assert.assertEquals(1, sentNum.get());
+
+        // the stale response of the hung heartbeat is dropped, and a new heartbeat is sent in the next round
+        hung.countDown();
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        Assert.assertEquals("stale response", hbTask.getResponse(deadline).getMsg());
+        HeartbeatTask hbTask3 = heartbeatMgr.submitHeartbeat("backend", "10001", () -> {
+            sentNum.incrementAndGet();
+            return new BackendHbResponse(10001, "192.168.1.1", "new response");
+        }, errMsg -> new BackendHbResponse(10001, "192.168.1.1", errMsg));
+        Assert.assertSame(hbTask, hbTask3);
+        Assert.assertEquals("new response", hbTask3.getResponse(deadline).getMsg());
+        Assert.assertEquals(2, sentNum.get());
+    }
+
+    @Test
+    public void testRemoveStaleHeartbeats() throws Exception {
+        HeartbeatMgr heartbeatMgr = new HeartbeatMgr(new SystemInfoService(), false);
+        HeartbeatTask hbTask1 = heartbeatMgr.submitHeartbeat("backend", "20001",
+                () -> new BackendHbResponse(20001, "192.168.1.1", "ok"),
+                errMsg -> new BackendHbResponse(20001, "192.168.1.1", errMsg));
+        HeartbeatTask hbTask2 = heartbeatMgr.submitHeartbeat("backend", "20002",
+                () -> new BackendHbResponse(20002, "192.168.1.2", "ok"),
+                errMsg -> new BackendHbResponse(20002, "192.168.1.2", errMsg));
+        heartbeatMgr.removeStaleHeartbeats(Lists.newArrayList(hbTask1, hbTask2));
+        Assert.assertEquals(1, countLatencyMetrics("20001"));
+        Assert.assertEquals(1, countLatencyMetrics("20002"));
+
+        // backend 20002 is dropped
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        hbTask2.getResponse(deadline);
+        hbTask1 = heartbeatMgr.submitHeartbeat("backend", "20001",
+                () -> new BackendHbResponse(20001, "192.168.1.1", "ok"),
+                errMsg -> new BackendHbResponse(20001, "192.168.1.1", errMsg));
+        heartbeatMgr.removeStaleHeartbeats(Lists.newArrayList(hbTask1));
+        Assert.assertEquals(1, countLatencyMetrics("20001"));
+        Assert.assertEquals(0, countLatencyMetrics("20002"));
+
+        // a backend added again with the same id starts from a new heartbeat task
+        HeartbeatTask hbTask3 = heartbeatMgr.submitHeartbeat("backend", "20002",
+                () -> new BackendHbResponse(20002, "192.168.1.2", "ok"),
+                errMsg -> new BackendHbResponse(20002, "192.168.1.2", errMsg));
+        Assert.assertNotSame(hbTask2, hbTask3);
+        Assert.assertEquals("ok", hbTask3.getResponse(deadline).getMsg());
+        Assert.assertEquals(1, countLatencyMetrics("20002"));
+    }
 }
@@ -25,6 +25,7 @@ import org.apache.doris.catalog.Table;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeMetaVersion;
+import org.apache.doris.common.LabelAlreadyUsedException;
 import org.apache.doris.common.Pair;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.util.TimeUtils;
@@ -39,6 +40,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -269,4 +271,46 @@ public class DatabaseTransactionMgrTest {
         Assert.assertEquals(3, masterDbTransMgr.getTransactionNum());
         Assert.assertNull(masterDbTransMgr.unprotectedGetTxnIdsByLabel(CatalogTestUtil.testTxnLabel1));
     }
+
+    @Test
+    public void testConcurrentBeginTransaction() throws Exception {
+        FakeEnv.setEnv(masterEnv);
+        DatabaseTransactionMgr masterDbTransMgr = masterTransMgr.getDatabaseTransactionMgr(CatalogTestUtil.testDbId1);
+        int threadNum = 8;
+        int txnPerThread = 10;
+        List<Thread> threads = Lists.newArrayList();
+        List<Throwable> errors = Collections.synchronizedList(Lists.newArrayList());
+        for (int i = 0; i < threadNum; i++) {
+            String labelPrefix = "concurrent_label_" + i + "_";
+            threads.add(new Thread(() -> {
+                try {
+                    for (int j = 0; j < txnPerThread; j++) {
+                        masterTransMgr.beginTransaction(CatalogTestUtil.testDbId1,
+                                Lists.newArrayList(CatalogTestUtil.testTableId1), labelPrefix + j, transactionSource,
+                                TransactionState.LoadJobSourceType.BACKEND_STREAMING,
+                                Config.stream_load_default_timeout_second);
+                    }
+                } catch (Throwable t) {
+                    errors.add(t);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertTrue(errors.toString(), errors.isEmpty());
+        Assert.assertEquals(2 + threadNum * txnPerThread, masterDbTransMgr.getRunningTxnNums());
+        Assert.assertEquals(4 + threadNum * txnPerThread, masterDbTransMgr.getTransactionNum());
+        Assert.assertEquals(TransactionStatus.PREPARE, masterDbTransMgr.getLabelState("concurrent_label_0_0"));
+        Assert.assertEquals(TransactionStatus.UNKNOWN, masterDbTransMgr.getLabelState("concurrent_label_unknown"));
+
+        // the same label can not be used twice
+        expectedEx.expect(LabelAlreadyUsedException.class);
+        masterTransMgr.beginTransaction(CatalogTestUtil.testDbId1, Lists.newArrayList(CatalogTestUtil.testTableId1),
+                "concurrent_label_0_0", transactionSource, TransactionState.LoadJobSourceType.BACKEND_STREAMING,
+                Config.stream_load_default_timeout_second);
+    }
 }
@@ -26,15 +26,39 @@ import com.google.common.base.Joiner;
 import com.google.common.collect.Lists;
 import org.apache.log4j.Logger;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.util.ArrayList;
 
+/**
+ * Executor of java scalar udf.
+ *
+ * The udf class must declare an evaluate() method, which is called row by row. Besides, if all arguments
+ * and the return value are fixed-width primitive types (boolean, tinyint, smallint, int, bigint, float, double),
+ * the udf class could also declare a vectorized evaluateBatch() method with the corresponding primitive array
+ * types, e.g. for `int evaluate(int a, long b)`, the batch method is `int[] evaluateBatch(int[] a, long[] b)`.
+ * The input columns are copied from BE memory into the arrays directly and the returned array is copied into
+ * the output column, without boxing each value. evaluateBatch() is only used for batches without null input,
+ * other batches still go through evaluate().
+ */
 public class UdfExecutor extends BaseExecutor {
     private static final Logger LOG = Logger.getLogger(UdfExecutor.class);
+    // all udf methods are invoked as (Object[]) -> Object
+    private static final MethodType GENERIC_METHOD_TYPE = MethodType.methodType(Object.class, Object[].class);
+
     // setup by init() and cleared by close()
     private Method method;
+    // method handle of `method` bound to the udf instance, null if it is not accessible by method handle
+    private MethodHandle methodHandle;
+    // method handle of the batch method bound to the udf instance, null if the udf has no batch method
+    private MethodHandle batchMethodHandle;
+    // input arrays passed to the batch method, reused across batches with the same size
+    private Object[] batchInputs;
 
     // Pre-constructed input objects for the UDF. This minimizes object creation overhead
     // as these objects are reused across calls to evaluate().
@@ -61,6 +85,9 @@ public class UdfExecutor extends BaseExecutor {
         // We are now un-usable (because the class loader has been
         // closed), so null out method_ and classLoader_.
         method = null;
+        methodHandle = null;
+        batchMethodHandle = null;
+        batchInputs = null;
         super.close();
     }
 
@@ -70,6 +97,10 @@ public class UdfExecutor extends BaseExecutor {
      */
     public void evaluate() throws UdfRuntimeException {
         int batchSize = UdfUtils.UNSAFE.getInt(null, batchSizePtr);
+        if (batchMethodHandle != null && !hasNullInput(batchSize)) {
+            evaluateBatch(batchSize);
+            return;
+        }
         try {
             if (retType.equals(JavaUdfDataType.STRING) || retType.equals(JavaUdfDataType.VARCHAR)
                     || retType.equals(JavaUdfDataType.CHAR) || retType.equals(JavaUdfDataType.ARRAY_TYPE)) {
@@ -110,12 +141,136 @@ public class UdfExecutor extends BaseExecutor {
      */
     private Object evaluate(Object... args) throws UdfRuntimeException {
         try {
+            if (methodHandle != null) {
+                return (Object) methodHandle.invokeExact(args);
+            }
             return method.invoke(udf, args);
-        } catch (Exception e) {
+        } catch (Throwable e) {
             throw new UdfRuntimeException("UDF failed to evaluate", e);
         }
     }
 
+    /**
+     * Evaluates a whole batch by the batch method of the udf. The caller makes sure there is no null input.
+     */
+    private void evaluateBatch(int batchSize) throws UdfRuntimeException {
+        if (batchInputs == null || Array.getLength(batchInputs[0]) != batchSize) {
+            batchInputs = new Object[argTypes.length];
+            for (int i = 0; i < argTypes.length; ++i) {
+                batchInputs[i] = Array.newInstance(getBatchComponentType(argTypes[i]), batchSize);
+            }
+        }
+        for (int i = 0; i < argTypes.length; ++i) {
+            long columnAddr = UdfUtils.UNSAFE.getLong(null, UdfUtils.getAddressAtOffset(inputBufferPtrs, i));
+            UdfUtils.copyMemory(null, columnAddr, batchInputs[i], UdfUtils.UNSAFE.arrayBaseOffset(
+                    batchInputs[i].getClass()), (long) argTypes[i].getLen() * batchSize);
+        }
+
+        Object result;
+        try {
+            result = (Object) batchMethodHandle.invokeExact(batchInputs);
+        } catch (Throwable e) {
+            throw new UdfRuntimeException("UDF::evaluateBatch() ran into a problem.", e);
+        }
+        if (result == null || Array.getLength(result) != batchSize) {
+            throw new UdfRuntimeException("UDF::evaluateBatch() should return an array with " + batchSize
+                    + " values");
+        }
+        long outputNullAddr = UdfUtils.UNSAFE.getLong(null, outputNullPtr);
+        if (outputNullAddr != -1) {
+            UdfUtils.UNSAFE.setMemory(outputNullAddr, batchSize, (byte) 0);
+        }
+        UdfUtils.copyMemory(result, UdfUtils.UNSAFE.arrayBaseOffset(result.getClass()), null,
+                UdfUtils.UNSAFE.getLong(null, outputBufferPtr), (long) retType.getLen() * batchSize);
+    }
+
+    private boolean hasNullInput(int batchSize) {
+        for (int i = 0; i < argTypes.length; ++i) {
+            long nullMapAddr = UdfUtils.UNSAFE.getLong(null, UdfUtils.getAddressAtOffset(inputNullsPtrs, i));
+            if (nullMapAddr == -1) {
+                // not nullable
+                continue;
+            }
+            int row = 0;
+            // check 8 rows at a time
+            for (; row + 8 <= batchSize; row += 8) {
+                if (UdfUtils.UNSAFE.getLong(null, nullMapAddr + row) != 0) {
+                    return true;
+                }
+            }
+            for (; row < batchSize; ++row) {
+                if (UdfUtils.UNSAFE.getByte(null, nullMapAddr + row) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Returns the component type of the array used to pass a column to the batch method,
+    // null if the type can not be passed by primitive array.
+    private static Class<?> getBatchComponentType(JavaUdfDataType type) {
+        switch (type) {
+            case BOOLEAN:
+                return boolean.class;
+            case TINYINT:
+                return byte.class;
+            case SMALLINT:
+                return short.class;
+            case INT:
+                return int.class;
+            case BIGINT:
+                return long.class;
+            case FLOAT:
+                return float.class;
+            case DOUBLE:
+                return double.class;
+            default:
+                return null;
+        }
+    }
+
+    // Binds the chosen evaluate method by method handle, which is much cheaper than reflection for
+    // every row, and looks up the optional batch method.
+    private void bindMethods(Class<?> c) {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            methodHandle = lookup.unreflect(method).bindTo(udf)
+                    .asSpreader(Object[].class, argTypes.length).asType(GENERIC_METHOD_TYPE);
+        } catch (IllegalAccessException e) {
+            // e.g. the udf class is not public, fall back to reflection
+            LOG.debug("Unable to bind UDF method by method handle, use reflection instead.", e);
+            methodHandle = null;
+        }
+
+        Class<?> batchRetClass = getBatchComponentType(retType);
+        if (batchRetClass == null || argTypes.length == 0) {
+            return;
+        }
+        Class<?>[] batchArgClass = new Class<?>[argTypes.length];
+        for (int i = 0; i < argTypes.length; ++i) {
+            Class<?> componentType = getBatchComponentType(argTypes[i]);
+            if (componentType == null) {
+                return;
+            }
+            batchArgClass[i] = Array.newInstance(componentType, 0).getClass();
+        }
+        try {
+            Method batchMethod = c.getMethod(UDF_BATCH_FUNCTION_NAME, batchArgClass);
+            if (batchMethod.getReturnType() != Array.newInstance(batchRetClass, 0).getClass()) {
+                LOG.warn("Ignore " + batchMethod.toGenericString() + ", return type should be array of "
+                        + batchRetClass);
+                return;
+            }
+            batchMethodHandle = lookup.unreflect(batchMethod).bindTo(udf)
+                    .asSpreader(Object[].class, argTypes.length).asType(GENERIC_METHOD_TYPE);
+            LOG.debug("Use batch method " + batchMethod.toGenericString());
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // no batch method, just evaluate row by row
+            batchMethodHandle = null;
+        }
+    }
+
     public Method getMethod() {
         return method;
     }
@@ -199,6 +354,7 @@ public class UdfExecutor extends BaseExecutor {
                         retType = returnType.second;
                     }
                     argTypes = new JavaUdfDataType[0];
+                    bindMethods(c);
                     LOG.debug("Loaded UDF '" + className + "' from " + jarPath);
                     return;
                 }
@@ -214,6 +370,7 @@ public class UdfExecutor extends BaseExecutor {
                 } else {
                     argTypes = inputType.second;
                 }
+                bindMethods(c);
                 LOG.debug("Loaded UDF '" + className + "' from " + jarPath);
                 return;
             }
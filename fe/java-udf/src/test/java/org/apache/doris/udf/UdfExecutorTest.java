@@ -353,6 +353,90 @@ public class UdfExecutorTest {
         }
     }
 
+    @Test
+    public void testSimpleAddBatchUdf() throws Exception {
+        TScalarFunction scalarFunction = new TScalarFunction();
+        scalarFunction.symbol = "org.apache.doris.udf.SimpleAddBatchUdf";
+
+        TFunction fn = new TFunction();
+        fn.binary_type = TFunctionBinaryType.JAVA_UDF;
+        TTypeNode intTypeNode = new TTypeNode(TTypeNodeType.SCALAR);
+        intTypeNode.scalar_type = new TScalarType(TPrimitiveType.INT);
+        TTypeDesc intTypeDesc = new TTypeDesc(Collections.singletonList(intTypeNode));
+        TTypeNode bigintTypeNode = new TTypeNode(TTypeNodeType.SCALAR);
+        bigintTypeNode.scalar_type = new TScalarType(TPrimitiveType.BIGINT);
+        TTypeDesc bigintTypeDesc = new TTypeDesc(Collections.singletonList(bigintTypeNode));
+        fn.ret_type = bigintTypeDesc;
+        fn.arg_types = Arrays.asList(intTypeDesc, bigintTypeDesc);
+        fn.scalar_fn = scalarFunction;
+        fn.name = new TFunctionName("SimpleAddBatch");
+
+        long batchSizePtr = UdfUtils.UNSAFE.allocateMemory(4);
+        int batchSize = 13;
+        UdfUtils.UNSAFE.putInt(batchSizePtr, batchSize);
+
+        TJavaUdfExecutorCtorParams params = new TJavaUdfExecutorCtorParams();
+        params.setBatchSizePtr(batchSizePtr);
+        params.setFn(fn);
+
+        long outputBufferPtr = UdfUtils.UNSAFE.allocateMemory(8);
+        long outputNullPtr = UdfUtils.UNSAFE.allocateMemory(8);
+        long outputBuffer = UdfUtils.UNSAFE.allocateMemory(8 * batchSize);
+        long outputNull = UdfUtils.UNSAFE.allocateMemory(batchSize);
+        UdfUtils.UNSAFE.putLong(outputBufferPtr, outputBuffer);
+        UdfUtils.UNSAFE.putLong(outputNullPtr, outputNull);
+
+        params.setOutputBufferPtr(outputBufferPtr);
+        params.setOutputNullPtr(outputNullPtr);
+
+        int numCols = 2;
+        long inputBufferPtr = UdfUtils.UNSAFE.allocateMemory(8 * numCols);
+        long inputNullPtr = UdfUtils.UNSAFE.allocateMemory(8 * numCols);
+
+        long inputBuffer1 = UdfUtils.UNSAFE.allocateMemory(4 * batchSize);
+        long inputNull1 = UdfUtils.UNSAFE.allocateMemory(batchSize);
+        long inputBuffer2 = UdfUtils.UNSAFE.allocateMemory(8 * batchSize);
+
+        UdfUtils.UNSAFE.putLong(inputBufferPtr, inputBuffer1);
+        UdfUtils.UNSAFE.putLong(inputBufferPtr + 8, inputBuffer2);
+        UdfUtils.UNSAFE.putLong(inputNullPtr, inputNull1);
+        // the second column is not nullable
+        UdfUtils.UNSAFE.putLong(inputNullPtr + 8, -1);
+
+        for (int i = 0; i < batchSize; i++) {
+            UdfUtils.UNSAFE.putInt(null, inputBuffer1 + i * 4, i);
+            UdfUtils.UNSAFE.putLong(null, inputBuffer2 + i * 8, 100L * i);
+            UdfUtils.UNSAFE.putByte(null, inputNull1 + i, (byte) 0);
+            UdfUtils.UNSAFE.putByte(null, outputNull + i, (byte) 1);
+        }
+        params.setInputBufferPtrs(inputBufferPtr);
+        params.setInputNullsPtrs(inputNullPtr);
+        params.setInputOffsetsPtrs(0);
+
+        TBinaryProtocol.Factory factory = new TBinaryProtocol.Factory();
+        TSerializer serializer = new TSerializer(factory);
+        UdfExecutor executor = new UdfExecutor(serializer.serialize(params));
+
+        // no null input, evaluated by the batch method
+        SimpleAddBatchUdf.batchCount = 0;
+        executor.evaluate();
+        assert (SimpleAddBatchUdf.batchCount == 1);
+        for (int i = 0; i < batchSize; i++) {
+            assert (UdfUtils.UNSAFE.getByte(outputNull + i) == 0);
+            assert (UdfUtils.UNSAFE.getLong(outputBuffer + 8 * i) == 101L * i);
+        }
+
+        // with null input, evaluated row by row
+        UdfUtils.UNSAFE.putByte(null, inputNull1 + batchSize - 1, (byte) 1);
+        executor.evaluate();
+        assert (SimpleAddBatchUdf.batchCount == 1);
+        for (int i = 0; i < batchSize - 1; i++) {
+            assert (UdfUtils.UNSAFE.getByte(outputNull + i) == 0);
+            assert (UdfUtils.UNSAFE.getLong(outputBuffer + 8 * i) == 101L * i);
+        }
+        assert (UdfUtils.UNSAFE.getByte(outputNull + batchSize - 1) == 1);
+    }
+
     @Test
     public void testStringConcatUdf() throws Exception {
         TScalarFunction scalarFunction = new TScalarFunction();